@@ -0,0 +1,151 @@
+/*
+ * REST vs gRPC on loopback (grpc-benchmark.sh): the same closed-loop workload against
+ * GET /api/v1/students/{id} and StudentService/GetStudent, then against POST /api/v1/students/lookup and
+ * StudentService/LookupStudents with 20 roll numbers. Students come from the existing data. REST uses
+ * HTTP/1.1 keep-alive connections; gRPC multiplexes every client over one HTTP/2 channel. Prints one line
+ * per scenario: throughput and latency percentiles after the warm-up.
+ *
+ * Needs the application classes and dependencies on the class path for the generated stubs:
+ * java -cp target/classes:<dependencies> scripts/benchmark/GrpcLoad.java <base_url> <grpc_host:port> <seconds> <clients>
+ */
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import com.student.student.grpc.v1.GetChangesRequest;
+import com.student.student.grpc.v1.GetStudentRequest;
+import com.student.student.grpc.v1.KeyType;
+import com.student.student.grpc.v1.LookupStudentsRequest;
+import com.student.student.grpc.v1.StudentServiceGrpc;
+
+import io.grpc.ManagedChannel;
+import io.grpc.netty.shaded.io.grpc.netty.NettyChannelBuilder;
+
+public class GrpcLoad {
+
+    interface Call {
+        void run(Random random) throws Exception;
+    }
+
+    record Student(String id, int rollNumber) {}
+
+    private static final int SAMPLE = 1000;
+    private static final int LOOKUP_KEYS = 20;
+    private static final Duration WARM_UP = Duration.ofSeconds(5);
+
+    public static void main(String[] args) throws Exception {
+        String api = args[0] + "/api/v1/students";
+        String target = args[1];
+        Duration duration = Duration.ofSeconds(Long.parseLong(args[2]));
+        int clients = Integer.parseInt(args[3]);
+
+        HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newVirtualThreadPerTaskExecutor()).build();
+        ManagedChannel channel = NettyChannelBuilder.forTarget(target).usePlaintext().build();
+        StudentServiceGrpc.StudentServiceBlockingStub grpc = StudentServiceGrpc.newBlockingStub(channel);
+
+        List<Student> students = grpc.getChanges(GetChangesRequest.newBuilder().setLimit(SAMPLE).build())
+                .getChangesList().stream()
+                .filter(change -> change.hasStudent())
+                .map(change -> new Student(change.getStudentId(), change.getRollNumber()))
+                .toList();
+        if (students.size() < LOOKUP_KEYS) {
+            throw new IllegalStateException("Needs at least " + LOOKUP_KEYS + " students, found " + students.size());
+        }
+
+        run("rest get", duration, clients, random -> {
+            Student student = students.get(random.nextInt(students.size()));
+            send(http, HttpRequest.newBuilder(URI.create(api + "/" + student.id())).GET().build());
+        });
+        run("grpc get", duration, clients, random -> {
+            Student student = students.get(random.nextInt(students.size()));
+            grpc.getStudent(GetStudentRequest.newBuilder().setStudentId(student.id()).build());
+        });
+        run("rest lookup", duration, clients, random -> {
+            String keys = rollNumbers(students, random).stream().map(String::valueOf).collect(Collectors.joining("\",\""));
+            send(http, HttpRequest.newBuilder(URI.create(api + "/lookup"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(
+                            "{\"keyType\":\"ROLL_NUMBER\",\"keys\":[\"" + keys + "\"]}"))
+                    .build());
+        });
+        run("grpc lookup", duration, clients, random -> {
+            LookupStudentsRequest.Builder request = LookupStudentsRequest.newBuilder()
+                    .setKeyType(KeyType.KEY_TYPE_ROLL_NUMBER);
+            rollNumbers(students, random).forEach(roll -> request.addKeys(String.valueOf(roll)));
+            grpc.lookupStudents(request.build()).forEachRemaining(result -> { });
+        });
+        channel.shutdownNow();
+    }
+
+    private static void run(String label, Duration duration, int clients, Call call) throws InterruptedException {
+        List<List<Long>> latencies = Collections.synchronizedList(new ArrayList<>());
+        AtomicLong errors = new AtomicLong();
+        CountDownLatch done = new CountDownLatch(clients);
+        long measureFrom = System.nanoTime() + WARM_UP.toNanos();
+        long until = measureFrom + duration.toNanos();
+        try (var threads = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < clients; c++) {
+                int clientId = c;
+                threads.execute(() -> {
+                    Random random = new Random(clientId);
+                    List<Long> measured = new ArrayList<>();
+                    try {
+                        while (System.nanoTime() < until) {
+                            long started = System.nanoTime();
+                            call.run(random);
+                            if (started >= measureFrom) {
+                                measured.add(System.nanoTime() - started);
+                            }
+                        }
+                    } catch (Exception e) {
+                        errors.incrementAndGet();
+                    } finally {
+                        latencies.add(measured);
+                        done.countDown();
+                    }
+                });
+            }
+            done.await();
+        }
+
+        long[] all = latencies.stream().flatMap(List::stream).mapToLong(Long::longValue).sorted().toArray();
+        double seconds = duration.toNanos() / 1e9;
+        System.out.printf("%-12s %8.0f req/s  p50 %6.2f ms  p99 %6.2f ms  p99.9 %6.2f ms  %d requests  %d clients failed%n",
+                label, all.length / seconds, percentile(all, 0.50), percentile(all, 0.99), percentile(all, 0.999),
+                all.length, errors.get());
+    }
+
+    private static List<Integer> rollNumbers(List<Student> students, Random random) {
+        List<Integer> rollNumbers = new ArrayList<>(LOOKUP_KEYS);
+        for (int i = 0; i < LOOKUP_KEYS; i++) {
+            rollNumbers.add(students.get(random.nextInt(students.size())).rollNumber());
+        }
+        return rollNumbers;
+    }
+
+    private static void send(HttpClient client, HttpRequest request) throws Exception {
+        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException(request.method() + " " + request.uri() + " returned " + response.statusCode());
+        }
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(quantile * sorted.length) - 1)] / 1e6;
+    }
+}
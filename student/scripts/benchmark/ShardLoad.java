@@ -0,0 +1,130 @@
+/*
+ * Closed-loop load for the shard scaling benchmark (shard-benchmark.sh): each client creates students, then
+ * loops over a fixed mix of reads by id, email and roll number and creates, for the given duration.
+ * Prints one line: throughput and latency percentiles over all requests after the warm-up.
+ *
+ * Usage: java scripts/benchmark/ShardLoad.java <base_url> <seconds> <clients> [label]
+ */
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public class ShardLoad {
+
+    record Student(String id, String email, String rollNumber) {}
+
+    private static final Pattern STUDENT_ID = Pattern.compile("\"studentId\":\"([^\"]+)\"");
+    private static final Pattern ROLL_NUMBER = Pattern.compile("\"rollNumber\":(\\d+)");
+    private static final int STUDENTS_PER_CLIENT = 50;
+    private static final Duration WARM_UP = Duration.ofSeconds(10);
+
+    public static void main(String[] args) throws Exception {
+        String api = args[0] + "/api/v1/students";
+        Duration duration = Duration.ofSeconds(Long.parseLong(args[1]));
+        int clients = Integer.parseInt(args[2]);
+        String label = args.length > 3 ? args[3] : "";
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newVirtualThreadPerTaskExecutor()).build();
+        long run = System.currentTimeMillis();
+
+        List<List<Long>> latencies = Collections.synchronizedList(new ArrayList<>());
+        AtomicLong errors = new AtomicLong();
+        CountDownLatch done = new CountDownLatch(clients);
+        long measureFrom = System.nanoTime() + WARM_UP.toNanos();
+        long until = measureFrom + duration.toNanos();
+        try (var threads = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < clients; c++) {
+                int clientId = c;
+                threads.execute(() -> {
+                    Random random = new Random(clientId);
+                    List<Student> own = new ArrayList<>();
+                    List<Long> measured = new ArrayList<>();
+                    long sequence = 0;
+                    try {
+                        for (int i = 0; i < STUDENTS_PER_CLIENT; i++) {
+                            own.add(create(client, api, run, clientId, sequence++));
+                        }
+                        while (System.nanoTime() < until) {
+                            long started = System.nanoTime();
+                            int pick = random.nextInt(100);
+                            Student student = own.get(random.nextInt(own.size()));
+                            if (pick < 70) {
+                                get(client, api + "/" + student.id());
+                            } else if (pick < 80) {
+                                get(client, api + "/email/" + student.email());
+                            } else if (pick < 90) {
+                                get(client, api + "/rollnumber/" + student.rollNumber());
+                            } else {
+                                own.add(create(client, api, run, clientId, sequence++));
+                            }
+                            if (started >= measureFrom) {
+                                measured.add(System.nanoTime() - started);
+                            }
+                        }
+                    } catch (Exception e) {
+                        errors.incrementAndGet();
+                    } finally {
+                        latencies.add(measured);
+                        done.countDown();
+                    }
+                });
+            }
+            done.await();
+        }
+
+        long[] all = latencies.stream().flatMap(List::stream).mapToLong(Long::longValue).sorted().toArray();
+        double seconds = duration.toNanos() / 1e9;
+        System.out.printf("%-10s %8.0f req/s  p50 %6.2f ms  p99 %6.2f ms  p99.9 %6.2f ms  %d requests  %d clients failed%n",
+                label, all.length / seconds, percentile(all, 0.50), percentile(all, 0.99), percentile(all, 0.999),
+                all.length, errors.get());
+    }
+
+    private static Student create(HttpClient client, String api, long run, int clientId, long sequence)
+            throws Exception {
+        String email = "shard." + run + "." + clientId + "." + sequence + "@bench.test";
+        String body = "{\"firstName\":\"Shard\",\"lastName\":\"Bench\",\"email\":\"" + email
+                + "\",\"dateOfBirth\":\"2005-06-01\"}";
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(api))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body)).build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() / 100 != 2) {
+            throw new IllegalStateException("Create failed with " + response.statusCode() + ": " + response.body());
+        }
+        return new Student(group(STUDENT_ID, response.body()), email, group(ROLL_NUMBER, response.body()));
+    }
+
+    private static void get(HttpClient client, String url) throws Exception {
+        HttpResponse<Void> response = client.send(HttpRequest.newBuilder(URI.create(url)).GET().build(),
+                HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("GET " + url + " returned " + response.statusCode());
+        }
+    }
+
+    private static String group(Pattern pattern, String json) {
+        Matcher matcher = pattern.matcher(json);
+        if (!matcher.find()) {
+            throw new IllegalStateException("No " + pattern + " in " + json);
+        }
+        return matcher.group(1);
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(quantile * sorted.length) - 1)] / 1e6;
+    }
+}
@@ -0,0 +1,373 @@
+/*
+ * Replays a traffic recording made with student.traffic-recording.enabled=true against a running instance.
+ *
+ * Arrival is open loop: every request is sent at its recorded arrival offset divided by the speed factor,
+ * whether or not earlier requests have completed. Latency is measured from that scheduled time, so time a
+ * request spends queued behind a stalled server (or a stalled client) counts against it instead of silently
+ * lowering the send rate - the coordinated omission correction. Service time measured from the actual send
+ * is reported next to it; a large gap between the two means the system could not keep up.
+ *
+ * Recordings hold route patterns and body shapes only. Path keys and body values are synthesized: keys of
+ * requests that found a student are drawn from the students currently in the target database, keys of
+ * recorded 404s are random, and create/update bodies get fresh emails. A fixed seed makes the generated
+ * request sequence identical across runs. Recordings are sampled, so replay at 1/sample-rate speed to
+ * reproduce the full production rate.
+ *
+ * Usage: java scripts/benchmark/TrafficReplay.java <recording> [base_url] [speed] [seed]
+ */
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public class TrafficReplay {
+
+    record Entry(long offsetMicros, String method, String pattern, String query, int status, String bodyShape) {}
+
+    record Student(String id, String email, String rollNumber) {}
+
+    static final class EndpointStats {
+        final List<Long> corrected = new ArrayList<>();
+        final List<Long> service = new ArrayList<>();
+        int statusMismatches;
+        int failures;
+
+        synchronized void record(long correctedNanos, long serviceNanos, boolean statusMatches) {
+            corrected.add(correctedNanos);
+            service.add(serviceNanos);
+            if (!statusMatches) {
+                statusMismatches++;
+            }
+        }
+
+        synchronized void failed() {
+            failures++;
+        }
+    }
+
+    private static final Pattern OBJECT = Pattern.compile("\\{[^{}]*}");
+    private static final Pattern STUDENT_ID = Pattern.compile("\"studentId\":\"([^\"]+)\"");
+    private static final Pattern EMAIL = Pattern.compile("\"email\":\"([^\"]+)\"");
+    private static final Pattern ROLL_NUMBER = Pattern.compile("\"rollNumber\":(\\d+)");
+    private static final long[] BUCKET_MILLIS = { 1, 2, 5, 10, 20, 50, 100, 200, 500, 1000, 2000, 5000, Long.MAX_VALUE };
+
+    private final String baseUrl;
+    private final Random random;
+    private final List<Student> students;
+    private long sequence;
+
+    TrafficReplay(String baseUrl, long seed, List<Student> students) {
+        this.baseUrl = baseUrl;
+        this.random = new Random(seed);
+        this.students = students;
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.err.println("Usage: java TrafficReplay.java <recording> [base_url] [speed] [seed]");
+            System.exit(2);
+        }
+        List<Entry> entries = read(Path.of(args[0]));
+        String baseUrl = args.length > 1 ? args[1] : "http://localhost:8080";
+        double speed = args.length > 2 ? Double.parseDouble(args[2]) : 1.0;
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : 42;
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        List<Student> students = loadStudents(client, baseUrl);
+        if (entries.isEmpty()) {
+            System.err.println("Recording is empty");
+            System.exit(1);
+        }
+        long spanMicros = entries.get(entries.size() - 1).offsetMicros() - entries.get(0).offsetMicros();
+        System.out.printf("Replaying %d requests recorded over %.1f s at %.1fx against %s (%d students in pool)%n",
+                entries.size(), spanMicros / 1e6, speed, baseUrl, students.size());
+
+        new TrafficReplay(baseUrl, seed, students).run(client, entries, speed);
+    }
+
+    void run(HttpClient client, List<Entry> entries, double speed) {
+        Map<String, EndpointStats> stats = new TreeMap<>();
+        List<CompletableFuture<?>> inFlight = new ArrayList<>(entries.size());
+        long firstOffset = entries.get(0).offsetMicros();
+        long start = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(100);
+        int skipped = 0;
+        long maxLagNanos = 0;
+
+        for (Entry entry : entries) {
+            if (entry.pattern().equals("-")) {
+                skipped++;
+                continue;
+            }
+            long intended = start + (long) ((entry.offsetMicros() - firstOffset) * 1000 / speed);
+            HttpRequest request = request(entry);
+            for (long wait = intended - System.nanoTime(); wait > 0; wait = intended - System.nanoTime()) {
+                LockSupport.parkNanos(wait);
+            }
+            long sent = System.nanoTime();
+            maxLagNanos = Math.max(maxLagNanos, sent - intended);
+            EndpointStats endpoint = stats.computeIfAbsent(entry.method() + " " + entry.pattern(), key -> new EndpointStats());
+            inFlight.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        long done = System.nanoTime();
+                        if (error != null) {
+                            endpoint.failed();
+                        } else {
+                            endpoint.record(done - intended, done - sent, response.statusCode() / 100 == entry.status() / 100);
+                        }
+                    }));
+        }
+        long sendNanos = System.nanoTime() - start;
+        CompletableFuture.allOf(inFlight.toArray(CompletableFuture[]::new)).exceptionally(e -> null).join();
+
+        System.out.printf("Sent %d requests in %.1f s (%.1f req/s), %d unroutable skipped, max send lag %.1f ms%n%n",
+                inFlight.size(), sendNanos / 1e9, inFlight.size() / (sendNanos / 1e9), skipped, maxLagNanos / 1e6);
+        report(stats);
+    }
+
+    private HttpRequest request(Entry entry) {
+        boolean found = entry.status() / 100 == 2 && entry.pattern().contains("{");
+        Student student = found ? pick(entry.method().equals("DELETE")) : null;
+        String path = entry.pattern();
+        if (path.contains("{id}")) {
+            path = path.replace("{id}", student != null ? student.id() : new UUID(random.nextLong(), random.nextLong()).toString());
+        } else if (path.contains("{email}")) {
+            path = path.replace("{email}", URLEncoder.encode(student != null ? student.email() : fresh("missing"), StandardCharsets.UTF_8));
+        } else if (path.contains("{rollNumber}")) {
+            path = path.replace("{rollNumber}", student != null ? student.rollNumber() : String.valueOf(900_000_000 + random.nextInt(1_000_000)));
+        }
+        String query = entry.query().equals("-") ? "" : "?" + entry.query();
+
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path + query))
+                .timeout(Duration.ofSeconds(30));
+        if (entry.bodyShape().equals("-") || entry.bodyShape().startsWith("raw:")) {
+            return builder.method(entry.method(), HttpRequest.BodyPublishers.noBody()).build();
+        }
+        String body = synthesize(new ShapeParser(entry.bodyShape()).parse(), path.endsWith("/lookup"));
+        return builder.header("Content-Type", "application/json")
+                .method(entry.method(), HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    // Shapes parse into Map (object), List (array) or String (token)
+    private String synthesize(Object shape, boolean existingKeys) {
+        if (shape instanceof Map<?, ?> object) {
+            StringBuilder json = new StringBuilder("{");
+            object.forEach((name, value) -> json.append(json.length() > 1 ? "," : "")
+                    .append('"').append(name).append("\":").append(synthesize(value, existingKeys)));
+            return json.append('}').toString();
+        }
+        if (shape instanceof List<?> array) {
+            if (array.isEmpty()) {
+                return "[]";
+            }
+            int count = Integer.parseInt(((String) array.get(0)).substring(1));
+            StringBuilder json = new StringBuilder("[");
+            for (int i = 0; i < count; i++) {
+                json.append(i > 0 ? "," : "").append(synthesize(array.get(1), existingKeys));
+            }
+            return json.append(']').toString();
+        }
+        String token = (String) shape;
+        Student student = students.isEmpty() ? null : students.get(random.nextInt(students.size()));
+        if (token.startsWith("=")) {
+            return quote(token.substring(1));
+        }
+        if (token.startsWith("str:")) {
+            int length = Integer.parseInt(token.substring(4));
+            StringBuilder text = new StringBuilder();
+            for (int i = 0; i < length; i++) {
+                text.append(i == 0 ? (char) ('A' + random.nextInt(26)) : (char) ('a' + random.nextInt(26)));
+            }
+            return quote(text.toString());
+        }
+        return switch (token) {
+            case "email" -> quote(existingKeys && student != null ? student.email() : fresh("replay"));
+            case "date" -> quote(LocalDate.of(1995, 1, 1).plusDays(random.nextInt(5000)).toString());
+            case "uuid" -> quote(student != null ? student.id() : new UUID(random.nextLong(), random.nextLong()).toString());
+            case "digits" -> quote(student != null ? student.rollNumber() : String.valueOf(random.nextInt(1_000_000)));
+            case "int" -> student != null ? student.rollNumber() : String.valueOf(random.nextInt(1_000_000));
+            case "num" -> "1.0";
+            case "bool" -> "true";
+            default -> "null";
+        };
+    }
+
+    private Student pick(boolean remove) {
+        if (students.isEmpty()) {
+            return null;
+        }
+        int index = random.nextInt(students.size());
+        return remove ? students.remove(index) : students.get(index);
+    }
+
+    private String fresh(String prefix) {
+        return prefix + "." + (++sequence) + "." + Long.toHexString(random.nextLong() & 0xffffffffL) + "@replay.test";
+    }
+
+    private static String quote(String value) {
+        return '"' + value.replace("\\", "\\\\").replace("\"", "\\\"") + '"';
+    }
+
+    private static void report(Map<String, EndpointStats> stats) {
+        System.out.printf("%-52s %7s %6s %6s | %9s %9s %9s %9s %9s | %9s%n", "endpoint", "count", "fail", "status",
+                "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "svc p99");
+        stats.forEach((endpoint, s) -> {
+            long[] corrected = sorted(s.corrected);
+            long[] service = sorted(s.service);
+            System.out.printf("%-52s %7d %6d %6d | %9.2f %9.2f %9.2f %9.2f %9.2f | %9.2f%n", endpoint, corrected.length,
+                    s.failures, s.statusMismatches, millis(corrected, 0.50), millis(corrected, 0.90),
+                    millis(corrected, 0.99), millis(corrected, 0.999), millis(corrected, 1.0), millis(service, 0.99));
+        });
+        System.out.println("\nstatus: responses whose status class differs from the recording");
+        System.out.println("\nCorrected latency histogram (share of requests at or below each bound):");
+        System.out.printf("%-52s", "endpoint");
+        for (long bound : BUCKET_MILLIS) {
+            System.out.printf(" %6s", bound == Long.MAX_VALUE ? "more" : bound + "ms");
+        }
+        System.out.println();
+        stats.forEach((endpoint, s) -> {
+            long[] corrected = sorted(s.corrected);
+            System.out.printf("%-52s", endpoint);
+            int index = 0;
+            for (long bound : BUCKET_MILLIS) {
+                long boundNanos = bound == Long.MAX_VALUE ? Long.MAX_VALUE : TimeUnit.MILLISECONDS.toNanos(bound);
+                while (index < corrected.length && corrected[index] <= boundNanos) {
+                    index++;
+                }
+                System.out.printf(" %5.1f%%", corrected.length == 0 ? 0.0 : 100.0 * index / corrected.length);
+            }
+            System.out.println();
+        });
+    }
+
+    private static long[] sorted(List<Long> values) {
+        long[] array = values.stream().mapToLong(Long::longValue).toArray();
+        Arrays.sort(array);
+        return array;
+    }
+
+    private static double millis(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1e6;
+    }
+
+    // Offsets restart with every recording session appended to the file; sessions are replayed back to back
+    static List<Entry> read(Path path) throws IOException {
+        List<Entry> entries = new ArrayList<>();
+        long sessionBase = 0;
+        long sessionEnd = 0;
+        for (String line : Files.readAllLines(path)) {
+            if (line.startsWith("#")) {
+                sessionBase = sessionEnd;
+                continue;
+            }
+            if (line.isBlank()) {
+                continue;
+            }
+            String[] columns = line.split("\t", 7);
+            long offset = sessionBase + Long.parseLong(columns[0]);
+            sessionEnd = Math.max(sessionEnd, offset);
+            entries.add(new Entry(offset, columns[1], columns[2], columns[3], Integer.parseInt(columns[4]), columns[6]));
+        }
+        entries.sort(Comparator.comparingLong(Entry::offsetMicros));
+        return entries;
+    }
+
+    static List<Student> loadStudents(HttpClient client, String baseUrl) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(
+                HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/students?fields=studentId,email,rollNumber")).build(),
+                HttpResponse.BodyHandlers.ofString());
+        List<Student> students = new ArrayList<>();
+        Matcher objects = OBJECT.matcher(response.body());
+        while (objects.find()) {
+            Matcher id = STUDENT_ID.matcher(objects.group());
+            Matcher email = EMAIL.matcher(objects.group());
+            Matcher rollNumber = ROLL_NUMBER.matcher(objects.group());
+            if (id.find() && email.find() && rollNumber.find()) {
+                students.add(new Student(id.group(1), email.group(1), rollNumber.group(1)));
+            }
+        }
+        return students;
+    }
+
+    // Minimal parser for body shapes: objects, arrays and strings only
+    static final class ShapeParser {
+        private final String text;
+        private int position;
+
+        ShapeParser(String text) {
+            this.text = text;
+        }
+
+        Object parse() {
+            char c = text.charAt(position);
+            if (c == '{') {
+                Map<String, Object> object = new LinkedHashMap<>();
+                position++;
+                while (text.charAt(position) != '}') {
+                    String name = string();
+                    position++; // ':'
+                    object.put(name, parse());
+                    if (text.charAt(position) == ',') {
+                        position++;
+                    }
+                }
+                position++;
+                return object;
+            }
+            if (c == '[') {
+                List<Object> array = new ArrayList<>();
+                position++;
+                while (text.charAt(position) != ']') {
+                    array.add(parse());
+                    if (text.charAt(position) == ',') {
+                        position++;
+                    }
+                }
+                position++;
+                return array;
+            }
+            return string();
+        }
+
+        private String string() {
+            int end = text.indexOf('"', position + 1);
+            while (text.charAt(end - 1) == '\\') {
+                end = text.indexOf('"', end + 1);
+            }
+            String value = text.substring(position + 1, end);
+            position = end + 1;
+            return value;
+        }
+    }
+}
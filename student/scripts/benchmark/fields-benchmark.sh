@@ -0,0 +1,25 @@
+#!/usr/bin/env bash
+# Payload size and throughput of the list endpoint with the full and a narrow field set.
+#
+# Usage: ./fields-benchmark.sh [base_url] [requests]
+set -euo pipefail
+
+BASE_URL=${1:-http://localhost:8080}
+REQUESTS=${2:-50}
+API="${BASE_URL}/api/v1/students"
+
+measure() {
+    local label=$1 url=$2
+    local bytes start elapsed
+    bytes=$(curl -s -o /dev/null -w '%{size_download}' "${url}")
+    start=$(date +%s%3N)
+    for _ in $(seq 1 "${REQUESTS}"); do
+        curl -s -o /dev/null "${url}"
+    done
+    elapsed=$(( $(date +%s%3N) - start ))
+    printf '%-28s %10s bytes  %6s ms/request  %6s req/s\n' "${label}" "${bytes}" \
+        "$(( elapsed / REQUESTS ))" "$(( REQUESTS * 1000 / (elapsed > 0 ? elapsed : 1) ))"
+}
+
+measure "full (8 fields)" "${API}"
+measure "rollNumber,firstName,lastName" "${API}?fields=rollNumber,firstName,lastName"
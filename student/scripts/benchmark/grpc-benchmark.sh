@@ -0,0 +1,19 @@
+#!/usr/bin/env bash
+# REST vs gRPC latency and throughput on loopback, same operations, same closed-loop clients.
+# The app must be running with students loaded (make seed); see GrpcLoad.java for the workload.
+#
+# Usage: ./grpc-benchmark.sh [base_url] [grpc_target] [seconds] [clients]
+set -euo pipefail
+
+BASE_URL=${1:-http://localhost:8080}
+GRPC_TARGET=${2:-localhost:9090}
+SECONDS_PER_SCENARIO=${3:-30}
+CLIENTS=${4:-16}
+
+cd "$(dirname "$0")/../.."
+# Generated stubs and the gRPC client come from the application build
+mvn -q -B compile dependency:build-classpath -Dmdep.outputFile=target/benchmark.classpath
+
+echo "REST vs gRPC, ${CLIENTS} clients, ${SECONDS_PER_SCENARIO}s per scenario"
+java -cp "target/classes:$(cat target/benchmark.classpath)" scripts/benchmark/GrpcLoad.java \
+    "${BASE_URL}" "${GRPC_TARGET}" "${SECONDS_PER_SCENARIO}" "${CLIENTS}"
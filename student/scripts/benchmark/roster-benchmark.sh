@@ -0,0 +1,45 @@
+#!/usr/bin/env bash
+# Roster fetch benchmark: 200 GET /rollnumber/{n} calls against one POST /lookup.
+# Creates the roster through the API on first run, then times both strategies over several rounds.
+# The individual calls reuse one keep-alive connection, which is the best case for that strategy.
+#
+# Usage: ./roster-benchmark.sh [base_url] [roster_size] [rounds]
+set -euo pipefail
+
+BASE_URL=${1:-http://localhost:8080}
+ROSTER=${2:-200}
+ROUNDS=${3:-20}
+API="${BASE_URL}/api/v1/students"
+
+rolls=()
+for i in $(seq 1 "${ROSTER}"); do
+    body="{\"firstName\":\"Roster\",\"lastName\":\"Student${i}\",\"email\":\"roster.${i}@bench.test\",\"dateOfBirth\":\"2010-01-01\"}"
+    curl -s -o /dev/null -X POST "${API}" -H 'Content-Type: application/json' -d "${body}"
+    roll=$(curl -s "${API}/email/roster.${i}@bench.test" | sed -n 's/.*"rollNumber":\([0-9]*\).*/\1/p')
+    rolls+=("${roll}")
+done
+
+urls=()
+for roll in "${rolls[@]}"; do
+    urls+=("${API}/rollnumber/${roll}")
+done
+keys=$(printf '"%s",' "${rolls[@]}")
+lookup="{\"keyType\":\"ROLL_NUMBER\",\"keys\":[${keys%,}]}"
+
+millis() { date +%s%3N; }
+
+start=$(millis)
+for _ in $(seq 1 "${ROUNDS}"); do
+    curl -s "${urls[@]}" > /dev/null
+done
+individual=$(( $(millis) - start ))
+
+start=$(millis)
+for _ in $(seq 1 "${ROUNDS}"); do
+    curl -s -o /dev/null -X POST "${API}/lookup" -H 'Content-Type: application/json' -d "${lookup}"
+done
+batched=$(( $(millis) - start ))
+
+echo "Roster of ${ROSTER}, ${ROUNDS} rounds"
+echo "  ${ROSTER} individual GETs : $(( individual / ROUNDS )) ms per roster"
+echo "  1 batched POST /lookup : $(( batched / ROUNDS )) ms per roster"
@@ -0,0 +1,48 @@
+#!/usr/bin/env bash
+# Insert-throughput and email-lookup latency benchmark for the students schema.
+#
+# Run it twice against a scratch database to compare schema versions:
+#   make db-migrate with -Dflyway.target=1   ->  ./schema-benchmark.sh   (before)
+#   make db-migrate                          ->  ./schema-benchmark.sh   (after)
+#
+# Usage: PGHOST=localhost PGUSER=student_user PGDATABASE=studentdb ./schema-benchmark.sh [seed_rows] [seconds] [clients]
+set -euo pipefail
+
+SEED_ROWS=${1:-1000000}
+DURATION=${2:-60}
+CLIENTS=${3:-8}
+DIR=$(cd "$(dirname "$0")" && pwd)
+
+echo "Schema version: $(psql -Atc "SELECT version FROM flyway_schema_history WHERE success ORDER BY installed_rank DESC LIMIT 1" 2>/dev/null || echo unknown)"
+
+# Benchmark the lookup the application issues against this schema: an exact match before V3, lower(email)
+# from V3 on. lower(email) on the old schema would seq-scan and overstate the gain
+if [ "$(psql -Atc "SELECT count(*) FROM pg_indexes WHERE indexname = 'ux_students_email_lower'")" = "1" ]; then
+    LOOKUP=email-lookup.pgbench
+    LOOKUP_SQL="SELECT 1 FROM students WHERE lower(email) = lower('Seed.1@Bench.Test')"
+else
+    LOOKUP=email-lookup-exact.pgbench
+    LOOKUP_SQL="SELECT 1 FROM students WHERE email = 'seed.1@bench.test'"
+fi
+
+echo "Seeding ${SEED_ROWS} rows..."
+psql -q -v ON_ERROR_STOP=1 <<SQL
+DELETE FROM students WHERE email LIKE '%@bench.test';
+INSERT INTO students (first_name, last_name, email, date_of_birth)
+SELECT 'Seed', 'Row' || g, 'seed.' || g || '@bench.test', DATE '2000-01-01' + (g % 5000)
+FROM generate_series(1, ${SEED_ROWS}) AS g;
+VACUUM ANALYZE students;
+SQL
+
+psql -Atc "SELECT 'Index size (all students indexes): ' || pg_size_pretty(pg_indexes_size('students'))"
+
+echo ""
+echo "== Insert throughput (${CLIENTS} clients, ${DURATION}s) =="
+pgbench -n -c "${CLIENTS}" -j "${CLIENTS}" -T "${DURATION}" -r -f "${DIR}/insert.pgbench" | grep -E "tps|latency"
+
+echo ""
+echo "== Email lookup latency, ${LOOKUP} (${CLIENTS} clients, ${DURATION}s) =="
+pgbench -n -c "${CLIENTS}" -j "${CLIENTS}" -T "${DURATION}" -r -D seed_rows="${SEED_ROWS}" \
+    -f "${DIR}/${LOOKUP}" | grep -E "tps|latency"
+
+psql -Atc "EXPLAIN ${LOOKUP_SQL}"
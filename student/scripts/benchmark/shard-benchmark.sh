@@ -0,0 +1,57 @@
+#!/usr/bin/env bash
+# Throughput with the students spread over 1, 2 and 4 shards (student.sharding).
+#
+# For every shard count: creates fresh databases bench_s<N>_<i> plus bench_s<N>_directory, loads the same
+# seeded dataset with the seed profile, starts the packaged application sharded over them and runs
+# ShardLoad.java against it. Shards share one PostgreSQL server unless SHARD_HOSTS lists one host per shard
+# (cycled when shorter), which is what scaling beyond a single server's CPU and I/O needs.
+#
+# Usage: PGHOST=localhost PGPORT=5432 PGUSER=student_user PGPASSWORD=... ./shard-benchmark.sh [seed_rows] [seconds] [clients] [port]
+set -euo pipefail
+
+SEED_ROWS=${1:-1000000}
+DURATION=${2:-60}
+CLIENTS=${3:-32}
+PORT=${4:-8090}
+SHARD_COUNTS=${SHARD_COUNTS:-"1 2 4"}
+read -r -a HOSTS <<< "${SHARD_HOSTS:-${PGHOST:-localhost}}"
+DIR=$(cd "$(dirname "$0")" && pwd)
+JAR=$(ls "${DIR}"/../../target/*.jar | grep -v plain | head -1)
+LOG=$(mktemp)
+trap 'kill $(jobs -p) 2>/dev/null || true' EXIT
+
+jdbc() { echo "jdbc:postgresql://$1:${PGPORT:-5432}/$2"; }
+
+recreate() {
+    psql -h "$1" -q -d postgres -c "DROP DATABASE IF EXISTS $2" -c "CREATE DATABASE $2"
+}
+
+for n in ${SHARD_COUNTS}; do
+    urls=()
+    for i in $(seq 0 $(( n - 1 ))); do
+        host=${HOSTS[$(( i % ${#HOSTS[@]} ))]}
+        recreate "${host}" "bench_s${n}_${i}"
+        urls+=("$(jdbc "${host}" "bench_s${n}_${i}")")
+    done
+    recreate "${HOSTS[0]}" "bench_s${n}_directory"
+
+    export SHARDING_ENABLED=true
+    export SHARD_URLS=$(IFS=,; echo "${urls[*]}")
+    export SHARD_DIRECTORY_URL=$(jdbc "${HOSTS[0]}" "bench_s${n}_directory")
+    export DB_HOST=${HOSTS[0]} DB_PORT=${PGPORT:-5432} DB_NAME=bench_s${n}_0 DB_USERNAME=${PGUSER} DB_PASSWORD=${PGPASSWORD}
+
+    echo "== ${n} shard(s): seeding ${SEED_ROWS} students =="
+    java -jar "${JAR}" --spring.profiles.active=seed --student.seed.rows="${SEED_ROWS}" > "${LOG}" 2>&1 \
+        || { tail -20 "${LOG}"; exit 1; }
+    grep -o "Loaded .*" "${LOG}" || true
+
+    java -jar "${JAR}" --server.port="${PORT}" --student.tracing.exporter=none > "${LOG}" 2>&1 &
+    app=$!
+    until curl -sf "http://localhost:${PORT}/healthcheck/simple" > /dev/null; do
+        kill -0 "${app}" 2>/dev/null || { tail -20 "${LOG}"; exit 1; }
+        sleep 1
+    done
+    java "${DIR}/ShardLoad.java" "http://localhost:${PORT}" "${DURATION}" "${CLIENTS}" "${n} shard(s)"
+    kill "${app}"
+    wait "${app}" 2>/dev/null || true
+done
@@ -0,0 +1,46 @@
+#!/usr/bin/env bash
+# Event stream fan-out benchmark: N SSE subscribers on /stream while M students are created.
+# Reports commit-to-delivery latency from the student.stream.delivery.latency timer and the
+# number of events each subscriber received. Raise `ulimit -n` above the subscriber count first.
+#
+# Usage: ./stream-benchmark.sh [base_url] [subscribers] [events] [management_url]
+set -euo pipefail
+
+BASE_URL=${1:-http://localhost:8080}
+SUBSCRIBERS=${2:-1000}
+EVENTS=${3:-200}
+MANAGEMENT_URL=${4:-http://localhost:8081}
+API="${BASE_URL}/api/v1/students"
+OUT=$(mktemp -d)
+trap 'kill $(jobs -p) 2>/dev/null || true; rm -rf "${OUT}"' EXIT
+
+for i in $(seq 1 "${SUBSCRIBERS}"); do
+    curl -s -N -H 'Accept: text/event-stream' "${API}/stream" > "${OUT}/${i}.sse" &
+done
+until [ "$(curl -s "${MANAGEMENT_URL}/actuator/metrics/student.stream.subscribers" | sed -n 's/.*"value":\([0-9.]*\).*/\1/p')" = "${SUBSCRIBERS}.0" ]; do
+    sleep 0.5
+done
+
+millis() { date +%s%3N; }
+run=$(millis)
+start=$(millis)
+for i in $(seq 1 "${EVENTS}"); do
+    body="{\"firstName\":\"Stream\",\"lastName\":\"Student${i}\",\"email\":\"stream.${run}.${i}@bench.test\",\"dateOfBirth\":\"2010-01-01\"}"
+    curl -s -o /dev/null -X POST "${API}" -H 'Content-Type: application/json' -d "${body}"
+done
+expected=$(( SUBSCRIBERS * EVENTS ))
+while :; do
+    delivered=$(cat "${OUT}"/*.sse | grep -c '^event:created' || true)
+    [ "${delivered}" -ge "${expected}" ] && break
+    [ $(( $(millis) - start )) -gt 120000 ] && break
+    sleep 0.2
+done
+elapsed=$(( $(millis) - start ))
+
+metric() { curl -s "${MANAGEMENT_URL}/actuator/metrics/$1" | sed -n 's/.*"value":\([0-9.E-]*\).*/\1/p'; }
+
+echo "${SUBSCRIBERS} subscribers, ${EVENTS} creates"
+echo "  delivered     : ${delivered} of ${expected} events in ${elapsed} ms ($(( delivered * 1000 / (elapsed > 0 ? elapsed : 1) )) events/s)"
+echo "  latency p50   : $(metric 'student.stream.delivery.latency.percentile?tag=phi:0.5') s"
+echo "  latency p99   : $(metric 'student.stream.delivery.latency.percentile?tag=phi:0.99') s"
+echo "  slow consumer disconnects: $(metric student.stream.slow_consumer_disconnects)"
@@ -0,0 +1,55 @@
+#!/usr/bin/env bash
+# Bulk-insert benchmark: random (v4) against time-ordered (v7) uuid primary keys.
+# Creates scratch tables shaped like students, loads them in batches and reports insert rate,
+# primary-key index size and WAL generated. Needs the uuid_generate_v7() function from V4.
+#
+# Usage: PGHOST=localhost PGUSER=student_user PGDATABASE=studentdb ./uuid-benchmark.sh [sizes] [batch]
+#   sizes  space-separated row counts (default "1000000 10000000")
+#   batch  rows per INSERT transaction (default 10000)
+set -euo pipefail
+
+SIZES=${1:-"1000000 10000000"}
+BATCH=${2:-10000}
+
+run() {
+    local version=$1 rows=$2 fn=$3
+    local table="bench_uuid_${version}"
+    psql -q -v ON_ERROR_STOP=1 -c "DROP TABLE IF EXISTS ${table}" -c "CREATE TABLE ${table} (
+        student_id UUID PRIMARY KEY DEFAULT ${fn}(),
+        first_name VARCHAR(50) NOT NULL,
+        last_name VARCHAR(50) NOT NULL,
+        email VARCHAR(255) NOT NULL,
+        date_of_birth DATE NOT NULL,
+        created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP)"
+
+    local wal_before start end
+    wal_before=$(psql -Atc "SELECT pg_current_wal_lsn()")
+    start=$(date +%s.%N)
+    psql -q -v ON_ERROR_STOP=1 <<SQL
+DO \$\$
+BEGIN
+    FOR b IN 0 .. (${rows} - 1) / ${BATCH} LOOP
+        INSERT INTO ${table} (first_name, last_name, email, date_of_birth)
+        SELECT 'Bench', 'Row' || g, 'row.' || g || '@bench.test', DATE '2000-01-01' + (g % 5000)
+        FROM generate_series(b * ${BATCH} + 1, LEAST((b + 1) * ${BATCH}, ${rows})) AS g;
+        COMMIT;
+    END LOOP;
+END
+\$\$;
+SQL
+    end=$(date +%s.%N)
+
+    psql -At -F ' | ' -c "SELECT
+        '${version}',
+        ${rows},
+        round(${rows} / (${end} - ${start}))::bigint || ' rows/s',
+        pg_size_pretty(pg_relation_size('${table}_pkey')) || ' pk index',
+        pg_size_pretty(pg_wal_lsn_diff(pg_current_wal_lsn(), '${wal_before}')) || ' WAL'"
+    psql -q -c "DROP TABLE ${table}"
+}
+
+echo "version | rows | insert rate | pk index size | WAL written"
+for rows in ${SIZES}; do
+    run v4 "${rows}" gen_random_uuid
+    run v7 "${rows}" uuid_generate_v7
+done
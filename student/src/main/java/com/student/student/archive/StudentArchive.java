@@ -0,0 +1,111 @@
+package com.student.student.archive;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.student.student.cache.LookupKey;
+import com.student.student.entity.ArchivedStudent;
+import com.student.student.entity.Student;
+import com.student.student.repository.StudentArchiveRepository;
+import com.student.student.tenant.TenantContext;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Read side of students_archive for StudentService. Lookups that miss the live table fall back here when
+ * {@code student.archive.lookup-fallback} is on; off, archived students are invisible to reads. Email
+ * uniqueness checks and deletes always include the archive, so an archived student keeps their email and
+ * can still be deleted. Runs on whatever shard the caller is bound to, like the live repository.
+ */
+@Component
+public class StudentArchive {
+
+    private final StudentArchiveRepository studentArchiveRepository;
+    private final boolean lookupFallback;
+    private final Map<LookupKey, Counter> fallbackHits = new EnumMap<>(LookupKey.class);
+
+    public StudentArchive(StudentArchiveRepository studentArchiveRepository, MeterRegistry meterRegistry,
+            @Value("${student.archive.lookup-fallback:true}") boolean lookupFallback) {
+        this.studentArchiveRepository = studentArchiveRepository;
+        this.lookupFallback = lookupFallback;
+        for (LookupKey key : LookupKey.values()) {
+            fallbackHits.put(key, Counter.builder("student.archive.lookup.hits")
+                    .description("Lookups that missed students and were answered from students_archive")
+                    .tag("key", key.tag())
+                    .register(meterRegistry));
+        }
+    }
+
+    public Optional<Student> findById(UUID studentId) {
+        if (!lookupFallback) {
+            return Optional.empty();
+        }
+        return hit(LookupKey.ID, studentArchiveRepository.findById(studentId));
+    }
+
+    public Optional<Student> findByEmail(String email) {
+        if (!lookupFallback) {
+            return Optional.empty();
+        }
+        return hit(LookupKey.EMAIL, studentArchiveRepository.findByEmail(email));
+    }
+
+    public Optional<Student> findByRollNumber(Integer rollNumber) {
+        if (!lookupFallback) {
+            return Optional.empty();
+        }
+        return hit(LookupKey.ROLL_NUMBER, studentArchiveRepository.findByRollNumber(rollNumber));
+    }
+
+    /**
+     * Batched counterpart of the finders above; {@code keys} are normalized as in
+     * {@code StudentService.lookupStudents}.
+     */
+    public List<Student> findAllByKeys(LookupKey keyType, List<String> keys) {
+        if (!lookupFallback || keys.isEmpty()) {
+            return List.of();
+        }
+        String tenant = TenantContext.current();
+        List<ArchivedStudent> archived = switch (keyType) {
+            case ID -> studentArchiveRepository.findAllByStudentIdIn(
+                    keys.stream().map(UUID::fromString).toArray(UUID[]::new), tenant);
+            case EMAIL -> studentArchiveRepository.findAllByLowerEmailIn(keys.toArray(String[]::new), tenant);
+            case ROLL_NUMBER -> studentArchiveRepository.findAllByRollNumberIn(
+                    keys.stream().map(Integer::valueOf).toArray(Integer[]::new), tenant);
+        };
+        fallbackHits.get(keyType).increment(archived.size());
+        return archived.stream().map(ArchivedStudent::toStudent).toList();
+    }
+
+    public boolean containsEmail(String email) {
+        return studentArchiveRepository.existsByEmail(email);
+    }
+
+    /**
+     * Deletes the archived student, if any, and returns what was deleted.
+     */
+    public Optional<Student> deleteById(UUID studentId) {
+        return studentArchiveRepository.findById(studentId).map(this::delete);
+    }
+
+    public Optional<Student> deleteByRollNumber(Integer rollNumber) {
+        return studentArchiveRepository.findByRollNumber(rollNumber).map(this::delete);
+    }
+
+    private Student delete(ArchivedStudent archived) {
+        studentArchiveRepository.deleteByStudentId(archived.getStudentId());
+        return archived.toStudent();
+    }
+
+    private Optional<Student> hit(LookupKey key, Optional<ArchivedStudent> archived) {
+        archived.ifPresent(student -> fallbackHits.get(key).increment());
+        return archived.map(ArchivedStudent::toStudent);
+    }
+}
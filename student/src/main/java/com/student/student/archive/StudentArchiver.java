@@ -0,0 +1,287 @@
+package com.student.student.archive;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.Period;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.student.student.shard.ShardRouter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Moves students created before {@code now - student.archive.older-than} from students to students_archive.
+ * Each batch is one short transaction: a keyset-ordered {@code DELETE ... RETURNING} feeding an
+ * {@code INSERT}, skipping rows other transactions hold locked, then the checkpoint is advanced. A pass
+ * that stops early (run time limit, shutdown, crash) resumes from the checkpoint; a pass that completes
+ * resets it, so rows skipped because they were locked are picked up by the next one.
+ * <p>
+ * Throttling is additive-increase, multiplicative-decrease: a batch slower than the target latency, or
+ * replica replay lag above the limit, halves the batch size and doubles the pause between batches; each
+ * batch within target grows the batch back towards the configured size and shrinks the pause back to the
+ * configured one. Runs on its own thread so a long pass never delays the other scheduled jobs; shards are
+ * archived one after another.
+ */
+@Component
+@Slf4j
+public class StudentArchiver {
+
+    private static final int MIN_BATCH_SIZE = 10;
+    private static final int MAX_PAUSE_FACTOR = 64;
+
+    // The checkpoint row lock also serializes archivers running on other replicas
+    private static final String LOCK_CHECKPOINT_SQL = "select id from student_archive_checkpoint where id = 1 for update";
+
+    private static final String MOVE_SQL = """
+            with batch as (
+                select student_id from students
+                where (created_at, student_id) > (select created_at, student_id from student_archive_checkpoint where id = 1)
+                  and created_at < ?
+                order by created_at, student_id
+                limit ?
+                for update skip locked
+            ), moved as (
+                delete from students s using batch where s.student_id = batch.student_id
+                returning s.student_id, s.roll_number, s.first_name, s.last_name, s.email, s.date_of_birth,
+                          s.created_at, s.updated_at, s.tenant_id
+            ), archived as (
+                insert into students_archive (student_id, roll_number, first_name, last_name, email, date_of_birth,
+                                              created_at, updated_at, tenant_id)
+                select * from moved
+                returning created_at, student_id
+            )
+            select count(*) over () as moved, created_at, student_id from archived
+            order by created_at desc, student_id desc
+            limit 1
+            """;
+
+    private static final String ADVANCE_CHECKPOINT_SQL =
+            "update student_archive_checkpoint set created_at = ?, student_id = ?, updated_at = clock_timestamp() where id = 1";
+
+    private static final String RESET_CHECKPOINT_SQL = "update student_archive_checkpoint set created_at = '-infinity', "
+            + "student_id = '00000000-0000-0000-0000-000000000000', updated_at = clock_timestamp() where id = 1";
+
+    // Lag columns read as null without pg_monitor (or pg_read_all_stats), which counts as no lag
+    private static final String REPLICA_LAG_SQL =
+            "select coalesce(extract(epoch from max(replay_lag)), 0) from pg_stat_replication";
+
+    private record Batch(int moved, boolean passComplete) {}
+
+    private record LastMoved(int moved, OffsetDateTime createdAt, UUID studentId) {}
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transaction;
+    private final ShardRouter shardRouter;
+    private final boolean enabled;
+    private final Period olderThan;
+    private final Duration interval;
+    private final Duration maxRunTime;
+    private final int maxBatchSize;
+    private final Duration minPause;
+    private final Duration targetBatchLatency;
+    private final Duration maxReplicaLag;
+
+    private final Counter archivedRows;
+    private final Timer batchLatency;
+    private final Counter throttledForLatency;
+    private final Counter throttledForReplicaLag;
+
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(
+            runnable -> new Thread(runnable, "student-archiver"));
+
+    // Written by the archiver thread only, read by the gauges
+    private volatile int batchSize;
+    private volatile Duration pause;
+    private volatile double rowsPerSecond;
+    private volatile boolean stopping;
+
+    public StudentArchiver(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+            ShardRouter shardRouter, MeterRegistry meterRegistry,
+            @Value("${student.archive.enabled:false}") boolean enabled,
+            @Value("${student.archive.older-than:P4Y}") Period olderThan,
+            @Value("${student.archive.interval:PT1H}") Duration interval,
+            @Value("${student.archive.max-run-time:PT15M}") Duration maxRunTime,
+            @Value("${student.archive.batch-size:500}") int batchSize,
+            @Value("${student.archive.pause:PT0.1S}") Duration pause,
+            @Value("${student.archive.target-batch-latency:PT0.25S}") Duration targetBatchLatency,
+            @Value("${student.archive.max-replica-lag:PT5S}") Duration maxReplicaLag) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.shardRouter = shardRouter;
+        this.enabled = enabled;
+        this.olderThan = olderThan;
+        this.interval = interval;
+        this.maxRunTime = maxRunTime;
+        this.maxBatchSize = Math.max(MIN_BATCH_SIZE, batchSize);
+        this.minPause = pause;
+        this.targetBatchLatency = targetBatchLatency;
+        this.maxReplicaLag = maxReplicaLag;
+        this.batchSize = this.maxBatchSize;
+        this.pause = pause;
+
+        this.archivedRows = Counter.builder("student.archive.rows")
+                .description("Students moved to students_archive")
+                .register(meterRegistry);
+        this.batchLatency = Timer.builder("student.archive.batch.latency")
+                .description("Time to move one batch, including the checkpoint update")
+                .register(meterRegistry);
+        this.throttledForLatency = Counter.builder("student.archive.throttled")
+                .description("Times the archiver backed off")
+                .tag("reason", "latency")
+                .register(meterRegistry);
+        this.throttledForReplicaLag = Counter.builder("student.archive.throttled")
+                .description("Times the archiver backed off")
+                .tag("reason", "replica_lag")
+                .register(meterRegistry);
+        Gauge.builder("student.archive.batch_size", this, archiver -> archiver.batchSize)
+                .description("Current batch size after throttling")
+                .register(meterRegistry);
+        Gauge.builder("student.archive.pause", this, archiver -> archiver.pause.toNanos() / 1e9)
+                .description("Current pause between batches after throttling")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("student.archive.rows_per_second", this, archiver -> archiver.rowsPerSecond)
+                .description("Archival rate of the current or last run that moved students")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        executor.scheduleWithFixedDelay(this::archive, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+        log.info("Student archiver scheduled every {} for students older than {}", interval, olderThan);
+    }
+
+    /**
+     * Whether archiving is switched on; off, neither the schedule nor ARCHIVE jobs run.
+     */
+    public boolean enabled() {
+        return enabled;
+    }
+
+    /**
+     * Archives every shard until done or the run time limit is reached; returns the number of students moved.
+     */
+    public long archive() {
+        OffsetDateTime cutoff = OffsetDateTime.now().minus(olderThan);
+        long started = System.nanoTime();
+        long deadline = started + maxRunTime.toNanos();
+        long moved = 0;
+        for (int shard = 0; shard < shardRouter.shardCount() && !stopping; shard++) {
+            try {
+                moved += shardRouter.on(shard, () -> archiveShard(cutoff, started, deadline));
+            } catch (RuntimeException e) {
+                log.error("Archiving students on shard {} failed, resuming next run: {}", shard, e.getMessage());
+            }
+        }
+        if (moved > 0) {
+            log.info("Archived {} students created before {} in {} ms", moved, cutoff,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        }
+        return moved;
+    }
+
+    private long archiveShard(OffsetDateTime cutoff, long runStarted, long deadline) {
+        long moved = 0;
+        while (!stopping && System.nanoTime() < deadline) {
+            if (replicaLagSeconds() > maxReplicaLag.toNanos() / 1e9) {
+                throttledForReplicaLag.increment();
+                backOff();
+            } else {
+                long started = System.nanoTime();
+                Batch batch = transaction.execute(status -> moveBatch(cutoff, batchSize));
+                long elapsed = System.nanoTime() - started;
+                batchLatency.record(elapsed, TimeUnit.NANOSECONDS);
+                archivedRows.increment(batch.moved());
+                moved += batch.moved();
+                if (moved > 0) {
+                    rowsPerSecond = moved / Math.max((System.nanoTime() - runStarted) / 1e9, 1e-3);
+                }
+                if (elapsed > targetBatchLatency.toNanos()) {
+                    throttledForLatency.increment();
+                    backOff();
+                } else {
+                    speedUp();
+                }
+                if (batch.passComplete()) {
+                    break;
+                }
+            }
+            sleep(pause);
+        }
+        return moved;
+    }
+
+    private Batch moveBatch(OffsetDateTime cutoff, int limit) {
+        jdbcTemplate.execute("set local student.archiving = 'on'");
+        // Fail the batch rather than queue behind DDL or a long-held table lock
+        jdbcTemplate.execute("set local lock_timeout = '2s'");
+        jdbcTemplate.queryForObject(LOCK_CHECKPOINT_SQL, Integer.class);
+        LastMoved last = jdbcTemplate.query(MOVE_SQL, rs -> rs.next()
+                ? new LastMoved(rs.getInt("moved"), rs.getObject("created_at", OffsetDateTime.class),
+                        rs.getObject("student_id", UUID.class))
+                : new LastMoved(0, null, null), cutoff, limit);
+        if (last.moved() < limit) {
+            jdbcTemplate.update(RESET_CHECKPOINT_SQL);
+            return new Batch(last.moved(), true);
+        }
+        jdbcTemplate.update(ADVANCE_CHECKPOINT_SQL, last.createdAt(), last.studentId());
+        return new Batch(last.moved(), false);
+    }
+
+    private double replicaLagSeconds() {
+        Double lag = jdbcTemplate.queryForObject(REPLICA_LAG_SQL, Double.class);
+        return lag == null ? 0 : lag;
+    }
+
+    private void backOff() {
+        batchSize = Math.max(MIN_BATCH_SIZE, batchSize / 2);
+        pause = min(pause.multipliedBy(2), minPause.multipliedBy(MAX_PAUSE_FACTOR));
+    }
+
+    private void speedUp() {
+        batchSize = Math.min(maxBatchSize, batchSize + Math.max(1, maxBatchSize / 10));
+        pause = max(pause.dividedBy(2), minPause);
+    }
+
+    private void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            stopping = true;
+        }
+    }
+
+    private static Duration min(Duration a, Duration b) {
+        return a.compareTo(b) <= 0 ? a : b;
+    }
+
+    private static Duration max(Duration a, Duration b) {
+        return a.compareTo(b) >= 0 ? a : b;
+    }
+
+    @PreDestroy
+    public void stop() {
+        stopping = true;
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,132 @@
+package com.student.student.cache;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size, thread-safe Bloom filter over string keys.
+ * A {@code false} from {@link #mightContain(String)} means the key was never added;
+ * a {@code true} may be a false positive. Entries cannot be removed, so the owner
+ * rebuilds the filter periodically to drop deleted keys.
+ */
+public class BloomFilter {
+
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashCount;
+
+    public BloomFilter(long expectedInsertions, double falsePositiveProbability) {
+        if (expectedInsertions <= 0) {
+            throw new IllegalArgumentException("expectedInsertions must be positive");
+        }
+        if (falsePositiveProbability <= 0 || falsePositiveProbability >= 1) {
+            throw new IllegalArgumentException("falsePositiveProbability must be between 0 and 1");
+        }
+        long optimalBits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveProbability)
+                / (Math.log(2) * Math.log(2)));
+        int words = (int) Math.max(1, (optimalBits + 63) / 64);
+        this.bits = new AtomicLongArray(words);
+        this.bitCount = (long) words * 64;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * Math.log(2)));
+    }
+
+    private BloomFilter(AtomicLongArray bits, int hashCount) {
+        this.bits = bits;
+        this.bitCount = (long) bits.length() * 64;
+        this.hashCount = hashCount;
+    }
+
+    /**
+     * Reads a filter written by {@link #writeTo(ByteBuffer)}.
+     */
+    public static BloomFilter readFrom(ByteBuffer in) {
+        int hashCount = in.getInt();
+        int words = in.getInt();
+        if (hashCount <= 0 || words <= 0 || (long) words * Long.BYTES > in.remaining()) {
+            throw new IllegalArgumentException("Not a serialised Bloom filter");
+        }
+        AtomicLongArray bits = new AtomicLongArray(words);
+        for (int i = 0; i < words; i++) {
+            bits.set(i, in.getLong());
+        }
+        return new BloomFilter(bits, hashCount);
+    }
+
+    /**
+     * Writes the hash count and the bits. Bits set while this runs may or may not be included.
+     */
+    public void writeTo(ByteBuffer out) {
+        out.putInt(hashCount);
+        out.putInt(bits.length());
+        for (int i = 0; i < bits.length(); i++) {
+            out.putLong(bits.get(i));
+        }
+    }
+
+    public int serializedSize() {
+        return 2 * Integer.BYTES + bits.length() * Long.BYTES;
+    }
+
+    public void put(String key) {
+        long hash = hash64(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            long bit = index(h1 + i * h2);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current;
+            do {
+                current = bits.get(word);
+                if ((current & mask) != 0) {
+                    break;
+                }
+            } while (!bits.compareAndSet(word, current, current | mask));
+        }
+    }
+
+    public boolean mightContain(String key) {
+        long hash = hash64(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            long bit = index(h1 + i * h2);
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * False-positive probability implied by the current fill ratio: (set bits / total bits) ^ k.
+     */
+    public double expectedFalsePositiveProbability() {
+        long setBits = 0;
+        for (int i = 0; i < bits.length(); i++) {
+            setBits += Long.bitCount(bits.get(i));
+        }
+        return Math.pow((double) setBits / bitCount, hashCount);
+    }
+
+    private long index(int combinedHash) {
+        return (combinedHash & Integer.MAX_VALUE) % bitCount;
+    }
+
+    // 64-bit FNV-1a followed by the murmur3 finaliser for better avalanche on short keys.
+    // Snapshots store the bits it selects: changing it needs a new LookupFilterSnapshot format version
+    private static long hash64(String key) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb93fe53ec5dL;
+        h ^= h >>> 33;
+        return h;
+    }
+}
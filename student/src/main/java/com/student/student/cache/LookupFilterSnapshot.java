@@ -0,0 +1,115 @@
+package com.student.student.cache;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+import java.util.zip.CRC32C;
+
+/**
+ * Warm-start file of {@link StudentLookupFilter}: both Bloom filters, the high-water mark they are
+ * complete up to and the database they were filled from. Layout, little-endian: magic "SLFS", format
+ * version, high-water mark in epoch microseconds, keys loaded, the database identity as a length-prefixed
+ * UTF-8 string, the email filter, the roll number filter (see {@link BloomFilter#writeTo}), then a CRC32C
+ * of everything before it. A file of another version is ignored rather than migrated; the filter is
+ * rebuilt from the database instead.
+ *
+ * @param highWater every student written up to this instant is in the filters
+ * @param database  identity of the database the keys were read from (see StudentRepository#databaseIdentity)
+ */
+record LookupFilterSnapshot(Instant highWater, long keys, String database, BloomFilter emails,
+        BloomFilter rollNumbers) {
+
+    private static final int MAGIC = 0x53464C53;
+    static final int VERSION = 2;
+    private static final int HEADER_BYTES = 3 * Integer.BYTES + 2 * Long.BYTES;
+
+    /**
+     * Writes the snapshot beside {@code path} and moves it into place, so readers never see a partial file.
+     */
+    void write(Path path) throws IOException {
+        byte[] databaseBytes = database.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + databaseBytes.length + emails.serializedSize()
+                + rollNumbers.serializedSize() + Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(MAGIC);
+        buffer.putInt(VERSION);
+        buffer.putLong(ChronoUnit.MICROS.between(Instant.EPOCH, highWater));
+        buffer.putLong(keys);
+        buffer.putInt(databaseBytes.length);
+        buffer.put(databaseBytes);
+        emails.writeTo(buffer);
+        rollNumbers.writeTo(buffer);
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.array(), 0, buffer.position());
+        buffer.putInt((int) crc.getValue());
+        buffer.flip();
+
+        Path directory = path.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path partial = directory.resolve(path.getFileName() + ".partial");
+        try (FileChannel channel = FileChannel.open(partial, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        Files.move(partial, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Memory-maps and reads the snapshot at {@code path}; empty when there is none.
+     *
+     * @throws IOException when the file is unreadable, of another format version, or corrupt
+     */
+    static Optional<LookupFilterSnapshot> read(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return Optional.empty();
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES + Integer.BYTES || size > Integer.MAX_VALUE) {
+                throw new IOException("Unexpected snapshot size " + size);
+            }
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            ByteBuffer buffer = mapped.order(ByteOrder.LITTLE_ENDIAN);
+            if (buffer.getInt() != MAGIC) {
+                throw new IOException("Not a lookup filter snapshot");
+            }
+            int version = buffer.getInt();
+            if (version != VERSION) {
+                throw new IOException("Snapshot format version " + version + ", expected " + VERSION);
+            }
+            CRC32C crc = new CRC32C();
+            crc.update(buffer.duplicate().position(0).limit((int) size - Integer.BYTES));
+            if ((int) crc.getValue() != buffer.getInt((int) size - Integer.BYTES)) {
+                throw new IOException("Snapshot checksum mismatch");
+            }
+            Instant highWater = Instant.EPOCH.plus(buffer.getLong(), ChronoUnit.MICROS);
+            long keys = buffer.getLong();
+            try {
+                int databaseLength = buffer.getInt();
+                if (databaseLength < 0 || databaseLength > buffer.remaining()) {
+                    throw new IllegalArgumentException("database identity of " + databaseLength + " bytes");
+                }
+                byte[] databaseBytes = new byte[databaseLength];
+                buffer.get(databaseBytes);
+                return Optional.of(new LookupFilterSnapshot(highWater, keys,
+                        new String(databaseBytes, StandardCharsets.UTF_8), BloomFilter.readFrom(buffer),
+                        BloomFilter.readFrom(buffer)));
+            } catch (IllegalArgumentException | BufferUnderflowException e) {
+                throw new IOException("Malformed snapshot: " + e.getMessage(), e);
+            }
+        }
+    }
+}
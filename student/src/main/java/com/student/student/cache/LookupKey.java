@@ -0,0 +1,20 @@
+package com.student.student.cache;
+
+/**
+ * Natural keys a student can be looked up by, used as a metric/event tag.
+ */
+public enum LookupKey {
+    ID("id"),
+    EMAIL("email"),
+    ROLL_NUMBER("rollNumber");
+
+    private final String tag;
+
+    LookupKey(String tag) {
+        this.tag = tag;
+    }
+
+    public String tag() {
+        return tag;
+    }
+}
@@ -0,0 +1,88 @@
+package com.student.student.cache;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Collapses concurrent calls for the same key into one: the first caller (the leader) runs the call on its
+ * own thread, callers arriving while it is in flight wait and get its result, or its exception rethrown.
+ * Nothing is kept once the call returns, so this is not a cache. While {@code maxInFlight} keys are in
+ * flight, further keys bypass coalescing and run on their own rather than grow the map without bound.
+ */
+public class SingleFlight<K, V> {
+
+    public enum Outcome { LEADER, COALESCED, BYPASSED }
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final int maxInFlight;
+    private final BiConsumer<K, Outcome> listener;
+
+    public SingleFlight(int maxInFlight, BiConsumer<K, Outcome> listener) {
+        if (maxInFlight <= 0) {
+            throw new IllegalArgumentException("maxInFlight must be positive");
+        }
+        this.maxInFlight = maxInFlight;
+        this.listener = listener;
+    }
+
+    public V execute(K key, Supplier<V> call) {
+        CompletableFuture<V> existing = inFlight.get(key);
+        if (existing == null) {
+            if (inFlight.size() >= maxInFlight) {
+                listener.accept(key, Outcome.BYPASSED);
+                return call.get();
+            }
+            CompletableFuture<V> flight = new CompletableFuture<>();
+            existing = inFlight.putIfAbsent(key, flight);
+            if (existing == null) {
+                listener.accept(key, Outcome.LEADER);
+                return lead(key, flight, call);
+            }
+        }
+        listener.accept(key, Outcome.COALESCED);
+        return await(existing);
+    }
+
+    /**
+     * Lets callers arriving from now on start a new call for {@code key} instead of joining the one in
+     * flight, e.g. once a write has committed that the in-flight call may not see.
+     */
+    public void forget(K key) {
+        inFlight.remove(key);
+    }
+
+    public int inFlight() {
+        return inFlight.size();
+    }
+
+    private V lead(K key, CompletableFuture<V> flight, Supplier<V> call) {
+        try {
+            V value = call.get();
+            flight.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    private static <V> V await(CompletableFuture<V> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            // The leader's own exception, so waiters see the same type and message it did
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,385 @@
+package com.student.student.cache;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.student.student.repository.StudentKeyView;
+import com.student.student.repository.StudentRepository;
+import com.student.student.shard.ShardRouter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Negative lookup cache over existing emails and roll numbers.
+ * Until the first seed completes every key is reported as possibly present, so callers always fall
+ * through to the database. This replica's writes are recorded as they commit; rows written by other
+ * replicas, jobs or by hand are caught up every {@code catch-up-interval} from their updated_at, so a key
+ * created elsewhere is reported missing for about one catch-up interval at most. Deleted keys are only
+ * dropped by the periodic full rebuild; until then a deleted key costs one extra query. Sharded, one
+ * filter covers every shard.
+ *
+ * <p>Every rebuild is also saved to a local snapshot file. At startup the filter is loaded from that file
+ * and caught up with the students written since its high-water mark, instead of scanning every student;
+ * the full rebuild then waits for the regular interval. A missing, corrupt or too old snapshot falls back
+ * to the full rebuild, as does one taken from another database (a restore, another DB_HOST) or one the
+ * database has more keys than it plus the rows caught up can account for: rows loaded with past
+ * timestamps, as the seed generator's are, never show up in the catch-up.
+ */
+@Component
+@Slf4j
+public class StudentLookupFilter {
+
+    private record Filters(BloomFilter emails, BloomFilter rollNumbers) {}
+
+    private final StudentRepository studentRepository;
+    private final ShardRouter shardRouter;
+    private final TransactionTemplate readOnlyTransaction;
+    private final boolean enabled;
+    private final long expectedInsertions;
+    private final double falsePositiveProbability;
+    private final Path snapshotPath;
+    private final Duration snapshotMaxAge;
+    private final Duration safetyWindow;
+
+    private volatile Filters active;
+    private volatile Filters building;
+    // Rows stamped after this are read by the next catch-up; null until the filter is first filled
+    private final AtomicReference<Instant> catchUpSince = new AtomicReference<>();
+
+    private final Map<LookupKey, Counter> skippedQueries = new EnumMap<>(LookupKey.class);
+    private final Map<LookupKey, Counter> falsePositives = new EnumMap<>(LookupKey.class);
+    private final AtomicLong skippedTotal = new AtomicLong();
+    private final AtomicLong falsePositiveTotal = new AtomicLong();
+    private final Timer snapshotLoads;
+    private final Timer databaseLoads;
+    private final Counter snapshotRowsRead;
+    private final Counter databaseRowsRead;
+    private final Counter catchUpRowsRead;
+
+    public StudentLookupFilter(StudentRepository studentRepository, ShardRouter shardRouter,
+            PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+            @Value("${student.lookup-filter.enabled:true}") boolean enabled,
+            @Value("${student.lookup-filter.expected-insertions:1000000}") long expectedInsertions,
+            @Value("${student.lookup-filter.false-positive-probability:0.01}") double falsePositiveProbability,
+            @Value("${student.lookup-filter.snapshot-path:}") String snapshotPath,
+            @Value("${student.lookup-filter.snapshot-max-age:PT24H}") Duration snapshotMaxAge,
+            @Value("${student.changes.safety-window:PT5S}") Duration safetyWindow) {
+        this.studentRepository = studentRepository;
+        this.shardRouter = shardRouter;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.enabled = enabled;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveProbability = falsePositiveProbability;
+        this.snapshotPath = snapshotPath.isBlank() ? null : Path.of(snapshotPath);
+        this.snapshotMaxAge = snapshotMaxAge;
+        this.safetyWindow = safetyWindow;
+
+        for (LookupKey key : new LookupKey[] { LookupKey.EMAIL, LookupKey.ROLL_NUMBER }) {
+            skippedQueries.put(key, Counter.builder("student.lookup.filter.skipped")
+                    .description("Database lookups skipped because the key is definitely absent")
+                    .tag("key", key.tag())
+                    .register(meterRegistry));
+            falsePositives.put(key, Counter.builder("student.lookup.filter.false_positives")
+                    .description("Lookups the filter let through that found no row")
+                    .tag("key", key.tag())
+                    .register(meterRegistry));
+        }
+        Gauge.builder("student.lookup.filter.false_positive_rate", this, StudentLookupFilter::observedFalsePositiveRate)
+                .description("Share of absent keys the filter failed to reject")
+                .register(meterRegistry);
+        Gauge.builder("student.lookup.filter.expected_fpp", this, StudentLookupFilter::expectedFalsePositiveProbability)
+                .description("False-positive probability implied by the email filter fill ratio")
+                .register(meterRegistry);
+        snapshotLoads = loadTimer(meterRegistry, "snapshot");
+        databaseLoads = loadTimer(meterRegistry, "database");
+        snapshotRowsRead = rowsRead(meterRegistry, "snapshot");
+        databaseRowsRead = rowsRead(meterRegistry, "database");
+        catchUpRowsRead = rowsRead(meterRegistry, "catch_up");
+    }
+
+    private static Timer loadTimer(MeterRegistry meterRegistry, String source) {
+        return Timer.builder("student.lookup.filter.load")
+                .description("Time to fill the filter, from a snapshot caught up with recent changes or from a full scan")
+                .tag("source", source)
+                .register(meterRegistry);
+    }
+
+    private static Counter rowsRead(MeterRegistry meterRegistry, String source) {
+        return Counter.builder("student.lookup.filter.rows_read")
+                .description("Student rows read from the database to fill the filter")
+                .tag("source", source)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Fills the filter at startup, from the snapshot when there is a usable one.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!enabled) {
+            return;
+        }
+        if (snapshotPath == null || !loadSnapshot()) {
+            rebuild();
+        }
+    }
+
+    @Scheduled(initialDelayString = "${student.lookup-filter.rebuild-interval:PT5M}",
+            fixedDelayString = "${student.lookup-filter.rebuild-interval:PT5M}")
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        long started = System.currentTimeMillis();
+        // Rows stamped before this but committed after the scan began are caught up from the snapshot
+        Instant highWater = Instant.now().minus(safetyWindow);
+        try {
+            String database = databaseIdentity();
+            long students = shardRouter.scatter(studentRepository::countAllKeys).stream().mapToLong(Long::longValue).sum();
+            long size = Math.max(expectedInsertions, students * 2);
+            Filters next = new Filters(new BloomFilter(size, falsePositiveProbability),
+                    new BloomFilter(size, falsePositiveProbability));
+            building = next;
+            // Streaming needs an open transaction, on each shard's own thread
+            long rows = shardRouter.scatter(() -> readOnlyTransaction.execute(status -> load(next, studentRepository::streamAllKeys)))
+                    .stream().mapToLong(Long::longValue).sum();
+            active = next;
+            catchUpSince.set(highWater);
+            long elapsed = System.currentTimeMillis() - started;
+            databaseLoads.record(Duration.ofMillis(elapsed));
+            databaseRowsRead.increment(rows);
+            log.info("Student lookup filter rebuilt with {} rows in {} ms", rows, elapsed);
+            if (database != null) {
+                saveSnapshot(new LookupFilterSnapshot(highWater, rows, database, next.emails(), next.rollNumbers()));
+            }
+        } catch (RuntimeException e) {
+            log.error("Failed to rebuild student lookup filter, keeping previous state: {}", e.getMessage());
+        } finally {
+            building = null;
+        }
+    }
+
+    /**
+     * Loads the filter from the snapshot and catches it up with the students written since; false when there
+     * is no usable snapshot.
+     */
+    private boolean loadSnapshot() {
+        long started = System.currentTimeMillis();
+        try {
+            Optional<LookupFilterSnapshot> read = LookupFilterSnapshot.read(snapshotPath);
+            if (read.isEmpty()) {
+                log.info("No student lookup filter snapshot at {}, rebuilding", snapshotPath);
+                return false;
+            }
+            LookupFilterSnapshot snapshot = read.get();
+            Duration age = Duration.between(snapshot.highWater(), Instant.now());
+            if (age.compareTo(snapshotMaxAge) > 0) {
+                log.info("Student lookup filter snapshot at {} is {} old, rebuilding", snapshotPath, age);
+                return false;
+            }
+            String database = databaseIdentity();
+            if (!snapshot.database().equals(database)) {
+                log.info("Student lookup filter snapshot at {} was taken from database {}, not {}, rebuilding",
+                        snapshotPath, snapshot.database(), database);
+                return false;
+            }
+            // Counted before the catch-up, so keys written meanwhile can only make the check more lenient
+            long keys = shardRouter.scatter(studentRepository::countAllKeys).stream().mapToLong(Long::longValue).sum();
+            Filters next = new Filters(snapshot.emails(), snapshot.rollNumbers());
+            building = next;
+            Instant highWater = Instant.now().minus(safetyWindow);
+            LocalDateTime since = LocalDateTime.ofInstant(snapshot.highWater(), ZoneId.systemDefault());
+            long rows = shardRouter.scatter(() -> readOnlyTransaction.execute(status -> load(next, () -> studentRepository.streamKeysUpdatedAfter(since))))
+                    .stream().mapToLong(Long::longValue).sum();
+            if (keys > snapshot.keys() + rows) {
+                log.info("Database has {} student keys, more than the {} of the snapshot at {} and the {} written since, rebuilding",
+                        keys, snapshot.keys(), snapshotPath, rows);
+                return false;
+            }
+            active = next;
+            catchUpSince.set(highWater);
+            long elapsed = System.currentTimeMillis() - started;
+            snapshotLoads.record(Duration.ofMillis(elapsed));
+            snapshotRowsRead.increment(rows);
+            log.info("Student lookup filter loaded from a snapshot of {} keys, {} old, and {} rows written since, in {} ms",
+                    snapshot.keys(), age, rows, elapsed);
+            return true;
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not load the student lookup filter snapshot at {}, rebuilding: {}", snapshotPath,
+                    e.getMessage());
+            return false;
+        } finally {
+            building = null;
+        }
+    }
+
+    /**
+     * Adds the students written since the last catch-up, by any replica or job, to the filter. Each pass
+     * re-reads one safety window of rows, so a row stamped before a pass but committed after it is still seen.
+     */
+    @Scheduled(initialDelayString = "${student.lookup-filter.catch-up-interval:PT1S}",
+            fixedDelayString = "${student.lookup-filter.catch-up-interval:PT1S}")
+    public void catchUp() {
+        Instant since = catchUpSince.get();
+        if (!enabled || since == null) {
+            return;
+        }
+        Instant highWater = Instant.now().minus(safetyWindow);
+        LocalDateTime after = LocalDateTime.ofInstant(since, ZoneId.systemDefault());
+        try {
+            long rows = shardRouter.scatter(() -> readOnlyTransaction.execute(status -> record(() -> studentRepository.streamKeysUpdatedAfter(after))))
+                    .stream().mapToLong(Long::longValue).sum();
+            catchUpRowsRead.increment(rows);
+            // A rebuild or snapshot load that finished meanwhile already moved the mark
+            catchUpSince.compareAndSet(since, highWater);
+        } catch (RuntimeException e) {
+            log.warn("Failed to catch the student lookup filter up, retrying next interval: {}", e.getMessage());
+        }
+    }
+
+    // Null when it cannot be read (pg_control_system may be restricted); snapshots are then neither saved nor trusted
+    private String databaseIdentity() {
+        try {
+            return String.join(",", shardRouter.scatter(studentRepository::databaseIdentity));
+        } catch (RuntimeException e) {
+            log.warn("Could not identify the database, the student lookup filter snapshot is not used: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private void saveSnapshot(LookupFilterSnapshot snapshot) {
+        if (snapshotPath == null) {
+            return;
+        }
+        try {
+            snapshot.write(snapshotPath);
+        } catch (IOException e) {
+            log.warn("Could not save the student lookup filter snapshot to {}: {}", snapshotPath, e.getMessage());
+        }
+    }
+
+    private long load(Filters target, Supplier<Stream<StudentKeyView>> query) {
+        long rows = 0;
+        try (Stream<StudentKeyView> keys = query.get()) {
+            for (StudentKeyView key : (Iterable<StudentKeyView>) keys::iterator) {
+                target.emails().put(normalize(key.getEmail()));
+                target.rollNumbers().put(String.valueOf(key.getRollNumber()));
+                rows++;
+            }
+        }
+        return rows;
+    }
+
+    private long record(Supplier<Stream<StudentKeyView>> query) {
+        long rows = 0;
+        try (Stream<StudentKeyView> keys = query.get()) {
+            for (StudentKeyView key : (Iterable<StudentKeyView>) keys::iterator) {
+                recordEmail(key.getEmail());
+                recordRollNumber(key.getRollNumber());
+                rows++;
+            }
+        }
+        return rows;
+    }
+
+    public boolean definitelyMissingEmail(String email) {
+        Filters filters = active;
+        if (filters == null || filters.emails().mightContain(normalize(email))) {
+            return false;
+        }
+        skipped(LookupKey.EMAIL);
+        return true;
+    }
+
+    public boolean definitelyMissingRollNumber(Integer rollNumber) {
+        Filters filters = active;
+        if (filters == null || filters.rollNumbers().mightContain(String.valueOf(rollNumber))) {
+            return false;
+        }
+        skipped(LookupKey.ROLL_NUMBER);
+        return true;
+    }
+
+    public void recordEmail(String email) {
+        email = normalize(email);
+        Filters current = active;
+        Filters next = building;
+        if (current != null) {
+            current.emails().put(email);
+        }
+        if (next != null) {
+            next.emails().put(email);
+        }
+    }
+
+    public void recordRollNumber(Integer rollNumber) {
+        if (rollNumber == null) {
+            return;
+        }
+        Filters current = active;
+        Filters next = building;
+        if (current != null) {
+            current.rollNumbers().put(String.valueOf(rollNumber));
+        }
+        if (next != null) {
+            next.rollNumbers().put(String.valueOf(rollNumber));
+        }
+    }
+
+    /**
+     * Called when the filter let a key through and the database then found no row.
+     */
+    public void recordFalsePositive(LookupKey key) {
+        if (active == null) {
+            return;
+        }
+        falsePositives.get(key).increment();
+        falsePositiveTotal.incrementAndGet();
+    }
+
+    // Emails match case-insensitively, see StudentRepository.findByEmail
+    private static String normalize(String email) {
+        return email.toLowerCase(Locale.ROOT);
+    }
+
+    private void skipped(LookupKey key) {
+        skippedQueries.get(key).increment();
+        skippedTotal.incrementAndGet();
+    }
+
+    private double observedFalsePositiveRate() {
+        long fp = falsePositiveTotal.get();
+        long negatives = fp + skippedTotal.get();
+        return negatives == 0 ? 0.0 : (double) fp / negatives;
+    }
+
+    private double expectedFalsePositiveProbability() {
+        Filters filters = active;
+        return filters == null ? 0.0 : filters.emails().expectedFalsePositiveProbability();
+    }
+}
@@ -0,0 +1,139 @@
+package com.student.student.cache;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.student.student.dto.StudentResponse;
+import com.student.student.tenant.TenantContext;
+import com.student.student.tenant.TenantRegistry;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Single-flight for StudentService's lookups by id, email and roll number: concurrent lookups of the same
+ * student share one query and its result or StudentNotFoundException. Emails are compared case-insensitively,
+ * as the query does. Writes call {@link #forgetAfterCommit}, so a lookup that starts after a write commits
+ * never joins a query that started before it.
+ *
+ * <p>Lookups only ever join lookups of the same tenant, and each tenant partition (see TenantRegistry) has
+ * its own {@code max-in-flight}, so a tenant flooding lookups runs out of coalescing slots on its own
+ * instead of taking them from everyone else.
+ */
+@Component
+public class StudentLookupFlights {
+
+    private record Key(String tenant, LookupKey type, Object value) {}
+
+    private final TenantRegistry tenantRegistry;
+    private final boolean enabled;
+    private final int maxInFlight;
+    // By tenant partition; unbound (tenant-blind) lookups have their own
+    private final Map<String, SingleFlight<Key, StudentResponse>> flights = new ConcurrentHashMap<>();
+    private final SingleFlight<Key, StudentResponse> unboundFlights;
+    private final Map<LookupKey, Map<SingleFlight.Outcome, Counter>> calls = new EnumMap<>(LookupKey.class);
+
+    public StudentLookupFlights(MeterRegistry meterRegistry, TenantRegistry tenantRegistry,
+            @Value("${student.single-flight.enabled:true}") boolean enabled,
+            @Value("${student.single-flight.max-in-flight:10000}") int maxInFlight) {
+        this.tenantRegistry = tenantRegistry;
+        this.enabled = enabled;
+        this.maxInFlight = maxInFlight;
+        for (LookupKey key : LookupKey.values()) {
+            Map<SingleFlight.Outcome, Counter> outcomes = new EnumMap<>(SingleFlight.Outcome.class);
+            for (SingleFlight.Outcome outcome : SingleFlight.Outcome.values()) {
+                outcomes.put(outcome, Counter.builder("student.lookup.single_flight")
+                        .description("Student lookups by whether they queried (leader), joined an identical "
+                                + "in-flight query (coalesced) or found the in-flight map full (bypassed)")
+                        .tag("key", key.tag())
+                        .tag("outcome", outcome.name().toLowerCase(Locale.ROOT))
+                        .register(meterRegistry));
+            }
+            calls.put(key, outcomes);
+        }
+        this.unboundFlights = newFlights();
+        Gauge.builder("student.lookup.single_flight.in_flight", this, StudentLookupFlights::inFlight)
+                .description("Distinct student lookups in flight, over all tenants")
+                .register(meterRegistry);
+    }
+
+    public StudentResponse byId(UUID studentId, Supplier<StudentResponse> lookup) {
+        return execute(key(LookupKey.ID, studentId), lookup);
+    }
+
+    public StudentResponse byEmail(String email, Supplier<StudentResponse> lookup) {
+        return execute(emailKey(email), lookup);
+    }
+
+    public StudentResponse byRollNumber(Integer rollNumber, Supplier<StudentResponse> lookup) {
+        return execute(key(LookupKey.ROLL_NUMBER, rollNumber), lookup);
+    }
+
+    /**
+     * Detaches in-flight lookups of a written student once the write commits, or now outside a transaction.
+     */
+    public void forgetAfterCommit(UUID studentId, Integer rollNumber, String... emails) {
+        if (!enabled) {
+            return;
+        }
+        SingleFlight<Key, StudentResponse> tenantFlights = flights();
+        List<Key> keys = new ArrayList<>(emails.length + 2);
+        keys.add(key(LookupKey.ID, studentId));
+        keys.add(key(LookupKey.ROLL_NUMBER, rollNumber));
+        for (String email : emails) {
+            keys.add(emailKey(email));
+        }
+        Runnable forget = () -> keys.forEach(tenantFlights::forget);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            forget.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                forget.run();
+            }
+        });
+    }
+
+    private StudentResponse execute(Key key, Supplier<StudentResponse> lookup) {
+        return enabled ? flights().execute(key, lookup) : lookup.get();
+    }
+
+    private SingleFlight<Key, StudentResponse> flights() {
+        String tenant = TenantContext.current();
+        if (tenant == null) {
+            return unboundFlights;
+        }
+        return flights.computeIfAbsent(tenantRegistry.partition(tenant).name(), partition -> newFlights());
+    }
+
+    private SingleFlight<Key, StudentResponse> newFlights() {
+        return new SingleFlight<>(maxInFlight, (key, outcome) -> calls.get(key.type()).get(outcome).increment());
+    }
+
+    private int inFlight() {
+        return unboundFlights.inFlight() + flights.values().stream().mapToInt(SingleFlight::inFlight).sum();
+    }
+
+    // Keyed by the tenant too: the same id looked up by two tenants are two different lookups
+    private static Key key(LookupKey type, Object value) {
+        return new Key(TenantContext.current(), type, value);
+    }
+
+    private static Key emailKey(String email) {
+        return key(LookupKey.EMAIL, email.toLowerCase(Locale.ROOT));
+    }
+}
@@ -5,13 +5,17 @@ import java.util.HashMap;
 import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
 import org.springframework.boot.info.BuildProperties;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.student.student.dto.SloStatusResponse;
 import com.student.student.repository.StudentRepository;
+import com.student.student.slo.SloMonitor;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -28,17 +32,24 @@ public class HealthCheckController {
 
     private final StudentRepository studentRepository;
     private final BuildProperties buildProperties;
+    private final ApplicationAvailability applicationAvailability;
+    private final SloMonitor sloMonitor;
 
     public HealthCheckController(StudentRepository studentRepository, 
-                                @Autowired(required = false) BuildProperties buildProperties) {
+                                @Autowired(required = false) BuildProperties buildProperties,
+                                ApplicationAvailability applicationAvailability,
+                                SloMonitor sloMonitor) {
         this.studentRepository = studentRepository;
         this.buildProperties = buildProperties;
+        this.applicationAvailability = applicationAvailability;
+        this.sloMonitor = sloMonitor;
     }
 
     @GetMapping
     @Operation(
         summary = "Application health check",
-        description = "Returns the health status of the application including database connectivity"
+        description = "Returns the health status of the application including database connectivity. "
+            + "Reports 503 WARMING_UP until the startup warm-up has finished and the instance accepts traffic"
     )
     @ApiResponse(
         responseCode = "200", 
@@ -52,6 +63,7 @@ public class HealthCheckController {
                   "timestamp": "2025-08-23T10:30:00",
                   "application": "Student Management API",
                   "version": "1.0.0",
+                  "readiness": "ACCEPTING_TRAFFIC",
                   "database": {
                     "status": "UP",
                     "connection": "healthy"
@@ -93,22 +105,28 @@ public class HealthCheckController {
         // Check database connectivity
         boolean isDatabaseHealthy = checkDatabaseHealth(databaseStatus);
         
-        // Overall health status
-        String overallStatus = isDatabaseHealthy ? "UP" : "DOWN";
+        // Overall health status; a database failure wins over warming up
+        ReadinessState readiness = applicationAvailability.getReadinessState();
+        boolean isReady = readiness == ReadinessState.ACCEPTING_TRAFFIC;
+        String overallStatus = !isDatabaseHealthy ? "DOWN" : isReady ? "UP" : "WARMING_UP";
         
         // Build response
         healthStatus.put("status", overallStatus);
         healthStatus.put("timestamp", LocalDateTime.now());
         healthStatus.put("application", "Student Management API");
         healthStatus.put("version", getApplicationVersion());
+        healthStatus.put("readiness", readiness);
         healthStatus.put("database", databaseStatus);
         
         // Add uptime if available
         healthStatus.put("uptime", getUptime());
         
-        if (isDatabaseHealthy) {
+        if (isDatabaseHealthy && isReady) {
             log.debug("Health check passed - all systems operational");
             return ResponseEntity.ok(healthStatus);
+        } else if (isDatabaseHealthy) {
+            log.debug("Health check refused - still warming up");
+            return ResponseEntity.status(503).body(healthStatus);
         } else {
             log.warn("Health check failed - database connectivity issues");
             return ResponseEntity.status(503).body(healthStatus);
@@ -118,7 +136,7 @@ public class HealthCheckController {
     @GetMapping("/simple")
     @Operation(
         summary = "Simple health check",
-        description = "Returns a simple OK status for basic monitoring"
+        description = "Returns a simple OK status for basic monitoring; a liveness check, OK while warming up too"
     )
     @ApiResponse(responseCode = "200", description = "Service is running")
     public ResponseEntity<Map<String, String>> simpleHealthCheck() {
@@ -151,6 +169,18 @@ public class HealthCheckController {
         }
     }
 
+    @GetMapping("/slo")
+    @Operation(
+        summary = "Service level objectives",
+        description = "Returns availability, latency percentiles and error budget burn rates per endpoint "
+            + "over the last 5 minutes, 30 minutes, 1 hour and 6 hours, with the burn rate alerts firing now"
+    )
+    @ApiResponse(responseCode = "200", description = "Objectives evaluated; status tells whether any alert fires")
+    public ResponseEntity<SloStatusResponse> sloStatus() {
+        log.debug("SLO status accessed");
+        return ResponseEntity.ok(sloMonitor.status());
+    }
+
     private boolean checkDatabaseHealth(Map<String, Object> databaseStatus) {
         try {
             // Test database connectivity by counting students
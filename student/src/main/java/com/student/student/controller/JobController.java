@@ -0,0 +1,96 @@
+package com.student.student.controller;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.UUID;
+
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.student.student.dto.JobRequest;
+import com.student.student.dto.JobResponse;
+import com.student.student.jdbc.SqlBudget;
+import com.student.student.service.JobService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@RestController
+@RequestMapping("/api/v1/jobs")
+@RequiredArgsConstructor
+@Slf4j
+public class JobController {
+
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+    private static final MediaType PARQUET = MediaType.parseMediaType("application/vnd.apache.parquet");
+
+    private final JobService jobService;
+
+    @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Submit an export, snapshot or archive job", description = "Queues the job and returns at once; poll the Location for progress")
+    @ApiResponse(responseCode = "202", description = "Job queued", content = @Content(mediaType = "application/json", schema = @Schema(implementation = JobResponse.class)))
+    @ApiResponse(responseCode = "400", description = "Missing or unknown job type, an import without a CSV upload, snapshot options that are unknown or given to another job type, or an archive job while archiving is disabled (student.archive.enabled) or with a tenant other than the default")
+    @SqlBudget(2)
+    public ResponseEntity<JobResponse> submitJob(
+        @Parameter(description = "Job to run", required = true) @Valid @RequestBody JobRequest jobRequest) {
+        log.info("Submitting {} job", jobRequest.type());
+        return accepted(jobService.submit(jobRequest));
+    }
+
+    @PostMapping(consumes = "text/csv")
+    @Operation(summary = "Submit an import job", description = "Uploads a CSV with the header firstName,lastName,email,dateOfBirth and queues its import on this instance; rejected rows are listed in the job result")
+    @ApiResponse(responseCode = "202", description = "Import queued", content = @Content(mediaType = "application/json", schema = @Schema(implementation = JobResponse.class)))
+    @ApiResponse(responseCode = "400", description = "Empty upload")
+    @SqlBudget(2)
+    public ResponseEntity<JobResponse> submitImport(HttpServletRequest request) throws IOException {
+        log.info("Submitting IMPORT job of {} bytes", request.getContentLengthLong());
+        return accepted(jobService.submitImport(request.getInputStream()));
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Get a job", description = "Status and progress of a job")
+    @ApiResponse(responseCode = "200", description = "Job found", content = @Content(mediaType = "application/json", schema = @Schema(implementation = JobResponse.class)))
+    @ApiResponse(responseCode = "404", description = "Job not found")
+    @SqlBudget(1)
+    public ResponseEntity<JobResponse> getJob(@Parameter(description = "Job ID", required = true) @PathVariable UUID id) {
+        return ResponseEntity.ok(jobService.getJob(id));
+    }
+
+    @GetMapping("/{id}/result")
+    @Operation(summary = "Download a job result", description = "The exported students or the rejected rows of an import as CSV, or a snapshot as Parquet. Served by the instance that ran the job")
+    @ApiResponse(responseCode = "200", description = "Result file", content = { @Content(mediaType = "text/csv"), @Content(mediaType = "application/vnd.apache.parquet") })
+    @ApiResponse(responseCode = "404", description = "Job not found")
+    @ApiResponse(responseCode = "409", description = "Job not finished, without a result, or run by another instance")
+    @SqlBudget(1)
+    public ResponseEntity<Resource> getResult(@Parameter(description = "Job ID", required = true) @PathVariable UUID id) {
+        Path result = jobService.result(id);
+        boolean parquet = result.getFileName().toString().endsWith(".parquet");
+        return ResponseEntity.ok()
+                .contentType(parquet ? PARQUET : TEXT_CSV)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("job-" + id + (parquet ? ".parquet" : ".csv")).build().toString())
+                .body(new FileSystemResource(result));
+    }
+
+    private static ResponseEntity<JobResponse> accepted(JobResponse job) {
+        return ResponseEntity.accepted().location(URI.create("/api/v1/jobs/" + job.jobId())).body(job);
+    }
+}
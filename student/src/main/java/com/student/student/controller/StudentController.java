@@ -3,7 +3,11 @@ package com.student.student.controller;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.student.student.service.StudentChangeService;
 import com.student.student.service.StudentService;
+import com.student.student.service.StudentStatsService;
+import com.student.student.stream.StudentEventBroadcaster;
+import com.student.student.stream.StudentOutboxRelay;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -15,6 +19,13 @@ import io.swagger.v3.oas.annotations.media.Content;
 
 import com.student.student.dto.StudentResponse;
 import com.student.student.dto.StudentRequest;
+import com.student.student.dto.StudentFields;
+import com.student.student.dto.StudentChangesResponse;
+import com.student.student.dto.StudentEvent;
+import com.student.student.dto.StudentStatsResponse;
+import com.student.student.dto.StudentLookupRequest;
+import com.student.student.dto.StudentLookupResult;
+import com.student.student.jdbc.SqlBudget;
 
 
 import lombok.RequiredArgsConstructor;
@@ -24,6 +35,7 @@ import java.util.List;
 import java.util.UUID;
 
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -32,6 +44,9 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 
 
@@ -43,25 +58,73 @@ import org.springframework.web.bind.annotation.PutMapping;
 @RequiredArgsConstructor
 @Slf4j
 public class StudentController {
+    private static final String FIELDS_DESCRIPTION = "Comma-separated response properties to return, e.g. rollNumber,firstName,lastName. Omit for all properties";
+
     private final StudentService studentService;
+    private final StudentChangeService studentChangeService;
+    private final StudentStatsService studentStatsService;
+    private final StudentEventBroadcaster studentEventBroadcaster;
+    private final StudentOutboxRelay studentOutboxRelay;
 
     @GetMapping
     @Operation(summary = "Get all students", description = "Fetches all student records")
     @ApiResponse(responseCode = "200", description = "Successful operation", content = @Content(mediaType = "application/json", schema = @Schema(implementation = StudentResponse.class)))
 
-    public ResponseEntity<List<StudentResponse>> getAllStudents() {
+    @SqlBudget(1)
+    public ResponseEntity<?> getAllStudents(@Parameter(description = FIELDS_DESCRIPTION) @RequestParam(name = "fields", required = false) String fields) {
         log.info("Fetching all students");
         
+        if (fields != null) {
+            return ResponseEntity.ok(studentService.getAllStudents(StudentFields.parse(fields)));
+        }
         List<StudentResponse> students = studentService.getAllStudents();
         return ResponseEntity.ok(students);
     }
 
+    @GetMapping("/changes")
+    @Operation(summary = "Get student changes", description = "Returns students created, updated or deleted after the given change token, oldest first. Omit since for a full initial sync, then keep passing nextToken")
+    @ApiResponse(responseCode = "200", description = "Page of changes", content = @Content(mediaType = "application/json", schema = @Schema(implementation = StudentChangesResponse.class)))
+    @ApiResponse(responseCode = "400", description = "Malformed change token")
+    @ApiResponse(responseCode = "410", description = "Change token older than tombstone retention, resync required")
+    @SqlBudget(2)
+    public ResponseEntity<StudentChangesResponse> getChanges(
+        @Parameter(description = "nextToken from the previous call") @RequestParam(name = "since", required = false) String since,
+        @Parameter(description = "Maximum number of changes to return") @RequestParam(name = "limit", defaultValue = "500") int limit) {
+        log.info("Fetching student changes since token: {}", since);
+        return ResponseEntity.ok(studentChangeService.getChangesSince(since, limit));
+    }
+
+    @GetMapping("/stats")
+    @Operation(summary = "Get student statistics", description = "Total student count plus counts by year of birth and enrollment month, for the caller's tenant only, served from incrementally maintained counters without scanning students")
+    @ApiResponse(responseCode = "200", description = "Current counts", content = @Content(mediaType = "application/json", schema = @Schema(implementation = StudentStatsResponse.class)))
+    @SqlBudget(1)
+    public ResponseEntity<StudentStatsResponse> getStats() {
+        log.info("Fetching student statistics");
+        return ResponseEntity.ok(studentStatsService.getStats());
+    }
+
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream student changes", description = "Server-Sent Events stream of student creates, updates and deletes. Reconnect with Last-Event-ID to resume; a resync event means events were purged and the client should catch up via /changes")
+    @ApiResponse(responseCode = "200", description = "Event stream", content = @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE, schema = @Schema(implementation = StudentEvent.class)))
+    public SseEmitter streamChanges(
+        @Parameter(description = "Id of the last event received") @RequestHeader(name = "Last-Event-ID", required = false) String lastEventId) {
+        log.info("Opening student event stream from event: {}", lastEventId);
+        return studentEventBroadcaster.subscribe(lastEventId, studentOutboxRelay::positions);
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get student by ID", description = "Fetches a student record by its unique ID")
     @ApiResponse(responseCode = "200", description = "Student found", content = @Content(mediaType = "application/json", schema = @Schema(implementation = StudentResponse.class)))
     @ApiResponse(responseCode = "404", description = "Student not found")
-    public ResponseEntity<StudentResponse> getStudentById(@Parameter(description = "Unique Id of the student",required = true) @PathVariable("id") UUID studentId) {
+    // Student lookups below cost a second statement on a miss: the students_archive fallback
+    // (student.archive.lookup-fallback)
+    @SqlBudget(2)
+    public ResponseEntity<?> getStudentById(@Parameter(description = "Unique Id of the student",required = true) @PathVariable("id") UUID studentId,
+        @Parameter(description = FIELDS_DESCRIPTION) @RequestParam(name = "fields", required = false) String fields) {
         log.info("Fetching student with ID: {}", studentId);
+        if (fields != null) {
+            return ResponseEntity.ok(studentService.getStudentById(studentId, StudentFields.parse(fields)));
+        }
         StudentResponse student = studentService.getStudentById(studentId);
         return ResponseEntity.ok(student);
         
@@ -72,8 +135,13 @@ public class StudentController {
     @Operation(summary = "Get student by email", description = "Fetches a student record by email")
     @ApiResponse(responseCode = "200", description = "Student found", content = @Content(mediaType = "application/json", schema = @Schema(implementation = StudentResponse.class)))
     @ApiResponse(responseCode = "404", description = "Student not found")   
-    public ResponseEntity<StudentResponse> getStudentByEmail(@Parameter(description = "Email Address of the student",required = true) @PathVariable("email") String email) {
+    @SqlBudget(2)
+    public ResponseEntity<?> getStudentByEmail(@Parameter(description = "Email Address of the student",required = true) @PathVariable("email") String email,
+        @Parameter(description = FIELDS_DESCRIPTION) @RequestParam(name = "fields", required = false) String fields) {
         log.info("Fetching student with email: {}", email);
+        if (fields != null) {
+            return ResponseEntity.ok(studentService.getStudentByEmail(email, StudentFields.parse(fields)));
+        }
         StudentResponse student = studentService.getStudentByEmail(email);
         return ResponseEntity.ok(student);
     }
@@ -82,8 +150,13 @@ public class StudentController {
     @Operation(summary = "Get student by roll number", description = "Fetches a student record by roll number")
     @ApiResponse(responseCode = "200", description = "Student found", content = @Content(mediaType = "application/json", schema = @Schema(implementation = StudentResponse.class)))
     @ApiResponse(responseCode = "404", description = "Student not found")   
-    public ResponseEntity<StudentResponse> getStudentByRollNumber(@Parameter(description = "Roll Number",required = true) @PathVariable("rollNumber") Integer rollNumber) {
+    @SqlBudget(2)
+    public ResponseEntity<?> getStudentByRollNumber(@Parameter(description = "Roll Number",required = true) @PathVariable("rollNumber") Integer rollNumber,
+        @Parameter(description = FIELDS_DESCRIPTION) @RequestParam(name = "fields", required = false) String fields) {
         log.info("Fetching student with roll number: {}", rollNumber);
+        if (fields != null) {
+            return ResponseEntity.ok(studentService.getStudentByRollNumber(rollNumber, StudentFields.parse(fields)));
+        }
         StudentResponse student = studentService.getStudentByRollNumber(rollNumber);
         return ResponseEntity.ok(student);
     }   
@@ -94,6 +167,7 @@ public class StudentController {
     @ApiResponse(responseCode = "400", description = "Invalid input data")
     @ApiResponse(responseCode = "409", description = "Email already exists")
     
+    @SqlBudget(4)
     public ResponseEntity<StudentResponse> createStudent(
     @Parameter(description = "Student details", required = true)
     @Valid @RequestBody StudentRequest studentRequest) {
@@ -106,12 +180,26 @@ public class StudentController {
     return ResponseEntity.status(HttpStatus.CREATED).body(createdStudent);
     }    
 
+    @PostMapping("/lookup")
+    @Operation(summary = "Look up many students", description = "Resolves up to " + StudentLookupRequest.MAX_KEYS + " ids, emails or roll numbers in one call. Results follow the request order and misses are returned with found=false")
+    @ApiResponse(responseCode = "200", description = "Lookup completed", content = @Content(mediaType = "application/json", schema = @Schema(implementation = StudentLookupResult.class)))
+    @ApiResponse(responseCode = "400", description = "Invalid key type or malformed keys")
+    // The misses of a batch go to students_archive together
+    @SqlBudget(2)
+    public ResponseEntity<List<StudentLookupResult>> lookupStudents(
+        @Parameter(description = "Key type and keys to resolve", required = true) @Valid @RequestBody StudentLookupRequest lookupRequest) {
+        log.info("Looking up {} students by {}", lookupRequest.keys().size(), lookupRequest.keyType().tag());
+        List<StudentLookupResult> results = studentService.lookupStudents(lookupRequest.keyType(), lookupRequest.keys());
+        return ResponseEntity.ok(results);
+    }
+
     @PutMapping("/{id}")
     @Operation(summary = "Update an existing student", description = "Updates an existing student record by ID")
     @ApiResponse(responseCode = "200", description = "Student updated successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = StudentResponse.class)))  
     @ApiResponse(responseCode = "400", description = "Invalid input data")
     @ApiResponse(responseCode = "404", description = "Student not found")
     @ApiResponse(responseCode = "409", description = "Email already exists")
+    @SqlBudget(4)
     public ResponseEntity<StudentResponse> updateStudent(
         @Parameter(description = "Unique Id of the student to be updated", required = true) @PathVariable("id") UUID studentId,
         @Parameter(description = "Updated student details", required = true) @Valid @RequestBody StudentRequest studentRequest) {
@@ -126,6 +214,7 @@ public class StudentController {
     @Operation(summary = "Delete a student", description = "Deletes a student record by ID")
     @ApiResponse(responseCode = "204", description = "Student deleted successfully")
     @ApiResponse(responseCode = "404", description = "Student not found")
+    @SqlBudget(3)
     public ResponseEntity<Void> deleteStudent(
         @Parameter(description = "Unique Id of the student to be deleted", required = true) @PathVariable("id") UUID studentId) {
         log.info("Deleting student with ID: {}", studentId);
@@ -139,6 +228,7 @@ public class StudentController {
     @Operation(summary = "Delete a student by roll number", description = "Deletes a student record by roll number")
     @ApiResponse(responseCode = "204", description = "Student deleted successfully")
     @ApiResponse(responseCode = "404", description = "Student not found")
+    @SqlBudget(2)
     public ResponseEntity<Void> deleteStudentByRollNumber(
         @Parameter(description = "Roll Number of the student to be deleted", required = true) @PathVariable("rollNumber") Integer rollNumber) {
         log.info("Deleting student with roll number: {}", rollNumber);
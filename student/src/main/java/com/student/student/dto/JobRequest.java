@@ -0,0 +1,20 @@
+package com.student.student.dto;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+import com.student.student.job.JobType;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+
+@Schema(description = "Job to run; imports are submitted as a text/csv upload instead")
+public record JobRequest(
+    @Schema(description = "What the job does", example = "SNAPSHOT")
+    @NotNull(message = "Job type is required")
+    JobType type,
+    @Schema(description = "SNAPSHOT only: columns to write, in order; all of them when omitted", example = "[\"studentId\", \"firstName\", \"lastName\", \"updatedAt\"]")
+    List<String> columns,
+    @Schema(description = "SNAPSHOT only: write just the students updated after this time; pass the next_updated_since of the previous snapshot", example = "2023-10-01T12:00:00Z")
+    OffsetDateTime updatedSince
+) {}
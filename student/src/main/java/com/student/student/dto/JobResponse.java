@@ -0,0 +1,37 @@
+package com.student.student.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import com.student.student.job.JobStatus;
+import com.student.student.job.JobType;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "State and progress of a background job")
+public record JobResponse(
+    @Schema(description = "Job id", example = "0190d3c4-6f2a-7b1e-9a3f-2c4d5e6f7a8b")
+    UUID jobId,
+    @Schema(description = "What the job does", example = "EXPORT")
+    JobType type,
+    @Schema(description = "QUEUED, RUNNING, SUCCEEDED or FAILED", example = "RUNNING")
+    JobStatus status,
+    @Schema(description = "Rows processed so far, rejected ones included", example = "42000")
+    long processed,
+    @Schema(description = "Rows rejected so far; see the result file", example = "3")
+    long failed,
+    @Schema(description = "Rows to process, once known", example = "100000")
+    Long total,
+    @Schema(description = "Why the job failed", example = "The input must start with the header firstName,lastName,email,dateOfBirth")
+    String error,
+    @Schema(description = "When the job was submitted", example = "2023-10-01T12:00:00")
+    LocalDateTime createdAt,
+    @Schema(description = "When the job first started running", example = "2023-10-01T12:00:01")
+    LocalDateTime startedAt,
+    @Schema(description = "When the job finished", example = "2023-10-01T12:03:20")
+    LocalDateTime finishedAt,
+    @Schema(description = "Last progress report", example = "2023-10-01T12:01:30")
+    LocalDateTime updatedAt,
+    @Schema(description = "Where to download the result file, once the job has finished", example = "/api/v1/jobs/0190d3c4-6f2a-7b1e-9a3f-2c4d5e6f7a8b/result")
+    String resultUrl
+) {}
@@ -0,0 +1,58 @@
+package com.student.student.dto;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Service level objectives evaluated in-process over sliding windows")
+public record SloStatusResponse(
+    @Schema(description = "OK, or the most severe firing alert: TICKET or PAGE", example = "OK")
+    String status,
+    @Schema(description = "When the windows were read", example = "2026-10-19T10:30:00Z")
+    Instant evaluatedAt,
+    @Schema(description = "One entry per configured objective")
+    List<Objective> objectives
+) {
+
+    @Schema(description = "Objectives of one endpoint and how they fare per window")
+    public record Objective(
+        @Schema(description = "Method and route pattern", example = "GET /api/v1/students/{id}")
+        String name,
+        @Schema(description = "Latency a successful request must stay within", example = "50")
+        long latencyThresholdMs,
+        @Schema(description = "Share of successful requests that must be within the threshold", example = "0.99")
+        double latencyTarget,
+        @Schema(description = "Share of requests that must not fail with a 5xx", example = "0.999")
+        double availabilityTarget,
+        @Schema(description = "Outcomes per window: 5m, 30m, 1h and 6h")
+        Map<String, Window> windows,
+        @Schema(description = "Burn rate alerts firing now")
+        List<Alert> alerts
+    ) {}
+
+    @Schema(description = "Outcomes over one window; a burn rate of 1 spends the error budget exactly on schedule")
+    public record Window(
+        @Schema(example = "12000") long requests,
+        @Schema(example = "0.9995") double availability,
+        @Schema(description = "Share of successful requests within the latency threshold", example = "0.993")
+        double latencyCompliance,
+        @Schema(description = "Median latency, to the upper bound of its histogram bin", example = "8.4")
+        double p50Ms,
+        @Schema(description = "99th percentile latency, to the upper bound of its histogram bin", example = "42.0")
+        double p99Ms,
+        @Schema(example = "0.5") double availabilityBurnRate,
+        @Schema(example = "0.7") double latencyBurnRate
+    ) {}
+
+    @Schema(description = "Both windows of a multi-window rule burning faster than its threshold")
+    public record Alert(
+        @Schema(example = "PAGE") String severity,
+        @Schema(description = "availability or latency", example = "latency") String sli,
+        @Schema(example = "1h") String longWindow,
+        @Schema(example = "5m") String shortWindow,
+        @Schema(example = "14.4") double threshold,
+        @Schema(description = "Burn rate over the long window", example = "16.2") double burnRate
+    ) {}
+}
@@ -0,0 +1,22 @@
+package com.student.student.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "One entry of the student change feed")
+public record StudentChange(
+    @Schema(description = "What happened to the student since the supplied token", example = "UPDATED")
+    Type type,
+    @Schema(description = "Student's unique identifier", example = "123e4567-e89b-12d3-a456-426614174000")
+    UUID studentId,
+    @Schema(description = "Student's roll number", example = "1001")
+    Integer rollNumber,
+    @Schema(description = "When the change happened", example = "2023-10-02T15:30:00")
+    LocalDateTime changedAt,
+    @Schema(description = "Current state of the student, null for deletions")
+    StudentResponse student
+) {
+    public enum Type { CREATED, UPDATED, DELETED }
+}
@@ -0,0 +1,15 @@
+package com.student.student.dto;
+
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Page of the student change feed")
+public record StudentChangesResponse(
+    @Schema(description = "Changes ordered by time, oldest first")
+    List<StudentChange> changes,
+    @Schema(description = "Token to pass as since on the next call", example = "djE6MjAyMy0xMC0wMlQxNTozMDowMFoxMjNlNDU2Nw")
+    String nextToken,
+    @Schema(description = "True when more changes are available right away with nextToken", example = "false")
+    boolean hasMore
+) {}
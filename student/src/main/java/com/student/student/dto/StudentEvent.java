@@ -0,0 +1,25 @@
+package com.student.student.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Student change pushed on the event stream; the SSE id is eventId")
+public record StudentEvent(
+    @Schema(description = "Monotonic event id, usable as Last-Event-ID", example = "42")
+    long eventId,
+    @Schema(description = "Kind of change", example = "CREATED")
+    StudentChange.Type type,
+    @Schema(description = "Student's unique identifier", example = "123e4567-e89b-12d3-a456-426614174000")
+    UUID studentId,
+    @Schema(description = "Student's roll number", example = "1001")
+    Integer rollNumber,
+    @Schema(description = "When the change was written", example = "2023-10-02T15:30:00")
+    LocalDateTime occurredAt,
+    @Schema(description = "Student state after the change, null for deletions", implementation = StudentResponse.class)
+    @JsonRawValue
+    String student
+) {}
@@ -0,0 +1,36 @@
+package com.student.student.dto;
+
+import java.lang.reflect.RecordComponent;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Parsed {@code ?fields=} selection. Names are the {@link StudentResponse} properties, which are also the
+ * {@code Student} attribute names, and are kept in response order regardless of how they were requested.
+ */
+public record StudentFields(List<String> names) {
+
+    public static final List<String> ALL = Arrays.stream(StudentResponse.class.getRecordComponents())
+            .map(RecordComponent::getName)
+            .toList();
+
+    public static StudentFields parse(String fields) {
+        Set<String> requested = new LinkedHashSet<>();
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (!ALL.contains(name)) {
+                throw new IllegalArgumentException(String.format("Unknown field %s, expected any of %s", name, ALL));
+            }
+            requested.add(name);
+        }
+        if (requested.isEmpty()) {
+            throw new IllegalArgumentException(String.format("fields must name at least one of %s", ALL));
+        }
+        return new StudentFields(ALL.stream().filter(requested::contains).toList());
+    }
+}
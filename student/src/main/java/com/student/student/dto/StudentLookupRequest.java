@@ -0,0 +1,24 @@
+package com.student.student.dto;
+
+import java.util.List;
+
+import com.student.student.cache.LookupKey;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+@Schema(description = "Batched lookup of students by one key type")
+public record StudentLookupRequest(
+    @Schema(description = "Key type the values refer to", example = "ROLL_NUMBER")
+    @NotNull(message = "Key type is required")
+    LookupKey keyType,
+
+    @Schema(description = "Student ids, emails or roll numbers; results come back in the same order", example = "[\"1001\", \"1002\"]")
+    @NotEmpty(message = "At least one key is required")
+    @Size(max = StudentLookupRequest.MAX_KEYS, message = "At most " + StudentLookupRequest.MAX_KEYS + " keys per lookup")
+    List<@NotNull(message = "Keys cannot be null") String> keys
+) {
+    public static final int MAX_KEYS = 500;
+}
@@ -0,0 +1,13 @@
+package com.student.student.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Outcome for one key of a batched lookup")
+public record StudentLookupResult(
+    @Schema(description = "Key as sent in the request", example = "1001")
+    String key,
+    @Schema(description = "Whether a student matched the key", example = "true")
+    boolean found,
+    @Schema(description = "Matching student, null on a miss")
+    StudentResponse student
+) {}
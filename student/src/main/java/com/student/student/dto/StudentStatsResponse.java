@@ -0,0 +1,18 @@
+package com.student.student.dto;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Student counts from the incrementally maintained summary")
+public record StudentStatsResponse(
+    @Schema(description = "Total number of students", example = "1250")
+    long total,
+    @Schema(description = "Student count per year of birth, ascending", example = "{\"2000\": 410, \"2001\": 395}")
+    Map<Integer, Long> byBirthYear,
+    @Schema(description = "Student count per enrollment month (UTC), ascending", example = "{\"2023-09\": 600, \"2023-10\": 650}")
+    Map<String, Long> byEnrollmentMonth,
+    @Schema(description = "When the counters were last reconciled with the summary table", example = "2023-10-02T15:30:00")
+    LocalDateTime reconciledAt
+) {}
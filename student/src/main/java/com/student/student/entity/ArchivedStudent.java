@@ -0,0 +1,80 @@
+package com.student.student.entity;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.TenantId;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Student moved to students_archive by the archiver. Rows are written by the archiver's SQL, never by
+ * the application, and archived students cannot be updated.
+ */
+@Entity
+@Immutable
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Data
+@Table(name = "students_archive")
+public class ArchivedStudent {
+
+    @Id
+    @Column(name = "student_id")
+    private UUID studentId;
+
+    @Column(name = "roll_number", nullable = false)
+    private Integer rollNumber;
+
+    @Column(name = "first_name", nullable = false)
+    private String firstName;
+
+    @Column(name = "last_name", nullable = false)
+    private String lastName;
+
+    @Column(name = "date_of_birth", nullable = false)
+    private LocalDate dateOfBirth;
+
+    @Column(name = "email", nullable = false)
+    private String email;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+
+    @TenantId
+    @Column(name = "tenant_id", nullable = false, updatable = false)
+    private String tenantId;
+
+    /**
+     * Detached copy with the live entity's shape, for read paths and delete bookkeeping only.
+     */
+    public Student toStudent() {
+        return Student.builder()
+                .studentId(studentId)
+                .rollNumber(rollNumber)
+                .firstName(firstName)
+                .lastName(lastName)
+                .dateOfBirth(dateOfBirth)
+                .email(email)
+                .createdAt(createdAt)
+                .updatedAt(updatedAt)
+                .tenantId(tenantId)
+                .build();
+    }
+}
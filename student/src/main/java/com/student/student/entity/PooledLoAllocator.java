@@ -0,0 +1,30 @@
+package com.student.student.entity;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Hands out values from blocks of a sequence: each value returned by the sequence is the low end of a block
+ * of {@code blockSize} values owned exclusively by the caller, so concurrent nodes never overlap and only one
+ * sequence call is made per block. Unused values of a block are lost on restart.
+ */
+class PooledLoAllocator {
+
+    private final int blockSize;
+    private long next;
+    private long limit;
+
+    PooledLoAllocator(int blockSize) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("blockSize must be positive");
+        }
+        this.blockSize = blockSize;
+    }
+
+    synchronized long next(LongSupplier reserveBlock) {
+        if (next >= limit) {
+            next = reserveBlock.getAsLong();
+            limit = next + blockSize;
+        }
+        return next++;
+    }
+}
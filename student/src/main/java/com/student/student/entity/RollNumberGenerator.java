@@ -0,0 +1,85 @@
+package com.student.student.entity;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.EnumSet;
+
+import org.hibernate.HibernateException;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+
+/**
+ * Generator behind {@link RollNumberSequence}. The sequence is read on the session's own connection with
+ * plain JDBC, so reserving a block never triggers an auto-flush in the middle of one.
+ */
+public class RollNumberGenerator implements BeforeExecutionGenerator {
+
+    private static final String INCREMENT_SQL =
+            "select increment_by from pg_sequences where schemaname = current_schema() and sequencename = ?";
+
+    private final String sequenceName;
+    private final int allocationSize;
+    private final PooledLoAllocator allocator;
+    private volatile boolean incrementVerified;
+
+    public RollNumberGenerator(RollNumberSequence config) {
+        this.sequenceName = config.sequenceName();
+        this.allocationSize = config.allocationSize();
+        this.allocator = new PooledLoAllocator(allocationSize);
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue,
+            EventType eventType) {
+        if (currentValue != null) {
+            return currentValue;
+        }
+        return Math.toIntExact(allocator.next(() -> reserveBlock(session)));
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EventTypeSets.INSERT_ONLY;
+    }
+
+    private long reserveBlock(SharedSessionContractImplementor session) {
+        Connection connection = session.getJdbcCoordinator().getLogicalConnection().getPhysicalConnection();
+        try {
+            if (!incrementVerified) {
+                verifyIncrement(connection);
+            }
+            try (PreparedStatement statement = connection.prepareStatement("select nextval(?::regclass)")) {
+                statement.setString(1, sequenceName);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    resultSet.next();
+                    return resultSet.getLong(1);
+                }
+            }
+        } catch (SQLException e) {
+            throw new HibernateException("Could not reserve a block from sequence " + sequenceName, e);
+        }
+    }
+
+    // A smaller INCREMENT BY would let two nodes' blocks overlap; a multiple interleaves shards (ShardSequences)
+    private void verifyIncrement(Connection connection) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(INCREMENT_SQL)) {
+            statement.setString(1, sequenceName);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                if (!resultSet.next()) {
+                    throw new HibernateException("Sequence " + sequenceName + " does not exist");
+                }
+                long increment = resultSet.getLong(1);
+                if (increment < allocationSize || increment % allocationSize != 0) {
+                    throw new HibernateException(String.format(
+                            "Sequence %s increments by %d, which is not a multiple of the allocation size %d",
+                            sequenceName, increment, allocationSize));
+                }
+            }
+        }
+        incrementVerified = true;
+    }
+}
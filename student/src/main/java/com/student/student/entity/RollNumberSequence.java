@@ -0,0 +1,24 @@
+package com.student.student.entity;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.hibernate.annotations.ValueGenerationType;
+
+/**
+ * Assigns the property from a database sequence in the application before the insert, reserving
+ * {@link #allocationSize()} values per sequence call (pooled-lo). The sequence's INCREMENT BY must equal
+ * the allocation size, or a multiple of it when shards interleave their blocks; this is checked when the
+ * first block is reserved.
+ */
+@ValueGenerationType(generatedBy = RollNumberGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ ElementType.FIELD, ElementType.METHOD })
+public @interface RollNumberSequence {
+
+    String sequenceName() default "roll_number_seq";
+
+    int allocationSize() default 50;
+}
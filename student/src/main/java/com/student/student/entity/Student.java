@@ -5,13 +5,13 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.TenantId;
+import org.hibernate.annotations.UuidGenerator;
 import org.hibernate.annotations.UpdateTimestamp;
 import org.hibernate.validator.constraints.Length;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
@@ -34,11 +34,12 @@ import lombok.NoArgsConstructor;
 public class Student {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidGenerator(algorithm = UuidV7Generator.class)
     @Column(name = "student_id")
     private UUID studentId;
 
-    @Column(name = "roll_number", nullable = false, unique = true, updatable = false, insertable = false)
+    @RollNumberSequence
+    @Column(name = "roll_number", nullable = false, unique = true, updatable = false)
     private Integer rollNumber;
 
     @Column(name = "first_name", nullable = false, length = 50)
@@ -67,7 +68,12 @@ public class Student {
     private LocalDateTime createdAt;
 
     @UpdateTimestamp
-    @Column(name = "updated_at")
+    @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt;
 
+    // School the student belongs to; set by Hibernate from the bound tenant on insert
+    @TenantId
+    @Column(name = "tenant_id", nullable = false, updatable = false, length = 64)
+    private String tenantId;
+
 }
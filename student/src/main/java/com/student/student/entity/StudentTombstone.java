@@ -0,0 +1,44 @@
+package com.student.student.entity;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.TenantId;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Marker left behind by a deleted student. Rows are written by the students_tombstone trigger,
+ * never by the application.
+ */
+@Entity
+@Immutable
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Data
+@Table(name = "student_tombstones")
+public class StudentTombstone {
+
+    @Id
+    @Column(name = "student_id")
+    private UUID studentId;
+
+    @Column(name = "roll_number", nullable = false)
+    private Integer rollNumber;
+
+    @Column(name = "deleted_at", nullable = false)
+    private LocalDateTime deletedAt;
+
+    @TenantId
+    @Column(name = "tenant_id", nullable = false, updatable = false)
+    private String tenantId;
+}
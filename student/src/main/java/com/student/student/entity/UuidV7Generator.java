@@ -0,0 +1,68 @@
+package com.student.student.entity;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+import java.util.random.RandomGenerator;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.uuid.UuidValueGenerator;
+
+import com.student.student.shard.ShardContext;
+
+/**
+ * RFC 9562 version 7 UUIDs: 48-bit Unix millisecond timestamp, then random bits.
+ * Keys from one node are strictly increasing (the 12-bit rand_a field is used as a counter within
+ * a millisecond), so new rows append to the right edge of the primary-key btree instead of
+ * splitting random pages.
+ */
+public class UuidV7Generator implements UuidValueGenerator {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private static long lastMillis;
+    private static int counter;
+
+    public static UUID next() {
+        long millis;
+        int sequence;
+        synchronized (UuidV7Generator.class) {
+            millis = Math.max(System.currentTimeMillis(), lastMillis);
+            if (millis == lastMillis) {
+                counter++;
+                if (counter > 0xFFF) {
+                    // 4096 ids in one millisecond: borrow the next millisecond rather than go backwards
+                    millis++;
+                    counter = RANDOM.nextInt(0x800);
+                }
+            } else {
+                // random start leaves headroom for the counter while keeping ids hard to guess
+                counter = RANDOM.nextInt(0x800);
+            }
+            lastMillis = millis;
+            sequence = counter;
+        }
+        long msb = (millis << 16) | 0x7000L | sequence;
+        long lsb = (RANDOM.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(msb, lsb);
+    }
+
+    /**
+     * Version 7 id for the given timestamp with the random fields taken from {@code random}, for reproducible
+     * synthetic data; carries no per-millisecond counter, so ordering within a millisecond is random.
+     */
+    public static UUID at(long millis, RandomGenerator random) {
+        long msb = (millis << 16) | 0x7000L | random.nextInt(0x1000);
+        long lsb = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(msb, lsb);
+    }
+
+    @Override
+    public UUID generateUuid(SharedSessionContractImplementor session) {
+        // When sharded the row is being placed on a given shard: draw until the id hashes to it
+        UUID id = next();
+        while (!ShardContext.accepts(id)) {
+            id = next();
+        }
+        return id;
+    }
+}
@@ -0,0 +1,7 @@
+package com.student.student.exception;
+import lombok.experimental.StandardException;
+
+@StandardException
+public class ChangeTokenExpiredException extends RuntimeException {
+
+}
@@ -0,0 +1,14 @@
+package com.student.student.exception;
+import lombok.experimental.StandardException;
+
+/**
+ * Unknown job id; like {@link StudentNotFoundException}, routine enough to skip the stack trace.
+ */
+@StandardException
+public class JobNotFoundException extends RuntimeException {
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
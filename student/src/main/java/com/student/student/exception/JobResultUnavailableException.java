@@ -0,0 +1,9 @@
+package com.student.student.exception;
+import lombok.experimental.StandardException;
+
+/**
+ * The job has no result file to download (yet, or on this instance).
+ */
+@StandardException
+public class JobResultUnavailableException extends RuntimeException {
+}
@@ -1,7 +1,15 @@
 package com.student.student.exception;
 import lombok.experimental.StandardException;
 
+/**
+ * Thrown for every 404. Misses are routine (typos, scanners) and the handler only logs the message,
+ * so the stack trace is never filled in.
+ */
 @StandardException
 public class StudentNotFoundException extends RuntimeException{
 
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
 }
@@ -0,0 +1,103 @@
+package com.student.student.grpc;
+
+import java.time.format.DateTimeParseException;
+
+import com.student.student.exception.ChangeTokenExpiredException;
+import com.student.student.exception.EmailAlreadyExistsException;
+import com.student.student.exception.StudentAlreadyExistsException;
+import com.student.student.exception.StudentNotFoundException;
+
+import io.grpc.ForwardingServerCall.SimpleForwardingServerCall;
+import io.grpc.ForwardingServerCallListener.SimpleForwardingServerCallListener;
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * gRPC counterpart of GlobalExceptionHandler: closes the call with the status matching the HTTP status the
+ * REST API answers with, the exception message as description. Unexpected exceptions become INTERNAL
+ * without their message, as they become a generic 500.
+ */
+@Slf4j
+class GrpcExceptionInterceptor implements ServerInterceptor {
+
+    @Override
+    public <Q, R> ServerCall.Listener<Q> interceptCall(ServerCall<Q, R> call, Metadata headers,
+            ServerCallHandler<Q, R> next) {
+        ClosingCall<Q, R> closing = new ClosingCall<>(call);
+        return new SimpleForwardingServerCallListener<>(next.startCall(closing, headers)) {
+
+            @Override
+            public void onMessage(Q message) {
+                try {
+                    super.onMessage(message);
+                } catch (RuntimeException e) {
+                    closing.fail(e);
+                }
+            }
+
+            @Override
+            public void onHalfClose() {
+                try {
+                    super.onHalfClose();
+                } catch (RuntimeException e) {
+                    closing.fail(e);
+                }
+            }
+        };
+    }
+
+    static Status status(RuntimeException e) {
+        if (e instanceof StatusRuntimeException statusException) {
+            return statusException.getStatus();
+        }
+        if (e instanceof StudentNotFoundException) {
+            return Status.NOT_FOUND.withDescription(e.getMessage());
+        }
+        if (e instanceof EmailAlreadyExistsException || e instanceof StudentAlreadyExistsException) {
+            return Status.ALREADY_EXISTS.withDescription(e.getMessage());
+        }
+        if (e instanceof ChangeTokenExpiredException) {
+            return Status.FAILED_PRECONDITION.withDescription(e.getMessage());
+        }
+        if (e instanceof IllegalArgumentException || e instanceof DateTimeParseException) {
+            return Status.INVALID_ARGUMENT.withDescription(e.getMessage());
+        }
+        return Status.INTERNAL.withDescription("An unexpected error occurred");
+    }
+
+    /**
+     * Remembers whether the handler closed the call already, so an exception thrown after that is only logged.
+     */
+    private static final class ClosingCall<Q, R> extends SimpleForwardingServerCall<Q, R> {
+
+        private volatile boolean closed;
+
+        ClosingCall(ServerCall<Q, R> call) {
+            super(call);
+        }
+
+        @Override
+        public void close(Status status, Metadata trailers) {
+            closed = true;
+            super.close(status, trailers);
+        }
+
+        void fail(RuntimeException e) {
+            Status status = status(e);
+            String method = getMethodDescriptor().getFullMethodName();
+            if (status.getCode() == Status.Code.INTERNAL) {
+                log.error("Unexpected error in {}: {}", method, e.getMessage(), e);
+            } else {
+                log.warn("{} failed with {}: {}", method, status.getCode(), e.getMessage());
+            }
+            if (!closed) {
+                close(status, new Metadata());
+            }
+        }
+    }
+}
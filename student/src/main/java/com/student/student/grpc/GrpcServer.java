@@ -0,0 +1,100 @@
+package com.student.student.grpc;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import com.student.student.tenant.TenantRegistry;
+
+import io.grpc.Server;
+import io.grpc.ServerInterceptors;
+import io.grpc.netty.shaded.io.grpc.netty.NettyServerBuilder;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.grpc.MetricCollectingServerInterceptor;
+import io.micrometer.core.instrument.binder.grpc.ObservationGrpcServerInterceptor;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import io.micrometer.observation.ObservationRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Serves {@link StudentGrpcService} on {@code student.grpc.port}, next to the HTTP connector. Calls run on
+ * a fixed pool of {@code student.grpc.threads}, separate from Tomcat's, so a burst on one endpoint cannot
+ * take the threads of the other; calls beyond the pool wait in its queue. Interceptors run outermost
+ * first: observation (trace and timing), request metrics, error mapping, then the tenant and its quota.
+ */
+@Component
+@ConditionalOnProperty(name = "student.grpc.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class GrpcServer implements SmartLifecycle {
+
+    private final Server server;
+    private final ExecutorService executor;
+
+    private volatile boolean running;
+
+    public GrpcServer(StudentGrpcService studentGrpcService, TenantRegistry tenantRegistry, MeterRegistry meterRegistry,
+            ObservationRegistry observationRegistry,
+            @Value("${student.grpc.port:9090}") int port,
+            @Value("${student.grpc.threads:32}") int threads) {
+        AtomicInteger thread = new AtomicInteger();
+        this.executor = ExecutorServiceMetrics.monitor(meterRegistry,
+                new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+                        runnable -> new Thread(runnable, "student-grpc-" + thread.incrementAndGet())),
+                "student.grpc");
+        this.server = NettyServerBuilder.forPort(port)
+                .executor(executor)
+                .addService(ServerInterceptors.intercept(studentGrpcService,
+                        new GrpcTenantInterceptor(tenantRegistry),
+                        new GrpcExceptionInterceptor(),
+                        new MetricCollectingServerInterceptor(meterRegistry),
+                        new ObservationGrpcServerInterceptor(observationRegistry)))
+                .build();
+    }
+
+    /**
+     * The bound port; differs from student.grpc.port when that is 0.
+     */
+    public int port() {
+        return server.getPort();
+    }
+
+    @Override
+    public void start() {
+        try {
+            server.start();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not start the gRPC server", e);
+        }
+        running = true;
+        log.info("gRPC server started on port {}", server.getPort());
+    }
+
+    @Override
+    public void stop() {
+        server.shutdown();
+        try {
+            if (!server.awaitTermination(30, TimeUnit.SECONDS)) {
+                server.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            server.shutdownNow();
+        }
+        executor.shutdownNow();
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
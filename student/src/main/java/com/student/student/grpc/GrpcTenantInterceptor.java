@@ -0,0 +1,124 @@
+package com.student.student.grpc;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.student.student.tenant.TenantContext;
+import com.student.student.tenant.TenantRegistry;
+
+import io.grpc.ForwardingServerCall.SimpleForwardingServerCall;
+import io.grpc.ForwardingServerCallListener.SimpleForwardingServerCallListener;
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.Status;
+import io.micrometer.core.instrument.binder.http.Outcome;
+
+/**
+ * gRPC counterpart of TenantFilter: the tenant comes from the {@code x-tenant-id} metadata key, counts
+ * against the same per-tenant request quota (RESOURCE_EXHAUSTED when full) and is bound around every
+ * callback of the call, since gRPC may run them on different threads.
+ */
+class GrpcTenantInterceptor implements ServerInterceptor {
+
+    static final Metadata.Key<String> TENANT_KEY = Metadata.Key.of("x-tenant-id", Metadata.ASCII_STRING_MARSHALLER);
+
+    private static final ServerCall.Listener<Object> NOOP = new ServerCall.Listener<>() {};
+
+    private final TenantRegistry tenantRegistry;
+
+    GrpcTenantInterceptor(TenantRegistry tenantRegistry) {
+        this.tenantRegistry = tenantRegistry;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <Q, R> ServerCall.Listener<Q> interceptCall(ServerCall<Q, R> call, Metadata headers,
+            ServerCallHandler<Q, R> next) {
+        long arrival = System.nanoTime();
+        String tenant;
+        try {
+            tenant = tenantRegistry.resolve(headers.get(TENANT_KEY));
+        } catch (IllegalArgumentException e) {
+            call.close(Status.INVALID_ARGUMENT.withDescription(e.getMessage()), new Metadata());
+            return (ServerCall.Listener<Q>) NOOP;
+        }
+        TenantRegistry.Partition partition = tenantRegistry.partition(tenant);
+        if (!partition.tryEnter()) {
+            call.close(Status.RESOURCE_EXHAUSTED.withDescription(
+                    "Tenant " + tenant + " has too many requests in progress, retry shortly"), new Metadata());
+            partition.recordRequest(System.nanoTime() - arrival, Outcome.CLIENT_ERROR);
+            return (ServerCall.Listener<Q>) NOOP;
+        }
+        AtomicBoolean exited = new AtomicBoolean();
+        Runnable exit = () -> {
+            if (exited.compareAndSet(false, true)) {
+                partition.exit();
+            }
+        };
+        ServerCall<Q, R> timed = new SimpleForwardingServerCall<>(call) {
+            @Override
+            public void close(Status status, Metadata trailers) {
+                exit.run();
+                partition.recordRequest(System.nanoTime() - arrival, outcome(status));
+                super.close(status, trailers);
+            }
+        };
+        ServerCall.Listener<Q> listener;
+        try (TenantContext.Scope scope = TenantContext.open(tenant)) {
+            listener = next.startCall(timed, headers);
+        } catch (RuntimeException e) {
+            exit.run();
+            throw e;
+        }
+        return new SimpleForwardingServerCallListener<>(listener) {
+
+            @Override
+            public void onMessage(Q message) {
+                try (TenantContext.Scope scope = TenantContext.open(tenant)) {
+                    super.onMessage(message);
+                }
+            }
+
+            @Override
+            public void onHalfClose() {
+                try (TenantContext.Scope scope = TenantContext.open(tenant)) {
+                    super.onHalfClose();
+                }
+            }
+
+            @Override
+            public void onCancel() {
+                exit.run();
+                try (TenantContext.Scope scope = TenantContext.open(tenant)) {
+                    super.onCancel();
+                }
+            }
+
+            @Override
+            public void onComplete() {
+                exit.run();
+                try (TenantContext.Scope scope = TenantContext.open(tenant)) {
+                    super.onComplete();
+                }
+            }
+
+            @Override
+            public void onReady() {
+                try (TenantContext.Scope scope = TenantContext.open(tenant)) {
+                    super.onReady();
+                }
+            }
+        };
+    }
+
+    // Client errors are the statuses GrpcExceptionInterceptor maps the REST API's 4xx answers to
+    private static Outcome outcome(Status status) {
+        return switch (status.getCode()) {
+            case OK -> Outcome.SUCCESS;
+            case INVALID_ARGUMENT, NOT_FOUND, ALREADY_EXISTS, FAILED_PRECONDITION, RESOURCE_EXHAUSTED, CANCELLED ->
+                    Outcome.CLIENT_ERROR;
+            default -> Outcome.SERVER_ERROR;
+        };
+    }
+}
@@ -0,0 +1,223 @@
+package com.student.student.grpc;
+
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Component;
+
+import com.google.protobuf.Empty;
+import com.student.student.dto.StudentLookupRequest;
+import com.student.student.dto.StudentRequest;
+import com.student.student.dto.StudentResponse;
+import com.student.student.dto.StudentStatsResponse;
+import com.student.student.grpc.v1.DeleteStudentRequest;
+import com.student.student.grpc.v1.GetChangesRequest;
+import com.student.student.grpc.v1.GetChangesResponse;
+import com.student.student.grpc.v1.GetStudentRequest;
+import com.student.student.grpc.v1.LookupResult;
+import com.student.student.grpc.v1.LookupStudentsRequest;
+import com.student.student.grpc.v1.Student;
+import com.student.student.grpc.v1.StudentInput;
+import com.student.student.grpc.v1.StudentServiceGrpc;
+import com.student.student.grpc.v1.StudentStats;
+import com.student.student.grpc.v1.UpdateStudentRequest;
+import com.student.student.service.StudentChangeService;
+import com.student.student.service.StudentService;
+import com.student.student.service.StudentStatsService;
+import com.student.student.tenant.TenantContext;
+
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The operations of StudentController over gRPC, on the same StudentService calls and validation.
+ * Exceptions are mapped to status codes by {@link GrpcExceptionInterceptor}. Sparse fieldsets and the
+ * event stream are REST only.
+ * <p>
+ * ListStudents streams from a database cursor on a thread of its own, sending only while the client keeps
+ * up: the call's callbacks are serialized, so waiting for readiness on the handler thread would hold back
+ * the very onReady that ends the wait. Each listing holds a connection until it is done, hence the cap on
+ * how many run at once.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class StudentGrpcService extends StudentServiceGrpc.StudentServiceImplBase {
+
+    private static final int DEFAULT_CHANGES_LIMIT = 500;
+    private static final int MAX_CONCURRENT_LISTINGS = 4;
+
+    private final StudentService studentService;
+    private final StudentChangeService studentChangeService;
+    private final StudentStatsService studentStatsService;
+    private final Validator validator;
+
+    private final Semaphore listings = new Semaphore(MAX_CONCURRENT_LISTINGS);
+    private final ExecutorService listingExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @Override
+    public void getStudent(GetStudentRequest request, StreamObserver<Student> responseObserver) {
+        StudentResponse student = switch (request.getKeyCase()) {
+            case STUDENT_ID -> studentService.getStudentById(UUID.fromString(request.getStudentId()));
+            case EMAIL -> studentService.getStudentByEmail(request.getEmail());
+            case ROLL_NUMBER -> studentService.getStudentByRollNumber(request.getRollNumber());
+            case KEY_NOT_SET -> throw new IllegalArgumentException("One of student_id, email or roll_number is required");
+        };
+        respond(responseObserver, StudentMessages.toMessage(student));
+    }
+
+    @Override
+    public void listStudents(Empty request, StreamObserver<Student> responseObserver) {
+        if (!listings.tryAcquire()) {
+            throw Status.RESOURCE_EXHAUSTED
+                    .withDescription("Too many student listings in progress, retry shortly")
+                    .asRuntimeException();
+        }
+        ServerCallStreamObserver<Student> call = (ServerCallStreamObserver<Student>) responseObserver;
+        FlowControl flowControl = new FlowControl(call);
+        call.setOnReadyHandler(flowControl::wake);
+        call.setOnCancelHandler(flowControl::wake);
+        String tenant = TenantContext.current();
+        log.info("Streaming all students");
+        listingExecutor.execute(() -> {
+            try {
+                TenantContext.call(tenant, () -> {
+                    studentService.forEachStudent(student -> flowControl.send(StudentMessages.toMessage(student)));
+                    return null;
+                });
+                call.onCompleted();
+            } catch (CancellationException e) {
+                log.info("Student listing cancelled by the client");
+            } catch (RuntimeException e) {
+                Status status = GrpcExceptionInterceptor.status(e);
+                if (status.getCode() == Status.Code.INTERNAL) {
+                    log.error("Unexpected error while streaming students: {}", e.getMessage(), e);
+                }
+                call.onError(status.asRuntimeException());
+            } finally {
+                listings.release();
+            }
+        });
+    }
+
+    @Override
+    public void lookupStudents(LookupStudentsRequest request, StreamObserver<LookupResult> responseObserver) {
+        if (request.getKeysCount() == 0 || request.getKeysCount() > StudentLookupRequest.MAX_KEYS) {
+            throw new IllegalArgumentException(String.format("Between 1 and %d keys per lookup",
+                    StudentLookupRequest.MAX_KEYS));
+        }
+        studentService.lookupStudents(StudentMessages.toLookupKey(request.getKeyType()), request.getKeysList())
+                .forEach(result -> responseObserver.onNext(StudentMessages.toMessage(result)));
+        responseObserver.onCompleted();
+    }
+
+    @Override
+    public void createStudent(StudentInput request, StreamObserver<Student> responseObserver) {
+        StudentResponse created = studentService.createStudent(validated(request));
+        log.info("Created student with ID: {} and roll number: {}", created.studentId(), created.rollNumber());
+        respond(responseObserver, StudentMessages.toMessage(created));
+    }
+
+    @Override
+    public void updateStudent(UpdateStudentRequest request, StreamObserver<Student> responseObserver) {
+        StudentResponse updated = studentService.updateStudent(UUID.fromString(request.getStudentId()),
+                validated(request.getStudent()));
+        respond(responseObserver, StudentMessages.toMessage(updated));
+    }
+
+    @Override
+    public void deleteStudent(DeleteStudentRequest request, StreamObserver<Empty> responseObserver) {
+        switch (request.getKeyCase()) {
+            case STUDENT_ID -> studentService.deleteStudentById(UUID.fromString(request.getStudentId()));
+            case ROLL_NUMBER -> studentService.deleteStudentByRollNumber(request.getRollNumber());
+            case KEY_NOT_SET -> throw new IllegalArgumentException("One of student_id or roll_number is required");
+        }
+        respond(responseObserver, Empty.getDefaultInstance());
+    }
+
+    @Override
+    public void getChanges(GetChangesRequest request, StreamObserver<GetChangesResponse> responseObserver) {
+        int limit = request.getLimit() == 0 ? DEFAULT_CHANGES_LIMIT : request.getLimit();
+        respond(responseObserver, StudentMessages.toMessage(studentChangeService.getChangesSince(request.getSince(), limit)));
+    }
+
+    @Override
+    public void getStats(Empty request, StreamObserver<StudentStats> responseObserver) {
+        StudentStatsResponse stats = studentStatsService.getStats();
+        respond(responseObserver, StudentMessages.toMessage(stats));
+    }
+
+    private StudentRequest validated(StudentInput input) {
+        StudentRequest request = StudentMessages.toRequest(input);
+        Set<ConstraintViolation<StudentRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            throw Status.INVALID_ARGUMENT
+                    .withDescription(violations.stream()
+                            .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                            .sorted()
+                            .collect(Collectors.joining("; ")))
+                    .asRuntimeException();
+        }
+        return request;
+    }
+
+    private static <T> void respond(StreamObserver<T> responseObserver, T response) {
+        responseObserver.onNext(response);
+        responseObserver.onCompleted();
+    }
+
+    /**
+     * Parks a listing's sending thread while the call's outbound buffer is full, until onReady or a
+     * cancellation wakes it. The readiness check and the wait share a lock with the wake-up, so a signal
+     * between the two is not lost.
+     */
+    private static final class FlowControl {
+
+        private final ServerCallStreamObserver<Student> call;
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition changed = lock.newCondition();
+
+        FlowControl(ServerCallStreamObserver<Student> call) {
+            this.call = call;
+        }
+
+        void wake() {
+            lock.lock();
+            try {
+                changed.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void send(Student message) {
+            lock.lock();
+            try {
+                while (!call.isCancelled() && !call.isReady()) {
+                    changed.await();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CancellationException("Interrupted while waiting for the client");
+            } finally {
+                lock.unlock();
+            }
+            if (call.isCancelled()) {
+                throw new CancellationException("Cancelled by the client");
+            }
+            call.onNext(message);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.student.student.grpc;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+import com.google.protobuf.Timestamp;
+import com.student.student.cache.LookupKey;
+import com.student.student.dto.StudentChange;
+import com.student.student.dto.StudentChangesResponse;
+import com.student.student.dto.StudentLookupResult;
+import com.student.student.dto.StudentRequest;
+import com.student.student.dto.StudentResponse;
+import com.student.student.dto.StudentStatsResponse;
+import com.student.student.grpc.v1.Change;
+import com.student.student.grpc.v1.GetChangesResponse;
+import com.student.student.grpc.v1.KeyType;
+import com.student.student.grpc.v1.LookupResult;
+import com.student.student.grpc.v1.Student;
+import com.student.student.grpc.v1.StudentInput;
+import com.student.student.grpc.v1.StudentStats;
+
+/**
+ * Conversions between the protobuf messages and the DTOs StudentService works with. Proto3 strings are
+ * never null, so empty input fields become null and fail validation the way missing JSON properties do.
+ */
+final class StudentMessages {
+
+    private StudentMessages() {
+    }
+
+    static StudentRequest toRequest(StudentInput input) {
+        return new StudentRequest(emptyToNull(input.getFirstName()), emptyToNull(input.getLastName()),
+                emptyToNull(input.getEmail()),
+                input.getDateOfBirth().isEmpty() ? null : LocalDate.parse(input.getDateOfBirth()));
+    }
+
+    static LookupKey toLookupKey(KeyType keyType) {
+        return switch (keyType) {
+            case KEY_TYPE_ID -> LookupKey.ID;
+            case KEY_TYPE_EMAIL -> LookupKey.EMAIL;
+            case KEY_TYPE_ROLL_NUMBER -> LookupKey.ROLL_NUMBER;
+            case KEY_TYPE_UNSPECIFIED, UNRECOGNIZED -> throw new IllegalArgumentException("Key type is required");
+        };
+    }
+
+    static Student toMessage(StudentResponse student) {
+        return Student.newBuilder()
+                .setStudentId(student.studentId().toString())
+                .setRollNumber(student.rollNumber())
+                .setFirstName(student.firstName())
+                .setLastName(student.lastName())
+                .setEmail(student.email())
+                .setDateOfBirth(student.dateOfBirth().toString())
+                .setCreatedAt(timestamp(student.createdAt()))
+                .setUpdatedAt(timestamp(student.updatedAt()))
+                .build();
+    }
+
+    static LookupResult toMessage(StudentLookupResult result) {
+        LookupResult.Builder message = LookupResult.newBuilder()
+                .setKey(result.key())
+                .setFound(result.found());
+        if (result.student() != null) {
+            message.setStudent(toMessage(result.student()));
+        }
+        return message.build();
+    }
+
+    static GetChangesResponse toMessage(StudentChangesResponse response) {
+        GetChangesResponse.Builder message = GetChangesResponse.newBuilder()
+                .setHasMore(response.hasMore());
+        if (response.nextToken() != null) {
+            message.setNextToken(response.nextToken());
+        }
+        for (StudentChange change : response.changes()) {
+            Change.Builder changeMessage = Change.newBuilder()
+                    .setType(Change.Type.valueOf(change.type().name()))
+                    .setStudentId(change.studentId().toString())
+                    .setChangedAt(timestamp(change.changedAt()));
+            if (change.rollNumber() != null) {
+                changeMessage.setRollNumber(change.rollNumber());
+            }
+            if (change.student() != null) {
+                changeMessage.setStudent(toMessage(change.student()));
+            }
+            message.addChanges(changeMessage);
+        }
+        return message.build();
+    }
+
+    static StudentStats toMessage(StudentStatsResponse stats) {
+        StudentStats.Builder message = StudentStats.newBuilder()
+                .setTotal(stats.total())
+                .putAllByBirthYear(stats.byBirthYear())
+                .putAllByEnrollmentMonth(stats.byEnrollmentMonth());
+        if (stats.reconciledAt() != null) {
+            message.setReconciledAt(timestamp(stats.reconciledAt()));
+        }
+        return message.build();
+    }
+
+    // Entity timestamps are local to the JVM zone, as in the JSON responses
+    private static Timestamp timestamp(LocalDateTime dateTime) {
+        var instant = dateTime.atZone(ZoneId.systemDefault()).toInstant();
+        return Timestamp.newBuilder().setSeconds(instant.getEpochSecond()).setNanos(instant.getNano()).build();
+    }
+
+    private static String emptyToNull(String value) {
+        return value.isEmpty() ? null : value;
+    }
+}
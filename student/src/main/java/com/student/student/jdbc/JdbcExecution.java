@@ -0,0 +1,22 @@
+package com.student.student.jdbc;
+
+import java.util.List;
+
+/**
+ * One statement execution seen by {@link ObservedDataSource}.
+ *
+ * @param sql SQL as sent to the driver, with ? placeholders
+ * @param parameterValues bind values by position (index 0 is parameter 1); only for immediate use, never retain
+ * @param parameterTypes bind value types by position, e.g. String, UUID, NULL
+ * @param elapsedNanos time spent in the execute call
+ * @param updateCount rows affected for updates and batches, -1 for queries
+ * @param failed whether the driver threw
+ */
+public record JdbcExecution(
+    String sql,
+    List<Object> parameterValues,
+    List<String> parameterTypes,
+    long elapsedNanos,
+    long updateCount,
+    boolean failed
+) {}
@@ -0,0 +1,17 @@
+package com.student.student.jdbc;
+
+/**
+ * Notified on the executing thread after every statement that goes through {@link ObservedDataSource}.
+ * Implementations must be cheap and must not throw.
+ */
+@FunctionalInterface
+public interface JdbcExecutionListener {
+
+    void afterExecution(JdbcExecution execution);
+
+    /**
+     * Called once per result set, when it is exhausted or closed, with the number of rows the caller read.
+     */
+    default void afterResultSetRead(String sql, long rows) {
+    }
+}
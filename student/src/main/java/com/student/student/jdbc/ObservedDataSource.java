@@ -0,0 +1,230 @@
+package com.student.student.jdbc;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.JDBCType;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * DataSource wrapper that times every statement execution and reports it to {@link JdbcExecutionListener}s.
+ * Connections and statements are JDK proxies over the pooled objects, so pooling, transactions and
+ * unwrap() behave as before.
+ */
+public class ObservedDataSource extends DelegatingDataSource {
+
+    private final Supplier<List<JdbcExecutionListener>> listenerSupplier;
+    private volatile List<JdbcExecutionListener> listeners;
+
+    public ObservedDataSource(DataSource target, Supplier<List<JdbcExecutionListener>> listeners) {
+        super(target);
+        this.listenerSupplier = listeners;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return observe(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return observe(super.getConnection(username, password));
+    }
+
+    private Connection observe(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] { Connection.class }, new ConnectionHandler(connection));
+    }
+
+    // Resolved on first use: listeners may depend on beans that need this DataSource
+    private List<JdbcExecutionListener> listeners() {
+        List<JdbcExecutionListener> resolved = listeners;
+        if (resolved == null) {
+            resolved = List.copyOf(listenerSupplier.get());
+            listeners = resolved;
+        }
+        return resolved;
+    }
+
+    private void notify(JdbcExecution execution) {
+        for (JdbcExecutionListener listener : listeners()) {
+            listener.afterExecution(execution);
+        }
+    }
+
+    private void notifyRowsRead(String sql, long rows) {
+        for (JdbcExecutionListener listener : listeners()) {
+            listener.afterResultSetRead(sql, rows);
+        }
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private final class ConnectionHandler implements InvocationHandler {
+
+        private final Connection connection;
+
+        private ConnectionHandler(Connection connection) {
+            this.connection = connection;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = ObservedDataSource.invoke(connection, method, args);
+            String name = method.getName();
+            if (result instanceof PreparedStatement statement
+                    && (name.equals("prepareStatement") || name.equals("prepareCall"))) {
+                return Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { method.getReturnType() },
+                        new StatementHandler(statement, (String) args[0]));
+            }
+            if (result instanceof Statement statement && name.equals("createStatement")) {
+                return Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { Statement.class },
+                        new StatementHandler(statement, null));
+            }
+            return result;
+        }
+    }
+
+    private final class StatementHandler implements InvocationHandler {
+
+        private final Statement statement;
+        private final String preparedSql;
+        private final List<Object> values = new ArrayList<>();
+        private final List<String> types = new ArrayList<>();
+
+        private StatementHandler(Statement statement, String preparedSql) {
+            this.statement = statement;
+            this.preparedSql = preparedSql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                bind(index, name, args);
+                return ObservedDataSource.invoke(statement, method, args);
+            }
+            if (name.equals("clearParameters")) {
+                values.clear();
+                types.clear();
+            }
+            if (name.equals("getResultSet")) {
+                Object resultSet = ObservedDataSource.invoke(statement, method, args);
+                return resultSet == null ? null : observe((ResultSet) resultSet, preparedSql);
+            }
+            if (!name.startsWith("execute")) {
+                return ObservedDataSource.invoke(statement, method, args);
+            }
+            String sql = preparedSql != null ? preparedSql : args != null && args.length > 0 ? (String) args[0] : null;
+            long started = System.nanoTime();
+            boolean failed = true;
+            Object result = null;
+            try {
+                result = ObservedDataSource.invoke(statement, method, args);
+                failed = false;
+                return result instanceof ResultSet resultSet ? observe(resultSet, sql) : result;
+            } finally {
+                long elapsed = System.nanoTime() - started;
+                if (sql != null) {
+                    ObservedDataSource.this.notify(new JdbcExecution(sql, Collections.unmodifiableList(values),
+                            List.copyOf(types), elapsed, updateCount(result), failed));
+                }
+            }
+        }
+
+        private ResultSet observe(ResultSet resultSet, String sql) {
+            return (ResultSet) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { ResultSet.class },
+                    new ResultSetHandler(resultSet, sql));
+        }
+
+        private void bind(int index, String setter, Object[] args) {
+            while (values.size() < index) {
+                values.add(null);
+                types.add("?");
+            }
+            Object value = setter.equals("setNull") ? null : args[1];
+            values.set(index - 1, value);
+            types.set(index - 1, setter.equals("setNull") ? "NULL:" + sqlTypeName((Integer) args[1])
+                    : value == null ? "NULL" : value.getClass().getSimpleName());
+        }
+
+        private static String sqlTypeName(int sqlType) {
+            try {
+                return JDBCType.valueOf(sqlType).getName();
+            } catch (IllegalArgumentException e) {
+                return String.valueOf(sqlType);
+            }
+        }
+
+        private static long updateCount(Object result) {
+            if (result instanceof Number number) {
+                return number.longValue();
+            }
+            if (result instanceof int[] counts) {
+                return Arrays.stream(counts).filter(count -> count > 0).asLongStream().sum();
+            }
+            if (result instanceof long[] counts) {
+                return Arrays.stream(counts).filter(count -> count > 0).sum();
+            }
+            return -1;
+        }
+    }
+
+    private final class ResultSetHandler implements InvocationHandler {
+
+        private final ResultSet resultSet;
+        private final String sql;
+        private long rows;
+        private boolean reported;
+
+        private ResultSetHandler(ResultSet resultSet, String sql) {
+            this.resultSet = resultSet;
+            this.sql = sql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.equals("next")) {
+                boolean hasRow = (Boolean) ObservedDataSource.invoke(resultSet, method, args);
+                if (hasRow) {
+                    rows++;
+                } else {
+                    report();
+                }
+                return hasRow;
+            }
+            if (name.equals("close")) {
+                report();
+            }
+            return ObservedDataSource.invoke(resultSet, method, args);
+        }
+
+        private void report() {
+            if (!reported) {
+                reported = true;
+                notifyRowsRead(sql, rows);
+            }
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.student.student.jdbc;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Wraps the application DataSource in an {@link ObservedDataSource} feeding every
+ * {@link JdbcExecutionListener} bean.
+ */
+@Component
+public class ObservedDataSourcePostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<JdbcExecutionListener> listeners;
+
+    public ObservedDataSourcePostProcessor(ObjectProvider<JdbcExecutionListener> listeners) {
+        this.listeners = listeners;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof ObservedDataSource)) {
+            return new ObservedDataSource(dataSource, () -> listeners.orderedStream().toList());
+        }
+        return bean;
+    }
+}
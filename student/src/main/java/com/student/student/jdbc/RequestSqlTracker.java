@@ -0,0 +1,95 @@
+package com.student.student.jdbc;
+
+import java.util.function.Supplier;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Attributes JDBC work to the current thread's open scope, normally one HTTP request
+ * (see {@link SqlBudgetInterceptor}). Statements run outside a scope, e.g. by scheduled jobs, are not counted.
+ */
+@Component
+public class RequestSqlTracker implements JdbcExecutionListener {
+
+    private static final class Scope {
+        int statements;
+        long rows;
+        long dbNanos;
+
+        SqlUsage usage() {
+            return new SqlUsage(statements, rows, dbNanos);
+        }
+    }
+
+    private final ThreadLocal<Scope> current = new ThreadLocal<>();
+
+    public void begin() {
+        current.set(new Scope());
+    }
+
+    /**
+     * Closes the scope and returns what was counted in it, or null if none was open.
+     */
+    public SqlUsage end() {
+        Scope scope = current.get();
+        current.remove();
+        return scope == null ? null : scope.usage();
+    }
+
+    /**
+     * Usage so far in the open scope, or null if none is open.
+     */
+    public SqlUsage current() {
+        Scope scope = current.get();
+        return scope == null ? null : scope.usage();
+    }
+
+    /**
+     * Runs the action in its own scope, for tests asserting how many statements something issues.
+     * An enclosing scope is restored afterwards and does not see the action's statements.
+     */
+    public SqlUsage measure(Runnable action) {
+        return measure(() -> {
+            action.run();
+            return null;
+        }).usage();
+    }
+
+    public <T> Measured<T> measure(Supplier<T> action) {
+        Scope outer = current.get();
+        Scope scope = new Scope();
+        current.set(scope);
+        try {
+            T result = action.get();
+            return new Measured<>(result, scope.usage());
+        } finally {
+            if (outer == null) {
+                current.remove();
+            } else {
+                current.set(outer);
+            }
+        }
+    }
+
+    public record Measured<T>(T result, SqlUsage usage) {}
+
+    @Override
+    public void afterExecution(JdbcExecution execution) {
+        Scope scope = current.get();
+        if (scope != null) {
+            scope.statements++;
+            scope.dbNanos += execution.elapsedNanos();
+            if (execution.updateCount() > 0) {
+                scope.rows += execution.updateCount();
+            }
+        }
+    }
+
+    @Override
+    public void afterResultSetRead(String sql, long rows) {
+        Scope scope = current.get();
+        if (scope != null) {
+            scope.rows += rows;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.student.student.jdbc;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Maximum number of SQL statements a handler method is expected to issue per request.
+ * Exceeding it logs a warning (see {@link SqlBudgetInterceptor}); it never fails the request.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface SqlBudget {
+
+    int value();
+}
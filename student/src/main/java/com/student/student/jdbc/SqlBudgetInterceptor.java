@@ -0,0 +1,76 @@
+package com.student.student.jdbc;
+
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Opens a {@link RequestSqlTracker} scope around each handler, records per-endpoint statement, row and
+ * DB-time metrics, and warns when a handler exceeds its {@link SqlBudget}.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SqlBudgetInterceptor implements AsyncHandlerInterceptor {
+
+    private final RequestSqlTracker requestSqlTracker;
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod) {
+            requestSqlTracker.begin();
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+            Exception ex) {
+        SqlUsage usage = requestSqlTracker.end();
+        if (usage == null || !(handler instanceof HandlerMethod handlerMethod)) {
+            return;
+        }
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern == null ? "UNKNOWN" : pattern.toString();
+        String method = request.getMethod();
+        DistributionSummary.builder("http.server.requests.sql.statements")
+                .description("SQL statements issued per request")
+                .tags("uri", uri, "method", method)
+                .register(meterRegistry)
+                .record(usage.statements());
+        DistributionSummary.builder("http.server.requests.sql.rows")
+                .description("Rows read or affected per request")
+                .tags("uri", uri, "method", method)
+                .register(meterRegistry)
+                .record(usage.rows());
+        Timer.builder("http.server.requests.sql.time")
+                .description("Database time per request")
+                .tags("uri", uri, "method", method)
+                .register(meterRegistry)
+                .record(usage.dbNanos(), TimeUnit.NANOSECONDS);
+
+        SqlBudget budget = handlerMethod.getMethodAnnotation(SqlBudget.class);
+        if (budget != null && usage.statements() > budget.value()) {
+            log.warn("{} {} issued {} SQL statements, budget is {}", method, uri, usage.statements(), budget.value());
+        }
+    }
+
+    // Streaming handlers return before their work is done; only the synchronous part is attributed
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+            Object handler) {
+        requestSqlTracker.end();
+    }
+}
@@ -0,0 +1,15 @@
+package com.student.student.jdbc;
+
+/**
+ * Statements, rows and database time attributed to one HTTP request or measured block.
+ *
+ * @param statements statement executions, each batch counting once
+ * @param rows rows read from result sets plus rows affected by updates
+ * @param dbNanos time spent in execute calls
+ */
+public record SqlUsage(int statements, long rows, long dbNanos) {
+
+    public double dbMillis() {
+        return dbNanos / 1_000_000.0;
+    }
+}
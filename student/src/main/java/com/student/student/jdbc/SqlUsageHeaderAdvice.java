@@ -0,0 +1,43 @@
+package com.student.student.jdbc;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Adds X-SQL-Statements, X-SQL-Rows and X-SQL-Time-Ms to responses when
+ * student.sql-budget.response-headers is on (dev and test profiles only: it discloses internals).
+ * Runs just before the body is written, after the handler's transaction has completed.
+ */
+@ControllerAdvice
+@ConditionalOnProperty(name = "student.sql-budget.response-headers", havingValue = "true")
+@RequiredArgsConstructor
+public class SqlUsageHeaderAdvice implements ResponseBodyAdvice<Object> {
+
+    private final RequestSqlTracker requestSqlTracker;
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+            Class<? extends HttpMessageConverter<?>> selectedConverterType, ServerHttpRequest request,
+            ServerHttpResponse response) {
+        SqlUsage usage = requestSqlTracker.current();
+        if (usage != null) {
+            response.getHeaders().set("X-SQL-Statements", String.valueOf(usage.statements()));
+            response.getHeaders().set("X-SQL-Rows", String.valueOf(usage.rows()));
+            response.getHeaders().set("X-SQL-Time-Ms", String.format("%.2f", usage.dbMillis()));
+        }
+        return body;
+    }
+}
@@ -0,0 +1,39 @@
+package com.student.student.job;
+
+import org.springframework.stereotype.Component;
+
+import com.student.student.archive.StudentArchiver;
+import com.student.student.tenant.TenantContext;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * One archiver pass on demand, with the archiver's own throttling and run time limit; it resumes from the
+ * archive checkpoint by itself, so the job keeps none. Only submitted while archiving is enabled, and by the
+ * default tenant since the pass covers every tenant; a job queued before it was switched off, or by another
+ * tenant, fails instead of running.
+ */
+@Component
+@RequiredArgsConstructor
+public class ArchiveJob implements JobHandler {
+
+    private final StudentArchiver studentArchiver;
+
+    @Override
+    public JobType type() {
+        return JobType.ARCHIVE;
+    }
+
+    @Override
+    public void run(JobExecution execution) {
+        if (!studentArchiver.enabled()) {
+            throw new IllegalStateException("Archiving has been disabled since this job was queued");
+        }
+        String tenant = TenantContext.current();
+        if (tenant != null && !TenantContext.DEFAULT_TENANT.equals(tenant)) {
+            throw new IllegalStateException("Archive jobs move every tenant's students; tenant " + tenant
+                    + " may not run one");
+        }
+        execution.processed(studentArchiver.archive());
+    }
+}
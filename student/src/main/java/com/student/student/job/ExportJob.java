@@ -0,0 +1,157 @@
+package com.student.student.job;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.student.student.shard.ShardRouter;
+import com.student.student.tenant.TenantContext;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Writes every student of the job's tenant to result.csv, shard by shard in student_id order, one keyset
+ * page per query so no statement holds a snapshot for the whole export. Not a point-in-time copy: students
+ * written while it runs may or may not appear. A resumed run truncates the file to the checkpointed length and continues
+ * after the checkpointed student.
+ */
+@Component
+@Slf4j
+public class ExportJob implements JobHandler {
+
+    static final String HEADER = Csv.line("studentId", "rollNumber", "firstName", "lastName", "email", "dateOfBirth",
+            "createdAt", "updatedAt");
+
+    private static final String PAGE_SQL = """
+            select student_id, roll_number, first_name, last_name, email, date_of_birth, created_at, updated_at
+            from students
+            where tenant_id = ? and student_id > ?
+            order by student_id
+            limit ?
+            """;
+
+    private static final UUID FIRST = new UUID(0, 0);
+
+    record Checkpoint(int shard, UUID after, long bytes) {}
+
+    private record Page(int rows, UUID last) {}
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ShardRouter shardRouter;
+    private final JobFiles jobFiles;
+    private final int pageSize;
+
+    public ExportJob(JdbcTemplate jdbcTemplate, ShardRouter shardRouter, JobFiles jobFiles,
+            @Value("${student.jobs.page-size:1000}") int pageSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.shardRouter = shardRouter;
+        this.jobFiles = jobFiles;
+        this.pageSize = pageSize;
+    }
+
+    @Override
+    public JobType type() {
+        return JobType.EXPORT;
+    }
+
+    @Override
+    public void run(JobExecution execution) throws IOException {
+        Checkpoint position = execution.checkpoint(Checkpoint.class).orElse(new Checkpoint(0, FIRST, 0));
+        if (execution.total() == null) {
+            long total = 0;
+            for (int shard = 0; shard < shardRouter.shardCount(); shard++) {
+                total += shardRouter.on(shard, () -> jdbcTemplate.queryForObject(
+                        "select count(*) from students where tenant_id = ?", Long.class, TenantContext.current()));
+            }
+            execution.total(total);
+        }
+        try (FileChannel channel = FileChannel.open(jobFiles.resultForWriting(execution.jobId(), JobType.EXPORT),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            channel.truncate(position.bytes());
+            channel.position(position.bytes());
+            ResultWriter out = new ResultWriter(channel, position.bytes());
+            if (position.bytes() == 0) {
+                out.write(HEADER);
+            }
+            for (int shard = position.shard(); shard < shardRouter.shardCount(); shard++) {
+                UUID after = shard == position.shard() ? position.after() : FIRST;
+                Page page;
+                do {
+                    if (execution.stopRequested()) {
+                        out.sync();
+                        execution.checkpoint(new Checkpoint(shard, after, out.bytes));
+                        return;
+                    }
+                    UUID from = after;
+                    page = shardRouter.on(shard, () -> writePage(from, out));
+                    execution.processed(page.rows());
+                    after = page.last();
+                    if (page.rows() == pageSize && execution.checkpointDue()) {
+                        out.sync();
+                        execution.checkpoint(new Checkpoint(shard, after, out.bytes));
+                    }
+                } while (page.rows() == pageSize);
+            }
+            out.sync();
+        }
+        log.info("Exported {} students to {}", execution.processed(), execution.result());
+    }
+
+    private Page writePage(UUID after, ResultWriter out) {
+        return jdbcTemplate.query(PAGE_SQL, rs -> {
+            int rows = 0;
+            UUID last = after;
+            while (rs.next()) {
+                last = rs.getObject("student_id", UUID.class);
+                out.write(Csv.line(last, rs.getObject("roll_number"), rs.getString("first_name"),
+                        rs.getString("last_name"), rs.getString("email"), rs.getObject("date_of_birth", LocalDate.class),
+                        rs.getObject("created_at", OffsetDateTime.class), rs.getObject("updated_at", OffsetDateTime.class)));
+                rows++;
+            }
+            return new Page(rows, last);
+        }, TenantContext.current(), after, pageSize);
+    }
+
+    /**
+     * Buffered writer over the result file that counts the bytes written, for the checkpoint.
+     */
+    private static final class ResultWriter {
+
+        private final FileChannel channel;
+        private final OutputStream out;
+        private long bytes;
+
+        ResultWriter(FileChannel channel, long bytes) {
+            this.channel = channel;
+            this.out = new BufferedOutputStream(Channels.newOutputStream(channel), 64 * 1024);
+            this.bytes = bytes;
+        }
+
+        void write(String line) {
+            byte[] encoded = line.getBytes(StandardCharsets.UTF_8);
+            try {
+                out.write(encoded);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            bytes += encoded.length;
+        }
+
+        void sync() throws IOException {
+            out.flush();
+            channel.force(false);
+        }
+    }
+}
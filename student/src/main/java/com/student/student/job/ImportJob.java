@@ -0,0 +1,192 @@
+package com.student.student.job;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Component;
+
+import com.student.student.dto.StudentRequest;
+import com.student.student.exception.EmailAlreadyExistsException;
+import com.student.student.service.StudentService;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Creates a student for each row of the uploaded input.csv ({@value #HEADER_COLUMNS}), through the same
+ * validation and service call as {@code POST /api/v1/students}, one transaction per row. Rejected rows are
+ * listed in result.csv with the reason. Progress is checkpointed as byte offsets into both files; rows
+ * created after the last checkpoint of an interrupted run are read again on resume and then reported as
+ * email conflicts.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ImportJob implements JobHandler {
+
+    static final String HEADER_COLUMNS = "firstName,lastName,email,dateOfBirth";
+
+    static final String RESULT_HEADER = Csv.line("line", "email", "error");
+
+    record Checkpoint(long line, long bytes, long resultBytes) {}
+
+    private final StudentService studentService;
+    private final Validator validator;
+
+    @Override
+    public JobType type() {
+        return JobType.IMPORT;
+    }
+
+    @Override
+    public void run(JobExecution execution) throws IOException {
+        if (execution.total() == null) {
+            execution.total(countRows(execution));
+        }
+        Checkpoint position = execution.checkpoint(Checkpoint.class).orElse(new Checkpoint(0, 0, 0));
+        try (FileChannel input = FileChannel.open(execution.input(), StandardOpenOption.READ);
+                FileChannel result = FileChannel.open(execution.result(), StandardOpenOption.CREATE,
+                        StandardOpenOption.WRITE)) {
+            input.position(position.bytes());
+            result.truncate(position.resultBytes());
+            result.position(position.resultBytes());
+            InputStream in = new BufferedInputStream(Channels.newInputStream(input), 64 * 1024);
+            OutputStream out = new BufferedOutputStream(Channels.newOutputStream(result), 64 * 1024);
+            long line = position.line();
+            long bytes = position.bytes();
+            long resultBytes = position.resultBytes();
+            if (line == 0) {
+                byte[] header = readLine(in);
+                if (header == null || !HEADER_COLUMNS.equals(decode(header).replace(" ", ""))) {
+                    throw new IllegalArgumentException("The input must start with the header " + HEADER_COLUMNS);
+                }
+                bytes += header.length;
+                line++;
+                resultBytes += write(out, RESULT_HEADER);
+            }
+            byte[] row;
+            while ((row = readLine(in)) != null) {
+                bytes += row.length;
+                line++;
+                String text = decode(row);
+                if (text.isBlank()) {
+                    continue;
+                }
+                String rejection = importRow(text);
+                if (rejection == null) {
+                    execution.processed(1);
+                } else {
+                    execution.failed(1);
+                    resultBytes += write(out, Csv.line(line, email(text), rejection));
+                }
+                if (execution.checkpointDue() || execution.stopRequested()) {
+                    out.flush();
+                    result.force(false);
+                    execution.checkpoint(new Checkpoint(line, bytes, resultBytes));
+                    if (execution.stopRequested()) {
+                        return;
+                    }
+                }
+            }
+            out.flush();
+            result.force(false);
+        }
+        log.info("Imported {} students, rejected {}", execution.processed() - execution.failed(), execution.failed());
+    }
+
+    /**
+     * Creates the student of one row; returns why it was rejected, or null.
+     */
+    private String importRow(String text) {
+        StudentRequest request;
+        try {
+            List<String> fields = Csv.parse(text);
+            if (fields.size() != 4) {
+                return "Expected 4 fields, found " + fields.size();
+            }
+            request = new StudentRequest(blankToNull(fields.get(0)), blankToNull(fields.get(1)),
+                    blankToNull(fields.get(2)), fields.get(3).isBlank() ? null : LocalDate.parse(fields.get(3).trim()));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            return e.getMessage();
+        }
+        String violations = validator.validate(request).stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; "));
+        if (!violations.isEmpty()) {
+            return violations;
+        }
+        try {
+            studentService.createStudent(request);
+            return null;
+        } catch (EmailAlreadyExistsException e) {
+            return e.getMessage();
+        }
+    }
+
+    private static long countRows(JobExecution execution) throws IOException {
+        long rows = -1;
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(execution.input()), 64 * 1024)) {
+            byte[] row;
+            while ((row = readLine(in)) != null) {
+                if (!decode(row).isBlank()) {
+                    rows++;
+                }
+            }
+        }
+        return Math.max(rows, 0);
+    }
+
+    /**
+     * The next line including its terminator, so its length advances the byte offset; null at the end.
+     */
+    private static byte[] readLine(InputStream in) throws IOException {
+        ByteArrayOutputStream line = new ByteArrayOutputStream(128);
+        int b;
+        while ((b = in.read()) != -1) {
+            line.write(b);
+            if (b == '\n') {
+                break;
+            }
+        }
+        return line.size() == 0 ? null : line.toByteArray();
+    }
+
+    private static String decode(byte[] line) {
+        return new String(line, StandardCharsets.UTF_8).stripTrailing();
+    }
+
+    private static String email(String text) {
+        try {
+            List<String> fields = Csv.parse(text);
+            return fields.size() > 2 ? fields.get(2) : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static String blankToNull(String value) {
+        return value.isBlank() ? null : value.trim();
+    }
+
+    private static long write(OutputStream out, String line) throws IOException {
+        byte[] encoded = line.getBytes(StandardCharsets.UTF_8);
+        out.write(encoded);
+        return encoded.length;
+    }
+}
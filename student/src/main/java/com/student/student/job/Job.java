@@ -0,0 +1,25 @@
+package com.student.student.job;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A row of student_jobs.
+ */
+public record Job(
+        UUID jobId,
+        JobType type,
+        JobStatus status,
+        String checkpoint,
+        String parameters,
+        long processed,
+        long failed,
+        Long total,
+        String error,
+        String owner,
+        String tenantId,
+        LocalDateTime createdAt,
+        LocalDateTime startedAt,
+        LocalDateTime finishedAt,
+        LocalDateTime updatedAt) {
+}
@@ -0,0 +1,69 @@
+package com.student.student.job;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.student.student.shard.ShardRoutingDataSource;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * The {@link JobConnectionPool}, mirroring the storage layout chosen in ShardingConfig: one pool on the
+ * spring.datasource database, or one per shard routed the same way as the application DataSource.
+ */
+@Configuration(proxyBeanMethods = false)
+public class JobConfig {
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnProperty(name = "student.sharding.enabled", havingValue = "false", matchIfMissing = true)
+    static class Single {
+
+        @Bean(destroyMethod = "close")
+        JobConnectionPool jobConnectionPool(DataSourceProperties properties, MeterRegistry meterRegistry,
+                @Value("${student.jobs.pool-size:3}") int poolSize) {
+            return new JobConnectionPool(pool("StudentJobPool", properties.determineUrl(),
+                    properties.determineUsername(), properties.determinePassword(), poolSize, meterRegistry));
+        }
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnProperty(name = "student.sharding.enabled", havingValue = "true")
+    static class Sharded {
+
+        @Bean(destroyMethod = "close")
+        JobConnectionPool jobConnectionPool(@Value("${student.sharding.shard-urls}") String[] shardUrls,
+                @Value("${student.sharding.username}") String username,
+                @Value("${student.sharding.password}") String password,
+                @Value("${student.jobs.pool-size:3}") int poolSize, MeterRegistry meterRegistry) {
+            List<HikariDataSource> shards = new ArrayList<>();
+            for (int shard = 0; shard < shardUrls.length; shard++) {
+                shards.add(pool("StudentJobPool-shard" + shard, shardUrls[shard].trim(), username, password, poolSize,
+                        meterRegistry));
+            }
+            return new JobConnectionPool(new ShardRoutingDataSource(shards));
+        }
+    }
+
+    private static HikariDataSource pool(String name, String url, String username, String password, int poolSize,
+            MeterRegistry meterRegistry) {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName(name);
+        config.setJdbcUrl(url);
+        config.setUsername(username);
+        config.setPassword(password);
+        config.setMaximumPoolSize(poolSize);
+        // Jobs are occasional; keep no connections open while the queue is empty
+        config.setMinimumIdle(0);
+        config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        return new HikariDataSource(config);
+    }
+}
@@ -0,0 +1,35 @@
+package com.student.student.job;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.function.Supplier;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * The application DataSource as seen by job threads: connections come from the job pool, everything else
+ * (transactions, repositories, JdbcTemplate) works unchanged. Other threads get the wrapped DataSource's
+ * own connections.
+ */
+public class JobConnectionDataSource extends DelegatingDataSource {
+
+    private final Supplier<DataSource> jobPool;
+
+    public JobConnectionDataSource(DataSource target, Supplier<DataSource> jobPool) {
+        super(target);
+        this.jobPool = jobPool;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return JobContext.active() ? jobPool.get().getConnection() : super.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return JobContext.active() ? jobPool.get().getConnection(username, password)
+                : super.getConnection(username, password);
+    }
+}
@@ -0,0 +1,17 @@
+package com.student.student.job;
+
+import javax.sql.DataSource;
+
+/**
+ * Connections reserved for jobs: a small pool per shard, sized by {@code student.jobs.pool-size}, so a busy
+ * job queue waits on its own connections and never on the ones serving API requests.
+ */
+public record JobConnectionPool(DataSource dataSource) implements AutoCloseable {
+
+    @Override
+    public void close() throws Exception {
+        if (dataSource instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+}
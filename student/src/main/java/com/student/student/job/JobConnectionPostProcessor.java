@@ -0,0 +1,40 @@
+package com.student.student.job;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+
+import com.student.student.jdbc.ObservedDataSource;
+
+/**
+ * Wraps the application DataSource in a {@link JobConnectionDataSource}. Runs after
+ * TenantConnectionPostProcessor, so job threads bypass the tenant bulkheads of the API pool, and before
+ * ObservedDataSourcePostProcessor, so job statements are observed like any other.
+ */
+@Component
+public class JobConnectionPostProcessor implements BeanPostProcessor, Ordered {
+
+    private final ObjectProvider<JobConnectionPool> jobConnectionPool;
+
+    public JobConnectionPostProcessor(ObjectProvider<JobConnectionPool> jobConnectionPool) {
+        this.jobConnectionPool = jobConnectionPool;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof JobConnectionDataSource)
+                && !(bean instanceof ObservedDataSource)) {
+            // Resolved on first use, once a job thread asks for a connection
+            return new JobConnectionDataSource(dataSource, () -> jobConnectionPool.getObject().dataSource());
+        }
+        return bean;
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE + 1;
+    }
+}
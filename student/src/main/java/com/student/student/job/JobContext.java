@@ -0,0 +1,28 @@
+package com.student.student.job;
+
+/**
+ * Marks the threads that run jobs, so {@link JobConnectionDataSource} hands them connections from the job
+ * pool instead of the pool serving API requests.
+ */
+public final class JobContext {
+
+    private static final ThreadLocal<Boolean> ACTIVE = new ThreadLocal<>();
+
+    private JobContext() {
+    }
+
+    public static boolean active() {
+        return ACTIVE.get() != null;
+    }
+
+    static Runnable bind(Runnable work) {
+        return () -> {
+            ACTIVE.set(Boolean.TRUE);
+            try {
+                work.run();
+            } finally {
+                ACTIVE.remove();
+            }
+        };
+    }
+}
@@ -0,0 +1,151 @@
+package com.student.student.job;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.BooleanSupplier;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * One run of a job: where it resumes from, its files, and its progress counters. A handler reports
+ * progress through {@link #checkpoint(Object)} once its output up to that position is durable; a run
+ * interrupted afterwards resumes from there, so work done since the last checkpoint is done again.
+ */
+public class JobExecution {
+
+    private final Job job;
+    private final JobStore jobStore;
+    private final JobFiles jobFiles;
+    private final ObjectMapper objectMapper;
+    private final long progressIntervalNanos;
+    private final BooleanSupplier stopping;
+
+    private long processed;
+    private long failed;
+    private Long total;
+    private long lastCheckpoint = System.nanoTime();
+
+    JobExecution(Job job, JobStore jobStore, JobFiles jobFiles, ObjectMapper objectMapper, Duration progressInterval,
+            BooleanSupplier stopping) {
+        this.job = job;
+        this.jobStore = jobStore;
+        this.jobFiles = jobFiles;
+        this.objectMapper = objectMapper;
+        this.progressIntervalNanos = progressInterval.toNanos();
+        this.stopping = stopping;
+        this.processed = job.processed();
+        this.failed = job.failed();
+        this.total = job.total();
+    }
+
+    public UUID jobId() {
+        return job.jobId();
+    }
+
+    /**
+     * Position saved by the last checkpoint of an earlier run, empty on a fresh start.
+     */
+    public <T> Optional<T> checkpoint(Class<T> type) {
+        if (job.checkpoint() == null) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(objectMapper.readValue(job.checkpoint(), type));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable checkpoint of job " + job.jobId(), e);
+        }
+    }
+
+    /**
+     * Options the job was submitted with, empty when it took none.
+     */
+    public <T> Optional<T> parameters(Class<T> type) {
+        if (job.parameters() == null) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(objectMapper.readValue(job.parameters(), type));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable parameters of job " + job.jobId(), e);
+        }
+    }
+
+    public Path input() {
+        return jobFiles.input(job.jobId());
+    }
+
+    public Path result() {
+        return jobFiles.result(job.jobId(), job.type());
+    }
+
+    public long processed() {
+        return processed;
+    }
+
+    public long failed() {
+        return failed;
+    }
+
+    public Long total() {
+        return total;
+    }
+
+    public void processed(long count) {
+        processed += count;
+    }
+
+    public void failed(long count) {
+        processed += count;
+        failed += count;
+    }
+
+    public void total(long total) {
+        this.total = total;
+    }
+
+    /**
+     * Whether the progress interval has passed since the last checkpoint.
+     */
+    public boolean checkpointDue() {
+        return System.nanoTime() - lastCheckpoint >= progressIntervalNanos;
+    }
+
+    /**
+     * Saves the counters and {@code position}, the point to resume from.
+     */
+    public void checkpoint(Object position) {
+        try {
+            jobStore.progress(job.jobId(), processed, failed, total, objectMapper.writeValueAsString(position));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialise the checkpoint of job " + job.jobId(), e);
+        }
+        lastCheckpoint = System.nanoTime();
+    }
+
+    /**
+     * Saves the counters alone, for a handler that cannot resume and starts over after an interruption.
+     */
+    public void progress() {
+        jobStore.progress(job.jobId(), processed, failed, total, null);
+        lastCheckpoint = System.nanoTime();
+    }
+
+    /**
+     * Discards the counters of an earlier, interrupted run, before starting over.
+     */
+    public void restart() {
+        processed = 0;
+        failed = 0;
+        total = null;
+    }
+
+    /**
+     * Whether the runner is shutting down; the handler should checkpoint and return.
+     */
+    public boolean stopRequested() {
+        return stopping.getAsBoolean() || Thread.currentThread().isInterrupted();
+    }
+}
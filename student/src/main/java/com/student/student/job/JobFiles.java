@@ -0,0 +1,70 @@
+package com.student.student.job;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Comparator;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Local file store for job inputs and results, one directory per job under {@code student.jobs.store-path}.
+ * Files stay on the instance that wrote them, which is why jobs are pinned to their owner.
+ */
+@Component
+public class JobFiles {
+
+    private final Path root;
+
+    public JobFiles(@Value("${student.jobs.store-path:jobs}") Path root) {
+        this.root = root;
+    }
+
+    public Path input(UUID jobId) {
+        return directory(jobId).resolve("input.csv");
+    }
+
+    public Path result(UUID jobId, JobType type) {
+        return directory(jobId).resolve(type.resultFile());
+    }
+
+    /**
+     * Copies an upload to the job's input file; returns its size in bytes.
+     */
+    public long storeInput(UUID jobId, InputStream upload) throws IOException {
+        Files.createDirectories(directory(jobId));
+        Path partial = directory(jobId).resolve("input.csv.partial");
+        long size = Files.copy(upload, partial, StandardCopyOption.REPLACE_EXISTING);
+        Files.move(partial, input(jobId), StandardCopyOption.ATOMIC_MOVE);
+        return size;
+    }
+
+    public Path resultForWriting(UUID jobId, JobType type) throws IOException {
+        Files.createDirectories(directory(jobId));
+        return result(jobId, type);
+    }
+
+    public void delete(UUID jobId) {
+        Path directory = directory(jobId);
+        if (!Files.exists(directory)) {
+            return;
+        }
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(file);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not delete the files of job " + jobId, e);
+        }
+    }
+
+    private Path directory(UUID jobId) {
+        return root.resolve(jobId.toString());
+    }
+}
@@ -0,0 +1,15 @@
+package com.student.student.job;
+
+/**
+ * Runs the jobs of one {@link JobType} on a job thread, whose connections come from the job pool.
+ */
+public interface JobHandler {
+
+    JobType type();
+
+    /**
+     * Runs the job, or resumes it from {@link JobExecution#checkpoint(Class)}. Returning marks it succeeded,
+     * throwing marks it failed. Once {@link JobExecution#stopRequested()}, it should checkpoint and return.
+     */
+    void run(JobExecution execution) throws Exception;
+}
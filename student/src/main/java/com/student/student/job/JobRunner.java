@@ -0,0 +1,201 @@
+package com.student.student.job;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.student.student.tenant.TenantContext;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Runs queued jobs on a fixed pool of {@code student.jobs.concurrency} threads whose connections come from
+ * the job pool, so jobs queue behind each other instead of taking connections from API requests. A
+ * dispatcher claims a job whenever a worker is free and runs it as the tenant that submitted it. On shutdown
+ * running jobs checkpoint and stay RUNNING;
+ * the next start of the same instance ({@code student.jobs.node-id}) queues them again to resume.
+ */
+@Component
+@Slf4j
+public class JobRunner {
+
+    private final JobStore jobStore;
+    private final JobFiles jobFiles;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final Map<JobType, JobHandler> handlers = new EnumMap<>(JobType.class);
+    private final String nodeId;
+    private final Duration pollInterval;
+    private final Duration progressInterval;
+    private final Duration retention;
+    private final Semaphore idleWorkers;
+    private final AtomicInteger running = new AtomicInteger();
+
+    private final ExecutorService workers;
+    private final ScheduledExecutorService dispatcher = Executors.newSingleThreadScheduledExecutor(
+            runnable -> new Thread(JobContext.bind(runnable), "student-job-dispatcher"));
+
+    private volatile boolean stopping;
+
+    public JobRunner(JobStore jobStore, JobFiles jobFiles, ObjectMapper objectMapper, MeterRegistry meterRegistry,
+            List<JobHandler> handlers,
+            @Value("${student.jobs.concurrency:2}") int concurrency,
+            @Value("${student.jobs.node-id:}") String nodeId,
+            @Value("${student.jobs.poll-interval:PT1S}") Duration pollInterval,
+            @Value("${student.jobs.progress-interval:PT2S}") Duration progressInterval,
+            @Value("${student.jobs.retention:P7D}") Duration retention) {
+        this.jobStore = jobStore;
+        this.jobFiles = jobFiles;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        handlers.forEach(handler -> this.handlers.put(handler.type(), handler));
+        this.nodeId = nodeId.isBlank() ? hostName() : nodeId;
+        this.pollInterval = pollInterval;
+        this.progressInterval = progressInterval;
+        this.retention = retention;
+        this.idleWorkers = new Semaphore(concurrency);
+        AtomicInteger threads = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(concurrency,
+                runnable -> new Thread(JobContext.bind(runnable), "student-job-" + threads.incrementAndGet()));
+        Gauge.builder("student.jobs.running", running, AtomicInteger::get)
+                .description("Jobs running on this instance")
+                .register(meterRegistry);
+    }
+
+    /**
+     * The instance id recorded as the owner of the jobs this instance runs.
+     */
+    public String nodeId() {
+        return nodeId;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        int requeued = jobStore.requeueInterrupted(nodeId);
+        if (requeued > 0) {
+            log.info("Resuming {} jobs interrupted by the last shutdown of {}", requeued, nodeId);
+        }
+        dispatcher.scheduleWithFixedDelay(this::dispatch, 0, pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private void dispatch() {
+        try {
+            while (!stopping && idleWorkers.tryAcquire()) {
+                Optional<Job> job = jobStore.claim(nodeId);
+                if (job.isEmpty()) {
+                    idleWorkers.release();
+                    return;
+                }
+                workers.execute(() -> {
+                    try {
+                        run(job.get());
+                    } finally {
+                        idleWorkers.release();
+                    }
+                });
+            }
+        } catch (RuntimeException e) {
+            log.error("Claiming jobs failed, retrying in {}: {}", pollInterval, e.getMessage());
+        }
+    }
+
+    private void run(Job job) {
+        JobHandler handler = handlers.get(job.type());
+        JobExecution execution = new JobExecution(job, jobStore, jobFiles, objectMapper, progressInterval,
+                () -> stopping);
+        log.info("{} job {} {}", job.type(), job.jobId(), job.checkpoint() == null ? "started" : "resumed");
+        running.incrementAndGet();
+        long started = System.nanoTime();
+        try (TenantContext.Scope scope = TenantContext.open(job.tenantId())) {
+            handler.run(execution);
+            if (stopping) {
+                log.info("{} job {} paused for shutdown", job.type(), job.jobId());
+                return;
+            }
+            jobStore.succeed(job.jobId(), execution.processed(), execution.failed(), execution.total());
+            finished(job, JobStatus.SUCCEEDED, started);
+            log.info("{} job {} succeeded: {} processed, {} failed", job.type(), job.jobId(), execution.processed(),
+                    execution.failed());
+        } catch (Exception e) {
+            if (stopping) {
+                log.info("{} job {} interrupted by shutdown: {}", job.type(), job.jobId(), e.getMessage());
+                return;
+            }
+            log.error("{} job {} failed", job.type(), job.jobId(), e);
+            jobStore.fail(job.jobId(), execution.processed(), execution.failed(), execution.total(),
+                    String.valueOf(e.getMessage()));
+            finished(job, JobStatus.FAILED, started);
+        } finally {
+            running.decrementAndGet();
+        }
+    }
+
+    private void finished(Job job, JobStatus status, long started) {
+        Counter.builder("student.jobs.finished")
+                .description("Jobs finished by this instance")
+                .tag("type", job.type().name())
+                .tag("status", status.name())
+                .register(meterRegistry)
+                .increment();
+        Timer.builder("student.jobs.duration")
+                .description("Run time of a job on this instance, since it was last claimed")
+                .tag("type", job.type().name())
+                .register(meterRegistry)
+                .record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+    }
+
+    @Scheduled(fixedDelayString = "${student.jobs.purge-interval:PT1H}")
+    public void purgeFinishedJobs() {
+        List<UUID> purged = jobStore.purgeFinishedBefore(LocalDateTime.now().minus(retention), nodeId);
+        purged.forEach(jobFiles::delete);
+        if (!purged.isEmpty()) {
+            log.info("Purged {} jobs finished more than {} ago", purged.size(), retention);
+        }
+    }
+
+    /**
+     * Runs on context close, before any bean is destroyed, so jobs checkpoint while the job pool is still open.
+     */
+    @EventListener(ContextClosedEvent.class)
+    public void stop() throws InterruptedException {
+        stopping = true;
+        dispatcher.shutdownNow();
+        workers.shutdown();
+        if (!workers.awaitTermination(30, TimeUnit.SECONDS)) {
+            log.warn("Jobs still running after 30s of shutdown; interrupting them, they resume from their last checkpoint");
+            workers.shutdownNow();
+        }
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return "localhost";
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.student.student.job;
+
+public enum JobStatus {
+    QUEUED,
+    RUNNING,
+    SUCCEEDED,
+    FAILED;
+
+    public boolean finished() {
+        return this == SUCCEEDED || this == FAILED;
+    }
+}
@@ -0,0 +1,144 @@
+package com.student.student.job;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.student.student.shard.ShardRouter;
+
+/**
+ * The student_jobs table. Every statement runs on shard 0, whichever shard the calling thread is bound to,
+ * and outside any transaction of the caller, which is suspended meanwhile: job state must not roll back
+ * with the work it describes, and a transaction open on another shard would otherwise capture the statement.
+ */
+@Component
+public class JobStore {
+
+    private static final String CLAIM_SQL = """
+            update student_jobs
+            set status = 'RUNNING', owner = ?, started_at = coalesce(started_at, clock_timestamp()),
+                updated_at = clock_timestamp()
+            where job_id = (
+                select job_id from student_jobs
+                where status = 'QUEUED' and (owner is null or owner = ?)
+                order by created_at
+                limit 1
+                for update skip locked)
+            returning *
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ShardRouter shardRouter;
+    private final TransactionTemplate outsideTransaction;
+
+    public JobStore(JdbcTemplate jdbcTemplate, ShardRouter shardRouter, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.shardRouter = shardRouter;
+        this.outsideTransaction = new TransactionTemplate(transactionManager);
+        this.outsideTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_NOT_SUPPORTED);
+    }
+
+    /**
+     * Queues a new job; {@code owner} pins it to an instance, null lets any instance run it. {@code parameters}
+     * is the JSON the handler reads back through {@link JobExecution#parameters(Class)}, or null. The job
+     * runs as {@code tenantId}.
+     */
+    public Job submit(UUID jobId, JobType type, String owner, String parameters, String tenantId) {
+        onJobShard(() -> jdbcTemplate.update(
+                "insert into student_jobs (job_id, job_type, status, owner, parameters, tenant_id) values (?, ?, 'QUEUED', ?, ?, ?)",
+                jobId, type.name(), owner, parameters, tenantId));
+        return find(jobId).orElseThrow();
+    }
+
+    public Optional<Job> find(UUID jobId) {
+        return onJobShard(() -> jdbcTemplate.query("select * from student_jobs where job_id = ?", JobStore::job, jobId)
+                .stream().findFirst());
+    }
+
+    /**
+     * Oldest queued job this instance may run, now marked RUNNING and owned by it.
+     */
+    public Optional<Job> claim(String owner) {
+        return onJobShard(() -> jdbcTemplate.query(CLAIM_SQL, JobStore::job, owner, owner).stream().findFirst());
+    }
+
+    /**
+     * Queues again the jobs an earlier run of this instance left RUNNING; returns how many.
+     */
+    public int requeueInterrupted(String owner) {
+        return onJobShard(() -> jdbcTemplate.update(
+                "update student_jobs set status = 'QUEUED', updated_at = clock_timestamp() where status = 'RUNNING' and owner = ?",
+                owner));
+    }
+
+    public void progress(UUID jobId, long processed, long failed, Long total, String checkpoint) {
+        onJobShard(() -> jdbcTemplate.update("""
+                update student_jobs set processed = ?, failed = ?, total = ?, checkpoint = ?, updated_at = clock_timestamp()
+                where job_id = ?
+                """, processed, failed, total, checkpoint, jobId));
+    }
+
+    public void succeed(UUID jobId, long processed, long failed, Long total) {
+        finish(jobId, JobStatus.SUCCEEDED, processed, failed, total, null);
+    }
+
+    public void fail(UUID jobId, long processed, long failed, Long total, String error) {
+        finish(jobId, JobStatus.FAILED, processed, failed, total, error);
+    }
+
+    private void finish(UUID jobId, JobStatus status, long processed, long failed, Long total, String error) {
+        onJobShard(() -> jdbcTemplate.update("""
+                update student_jobs set status = ?, processed = ?, failed = ?, total = ?, error = ?,
+                    finished_at = clock_timestamp(), updated_at = clock_timestamp()
+                where job_id = ?
+                """, status.name(), processed, failed, total, error, jobId));
+    }
+
+    /**
+     * Deletes jobs of this instance finished before {@code cutoff}; returns their ids so their files can go too.
+     */
+    public List<UUID> purgeFinishedBefore(LocalDateTime cutoff, String owner) {
+        return onJobShard(() -> jdbcTemplate.query(
+                "delete from student_jobs where finished_at < ? and owner = ? returning job_id",
+                (rs, row) -> rs.getObject(1, UUID.class), Timestamp.valueOf(cutoff), owner));
+    }
+
+    private <T> T onJobShard(Supplier<T> work) {
+        return outsideTransaction.execute(status -> shardRouter.on(0, work));
+    }
+
+    private static Job job(ResultSet rs, int row) throws SQLException {
+        return new Job(
+                rs.getObject("job_id", UUID.class),
+                JobType.valueOf(rs.getString("job_type")),
+                JobStatus.valueOf(rs.getString("status")),
+                rs.getString("checkpoint"),
+                rs.getString("parameters"),
+                rs.getLong("processed"),
+                rs.getLong("failed"),
+                rs.getObject("total", Long.class),
+                rs.getString("error"),
+                rs.getString("owner"),
+                rs.getString("tenant_id"),
+                localDateTime(rs, "created_at"),
+                localDateTime(rs, "started_at"),
+                localDateTime(rs, "finished_at"),
+                localDateTime(rs, "updated_at"));
+    }
+
+    private static LocalDateTime localDateTime(ResultSet rs, String column) throws SQLException {
+        Timestamp timestamp = rs.getTimestamp(column);
+        return timestamp == null ? null : timestamp.toLocalDateTime();
+    }
+}
@@ -0,0 +1,28 @@
+package com.student.student.job;
+
+/**
+ * What a job does; each type has one {@link JobHandler}.
+ */
+public enum JobType {
+    /** Writes every student to a CSV result file. */
+    EXPORT("result.csv"),
+    /** Creates students from an uploaded CSV file; rejected rows go to the result file. */
+    IMPORT("result.csv"),
+    /** One run of the student archiver. */
+    ARCHIVE(null),
+    /** Writes a point-in-time copy of the students, or of those updated since a given time, to a Parquet file. */
+    SNAPSHOT("result.parquet");
+
+    private final String resultFile;
+
+    JobType(String resultFile) {
+        this.resultFile = resultFile;
+    }
+
+    /**
+     * Name of the result file in the job's directory; null for jobs without one.
+     */
+    public String resultFile() {
+        return resultFile;
+    }
+}
@@ -0,0 +1,82 @@
+package com.student.student.job;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import com.student.student.parquet.ParquetColumn;
+
+/**
+ * The columns of a snapshot file, named as in the API and the CSV export. Names are dictionary-encoded: few
+ * distinct values repeat across many students.
+ */
+public enum SnapshotColumn {
+    STUDENT_ID("studentId", "student_id", ParquetColumn.Type.UUID, false),
+    ROLL_NUMBER("rollNumber", "roll_number", ParquetColumn.Type.INT32, false),
+    FIRST_NAME("firstName", "first_name", ParquetColumn.Type.STRING, true),
+    LAST_NAME("lastName", "last_name", ParquetColumn.Type.STRING, true),
+    EMAIL("email", "email", ParquetColumn.Type.STRING, false),
+    DATE_OF_BIRTH("dateOfBirth", "date_of_birth", ParquetColumn.Type.DATE, false),
+    CREATED_AT("createdAt", "created_at", ParquetColumn.Type.TIMESTAMP, false),
+    UPDATED_AT("updatedAt", "updated_at", ParquetColumn.Type.TIMESTAMP, false);
+
+    private final String fieldName;
+    private final String sqlColumn;
+    private final ParquetColumn parquet;
+
+    SnapshotColumn(String fieldName, String sqlColumn, ParquetColumn.Type type, boolean dictionary) {
+        this.fieldName = fieldName;
+        this.sqlColumn = sqlColumn;
+        this.parquet = new ParquetColumn(fieldName, type, dictionary);
+    }
+
+    public String fieldName() {
+        return fieldName;
+    }
+
+    String sqlColumn() {
+        return sqlColumn;
+    }
+
+    ParquetColumn parquet() {
+        return parquet;
+    }
+
+    Object read(ResultSet rs, int index) throws SQLException {
+        return switch (parquet.type()) {
+            case UUID -> rs.getObject(index, UUID.class);
+            case INT32 -> rs.getInt(index);
+            case STRING -> rs.getString(index);
+            case DATE -> rs.getObject(index, LocalDate.class);
+            case TIMESTAMP -> rs.getObject(index, OffsetDateTime.class);
+        };
+    }
+
+    /**
+     * The columns named, in the order given; all of them when none are.
+     */
+    public static List<SnapshotColumn> parse(List<String> fieldNames) {
+        if (fieldNames == null || fieldNames.isEmpty()) {
+            return List.of(values());
+        }
+        List<SnapshotColumn> columns = new ArrayList<>(fieldNames.size());
+        for (String fieldName : fieldNames) {
+            SnapshotColumn column = Arrays.stream(values())
+                    .filter(candidate -> candidate.fieldName.equals(fieldName))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException(String.format(
+                            "Unknown snapshot column %s, expected some of %s", fieldName,
+                            Arrays.stream(values()).map(SnapshotColumn::fieldName).toList())));
+            if (columns.contains(column)) {
+                throw new IllegalArgumentException(String.format("Snapshot column %s is listed twice", fieldName));
+            }
+            columns.add(column);
+        }
+        return columns;
+    }
+}
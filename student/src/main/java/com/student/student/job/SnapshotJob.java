@@ -0,0 +1,161 @@
+package com.student.student.job;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.sql.PreparedStatement;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import com.student.student.parquet.ParquetWriter;
+import com.student.student.shard.ShardRouter;
+import com.student.student.tenant.TenantContext;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Writes the students of the job's tenant to result.parquet, a copy analytics can query instead of scanning
+ * the primary. Each shard is streamed through a cursor in one read-only REPEATABLE READ transaction, so the
+ * file holds every shard as of one point in time (shards are read one after another). Only the requested columns are selected.
+ *
+ * <p>With {@code updatedSince}, only students updated after it are written. The footer's
+ * {@code student.snapshot.next_updated_since} is what the next incremental snapshot should pass: like the
+ * change feed, it lags this snapshot by the safety window, so a row stamped before its transaction committed
+ * lands in the next snapshot at worst twice rather than never. Deleted students are not in an incremental
+ * snapshot; the change feed has their tombstones.
+ *
+ * <p>A transaction cannot outlive the run that opened it, so an interrupted snapshot starts over.
+ */
+@Component
+@Slf4j
+public class SnapshotJob implements JobHandler {
+
+    /**
+     * Options of a snapshot: the columns to write, all when empty, and the lower bound of an incremental one.
+     */
+    public record Parameters(List<String> columns, OffsetDateTime updatedSince) {}
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ShardRouter shardRouter;
+    private final JobFiles jobFiles;
+    private final TransactionTemplate snapshotTransaction;
+    private final Duration safetyWindow;
+    private final int fetchSize;
+    private final ParquetWriter.Settings settings;
+
+    public SnapshotJob(JdbcTemplate jdbcTemplate, ShardRouter shardRouter, JobFiles jobFiles,
+            PlatformTransactionManager transactionManager,
+            @Value("${student.changes.safety-window:PT5S}") Duration safetyWindow,
+            @Value("${student.jobs.snapshot.fetch-size:1000}") int fetchSize,
+            @Value("${student.jobs.snapshot.row-group-size:32MB}") DataSize rowGroupSize,
+            @Value("${student.jobs.snapshot.page-size:1MB}") DataSize pageSize,
+            @Value("${student.jobs.snapshot.dictionary-page-size:1MB}") DataSize dictionaryPageSize,
+            @Value("${student.jobs.snapshot.codec:GZIP}") ParquetWriter.Codec codec) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.shardRouter = shardRouter;
+        this.jobFiles = jobFiles;
+        this.snapshotTransaction = new TransactionTemplate(transactionManager);
+        this.snapshotTransaction.setReadOnly(true);
+        this.snapshotTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.safetyWindow = safetyWindow;
+        this.fetchSize = fetchSize;
+        this.settings = new ParquetWriter.Settings(rowGroupSize.toBytes(), Math.toIntExact(pageSize.toBytes()),
+                Math.toIntExact(dictionaryPageSize.toBytes()), codec);
+    }
+
+    @Override
+    public JobType type() {
+        return JobType.SNAPSHOT;
+    }
+
+    @Override
+    public void run(JobExecution execution) throws IOException {
+        Parameters parameters = execution.parameters(Parameters.class).orElse(new Parameters(null, null));
+        List<SnapshotColumn> columns = SnapshotColumn.parse(parameters.columns());
+        OffsetDateTime updatedSince = parameters.updatedSince();
+        execution.restart();
+
+        OffsetDateTime takenAt = OffsetDateTime.now(ZoneOffset.UTC);
+        long started = System.nanoTime();
+        ParquetWriter writer = new ParquetWriter(
+                new BufferedOutputStream(Files.newOutputStream(jobFiles.resultForWriting(execution.jobId(), JobType.SNAPSHOT)),
+                        64 * 1024),
+                columns.stream().map(SnapshotColumn::parquet).toList(), settings);
+        try (writer) {
+            writer.metadata("student.snapshot.taken_at", takenAt.toString());
+            if (updatedSince != null) {
+                writer.metadata("student.snapshot.updated_since", updatedSince.toString());
+            }
+            writer.metadata("student.snapshot.next_updated_since", takenAt.minus(safetyWindow).toString());
+            for (int shard = 0; shard < shardRouter.shardCount(); shard++) {
+                boolean complete = shardRouter.on(shard,
+                        () -> snapshotTransaction.execute(status -> writeShard(execution, columns, updatedSince, writer)));
+                if (!complete) {
+                    return;
+                }
+            }
+        }
+        double seconds = Math.max(System.nanoTime() - started, 1) / 1e9;
+        log.info("Snapshot of {} students in {} row groups, {} bytes, in {} ms ({} rows/s)", writer.rows(),
+                writer.rowGroups(), writer.bytesWritten(), Math.round(seconds * 1000), Math.round(writer.rows() / seconds));
+    }
+
+    /**
+     * Streams the current shard into the file; false when stopped midway.
+     */
+    private boolean writeShard(JobExecution execution, List<SnapshotColumn> columns, OffsetDateTime updatedSince,
+            ParquetWriter writer) {
+        String tenant = TenantContext.current();
+        String where = updatedSince == null ? " where tenant_id = ?" : " where tenant_id = ? and updated_at > ?";
+        Object[] arguments = updatedSince == null ? new Object[] { tenant } : new Object[] { tenant, updatedSince };
+        long rows = jdbcTemplate.queryForObject("select count(*) from students" + where, Long.class, arguments);
+        execution.total((execution.total() == null ? 0 : execution.total()) + rows);
+
+        String select = columns.stream().map(SnapshotColumn::sqlColumn).collect(Collectors.joining(", "));
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement("select " + select + " from students" + where);
+            // Within the transaction the driver fetches through a cursor, fetchSize rows at a time
+            statement.setFetchSize(fetchSize);
+            for (int i = 0; i < arguments.length; i++) {
+                statement.setObject(i + 1, arguments[i]);
+            }
+            return statement;
+        }, rs -> {
+            Object[] row = new Object[columns.size()];
+            long read = 0;
+            while (rs.next()) {
+                for (int i = 0; i < row.length; i++) {
+                    row[i] = columns.get(i).read(rs, i + 1);
+                }
+                try {
+                    writer.write(row);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                if (++read % fetchSize == 0) {
+                    execution.processed(fetchSize);
+                    if (execution.stopRequested()) {
+                        return false;
+                    }
+                    if (execution.checkpointDue()) {
+                        execution.progress();
+                    }
+                }
+            }
+            execution.processed(read % fetchSize);
+            return true;
+        });
+    }
+}
@@ -0,0 +1,130 @@
+package com.student.student.parquet;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Writer for the Thrift compact protocol, the encoding of Parquet page headers and the file footer. Covers
+ * the types those structures use: booleans, i32, i64, binary, structs and lists. Fields must be written in
+ * ascending id order within a struct.
+ */
+final class CompactProtocol {
+
+    static final int TYPE_I32 = 5;
+    static final int TYPE_I64 = 6;
+    static final int TYPE_BINARY = 8;
+    static final int TYPE_STRUCT = 12;
+
+    private static final int TYPE_BOOLEAN_TRUE = 1;
+    private static final int TYPE_BOOLEAN_FALSE = 2;
+    private static final int TYPE_LIST = 9;
+
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream(256);
+    private final Deque<Integer> enclosingFieldIds = new ArrayDeque<>();
+    private int lastFieldId;
+
+    byte[] toByteArray() {
+        return out.toByteArray();
+    }
+
+    /**
+     * A top-level struct, or a struct element of a list.
+     */
+    void struct(Runnable fields) {
+        enclosingFieldIds.push(lastFieldId);
+        lastFieldId = 0;
+        fields.run();
+        out.write(0);
+        lastFieldId = enclosingFieldIds.pop();
+    }
+
+    void structField(int id, Runnable fields) {
+        fieldHeader(id, TYPE_STRUCT);
+        struct(fields);
+    }
+
+    /**
+     * A field of a Thrift union whose value is an empty struct, such as LogicalType.STRING.
+     */
+    void emptyStructField(int id) {
+        structField(id, () -> { });
+    }
+
+    void i32Field(int id, int value) {
+        fieldHeader(id, TYPE_I32);
+        varint(zigZag(value));
+    }
+
+    void i64Field(int id, long value) {
+        fieldHeader(id, TYPE_I64);
+        varint(zigZag(value));
+    }
+
+    void booleanField(int id, boolean value) {
+        fieldHeader(id, value ? TYPE_BOOLEAN_TRUE : TYPE_BOOLEAN_FALSE);
+    }
+
+    void binaryField(int id, byte[] value) {
+        fieldHeader(id, TYPE_BINARY);
+        binary(value);
+    }
+
+    void stringField(int id, String value) {
+        binaryField(id, value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * A list field; {@code element} writes each element with {@link #i32(int)}, {@link #binary(byte[])} or
+     * {@link #struct(Runnable)} according to {@code elementType}.
+     */
+    <T> void listField(int id, int elementType, List<T> elements, Consumer<T> element) {
+        fieldHeader(id, TYPE_LIST);
+        if (elements.size() < 15) {
+            out.write(elements.size() << 4 | elementType);
+        } else {
+            out.write(0xF0 | elementType);
+            varint(elements.size());
+        }
+        elements.forEach(element);
+    }
+
+    void i32(int value) {
+        varint(zigZag(value));
+    }
+
+    void binary(byte[] value) {
+        varint(value.length);
+        out.write(value, 0, value.length);
+    }
+
+    private void fieldHeader(int id, int type) {
+        int delta = id - lastFieldId;
+        if (delta > 0 && delta <= 15) {
+            out.write(delta << 4 | type);
+        } else {
+            out.write(type);
+            varint(zigZag(id));
+        }
+        lastFieldId = id;
+    }
+
+    private void varint(long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static long zigZag(int value) {
+        return Integer.toUnsignedLong(value << 1 ^ value >> 31);
+    }
+
+    private static long zigZag(long value) {
+        return value << 1 ^ value >> 63;
+    }
+}
@@ -0,0 +1,39 @@
+package com.student.student.parquet;
+
+/**
+ * A required (non-null) top-level column of a {@link ParquetWriter}, with the Java type its values are
+ * given as: Integer for INT32, LocalDate for DATE, OffsetDateTime for TIMESTAMP, String for STRING and UUID
+ * for UUID. Dictionary-encoded columns suit low-cardinality values such as names.
+ */
+public record ParquetColumn(String name, Type type, boolean dictionary) {
+
+    public enum Type {
+        /** INT32 */
+        INT32(1, 0),
+        /** INT32 days since the epoch, logical type DATE */
+        DATE(1, 0),
+        /** INT64 microseconds since the epoch, logical type TIMESTAMP(MICROS, adjusted to UTC) */
+        TIMESTAMP(2, 0),
+        /** BYTE_ARRAY in UTF-8, logical type STRING */
+        STRING(6, 0),
+        /** FIXED_LEN_BYTE_ARRAY(16), logical type UUID */
+        UUID(7, 16);
+
+        /** Parquet physical type id */
+        final int physical;
+        final int length;
+
+        Type(int physical, int length) {
+            this.physical = physical;
+            this.length = length;
+        }
+    }
+
+    public static ParquetColumn of(String name, Type type) {
+        return new ParquetColumn(name, type, false);
+    }
+
+    public static ParquetColumn dictionary(String name, Type type) {
+        return new ParquetColumn(name, type, true);
+    }
+}
@@ -0,0 +1,535 @@
+package com.student.student.parquet;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Streams rows into a Parquet file (format version 1, data page v1) of flat, required columns. Rows are
+ * buffered column by column until the buffered values reach {@link Settings#rowGroupBytes()}, then written
+ * as one row group, so memory stays bounded by the row group size whatever the number of rows. Dictionary
+ * columns fall back to plain encoding in a row group whose dictionary would outgrow
+ * {@link Settings#dictionaryPageBytes()}. INT32, DATE and TIMESTAMP chunks carry min/max statistics, which
+ * lets readers skip row groups.
+ *
+ * <p>Not thread-safe. The file is only readable once {@link #close()} has written the footer.
+ */
+public class ParquetWriter implements Closeable {
+
+    public enum Codec {
+        UNCOMPRESSED(0),
+        GZIP(2);
+
+        private final int id;
+
+        Codec(int id) {
+            this.id = id;
+        }
+    }
+
+    /**
+     * @param rowGroupBytes       buffered values that close a row group
+     * @param pageBytes           encoded values per data page
+     * @param dictionaryPageBytes largest dictionary page before a column chunk falls back to plain encoding
+     */
+    public record Settings(long rowGroupBytes, int pageBytes, int dictionaryPageBytes, Codec codec) {}
+
+    private static final byte[] MAGIC = "PAR1".getBytes(StandardCharsets.US_ASCII);
+
+    private static final int PLAIN = 0;
+    private static final int PLAIN_DICTIONARY = 2;
+    private static final int RLE = 3;
+
+    private static final int DATA_PAGE = 0;
+    private static final int DICTIONARY_PAGE = 2;
+
+    private static final int REQUIRED = 0;
+
+    private static final int CONVERTED_UTF8 = 0;
+    private static final int CONVERTED_DATE = 6;
+    private static final int CONVERTED_TIMESTAMP_MICROS = 10;
+
+    /** Heap cost of a buffered byte[] beyond its contents: array header and the list's reference. */
+    private static final int BINARY_OVERHEAD = 24;
+
+    private final OutputStream out;
+    private final List<ParquetColumn> columns;
+    private final Settings settings;
+    private final ColumnBuffer[] buffers;
+    private final List<RowGroup> rowGroups = new ArrayList<>();
+    private final Map<String, String> metadata = new LinkedHashMap<>();
+
+    private long position;
+    private long rows;
+    private int rowGroupRows;
+
+    public ParquetWriter(OutputStream out, List<ParquetColumn> columns, Settings settings) throws IOException {
+        if (columns.isEmpty()) {
+            throw new IllegalArgumentException("A Parquet file needs at least one column");
+        }
+        for (ParquetColumn column : columns) {
+            if (column.dictionary() && column.type() != ParquetColumn.Type.STRING) {
+                throw new IllegalArgumentException("Only STRING columns can be dictionary-encoded: " + column.name());
+            }
+        }
+        this.out = out;
+        this.columns = List.copyOf(columns);
+        this.settings = settings;
+        this.buffers = columns.stream().map(ColumnBuffer::new).toArray(ColumnBuffer[]::new);
+        write(MAGIC);
+    }
+
+    /**
+     * Appends a row, one value per column in column order.
+     */
+    public void write(Object... values) throws IOException {
+        if (values.length != buffers.length) {
+            throw new IllegalArgumentException(
+                    String.format("Expected %d values per row, got %d", buffers.length, values.length));
+        }
+        long buffered = 0;
+        for (int i = 0; i < buffers.length; i++) {
+            buffers[i].add(values[i]);
+            buffered += buffers[i].bytes;
+        }
+        rows++;
+        rowGroupRows++;
+        if (buffered >= settings.rowGroupBytes()) {
+            flushRowGroup();
+        }
+    }
+
+    /**
+     * Adds a key/value pair to the footer metadata.
+     */
+    public void metadata(String key, String value) {
+        metadata.put(key, value);
+    }
+
+    public long rows() {
+        return rows;
+    }
+
+    public int rowGroups() {
+        return rowGroups.size();
+    }
+
+    /**
+     * Bytes written so far; the file size once closed.
+     */
+    public long bytesWritten() {
+        return position;
+    }
+
+    /**
+     * Writes the last row group and the footer, and closes the stream.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            flushRowGroup();
+            byte[] footer = footer();
+            write(footer);
+            write(ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN).putInt(footer.length).array());
+            write(MAGIC);
+            out.flush();
+        } finally {
+            out.close();
+        }
+    }
+
+    private void flushRowGroup() throws IOException {
+        if (rowGroupRows == 0) {
+            return;
+        }
+        List<ColumnChunk> chunks = new ArrayList<>(buffers.length);
+        for (ColumnBuffer buffer : buffers) {
+            chunks.add(writeChunk(buffer));
+            buffer.clear();
+        }
+        rowGroups.add(new RowGroup(chunks, rowGroupRows));
+        rowGroupRows = 0;
+    }
+
+    private ColumnChunk writeChunk(ColumnBuffer buffer) throws IOException {
+        ChunkWriter chunk = new ChunkWriter(position);
+        Dictionary dictionary = buffer.column.dictionary() ? dictionary(buffer) : null;
+        if (dictionary != null) {
+            chunk.page(DICTIONARY_PAGE, dictionary.values(), dictionary.size(), PLAIN_DICTIONARY);
+            chunk.dataPageOffset = position;
+            writeIndexPages(chunk, dictionary);
+        } else {
+            chunk.dataPageOffset = position;
+            writePlainPages(chunk, buffer);
+        }
+        return new ColumnChunk(buffer.column, chunk.start, chunk.dataPageOffset,
+                dictionary != null ? chunk.start : null, dictionary != null ? PLAIN_DICTIONARY : PLAIN, buffer.size,
+                chunk.uncompressed, chunk.compressed, buffer.statistics());
+    }
+
+    private void writePlainPages(ChunkWriter chunk, ColumnBuffer buffer) throws IOException {
+        ByteArrayOutputStream page = new ByteArrayOutputStream(settings.pageBytes() + 64);
+        int pageValues = 0;
+        for (int i = 0; i < buffer.size; i++) {
+            buffer.writePlain(i, page);
+            pageValues++;
+            if (page.size() >= settings.pageBytes()) {
+                chunk.page(DATA_PAGE, page.toByteArray(), pageValues, PLAIN);
+                page.reset();
+                pageValues = 0;
+            }
+        }
+        if (pageValues > 0) {
+            chunk.page(DATA_PAGE, page.toByteArray(), pageValues, PLAIN);
+        }
+    }
+
+    /**
+     * Data pages of dictionary indices: the bit width, then one bit-packed run of the RLE/bit-packing hybrid.
+     */
+    private void writeIndexPages(ChunkWriter chunk, Dictionary dictionary) throws IOException {
+        int bitWidth = Math.max(1, 32 - Integer.numberOfLeadingZeros(dictionary.size() - 1));
+        int perPage = (int) Math.max(8, Math.min(Integer.MAX_VALUE - 8, settings.pageBytes() * 8L / bitWidth) & ~7);
+        int[] indices = dictionary.indices();
+        for (int from = 0; from < indices.length; from += perPage) {
+            int count = Math.min(perPage, indices.length - from);
+            ByteArrayOutputStream page = new ByteArrayOutputStream(count * bitWidth / 8 + 16);
+            page.write(bitWidth);
+            bitPacked(indices, from, count, bitWidth, page);
+            chunk.page(DATA_PAGE, page.toByteArray(), count, PLAIN_DICTIONARY);
+        }
+    }
+
+    private Dictionary dictionary(ColumnBuffer buffer) {
+        Map<ByteBuffer, Integer> ids = new HashMap<>();
+        ByteArrayOutputStream values = new ByteArrayOutputStream();
+        int[] indices = new int[buffer.size];
+        for (int i = 0; i < buffer.size; i++) {
+            byte[] value = buffer.binaries.get(i);
+            Integer id = ids.get(ByteBuffer.wrap(value));
+            if (id == null) {
+                id = ids.size();
+                ids.put(ByteBuffer.wrap(value), id);
+                plainBinary(value, values);
+                if (values.size() > settings.dictionaryPageBytes()) {
+                    return null;
+                }
+            }
+            indices[i] = id;
+        }
+        return new Dictionary(values.toByteArray(), ids.size(), indices);
+    }
+
+    private static void bitPacked(int[] values, int from, int count, int bitWidth, ByteArrayOutputStream out) {
+        int groups = (count + 7) / 8;
+        varint((long) groups << 1 | 1, out);
+        long bits = 0;
+        int pending = 0;
+        // The last group is padded with zeros; readers stop at the page's value count
+        for (int i = 0; i < groups * 8; i++) {
+            bits |= (long) (i < count ? values[from + i] : 0) << pending;
+            pending += bitWidth;
+            while (pending >= 8) {
+                out.write((int) bits);
+                bits >>>= 8;
+                pending -= 8;
+            }
+        }
+    }
+
+    private byte[] compress(byte[] page) throws IOException {
+        if (settings.codec() == Codec.UNCOMPRESSED) {
+            return page;
+        }
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(page.length / 2 + 64);
+        // The fastest level: on student rows its files are about 5% larger than the default level's, in half the time
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed, 8192) {
+            {
+                def.setLevel(Deflater.BEST_SPEED);
+            }
+        }) {
+            gzip.write(page);
+        }
+        return compressed.toByteArray();
+    }
+
+    private void write(byte[] bytes) throws IOException {
+        out.write(bytes);
+        position += bytes.length;
+    }
+
+    private byte[] footer() {
+        CompactProtocol footer = new CompactProtocol();
+        footer.struct(() -> {
+            footer.i32Field(1, 1);
+            List<ParquetColumn> schema = new ArrayList<>(columns.size() + 1);
+            schema.add(null);
+            schema.addAll(columns);
+            footer.listField(2, CompactProtocol.TYPE_STRUCT, schema, column -> footer.struct(() -> {
+                if (column == null) {
+                    footer.stringField(4, "schema");
+                    footer.i32Field(5, columns.size());
+                } else {
+                    schemaElement(footer, column);
+                }
+            }));
+            footer.i64Field(3, rows);
+            footer.listField(4, CompactProtocol.TYPE_STRUCT, rowGroups, rowGroup -> footer.struct(() -> {
+                footer.listField(1, CompactProtocol.TYPE_STRUCT, rowGroup.chunks(),
+                        chunk -> footer.struct(() -> columnChunk(footer, chunk)));
+                footer.i64Field(2, rowGroup.chunks().stream().mapToLong(ColumnChunk::uncompressed).sum());
+                footer.i64Field(3, rowGroup.rows());
+                footer.i64Field(5, rowGroup.chunks().get(0).start());
+                footer.i64Field(6, rowGroup.chunks().stream().mapToLong(ColumnChunk::compressed).sum());
+            }));
+            if (!metadata.isEmpty()) {
+                footer.listField(5, CompactProtocol.TYPE_STRUCT, List.copyOf(metadata.entrySet()),
+                        entry -> footer.struct(() -> {
+                            footer.stringField(1, entry.getKey());
+                            footer.stringField(2, entry.getValue());
+                        }));
+            }
+            footer.stringField(6, "student-service");
+            // TYPE_DEFINED_ORDER for every column, so readers trust the min/max statistics
+            footer.listField(7, CompactProtocol.TYPE_STRUCT, columns,
+                    column -> footer.struct(() -> footer.emptyStructField(1)));
+        });
+        return footer.toByteArray();
+    }
+
+    private static void schemaElement(CompactProtocol footer, ParquetColumn column) {
+        footer.i32Field(1, column.type().physical);
+        if (column.type().length > 0) {
+            footer.i32Field(2, column.type().length);
+        }
+        footer.i32Field(3, REQUIRED);
+        footer.stringField(4, column.name());
+        switch (column.type()) {
+            case STRING -> {
+                footer.i32Field(6, CONVERTED_UTF8);
+                footer.structField(10, () -> footer.emptyStructField(1));
+            }
+            case DATE -> {
+                footer.i32Field(6, CONVERTED_DATE);
+                footer.structField(10, () -> footer.emptyStructField(6));
+            }
+            case TIMESTAMP -> {
+                footer.i32Field(6, CONVERTED_TIMESTAMP_MICROS);
+                footer.structField(10, () -> footer.structField(8, () -> {
+                    footer.booleanField(1, true);
+                    footer.structField(2, () -> footer.emptyStructField(2));
+                }));
+            }
+            case UUID -> footer.structField(10, () -> footer.emptyStructField(14));
+            case INT32 -> {
+            }
+        }
+    }
+
+    private void columnChunk(CompactProtocol footer, ColumnChunk chunk) {
+        footer.i64Field(2, chunk.start());
+        footer.structField(3, () -> {
+            footer.i32Field(1, chunk.column().type().physical);
+            footer.listField(2, CompactProtocol.TYPE_I32, List.of(chunk.encoding()), footer::i32);
+            footer.listField(3, CompactProtocol.TYPE_BINARY, List.of(chunk.column().name()),
+                    name -> footer.binary(name.getBytes(StandardCharsets.UTF_8)));
+            footer.i32Field(4, settings.codec().id);
+            footer.i64Field(5, chunk.values());
+            footer.i64Field(6, chunk.uncompressed());
+            footer.i64Field(7, chunk.compressed());
+            footer.i64Field(9, chunk.dataPageOffset());
+            if (chunk.dictionaryPageOffset() != null) {
+                footer.i64Field(11, chunk.dictionaryPageOffset());
+            }
+            if (chunk.statistics() != null) {
+                footer.structField(12, () -> {
+                    footer.i64Field(3, 0);
+                    footer.binaryField(5, chunk.statistics().max());
+                    footer.binaryField(6, chunk.statistics().min());
+                });
+            }
+        });
+    }
+
+    private static void plainBinary(byte[] value, ByteArrayOutputStream out) {
+        int length = value.length;
+        out.write(length);
+        out.write(length >>> 8);
+        out.write(length >>> 16);
+        out.write(length >>> 24);
+        out.write(value, 0, length);
+    }
+
+    private static void varint(long value, ByteArrayOutputStream out) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    /**
+     * Writes the pages of one column chunk, totalling their sizes headers included.
+     */
+    private final class ChunkWriter {
+
+        final long start;
+        long dataPageOffset;
+        long uncompressed;
+        long compressed;
+
+        ChunkWriter(long start) {
+            this.start = start;
+        }
+
+        void page(int type, byte[] body, int values, int encoding) throws IOException {
+            byte[] stored = compress(body);
+            CompactProtocol header = new CompactProtocol();
+            header.struct(() -> {
+                header.i32Field(1, type);
+                header.i32Field(2, body.length);
+                header.i32Field(3, stored.length);
+                if (type == DATA_PAGE) {
+                    header.structField(5, () -> {
+                        header.i32Field(1, values);
+                        header.i32Field(2, encoding);
+                        header.i32Field(3, RLE);
+                        header.i32Field(4, RLE);
+                    });
+                } else {
+                    header.structField(7, () -> {
+                        header.i32Field(1, values);
+                        header.i32Field(2, encoding);
+                    });
+                }
+            });
+            byte[] encodedHeader = header.toByteArray();
+            write(encodedHeader);
+            write(stored);
+            uncompressed += encodedHeader.length + body.length;
+            compressed += encodedHeader.length + stored.length;
+        }
+    }
+
+    /**
+     * Values of one column in the current row group.
+     */
+    private static final class ColumnBuffer {
+
+        final ParquetColumn column;
+        final List<byte[]> binaries = new ArrayList<>();
+        long[] numbers = new long[0];
+        int size;
+        long bytes;
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+
+        ColumnBuffer(ParquetColumn column) {
+            this.column = column;
+        }
+
+        void add(Object value) {
+            if (value == null) {
+                throw new IllegalArgumentException("Column " + column.name() + " is required");
+            }
+            switch (column.type()) {
+                case INT32 -> number((Integer) value);
+                case DATE -> number(((LocalDate) value).toEpochDay());
+                case TIMESTAMP -> {
+                    OffsetDateTime timestamp = (OffsetDateTime) value;
+                    number(Math.addExact(Math.multiplyExact(timestamp.toEpochSecond(), 1_000_000L),
+                            timestamp.getNano() / 1_000));
+                }
+                case STRING -> binary(((String) value).getBytes(StandardCharsets.UTF_8));
+                case UUID -> {
+                    UUID uuid = (UUID) value;
+                    binary(ByteBuffer.allocate(16).putLong(uuid.getMostSignificantBits())
+                            .putLong(uuid.getLeastSignificantBits()).array());
+                }
+            }
+            size++;
+        }
+
+        private void number(long value) {
+            if (size == numbers.length) {
+                numbers = Arrays.copyOf(numbers, Math.max(1024, size * 2));
+            }
+            numbers[size] = value;
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+            bytes += Long.BYTES;
+        }
+
+        private void binary(byte[] value) {
+            binaries.add(value);
+            bytes += value.length + BINARY_OVERHEAD;
+        }
+
+        void writePlain(int index, ByteArrayOutputStream out) {
+            switch (column.type()) {
+                case INT32, DATE -> {
+                    int value = (int) numbers[index];
+                    out.write(value);
+                    out.write(value >>> 8);
+                    out.write(value >>> 16);
+                    out.write(value >>> 24);
+                }
+                case TIMESTAMP -> {
+                    long value = numbers[index];
+                    for (int shift = 0; shift < 64; shift += 8) {
+                        out.write((int) (value >>> shift));
+                    }
+                }
+                case STRING -> plainBinary(binaries.get(index), out);
+                case UUID -> out.write(binaries.get(index), 0, 16);
+            }
+        }
+
+        /**
+         * Min and max, plain-encoded, of a numeric column; null for binary ones.
+         */
+        Statistics statistics() {
+            return switch (column.type()) {
+                case INT32, DATE -> new Statistics(
+                        ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN).putInt((int) min).array(),
+                        ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN).putInt((int) max).array());
+                case TIMESTAMP -> new Statistics(
+                        ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN).putLong(min).array(),
+                        ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN).putLong(max).array());
+                case STRING, UUID -> null;
+            };
+        }
+
+        void clear() {
+            binaries.clear();
+            size = 0;
+            bytes = 0;
+            min = Long.MAX_VALUE;
+            max = Long.MIN_VALUE;
+        }
+    }
+
+    private record Dictionary(byte[] values, int size, int[] indices) {}
+
+    private record Statistics(byte[] min, byte[] max) {}
+
+    private record ColumnChunk(ParquetColumn column, long start, long dataPageOffset, Long dictionaryPageOffset,
+            int encoding, long values, long uncompressed, long compressed, Statistics statistics) {}
+
+    private record RowGroup(List<ColumnChunk> chunks, long rows) {}
+}
@@ -0,0 +1,88 @@
+package com.student.student.profiling;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+/**
+ * Emits {@link StudentOperationEvent} for service calls and {@link RepositoryCallEvent} for repository calls.
+ * When no recording has the events enabled the advice only checks {@code isEnabled()} and proceeds.
+ */
+@Aspect
+@Component
+public class JfrEventAspect {
+
+    private static final class OperationContext {
+        long dbNanos;
+        int repositoryCalls;
+    }
+
+    private static final ThreadLocal<OperationContext> CURRENT = new ThreadLocal<>();
+
+    @Around("execution(public * com.student.student.service..*(..))")
+    public Object recordOperation(ProceedingJoinPoint joinPoint) throws Throwable {
+        StudentOperationEvent event = new StudentOperationEvent();
+        if (!event.isEnabled() || CURRENT.get() != null) {
+            return joinPoint.proceed();
+        }
+        OperationContext context = new OperationContext();
+        CURRENT.set(context);
+        event.begin();
+        Object result = null;
+        try {
+            result = joinPoint.proceed();
+            return result;
+        } finally {
+            CURRENT.remove();
+            event.end();
+            if (event.shouldCommit()) {
+                event.operation = joinPoint.getSignature().getDeclaringType().getSimpleName() + "."
+                        + joinPoint.getSignature().getName();
+                event.keyType = OperationAttributes.keyType(joinPoint.getSignature().getName(), joinPoint.getArgs());
+                event.dbTime = context.dbNanos;
+                event.repositoryCalls = context.repositoryCalls;
+                event.rowCount = OperationAttributes.rowCount(result);
+                event.commit();
+            }
+        }
+    }
+
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..))")
+    public Object recordRepositoryCall(ProceedingJoinPoint joinPoint) throws Throwable {
+        OperationContext context = CURRENT.get();
+        RepositoryCallEvent event = new RepositoryCallEvent();
+        if (context == null && !event.isEnabled()) {
+            return joinPoint.proceed();
+        }
+        long started = System.nanoTime();
+        event.begin();
+        Object result = null;
+        try {
+            result = joinPoint.proceed();
+            return result;
+        } finally {
+            event.end();
+            if (context != null) {
+                context.dbNanos += System.nanoTime() - started;
+                context.repositoryCalls++;
+            }
+            if (event.shouldCommit()) {
+                event.repository = repositoryName(joinPoint);
+                event.method = joinPoint.getSignature().getName();
+                event.rowCount = OperationAttributes.rowCount(result);
+                event.commit();
+            }
+        }
+    }
+
+    // Repository beans are JDK proxies; name them by the repository interface rather than the proxy class
+    private static String repositoryName(ProceedingJoinPoint joinPoint) {
+        for (Class<?> type : joinPoint.getTarget().getClass().getInterfaces()) {
+            if (type.getPackageName().startsWith("com.student")) {
+                return type.getSimpleName();
+            }
+        }
+        return joinPoint.getSignature().getDeclaringType().getSimpleName();
+    }
+}
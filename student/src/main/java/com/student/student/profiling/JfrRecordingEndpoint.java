@@ -0,0 +1,161 @@
+package com.student.student.profiling;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * {@code /actuator/jfr}: bounded, on-demand Java Flight Recorder sessions.
+ * <ul>
+ * <li>POST starts a recording ({@code duration}, {@code settings} = default|profile, default unless asked), 409
+ * if one is running</li>
+ * <li>GET reports the recording state</li>
+ * <li>DELETE stops the recording if still running and streams the .jfr file</li>
+ * </ul>
+ * A recording always stops by itself after at most the configured max duration and max size. It never holds the
+ * process environment, system properties or JVM arguments, which carry the database credentials.
+ */
+@Component
+@WebEndpoint(id = "jfr")
+@Slf4j
+public class JfrRecordingEndpoint {
+
+    private static final String JFR_CONTENT_TYPE = "application/octet-stream";
+
+    private static final List<String> SECRET_BEARING_EVENTS =
+            List.of("jdk.InitialEnvironmentVariable", "jdk.InitialSystemProperty", "jdk.JVMInformation");
+
+    private final Duration defaultDuration;
+    private final Duration maxDuration;
+    private final DataSize maxSize;
+
+    private Recording recording;
+    private String settingsName;
+    private Path file;
+
+    public JfrRecordingEndpoint(@Value("${student.jfr.default-duration:PT1M}") Duration defaultDuration,
+            @Value("${student.jfr.max-duration:PT5M}") Duration maxDuration,
+            @Value("${student.jfr.max-size:100MB}") DataSize maxSize) {
+        this.defaultDuration = defaultDuration;
+        this.maxDuration = maxDuration;
+        this.maxSize = maxSize;
+    }
+
+    @WriteOperation
+    public synchronized WebEndpointResponse<Map<String, Object>> start(@Nullable String duration,
+            @Nullable String settings) {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            return new WebEndpointResponse<>(status(), HttpStatus.CONFLICT.value());
+        }
+        Duration requested;
+        Configuration configuration;
+        try {
+            requested = duration == null ? defaultDuration : Duration.parse(duration);
+            configuration = Configuration.getConfiguration(settings == null ? "default" : settings);
+        } catch (DateTimeParseException | IOException | ParseException e) {
+            return new WebEndpointResponse<>(Map.of("error", "Invalid duration or settings: " + e.getMessage()),
+                    WebEndpointResponse.STATUS_BAD_REQUEST);
+        }
+        discard();
+        try {
+            file = Files.createTempFile("student-", ".jfr");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        recording = new Recording(configuration);
+        recording.setName("student-on-demand");
+        settingsName = configuration.getName();
+        recording.enable(StudentOperationEvent.class);
+        recording.enable(RepositoryCallEvent.class);
+        SECRET_BEARING_EVENTS.forEach(recording::disable);
+        recording.setDuration(requested.compareTo(maxDuration) > 0 ? maxDuration : requested);
+        recording.setMaxSize(maxSize.toBytes());
+        recording.setToDisk(true);
+        try {
+            recording.setDestination(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        recording.start();
+        log.info("Started JFR recording ({} settings) for {}", configuration.getName(), recording.getDuration());
+        return new WebEndpointResponse<>(status(), WebEndpointResponse.STATUS_OK);
+    }
+
+    @ReadOperation
+    public synchronized Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        if (recording == null) {
+            status.put("state", "NONE");
+            return status;
+        }
+        status.put("state", recording.getState().name());
+        status.put("settings", settingsName);
+        Instant startTime = recording.getStartTime();
+        if (startTime != null) {
+            status.put("startTime", startTime.toString());
+        }
+        status.put("duration", String.valueOf(recording.getDuration()));
+        Instant stopTime = recording.getStopTime();
+        if (stopTime != null) {
+            status.put("stopTime", stopTime.toString());
+        }
+        status.put("maxSizeBytes", recording.getMaxSize());
+        return status;
+    }
+
+    @DeleteOperation(produces = JFR_CONTENT_TYPE)
+    public synchronized WebEndpointResponse<Resource> stop() {
+        if (recording == null) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        if (recording.getState() == RecordingState.RUNNING) {
+            // writes the recording to the destination file
+            recording.stop();
+            log.info("Stopped JFR recording after {}", Duration.between(recording.getStartTime(), Instant.now()));
+        }
+        return new WebEndpointResponse<>(new FileSystemResource(file), WebEndpointResponse.STATUS_OK);
+    }
+
+    @PreDestroy
+    public synchronized void discard() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+        if (file != null) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                log.warn("Could not delete JFR file {}: {}", file, e.getMessage());
+            }
+            file = null;
+        }
+    }
+}
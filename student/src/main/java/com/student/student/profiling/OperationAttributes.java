@@ -0,0 +1,57 @@
+package com.student.student.profiling;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+
+import com.student.student.cache.LookupKey;
+
+/**
+ * Attributes derived from a service or repository call, shared by the JFR events and the tracing spans.
+ */
+public final class OperationAttributes {
+
+    private OperationAttributes() {
+    }
+
+    /**
+     * Which key a lookup went by: taken from a {@link LookupKey} argument, else from the method name; empty if none.
+     */
+    public static String keyType(String methodName, Object[] args) {
+        for (Object arg : args) {
+            if (arg instanceof LookupKey lookupKey) {
+                return lookupKey.tag();
+            }
+        }
+        if (methodName.contains("ByEmail")) {
+            return LookupKey.EMAIL.tag();
+        }
+        if (methodName.contains("ByRollNumber")) {
+            return LookupKey.ROLL_NUMBER.tag();
+        }
+        if (methodName.contains("ById") || methodName.equals("updateStudent")) {
+            return LookupKey.ID.tag();
+        }
+        return "";
+    }
+
+    /**
+     * Rows returned or affected, or -1 when the result says nothing about rows.
+     */
+    public static int rowCount(Object result) {
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        if (result instanceof Number number && !(result instanceof Long)) {
+            // modifying queries return the affected row count
+            return number.intValue();
+        }
+        if (result instanceof Map<?, ?> || (result != null && result.getClass().isRecord())) {
+            return 1;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,28 @@
+package com.student.student.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One Spring Data repository method call; its duration is the database time including connection checkout.
+ */
+@Name("com.student.RepositoryCall")
+@Label("Repository Call")
+@Category({ "Student", "Repository" })
+@Description("Spring Data repository method invocation")
+@StackTrace(false)
+public class RepositoryCallEvent extends jdk.jfr.Event {
+
+    @Label("Repository")
+    String repository;
+
+    @Label("Method")
+    String method;
+
+    @Label("Row Count")
+    @Description("Rows returned or affected, -1 when not known")
+    int rowCount;
+}
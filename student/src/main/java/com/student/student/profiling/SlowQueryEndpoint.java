@@ -0,0 +1,34 @@
+package com.student.student.profiling;
+
+import java.util.List;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * {@code /actuator/slowqueries}: GET lists recent slow statements grouped by normalized SQL with count, p99
+ * and the latest sampled plan; DELETE clears the ring, e.g. before verifying a fix. Plans come from re-running
+ * real statements with their captured bind values, so like every actuator endpoint this one is only reachable on
+ * the management port, which listens on loopback.
+ */
+@Component
+@Endpoint(id = "slowqueries")
+@RequiredArgsConstructor
+public class SlowQueryEndpoint {
+
+    private final SlowQueryRecorder slowQueryRecorder;
+
+    @ReadOperation
+    public List<SlowQueryGroup> slowQueries() {
+        return slowQueryRecorder.groups();
+    }
+
+    @DeleteOperation
+    public void clear() {
+        slowQueryRecorder.clear();
+    }
+}
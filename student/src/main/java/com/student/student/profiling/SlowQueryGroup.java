@@ -0,0 +1,18 @@
+package com.student.student.profiling;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Slow executions of one normalized statement currently held in the {@link SlowQueryRecorder} ring.
+ */
+public record SlowQueryGroup(
+    String sql,
+    List<String> parameterTypes,
+    int count,
+    double p99Millis,
+    double maxMillis,
+    Instant lastSeen,
+    String latestPlan,
+    Instant latestPlanAt
+) {}
@@ -0,0 +1,200 @@
+package com.student.student.profiling;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.student.student.jdbc.JdbcExecution;
+import com.student.student.jdbc.JdbcExecutionListener;
+import com.student.student.jdbc.ObservedDataSource;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps the most recent statements slower than the threshold in a fixed-size ring: normalized SQL, bind
+ * parameter types and duration, never the bind values. A sampled fraction of slow read-only queries is
+ * re-run under EXPLAIN (ANALYZE, BUFFERS) on a separate connection in a rolled-back read-only transaction,
+ * off the request thread; when the explain worker is busy the sample is dropped. The plans can show the
+ * bind values as literals in their conditions, which is why {@link SlowQueryEndpoint} is only served on the
+ * loopback management port.
+ */
+@Component
+@Slf4j
+public class SlowQueryRecorder implements JdbcExecutionListener {
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("(?<![\\w$])-?\\d+(?:\\.\\d+)?(?![\\w$])");
+    private static final Pattern PLACEHOLDER_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final String EXPLAIN_PREFIX = "explain (analyze, buffers) ";
+
+    private static final class Entry {
+        final String sql;
+        final List<String> parameterTypes;
+        final long elapsedNanos;
+        final Instant at;
+        volatile String plan;
+
+        Entry(String sql, List<String> parameterTypes, long elapsedNanos, Instant at) {
+            this.sql = sql;
+            this.parameterTypes = parameterTypes;
+            this.elapsedNanos = elapsedNanos;
+            this.at = at;
+        }
+    }
+
+    private final ObjectProvider<DataSource> dataSource;
+    private final long thresholdNanos;
+    private final double explainSampleRate;
+    private final Duration explainTimeout;
+
+    private final Entry[] ring;
+    private long written;
+    private final ThreadPoolExecutor explainer = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(4), runnable -> {
+                Thread thread = new Thread(runnable, "slow-query-explain");
+                thread.setDaemon(true);
+                return thread;
+            }, new ThreadPoolExecutor.DiscardPolicy());
+
+    public SlowQueryRecorder(ObjectProvider<DataSource> dataSource,
+            @Value("${student.slow-query.threshold:PT0.1S}") Duration threshold,
+            @Value("${student.slow-query.explain-sample-rate:0.1}") double explainSampleRate,
+            @Value("${student.slow-query.explain-timeout:PT5S}") Duration explainTimeout,
+            @Value("${student.slow-query.capacity:500}") int capacity) {
+        this.dataSource = dataSource;
+        this.thresholdNanos = threshold.toNanos();
+        this.explainSampleRate = explainSampleRate;
+        this.explainTimeout = explainTimeout;
+        this.ring = new Entry[capacity];
+    }
+
+    @Override
+    public void afterExecution(JdbcExecution execution) {
+        if (execution.elapsedNanos() < thresholdNanos) {
+            return;
+        }
+        Entry entry = new Entry(normalize(execution.sql()), execution.parameterTypes(), execution.elapsedNanos(),
+                Instant.now());
+        synchronized (this) {
+            ring[(int) (written++ % ring.length)] = entry;
+        }
+        if (explainable(execution.sql()) && ThreadLocalRandom.current().nextDouble() < explainSampleRate) {
+            String sql = execution.sql();
+            List<Object> values = new ArrayList<>(execution.parameterValues());
+            explainer.execute(() -> entry.plan = explain(sql, values));
+        }
+    }
+
+    /**
+     * Ring contents grouped by normalized SQL, slowest p99 first.
+     */
+    public List<SlowQueryGroup> groups() {
+        Entry[] snapshot;
+        synchronized (this) {
+            snapshot = Arrays.stream(ring).filter(Objects::nonNull).toArray(Entry[]::new);
+        }
+        Map<String, List<Entry>> bySql = new LinkedHashMap<>();
+        for (Entry entry : snapshot) {
+            bySql.computeIfAbsent(entry.sql, key -> new ArrayList<>()).add(entry);
+        }
+        List<SlowQueryGroup> groups = new ArrayList<>();
+        bySql.forEach((sql, entries) -> {
+            long[] durations = entries.stream().mapToLong(entry -> entry.elapsedNanos).sorted().toArray();
+            Entry last = entries.stream().max(Comparator.comparing(entry -> entry.at)).orElseThrow();
+            Entry planned = entries.stream().filter(entry -> entry.plan != null)
+                    .max(Comparator.comparing(entry -> entry.at)).orElse(null);
+            int p99Index = (int) Math.ceil(durations.length * 0.99) - 1;
+            groups.add(new SlowQueryGroup(sql, last.parameterTypes, entries.size(),
+                    durations[Math.max(0, p99Index)] / 1_000_000.0, durations[durations.length - 1] / 1_000_000.0,
+                    last.at, planned == null ? null : planned.plan, planned == null ? null : planned.at));
+        });
+        groups.sort(Comparator.comparingDouble(SlowQueryGroup::p99Millis).reversed());
+        return groups;
+    }
+
+    public synchronized void clear() {
+        Arrays.fill(ring, null);
+        written = 0;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        explainer.shutdownNow();
+    }
+
+    /**
+     * Replaces literals with ?, collapses IN lists and whitespace, so statements differing only in values group together.
+     */
+    public static String normalize(String sql) {
+        String normalized = STRING_LITERAL.matcher(sql).replaceAll("?");
+        normalized = NUMBER_LITERAL.matcher(normalized).replaceAll("?");
+        normalized = PLACEHOLDER_LIST.matcher(normalized).replaceAll("(?...)");
+        return WHITESPACE.matcher(normalized).replaceAll(" ").trim();
+    }
+
+    // EXPLAIN ANALYZE executes the statement: only plain reads, and nothing that advances a sequence
+    static boolean explainable(String sql) {
+        String lower = sql.trim().toLowerCase(Locale.ROOT);
+        return (lower.startsWith("select") || lower.startsWith("with"))
+                && !lower.contains("nextval(") && !lower.contains(" for update") && !lower.contains(" for share")
+                && !lower.contains("insert ") && !lower.contains("update ") && !lower.contains("delete ");
+    }
+
+    private String explain(String sql, List<Object> values) {
+        DataSource target = dataSource.getObject();
+        if (target instanceof ObservedDataSource observed) {
+            target = observed.getTargetDataSource();
+        }
+        try (Connection connection = target.getConnection()) {
+            connection.setAutoCommit(false);
+            connection.setReadOnly(true);
+            try {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("set local statement_timeout = " + explainTimeout.toMillis());
+                }
+                try (PreparedStatement statement = connection.prepareStatement(EXPLAIN_PREFIX + sql)) {
+                    for (int i = 0; i < values.size(); i++) {
+                        statement.setObject(i + 1, values.get(i));
+                    }
+                    StringBuilder plan = new StringBuilder();
+                    try (ResultSet resultSet = statement.executeQuery()) {
+                        while (resultSet.next()) {
+                            plan.append(resultSet.getString(1)).append('\n');
+                        }
+                    }
+                    return plan.toString();
+                }
+            } finally {
+                connection.rollback();
+            }
+        } catch (SQLException | RuntimeException e) {
+            log.debug("Could not explain slow query: {}", e.getMessage());
+            return "unavailable: " + e.getMessage();
+        }
+    }
+}
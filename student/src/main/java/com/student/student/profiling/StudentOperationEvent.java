@@ -0,0 +1,37 @@
+package com.student.student.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * One public service call, with the share of its duration spent in repository calls.
+ */
+@Name("com.student.StudentOperation")
+@Label("Student Operation")
+@Category({ "Student", "Service" })
+@Description("Service method invocation with database time and row count")
+@StackTrace(false)
+public class StudentOperationEvent extends jdk.jfr.Event {
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Key Type")
+    @Description("Lookup key the operation is addressed by: id, email, rollNumber, or empty")
+    String keyType;
+
+    @Label("Database Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long dbTime;
+
+    @Label("Repository Calls")
+    int repositoryCalls;
+
+    @Label("Row Count")
+    @Description("Rows returned or affected, -1 when not known")
+    int rowCount;
+}
@@ -0,0 +1,43 @@
+package com.student.student.repository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.student.student.entity.ArchivedStudent;
+
+public interface StudentArchiveRepository extends JpaRepository<ArchivedStudent, UUID> {
+
+    Optional<ArchivedStudent> findByRollNumber(Integer rollNumber);
+
+    // lower(email) matches the ux_students_archive_email_lower expression index
+    @Query("select a from ArchivedStudent a where lower(a.email) = lower(:email)")
+    Optional<ArchivedStudent> findByEmail(@Param("email") String email);
+
+    // Native, so tenant-blind: an email archived under another tenant is still taken, since the archive's
+    // unique index is across tenants and archiving the newcomer would fail on it
+    @Query(value = "select exists (select 1 from students_archive where lower(email) = lower(:email))", nativeQuery = true)
+    Boolean existsByEmail(@Param("email") String email);
+
+    // As in StudentRepository, tenantId is the bound tenant, null when tenant-blind
+    @Query(value = "select * from students_archive where student_id = any(cast(:ids as uuid[])) and (cast(:tenantId as text) is null or tenant_id = :tenantId)", nativeQuery = true)
+    List<ArchivedStudent> findAllByStudentIdIn(@Param("ids") UUID[] ids, @Param("tenantId") String tenantId);
+
+    @Query(value = "select * from students_archive where lower(email) = any(cast(:emails as text[])) and (cast(:tenantId as text) is null or tenant_id = :tenantId)", nativeQuery = true)
+    List<ArchivedStudent> findAllByLowerEmailIn(@Param("emails") String[] lowerCaseEmails, @Param("tenantId") String tenantId);
+
+    @Query(value = "select * from students_archive where roll_number = any(cast(:rollNumbers as integer[])) and (cast(:tenantId as text) is null or tenant_id = :tenantId)", nativeQuery = true)
+    List<ArchivedStudent> findAllByRollNumberIn(@Param("rollNumbers") Integer[] rollNumbers, @Param("tenantId") String tenantId);
+
+    // Native: the entity is immutable to Hibernate. The delete fires the archive tombstone and stats triggers
+    @Transactional
+    @Modifying
+    @Query(value = "delete from students_archive where student_id = :studentId", nativeQuery = true)
+    int deleteByStudentId(@Param("studentId") UUID studentId);
+}
@@ -0,0 +1,21 @@
+package com.student.student.repository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Column-pruned reads: only the requested attributes are selected and no entities are materialised.
+ * Each row is returned as an insertion-ordered map from attribute name to value.
+ */
+public interface StudentFieldsRepository {
+
+    List<Map<String, Object>> findAllFields(List<String> fields);
+
+    Optional<Map<String, Object>> findFieldsById(UUID studentId, List<String> fields);
+
+    Optional<Map<String, Object>> findFieldsByEmail(String email, List<String> fields);
+
+    Optional<Map<String, Object>> findFieldsByRollNumber(Integer rollNumber, List<String> fields);
+}
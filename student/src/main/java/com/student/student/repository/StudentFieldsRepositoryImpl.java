@@ -0,0 +1,80 @@
+package com.student.student.repository;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.BiFunction;
+
+import com.student.student.entity.Student;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+class StudentFieldsRepositoryImpl implements StudentFieldsRepository {
+
+    // Lookup values are always bound; criteria literals would be inlined into the SQL text
+    private static final String KEY = "key";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Map<String, Object>> findAllFields(List<String> fields) {
+        return query(fields, null, null);
+    }
+
+    @Override
+    public Optional<Map<String, Object>> findFieldsById(UUID studentId, List<String> fields) {
+        return single(fields, studentId, (cb, root) -> cb.equal(root.get("studentId"), cb.parameter(UUID.class, KEY)));
+    }
+
+    @Override
+    public Optional<Map<String, Object>> findFieldsByEmail(String email, List<String> fields) {
+        return single(fields, email,
+                (cb, root) -> cb.equal(cb.lower(root.get("email")), cb.lower(cb.parameter(String.class, KEY))));
+    }
+
+    @Override
+    public Optional<Map<String, Object>> findFieldsByRollNumber(Integer rollNumber, List<String> fields) {
+        return single(fields, rollNumber, (cb, root) -> cb.equal(root.get("rollNumber"), cb.parameter(Integer.class, KEY)));
+    }
+
+    private Optional<Map<String, Object>> single(List<String> fields, Object key,
+            BiFunction<CriteriaBuilder, Root<Student>, Predicate> where) {
+        return query(fields, key, where).stream().findFirst();
+    }
+
+    private List<Map<String, Object>> query(List<String> fields, Object key,
+            BiFunction<CriteriaBuilder, Root<Student>, Predicate> where) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Student> root = query.from(Student.class);
+        query.multiselect(fields.stream().<Selection<?>>map(field -> root.get(field).alias(field)).toList());
+        if (where != null) {
+            query.where(where.apply(cb, root));
+        }
+        TypedQuery<Tuple> typedQuery = entityManager.createQuery(query);
+        if (where != null) {
+            typedQuery.setParameter(KEY, key);
+        }
+        return typedQuery.getResultList()
+                .stream()
+                .map(tuple -> {
+                    Map<String, Object> row = new LinkedHashMap<>(fields.size() * 2);
+                    for (String field : fields) {
+                        row.put(field, tuple.get(field));
+                    }
+                    return row;
+                })
+                .toList();
+    }
+}
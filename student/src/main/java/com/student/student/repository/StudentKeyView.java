@@ -0,0 +1,12 @@
+package com.student.student.repository;
+
+/**
+ * Projection over the natural keys of a student, used to seed in-process lookup structures
+ * without loading full entities.
+ */
+public interface StudentKeyView {
+
+    String getEmail();
+
+    Integer getRollNumber();
+}
@@ -0,0 +1,30 @@
+package com.student.student.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.student.student.entity.StudentOutboxEvent;
+
+public interface StudentOutboxRepository extends JpaRepository<StudentOutboxEvent, Long> {
+
+    List<StudentOutboxEvent> findByEventIdGreaterThanOrderByEventIdAsc(Long eventId, Limit limit);
+
+    @Query("select max(e.eventId) from StudentOutboxEvent e")
+    Optional<Long> findMaxEventId();
+
+    @Query("select min(e.eventId) from StudentOutboxEvent e")
+    Optional<Long> findMinEventId();
+
+    @Transactional
+    @Modifying
+    @Query("delete from StudentOutboxEvent e where e.createdAt < :cutoff")
+    int deleteOlderThan(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -1,24 +1,99 @@
 package com.student.student.repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 
+import com.student.student.dto.StudentResponse;
 import com.student.student.entity.Student;
 
+import jakarta.persistence.QueryHint;
 
-public interface StudentRepository extends JpaRepository<Student,UUID>{
+
+public interface StudentRepository extends JpaRepository<Student,UUID>, StudentFieldsRepository{
 
     
     Boolean existsByRollNumber(Integer rollNumber);
-    Boolean existsByEmail(String email);
+    // lower(email) matches the ux_students_email_lower expression index. Native, so tenant-blind: emails
+    // are unique across tenants
+    @Query(value = "select exists (select 1 from students where lower(email) = lower(:email))", nativeQuery = true)
+    Boolean existsByEmail(@Param("email") String email);
+
+    // Single DELETE statement; a derived delete would load the row first and delete it by id
+    @Transactional
+    @Modifying
+    @Query("delete from Student s where s.rollNumber = :rollNumber")
+    void deleteByRollNumber(@Param("rollNumber") Integer rollNumber);
+
+    // One statement that deletes and hands back the row for the outbox and stats; native, so scoped by
+    // tenantId like the batched lookups below
+    @Transactional
+    @Query(value = "delete from students where roll_number = :rollNumber and (cast(:tenantId as text) is null or tenant_id = :tenantId) returning *", nativeQuery = true)
+    Optional<Student> deleteReturningByRollNumber(@Param("rollNumber") Integer rollNumber, @Param("tenantId") String tenantId);
 
-    void deleteByRollNumber(Integer rollNumber);
     Optional<Student> findByRollNumber(Integer rollNumber);
 
-    Optional<Student> findByEmail(String email);
+    @Query("select s from Student s where lower(s.email) = lower(:email)")
+    Optional<Student> findByEmail(@Param("email") String email);
+
+    // Batched lookups bind a single array parameter, so every batch size shares one prepared statement.
+    // Native queries are not scoped by Hibernate: tenantId is the bound tenant, null when tenant-blind
+    @Query(value = "select * from students where student_id = any(cast(:ids as uuid[])) and (cast(:tenantId as text) is null or tenant_id = :tenantId)", nativeQuery = true)
+    List<Student> findAllByStudentIdIn(@Param("ids") UUID[] ids, @Param("tenantId") String tenantId);
+
+    @Query(value = "select * from students where lower(email) = any(cast(:emails as text[])) and (cast(:tenantId as text) is null or tenant_id = :tenantId)", nativeQuery = true)
+    List<Student> findAllByLowerEmailIn(@Param("emails") String[] lowerCaseEmails, @Param("tenantId") String tenantId);
+
+    @Query(value = "select * from students where roll_number = any(cast(:rollNumbers as integer[])) and (cast(:tenantId as text) is null or tenant_id = :tenantId)", nativeQuery = true)
+    List<Student> findAllByRollNumberIn(@Param("rollNumbers") Integer[] rollNumbers, @Param("tenantId") String tenantId);
+
+    // Row comparison on (updated_at, student_id) is served by idx_students_updated_at_id
+    @Query("select s from Student s where (s.updatedAt, s.studentId) > (:since, :sinceId) and s.updatedAt <= :until order by s.updatedAt, s.studentId")
+    List<Student> findChangedAfter(@Param("since") LocalDateTime since, @Param("sinceId") UUID sinceId,
+            @Param("until") LocalDateTime until, Limit limit);
+
+    // Must be consumed inside a read-only transaction; rows are fetched in chunks rather than all at once.
+    // Archived students are included: their emails stay taken and lookups may fall back to them
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query(value = "select email as email, roll_number as rollNumber from students union all select email, roll_number from students_archive", nativeQuery = true)
+    Stream<StudentKeyView> streamAllKeys();
+
+    // Must be consumed inside a read-only transaction. Selects responses rather than entities, so the
+    // persistence context does not keep every row it has handed out
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select new com.student.student.dto.StudentResponse(s.studentId, s.rollNumber, s.firstName, s.lastName, s.email, s.dateOfBirth, s.createdAt, s.updatedAt) from Student s")
+    Stream<StudentResponse> streamAllResponses();
+
+    @Query(value = "select (select count(*) from students) + (select count(*) from students_archive)", nativeQuery = true)
+    long countAllKeys();
+
+    // Tells databases apart for the lookup filter snapshot: the cluster's system identifier and the database's
+    // oid, which a restore into a new database or a different server changes
+    @Query(value = "select (select system_identifier from pg_control_system()) || ':' || (select oid from pg_database where datname = current_database())", nativeQuery = true)
+    String databaseIdentity();
+
+    // Catches a warm-started lookup filter up with the students written since its snapshot. Archived
+    // students are long past the archive cutoff, so they were in the snapshot already
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query(value = "select email as email, roll_number as rollNumber from students where updated_at > :since", nativeQuery = true)
+    Stream<StudentKeyView> streamKeysUpdatedAfter(@Param("since") LocalDateTime since);
+
+    // Reads the trigger-maintained summary, O(buckets); never touches students. Every tenant's buckets:
+    // the service keeps all of them and answers for the caller's
+    @Query(value = "select tenant_id as tenantId, dimension as dimension, bucket as bucket, sum(student_count) as studentCount from student_stats group by tenant_id, dimension, bucket having sum(student_count) <> 0", nativeQuery = true)
+    List<StudentStatsView> findStatsBuckets();
 
     
 
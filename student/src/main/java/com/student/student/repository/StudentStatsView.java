@@ -0,0 +1,15 @@
+package com.student.student.repository;
+
+/**
+ * One tenant's summary counter bucket from student_stats, summed over its slots.
+ */
+public interface StudentStatsView {
+
+    String getTenantId();
+
+    String getDimension();
+
+    Integer getBucket();
+
+    Long getStudentCount();
+}
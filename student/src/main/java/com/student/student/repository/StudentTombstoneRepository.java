@@ -0,0 +1,26 @@
+package com.student.student.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.student.student.entity.StudentTombstone;
+
+public interface StudentTombstoneRepository extends JpaRepository<StudentTombstone, UUID> {
+
+    @Query("select t from StudentTombstone t where (t.deletedAt, t.studentId) > (:since, :sinceId) and t.deletedAt <= :until order by t.deletedAt, t.studentId")
+    List<StudentTombstone> findDeletedAfter(@Param("since") LocalDateTime since, @Param("sinceId") UUID sinceId,
+            @Param("until") LocalDateTime until, Limit limit);
+
+    @Transactional
+    @Modifying
+    @Query("delete from StudentTombstone t where t.deletedAt < :cutoff")
+    int deleteOlderThan(@Param("cutoff") LocalDateTime cutoff);
+}
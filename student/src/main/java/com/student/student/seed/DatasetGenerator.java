@@ -0,0 +1,288 @@
+package com.student.student.seed;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.sql.DataSource;
+
+import org.flywaydb.core.Flyway;
+import org.postgresql.PGConnection;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.student.student.shard.ShardRouter;
+import com.student.student.shard.StudentDirectory;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Loads a synthetic dataset of {@code student.seed.rows} students with COPY, one connection per worker, then
+ * exits. Only active under the {@code seed} profile, which also turns the web server off; meant for local
+ * benchmark databases, never for a database a running instance is writing to.
+ * <p>
+ * The stats trigger is disabled for the load and student_stats is credited with the generated totals
+ * afterwards; roll numbers are reserved from roll_number_seq in whole blocks, as the application does.
+ * Afterwards the table is analyzed and the Flyway migrations are validated, and the lookup filter snapshot is
+ * deleted: the generated students carry past timestamps, which its catch-up would never read.
+ * <p>
+ * Sharded, each chunk is split by shard and copied to every shard on its own connection, with roll numbers
+ * from that shard's sequence, and the students are registered in the directory; the per-shard steps above
+ * run on every shard.
+ */
+@Component
+@Profile("seed")
+@Slf4j
+public class DatasetGenerator implements ApplicationRunner {
+
+    private static final String COPY_SQL = "COPY students (student_id, roll_number, first_name, last_name, email, "
+            + "date_of_birth, created_at, updated_at) FROM STDIN";
+    private static final String STATS_TRIGGER = "students_stats_insert_delete";
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final Flyway flyway;
+    private final ShardRouter shardRouter;
+    private final StudentDirectory studentDirectory;
+    private final ConfigurableApplicationContext context;
+    private final long rows;
+    private final long seed;
+    private final int threads;
+    private final int chunkSize;
+    private final boolean truncate;
+    private final String snapshotPath;
+    private final SyntheticStudents students;
+
+    // What each shard received, for its student_stats
+    private record Tally(LongAdder loaded, Map<Integer, LongAdder> birthYears, Map<Integer, LongAdder> enrolledMonths) {
+        Tally() {
+            this(new LongAdder(), new ConcurrentHashMap<>(), new ConcurrentHashMap<>());
+        }
+    }
+
+    private final LongAdder loaded = new LongAdder();
+    private final AtomicLong chunksLoaded = new AtomicLong();
+    private final Tally[] tallies;
+
+    public DatasetGenerator(DataSource dataSource, JdbcTemplate jdbcTemplate, Flyway flyway,
+            ShardRouter shardRouter, ObjectProvider<StudentDirectory> studentDirectory,
+            ConfigurableApplicationContext context,
+            @Value("${student.seed.rows:1000000}") long rows,
+            @Value("${student.seed.seed:42}") long seed,
+            @Value("${student.seed.threads:0}") int threads,
+            @Value("${student.seed.chunk-size:50000}") int chunkSize,
+            @Value("${student.seed.truncate:false}") boolean truncate,
+            @Value("${student.seed.reference-time:2025-09-01T00:00:00Z}") Instant referenceTime,
+            @Value("${student.seed.enrollment-window:P1460D}") Duration enrollmentWindow,
+            @Value("${student.lookup-filter.snapshot-path:}") String snapshotPath) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = jdbcTemplate;
+        this.flyway = flyway;
+        this.shardRouter = shardRouter;
+        this.studentDirectory = studentDirectory.getIfAvailable();
+        this.context = context;
+        this.rows = rows;
+        this.seed = seed;
+        this.threads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.chunkSize = chunkSize;
+        this.truncate = truncate;
+        this.snapshotPath = snapshotPath;
+        this.students = new SyntheticStudents(seed, rows, referenceTime, enrollmentWindow);
+        this.tallies = new Tally[shardRouter.shardCount()];
+        for (int shard = 0; shard < tallies.length; shard++) {
+            tallies[shard] = new Tally();
+        }
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        if (truncate) {
+            log.info("Truncating students, students_archive and student_stats");
+            onEveryShard("TRUNCATE students, students_archive, student_stats");
+            onEveryShard("UPDATE student_archive_checkpoint SET created_at = '-infinity', "
+                    + "student_id = '00000000-0000-0000-0000-000000000000'");
+            if (studentDirectory != null) {
+                studentDirectory.truncate();
+            }
+        }
+        // Shards interleave their blocks (ShardSequences), so each nextval owns increment / shards numbers
+        int blockSize = jdbcTemplate.queryForObject(
+                "select increment_by from pg_sequences where schemaname = current_schema() and sequencename = 'roll_number_seq'",
+                Integer.class) / shardRouter.shardCount();
+        long chunks = (rows + chunkSize - 1) / chunkSize;
+        log.info("Generating {} students (seed {}) in {} chunks on {} threads", rows, seed, chunks, threads);
+
+        long started = System.nanoTime();
+        onEveryShard("ALTER TABLE students DISABLE TRIGGER " + STATS_TRIGGER);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            AtomicLong nextChunk = new AtomicLong();
+            List<Future<?>> workers = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                workers.add(executor.submit(() -> {
+                    for (long chunk = nextChunk.getAndIncrement(); chunk < chunks; chunk = nextChunk.getAndIncrement()) {
+                        load(chunk * chunkSize, (int) Math.min(chunkSize, rows - chunk * chunkSize), blockSize);
+                        logProgress(started, chunks);
+                    }
+                    return null;
+                }));
+            }
+            executor.shutdown();
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } finally {
+            executor.shutdownNow();
+            onEveryShard("ALTER TABLE students ENABLE TRIGGER " + STATS_TRIGGER);
+        }
+        double seconds = (System.nanoTime() - started) / 1e9;
+
+        for (int shard = 0; shard < tallies.length; shard++) {
+            Tally tally = tallies[shard];
+            shardRouter.on(shard, () -> creditStats(tally));
+        }
+        onEveryShard("ANALYZE students");
+        shardRouter.scatter(() -> {
+            Flyway.configure().configuration(flyway.getConfiguration()).dataSource(dataSource).load().validate();
+            return null;
+        });
+        log.info("Loaded {} students in {} s ({} rows/s); Flyway migrations validated",
+                loaded.sum(), String.format("%.1f", seconds), Math.round(loaded.sum() / seconds));
+        if (!snapshotPath.isBlank() && Files.deleteIfExists(Path.of(snapshotPath))) {
+            log.info("Deleted the student lookup filter snapshot at {}", snapshotPath);
+        }
+        System.exit(SpringApplication.exit(context, () -> 0));
+    }
+
+    private void load(long firstIndex, int count, int blockSize) {
+        List<List<SyntheticStudents.Row>> byShard = new ArrayList<>();
+        for (int shard = 0; shard < tallies.length; shard++) {
+            byShard.add(new ArrayList<>());
+        }
+        for (int i = 0; i < count; i++) {
+            SyntheticStudents.Row row = students.row(firstIndex + i);
+            byShard.get(shardRouter.shardOf(row.studentId())).add(row);
+        }
+        for (int shard = 0; shard < tallies.length; shard++) {
+            List<SyntheticStudents.Row> rowsOnShard = byShard.get(shard);
+            Tally tally = tallies[shard];
+            if (!rowsOnShard.isEmpty()) {
+                shardRouter.on(shard, () -> copy(rowsOnShard, blockSize, tally));
+            }
+        }
+        loaded.add(count);
+    }
+
+    private Void copy(List<SyntheticStudents.Row> rows, int blockSize, Tally tally) {
+        int count = rows.size();
+        StringBuilder copy = new StringBuilder(count * 160);
+        List<Object[]> directoryRows = new ArrayList<>(studentDirectory == null ? 0 : count);
+        Map<Integer, Long> birthYearCounts = new HashMap<>();
+        Map<Integer, Long> enrolledMonthCounts = new HashMap<>();
+        try (Connection connection = dataSource.getConnection()) {
+            long[] blocks = reserveRollNumberBlocks(connection, (count + blockSize - 1) / blockSize);
+            for (int i = 0; i < count; i++) {
+                SyntheticStudents.Row row = rows.get(i);
+                String createdAt = row.createdAt().toString();
+                long rollNumber = blocks[i / blockSize] + i % blockSize;
+                copy.append(row.studentId()).append('\t')
+                        .append(rollNumber).append('\t')
+                        .append(row.firstName()).append('\t')
+                        .append(row.lastName()).append('\t')
+                        .append(row.email()).append('\t')
+                        .append(row.dateOfBirth()).append('\t')
+                        .append(createdAt).append('\t')
+                        .append(createdAt).append('\n');
+                birthYearCounts.merge(row.dateOfBirth().getYear(), 1L, Long::sum);
+                OffsetDateTime enrolled = row.createdAt().atOffset(ZoneOffset.UTC);
+                enrolledMonthCounts.merge(enrolled.getYear() * 100 + enrolled.getMonthValue(), 1L, Long::sum);
+                if (studentDirectory != null) {
+                    directoryRows.add(new Object[] { row.studentId(), row.email(), rollNumber });
+                }
+            }
+            connection.unwrap(PGConnection.class).getCopyAPI()
+                    .copyIn(COPY_SQL, new ByteArrayInputStream(copy.toString().getBytes(StandardCharsets.UTF_8)));
+        } catch (Exception e) {
+            throw new IllegalStateException("Could not copy students", e);
+        }
+        if (studentDirectory != null) {
+            studentDirectory.registerAll(directoryRows);
+        }
+        tally.loaded().add(count);
+        birthYearCounts.forEach((year, n) -> tally.birthYears().computeIfAbsent(year, key -> new LongAdder()).add(n));
+        enrolledMonthCounts.forEach((month, n) ->
+                tally.enrolledMonths().computeIfAbsent(month, key -> new LongAdder()).add(n));
+        return null;
+    }
+
+    private static long[] reserveRollNumberBlocks(Connection connection, int blocks) throws SQLException {
+        long[] starts = new long[blocks];
+        try (PreparedStatement statement = connection.prepareStatement(
+                "select nextval('roll_number_seq') from generate_series(1, ?)")) {
+            statement.setInt(1, blocks);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                for (int i = 0; resultSet.next(); i++) {
+                    starts[i] = resultSet.getLong(1);
+                }
+            }
+        }
+        return starts;
+    }
+
+    private void onEveryShard(String sql) {
+        shardRouter.scatter(() -> {
+            jdbcTemplate.execute(sql);
+            return null;
+        });
+    }
+
+    // Same buckets as adjust_student_stats (V13), credited to slot 0 of the default tenant, which the
+    // generated students belong to
+    private int[] creditStats(Tally tally) {
+        List<Object[]> deltas = new ArrayList<>();
+        deltas.add(new Object[] { "total", 0, tally.loaded().sum() });
+        tally.birthYears().forEach((year, count) -> deltas.add(new Object[] { "birth_year", year, count.sum() }));
+        tally.enrolledMonths().forEach((month, count) ->
+                deltas.add(new Object[] { "enrolled_month", month, count.sum() }));
+        return jdbcTemplate.batchUpdate("""
+                INSERT INTO student_stats (dimension, bucket, slot, student_count) VALUES (?, ?, 0, ?)
+                ON CONFLICT (tenant_id, dimension, bucket, slot)
+                DO UPDATE SET student_count = student_stats.student_count + EXCLUDED.student_count
+                """, deltas);
+    }
+
+    private void logProgress(long started, long chunks) {
+        long done = chunksLoaded.incrementAndGet();
+        if (done % 20 == 0 || done == chunks) {
+            long students = loaded.sum();
+            double seconds = (System.nanoTime() - started) / 1e9;
+            log.info("{} / {} students ({} rows/s)", students, rows, Math.round(students / seconds));
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.student.student.seed;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+import com.student.student.entity.UuidV7Generator;
+
+/**
+ * Deterministic synthetic students: row {@code index} of a dataset depends only on the seed, the dataset size
+ * and the index, never on how rows are split across threads. createdAt rises with the index across the
+ * enrollment window before the reference time, so ids (version 7, derived from createdAt) arrive roughly in
+ * key order; students are 17 to 30 years old at enrollment. Emails embed the index and are therefore unique.
+ */
+public final class SyntheticStudents {
+
+    public record Row(UUID studentId, String firstName, String lastName, String email, LocalDate dateOfBirth,
+            Instant createdAt) {}
+
+    private static final String[] FIRST_NAMES = {
+        "James", "Mary", "Robert", "Patricia", "John", "Jennifer", "Michael", "Linda", "David", "Elizabeth",
+        "William", "Barbara", "Richard", "Susan", "Joseph", "Jessica", "Thomas", "Sarah", "Charles", "Karen",
+        "Daniel", "Lisa", "Matthew", "Nancy", "Anthony", "Sandra", "Mark", "Ashley", "Steven", "Emily",
+        "Aarav", "Priya", "Mohammed", "Fatima", "Wei", "Mei", "Hiroshi", "Yuki", "Carlos", "Sofia",
+        "Luca", "Giulia", "Lukas", "Hannah", "Olusegun", "Amara", "Mateo", "Valentina", "Ivan", "Anastasia"
+    };
+
+    private static final String[] LAST_NAMES = {
+        "Smith", "Johnson", "Williams", "Brown", "Jones", "Garcia", "Miller", "Davis", "Rodriguez", "Martinez",
+        "Hernandez", "Lopez", "Gonzalez", "Wilson", "Anderson", "Thomas", "Taylor", "Moore", "Jackson", "Martin",
+        "Lee", "Perez", "Thompson", "White", "Harris", "Sanchez", "Clark", "Ramirez", "Lewis", "Robinson",
+        "Patel", "Sharma", "Khan", "Nguyen", "Wang", "Li", "Tanaka", "Suzuki", "Rossi", "Bianchi",
+        "Muller", "Schmidt", "Okafor", "Adeyemi", "Silva", "Santos", "Ivanov", "Kowalski", "O'Brien", "Murphy"
+    };
+
+    private static final int MIN_AGE_YEARS = 17;
+    private static final int AGE_RANGE_DAYS = 13 * 365;
+
+    private final long seed;
+    private final long rows;
+    private final long enrollmentStartMillis;
+    private final long enrollmentMillis;
+
+    public SyntheticStudents(long seed, long rows, Instant referenceTime, Duration enrollmentWindow) {
+        this.seed = seed;
+        this.rows = rows;
+        this.enrollmentStartMillis = referenceTime.minus(enrollmentWindow).toEpochMilli();
+        this.enrollmentMillis = enrollmentWindow.toMillis();
+    }
+
+    public Row row(long index) {
+        SplittableRandom random = new SplittableRandom(seed * 0x9E3779B97F4A7C15L + index);
+        String firstName = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+        String lastName = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+        long slotMillis = Math.max(1, enrollmentMillis / rows);
+        long createdAtMillis = enrollmentStartMillis + (long) ((double) index / rows * enrollmentMillis)
+                + random.nextLong(slotMillis);
+        Instant createdAt = Instant.ofEpochMilli(createdAtMillis);
+        LocalDate dateOfBirth = LocalDate.ofInstant(createdAt, ZoneOffset.UTC)
+                .minusYears(MIN_AGE_YEARS)
+                .minusDays(random.nextInt(AGE_RANGE_DAYS));
+        String email = emailPart(firstName) + "." + emailPart(lastName) + "." + index + "@example.test";
+        return new Row(UuidV7Generator.at(createdAtMillis, random), firstName, lastName, email, dateOfBirth, createdAt);
+    }
+
+    private static String emailPart(String name) {
+        return name.replace("'", "").toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,46 @@
+package com.student.student.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Opaque keyset position in the change feed: the (timestamp, student id) of the last change a consumer has seen.
+ */
+public record ChangeToken(LocalDateTime position, UUID studentId) {
+
+    public static final ChangeToken START = new ChangeToken(LocalDateTime.of(1970, 1, 1, 0, 0), new UUID(0L, 0L));
+
+    private static final String VERSION = "v1";
+
+    public String encode() {
+        String raw = VERSION + "|" + position + "|" + studentId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ChangeToken decode(String token) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split("\\|");
+            if (parts.length != 3 || !VERSION.equals(parts[0])) {
+                throw new IllegalArgumentException("Invalid change token");
+            }
+            return new ChangeToken(LocalDateTime.parse(parts[1]), UUID.fromString(parts[2]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid change token", e);
+        }
+    }
+
+    /**
+     * Orders like PostgreSQL: by timestamp, then by the uuid bytes compared unsigned.
+     */
+    public int compareTo(LocalDateTime otherPosition, UUID otherStudentId) {
+        int byTime = position.compareTo(otherPosition);
+        if (byTime != 0) {
+            return byTime;
+        }
+        int byHigh = Long.compareUnsigned(studentId.getMostSignificantBits(), otherStudentId.getMostSignificantBits());
+        return byHigh != 0 ? byHigh
+                : Long.compareUnsigned(studentId.getLeastSignificantBits(), otherStudentId.getLeastSignificantBits());
+    }
+}
@@ -0,0 +1,146 @@
+package com.student.student.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.student.student.archive.StudentArchiver;
+import com.student.student.dto.JobRequest;
+import com.student.student.dto.JobResponse;
+import com.student.student.entity.UuidV7Generator;
+import com.student.student.exception.JobNotFoundException;
+import com.student.student.exception.JobResultUnavailableException;
+import com.student.student.job.Job;
+import com.student.student.job.JobFiles;
+import com.student.student.job.JobRunner;
+import com.student.student.job.JobStatus;
+import com.student.student.job.JobStore;
+import com.student.student.job.JobType;
+import com.student.student.job.SnapshotColumn;
+import com.student.student.job.SnapshotJob;
+import com.student.student.tenant.TenantContext;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Submits jobs and reports on them. Files live in the local store of the instance running the job: an
+ * import is pinned to the instance that received its upload, and a result can only be downloaded from the
+ * instance that wrote it. A job runs as, and is only visible to, the tenant that submitted it. Archive jobs move
+ * every tenant's students, so only the default tenant (the operator) may submit them.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class JobService {
+
+    private final JobStore jobStore;
+    private final JobFiles jobFiles;
+    private final JobRunner jobRunner;
+    private final ObjectMapper objectMapper;
+    private final StudentArchiver studentArchiver;
+
+    public JobResponse submit(JobRequest request) {
+        JobType type = request.type();
+        if (type == JobType.IMPORT) {
+            throw new IllegalArgumentException("Submit imports as a text/csv upload");
+        }
+        if (type == JobType.ARCHIVE && !TenantContext.DEFAULT_TENANT.equals(tenant())) {
+            throw new IllegalArgumentException("Archive jobs move every tenant's students; submit them without a tenant");
+        }
+        if (type == JobType.ARCHIVE && !studentArchiver.enabled()) {
+            throw new IllegalArgumentException("Archiving is disabled (student.archive.enabled)");
+        }
+        String parameters = null;
+        if (type == JobType.SNAPSHOT) {
+            parameters = snapshotParameters(request);
+        } else if (request.columns() != null || request.updatedSince() != null) {
+            throw new IllegalArgumentException("columns and updatedSince only apply to SNAPSHOT jobs");
+        }
+        Job job = jobStore.submit(UuidV7Generator.next(), type, null, parameters, tenant());
+        log.info("{} job {} queued", type, job.jobId());
+        return toResponse(job);
+    }
+
+    public JobResponse submitImport(InputStream csv) throws IOException {
+        UUID jobId = UuidV7Generator.next();
+        long size = jobFiles.storeInput(jobId, csv);
+        if (size == 0) {
+            jobFiles.delete(jobId);
+            throw new IllegalArgumentException("The uploaded CSV is empty");
+        }
+        Job job = jobStore.submit(jobId, JobType.IMPORT, jobRunner.nodeId(), null, tenant());
+        log.info("IMPORT job {} queued with {} bytes of input", jobId, size);
+        return toResponse(job);
+    }
+
+    public JobResponse getJob(UUID jobId) {
+        return toResponse(find(jobId));
+    }
+
+    /**
+     * The result file of a finished export, snapshot or import run by this instance.
+     */
+    public Path result(UUID jobId) {
+        Job job = find(jobId);
+        if (!hasResult(job)) {
+            throw new JobResultUnavailableException(String.format("%s job %s has no result to download while %s",
+                    job.type(), jobId, job.status()));
+        }
+        Path result = jobFiles.result(jobId, job.type());
+        if (!jobRunner.nodeId().equals(job.owner()) || !Files.exists(result)) {
+            throw new JobResultUnavailableException(String.format("The result of job %s is on instance %s", jobId,
+                    job.owner()));
+        }
+        return result;
+    }
+
+    private String snapshotParameters(JobRequest request) {
+        if (request.updatedSince() != null && request.updatedSince().isAfter(OffsetDateTime.now())) {
+            throw new IllegalArgumentException("updatedSince is in the future");
+        }
+        List<String> columns = SnapshotColumn.parse(request.columns()).stream().map(SnapshotColumn::fieldName).toList();
+        try {
+            return objectMapper.writeValueAsString(new SnapshotJob.Parameters(columns, request.updatedSince()));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialise the snapshot parameters", e);
+        }
+    }
+
+    // Another tenant's job is reported as missing rather than forbidden, so job ids reveal nothing
+    private Job find(UUID jobId) {
+        String tenant = TenantContext.current();
+        return jobStore.find(jobId)
+                .filter(job -> tenant == null || tenant.equals(job.tenantId()))
+                .orElseThrow(() -> new JobNotFoundException(String.format("Job %s not found", jobId)));
+    }
+
+    // Jobs submitted outside a request belong to the default tenant
+    private static String tenant() {
+        String tenant = TenantContext.current();
+        return tenant == null ? TenantContext.DEFAULT_TENANT : tenant;
+    }
+
+    /**
+     * Exports and snapshots have a result once they succeed; imports list their rejected rows even when they
+     * failed midway.
+     */
+    private static boolean hasResult(Job job) {
+        return job.status() == JobStatus.SUCCEEDED && job.type() != JobType.ARCHIVE
+                || job.status() == JobStatus.FAILED && job.type() == JobType.IMPORT;
+    }
+
+    private static JobResponse toResponse(Job job) {
+        return new JobResponse(job.jobId(), job.type(), job.status(), job.processed(), job.failed(), job.total(),
+                job.error(), job.createdAt(), job.startedAt(), job.finishedAt(), job.updatedAt(),
+                hasResult(job) ? "/api/v1/jobs/" + job.jobId() + "/result" : null);
+    }
+}
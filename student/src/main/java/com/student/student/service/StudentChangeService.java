@@ -0,0 +1,125 @@
+package com.student.student.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.student.student.dto.StudentChange;
+import com.student.student.dto.StudentChangesResponse;
+import com.student.student.dto.StudentResponse;
+import com.student.student.entity.Student;
+import com.student.student.entity.StudentTombstone;
+import com.student.student.exception.ChangeTokenExpiredException;
+import com.student.student.repository.StudentRepository;
+import com.student.student.repository.StudentTombstoneRepository;
+import com.student.student.shard.ShardRouter;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Incremental change feed over students and their tombstones, keyset-paginated by (timestamp, student id).
+ * Only changes older than the safety window are served, so a transaction that stamped its row
+ * before committing still lands behind the consumer's token rather than being skipped.
+ * Sharded, every shard returns its own first page after the token and the pages are merged, so the token
+ * stays a single global position.
+ */
+@Service
+@Slf4j
+public class StudentChangeService {
+
+    private static final Comparator<StudentChange> FEED_ORDER = (a, b) ->
+            new ChangeToken(a.changedAt(), a.studentId()).compareTo(b.changedAt(), b.studentId());
+
+    private final StudentRepository studentRepository;
+    private final StudentTombstoneRepository studentTombstoneRepository;
+    private final ShardRouter shardRouter;
+    private final Duration safetyWindow;
+    private final Duration tombstoneRetention;
+    private final int maxPageSize;
+
+    public StudentChangeService(StudentRepository studentRepository,
+            StudentTombstoneRepository studentTombstoneRepository, ShardRouter shardRouter,
+            @Value("${student.changes.safety-window:PT5S}") Duration safetyWindow,
+            @Value("${student.changes.tombstone-retention:P30D}") Duration tombstoneRetention,
+            @Value("${student.changes.max-page-size:1000}") int maxPageSize) {
+        this.studentRepository = studentRepository;
+        this.studentTombstoneRepository = studentTombstoneRepository;
+        this.shardRouter = shardRouter;
+        this.safetyWindow = safetyWindow;
+        this.tombstoneRetention = tombstoneRetention;
+        this.maxPageSize = maxPageSize;
+    }
+
+    public StudentChangesResponse getChangesSince(String token, int limit)
+    {
+        ChangeToken since = token == null || token.isBlank() ? ChangeToken.START : ChangeToken.decode(token);
+        LocalDateTime now = LocalDateTime.now();
+        if (since != ChangeToken.START && since.position().isBefore(now.minus(tombstoneRetention)))
+        {
+            throw new ChangeTokenExpiredException(String.format(
+                "Change token is older than the %d day tombstone retention, start a full resync without a token",
+                tombstoneRetention.toDays()));
+        }
+        LocalDateTime until = now.minus(safetyWindow);
+        int pageSize = Math.max(1, Math.min(limit, maxPageSize));
+
+        List<StudentChange> merged = new ArrayList<>();
+        shardRouter.scatter(() -> changesAfter(since, until, pageSize)).forEach(merged::addAll);
+        merged.sort(FEED_ORDER);
+
+        boolean hasMore = merged.size() > pageSize;
+        List<StudentChange> page = hasMore ? merged.subList(0, pageSize) : merged;
+        ChangeToken next = page.isEmpty() ? since
+                : new ChangeToken(page.get(page.size() - 1).changedAt(), page.get(page.size() - 1).studentId());
+        log.debug("Change feed returned {} changes, hasMore={}", page.size(), hasMore);
+        return new StudentChangesResponse(List.copyOf(page), next.encode(), hasMore);
+    }
+
+    // Up to pageSize + 1 upserts and as many tombstones: enough to fill the page and tell whether there is more
+    private List<StudentChange> changesAfter(ChangeToken since, LocalDateTime until, int pageSize)
+    {
+        List<StudentChange> changes = new ArrayList<>(pageSize * 2 + 2);
+        for (Student student : studentRepository.findChangedAfter(
+                since.position(), since.studentId(), until, Limit.of(pageSize + 1)))
+        {
+            StudentChange.Type type = student.getCreatedAt().isAfter(since.position())
+                    ? StudentChange.Type.CREATED : StudentChange.Type.UPDATED;
+            changes.add(new StudentChange(type, student.getStudentId(), student.getRollNumber(),
+                    student.getUpdatedAt(), toResponse(student)));
+        }
+        for (StudentTombstone tombstone : studentTombstoneRepository.findDeletedAfter(
+                since.position(), since.studentId(), until, Limit.of(pageSize + 1)))
+        {
+            changes.add(new StudentChange(StudentChange.Type.DELETED, tombstone.getStudentId(),
+                    tombstone.getRollNumber(), tombstone.getDeletedAt(), null));
+        }
+        return changes;
+    }
+
+    @Scheduled(fixedDelayString = "${student.changes.tombstone-purge-interval:PT1H}")
+    public void purgeExpiredTombstones()
+    {
+        LocalDateTime cutoff = LocalDateTime.now().minus(tombstoneRetention);
+        int purged = shardRouter.scatter(() -> studentTombstoneRepository.deleteOlderThan(cutoff)).stream()
+                .mapToInt(Integer::intValue).sum();
+        if (purged > 0)
+        {
+            log.info("Purged {} student tombstones older than {}", purged, tombstoneRetention);
+        }
+    }
+
+    private StudentResponse toResponse(Student student)
+    {
+        return new StudentResponse(student.getStudentId(),
+            student.getRollNumber(),student.getFirstName(),
+            student.getLastName(),student.getEmail(),student.getDateOfBirth()
+            ,student.getCreatedAt(),student.getUpdatedAt());
+    }
+}
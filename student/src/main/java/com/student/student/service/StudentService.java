@@ -1,16 +1,44 @@
 package com.student.student.service;
 
+import java.lang.reflect.RecordComponent;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 
+import com.student.student.archive.StudentArchive;
+import com.student.student.cache.LookupKey;
+import com.student.student.cache.StudentLookupFilter;
+import com.student.student.cache.StudentLookupFlights;
 import com.student.student.entity.Student;
 import com.student.student.exception.EmailAlreadyExistsException;
 import com.student.student.exception.StudentNotFoundException;
 import com.student.student.repository.StudentRepository;
+import com.student.student.shard.PlacesNewStudent;
+import com.student.student.shard.ShardKey;
+import com.student.student.shard.ShardRouter;
+import com.student.student.stream.StudentOutbox;
+import com.student.student.tenant.TenantContext;
+import com.student.student.dto.StudentChange;
+import com.student.student.dto.StudentFields;
+import com.student.student.dto.StudentLookupResult;
 import com.student.student.dto.StudentRequest;
 import com.student.student.dto.StudentResponse;
 
@@ -23,10 +51,19 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class StudentService {
     private final StudentRepository studentRepository;
+    private final StudentLookupFilter studentLookupFilter;
+    private final StudentOutbox studentOutbox;
+    private final StudentStatsService studentStatsService;
+    private final ShardRouter shardRouter;
+    private final StudentArchive studentArchive;
+    private final StudentLookupFlights studentLookupFlights;
+    private final PlatformTransactionManager transactionManager;
 
+    @Transactional
+    @PlacesNewStudent
     public StudentResponse createStudent(StudentRequest request)
     {
-        Boolean exists = studentRepository.existsByEmail(request.email());
+        boolean exists = emailExists(request.email());
         if (exists)
         {
             log.error(String.format("Email : {} already exists", request.email()));
@@ -39,108 +76,157 @@ public class StudentService {
                         .email(request.email())
                         .dateOfBirth(request.dateOfBirth())
                         .build();
-        Student savedStudent = studentRepository.save(student);
+        Student savedStudent = saveWithUniqueEmail(student, null);
+        studentLookupFilter.recordEmail(savedStudent.getEmail());
+        studentLookupFilter.recordRollNumber(savedStudent.getRollNumber());
         log.info(String.format("Student created with id : {} and Roll Number {}",savedStudent.getStudentId(),savedStudent.getRollNumber()));
 
-        return new StudentResponse(savedStudent.getStudentId(),
+        StudentResponse response = new StudentResponse(savedStudent.getStudentId(),
         savedStudent.getRollNumber(),savedStudent.getFirstName(),
         savedStudent.getLastName(),savedStudent.getEmail(),savedStudent.getDateOfBirth()
         ,savedStudent.getCreatedAt(),savedStudent.getUpdatedAt());   
+        studentOutbox.append(StudentChange.Type.CREATED, response);
+        studentStatsService.recordCreated(savedStudent.getDateOfBirth(), savedStudent.getCreatedAt());
+        return response;
 
 
     }
 
-    public StudentResponse getStudentByEmail(String email)
+    public StudentResponse getStudentByEmail(@ShardKey String email)
     {
-        Student student = studentRepository.findByEmail(email)
-                        .orElseThrow(()-> new StudentNotFoundException(
-                            String.format("Student with email %s not found",email)
-                        ));
-        return new StudentResponse(student.getStudentId(),
-        student.getRollNumber(),student.getFirstName(),
-        student.getLastName(),student.getEmail(),student.getDateOfBirth()
-        ,student.getCreatedAt(),student.getUpdatedAt());   
+        if (studentLookupFilter.definitelyMissingEmail(email))
+        {
+            throw new StudentNotFoundException(String.format("Student with email %s not found",email));
+        }
+        return studentLookupFlights.byEmail(email, () -> {
+            Student student = studentRepository.findByEmail(email)
+                            .or(() -> studentArchive.findByEmail(email))
+                            .orElseThrow(()-> {
+                                studentLookupFilter.recordFalsePositive(LookupKey.EMAIL);
+                                return new StudentNotFoundException(
+                                String.format("Student with email %s not found",email));
+                            });
+            return new StudentResponse(student.getStudentId(),
+            student.getRollNumber(),student.getFirstName(),
+            student.getLastName(),student.getEmail(),student.getDateOfBirth()
+            ,student.getCreatedAt(),student.getUpdatedAt());
+        });
     }
 
-    public StudentResponse getStudentByRollNumber(Integer rollNumber)
+    public StudentResponse getStudentByRollNumber(@ShardKey Integer rollNumber)
     {
-        Student student = studentRepository.findByRollNumber(rollNumber)
-                        .orElseThrow(()-> new StudentNotFoundException(
-                            String.format("Student with roll number %d not found",rollNumber)
-                        ));
-        log.info(String.format("Student with roll number %d found",rollNumber));
-        return new StudentResponse(student.getStudentId(),
-        student.getRollNumber(),student.getFirstName(),
-        student.getLastName(),student.getEmail(),student.getDateOfBirth()
-        ,student.getCreatedAt(),student.getUpdatedAt());   
+        if (studentLookupFilter.definitelyMissingRollNumber(rollNumber))
+        {
+            throw new StudentNotFoundException(String.format("Student with roll number %d not found",rollNumber));
+        }
+        return studentLookupFlights.byRollNumber(rollNumber, () -> {
+            Student student = studentRepository.findByRollNumber(rollNumber)
+                            .or(() -> studentArchive.findByRollNumber(rollNumber))
+                            .orElseThrow(()-> {
+                                studentLookupFilter.recordFalsePositive(LookupKey.ROLL_NUMBER);
+                                return new StudentNotFoundException(
+                                String.format("Student with roll number %d not found",rollNumber));
+                            });
+            log.info(String.format("Student with roll number %d found",rollNumber));
+            return new StudentResponse(student.getStudentId(),
+            student.getRollNumber(),student.getFirstName(),
+            student.getLastName(),student.getEmail(),student.getDateOfBirth()
+            ,student.getCreatedAt(),student.getUpdatedAt());
+        });
     }   
 
-    public StudentResponse getStudentById(UUID studentId)
+    public StudentResponse getStudentById(@ShardKey UUID studentId)
     {
-        Student student = studentRepository.findById(studentId  )
-                        .orElseThrow(()-> new StudentNotFoundException(
-                            String.format("Student with id %s not found",studentId)
-                        ));
-        log.info(String.format("Student with id %s found",studentId));
-        return new StudentResponse(student.getStudentId(),
-        student.getRollNumber(),student.getFirstName(),
-        student.getLastName(),student.getEmail(),student.getDateOfBirth()
-        ,student.getCreatedAt(),student.getUpdatedAt());
+        return studentLookupFlights.byId(studentId, () -> {
+            Student student = studentRepository.findById(studentId  )
+                            .or(() -> studentArchive.findById(studentId))
+                            .orElseThrow(()-> new StudentNotFoundException(
+                                String.format("Student with id %s not found",studentId)
+                            ));
+            log.info(String.format("Student with id %s found",studentId));
+            return new StudentResponse(student.getStudentId(),
+            student.getRollNumber(),student.getFirstName(),
+            student.getLastName(),student.getEmail(),student.getDateOfBirth()
+            ,student.getCreatedAt(),student.getUpdatedAt());
+        });
     }
 
-    public void deleteStudentByRollNumber(Integer rollNumber)
+    @Transactional
+    public void deleteStudentByRollNumber(@ShardKey Integer rollNumber)
     {
-        studentRepository.deleteByRollNumber(rollNumber);
+        studentRepository.deleteReturningByRollNumber(rollNumber, TenantContext.current()).ifPresentOrElse(this::recordDeleted,
+                () -> studentArchive.deleteByRollNumber(rollNumber).ifPresent(this::recordDeleted));
         log.info(String.format("Student with roll number %d deleted",rollNumber));
     }
 
-    public void deleteStudentById(UUID studentId)
+    @Transactional
+    public void deleteStudentById(@ShardKey UUID studentId)
     {
+        studentRepository.findById(studentId).ifPresentOrElse(this::recordDeleted,
+                () -> studentArchive.deleteById(studentId).ifPresent(this::recordDeleted));
         studentRepository.deleteById(studentId);
         log.info(String.format("Student with id %s deleted",studentId));
     }
 
-    public StudentResponse updateStudent(UUID studentId, StudentRequest request)
+    @Transactional
+    public StudentResponse updateStudent(@ShardKey UUID studentId, StudentRequest request)
     {
         Student student = studentRepository.findById(studentId)
                         .orElseThrow(()-> new StudentNotFoundException(
                             String.format("Student with id %s not found",studentId)
                         )); 
-        if(student.getEmail().equals(request.email()))
+        LocalDate previousDateOfBirth = student.getDateOfBirth();
+        if(student.getEmail().equalsIgnoreCase(request.email()))
         {
             student.setFirstName(request.firstName());
             student.setLastName(request.lastName());
             student.setDateOfBirth(request.dateOfBirth());
+            student.setEmail(request.email());
             student = studentRepository.save(student);
+            // Flush so updatedAt is current in both the response and the outbox event
+            studentRepository.flush();
             log.info(String.format("Updated other details except email for student with id %s",studentId));
-            return new StudentResponse(student.getStudentId(),
+            StudentResponse response = new StudentResponse(student.getStudentId(),
             student.getRollNumber(),student.getFirstName(),
             student.getLastName(),student.getEmail(),student.getDateOfBirth()
             ,student.getCreatedAt(),student.getUpdatedAt());
+            studentOutbox.append(StudentChange.Type.UPDATED, response);
+            studentStatsService.recordBirthDateChanged(previousDateOfBirth, student.getDateOfBirth());
+            studentLookupFlights.forgetAfterCommit(studentId, student.getRollNumber(), student.getEmail());
+            return response;
         } else {
-            Boolean exists = studentRepository.existsByEmail(request.email());
+            boolean exists = emailExists(request.email());
             if (exists)
             {
                 log.error(String.format("Email : {} already exists", request.email()));
                 throw new EmailAlreadyExistsException(String.format("Email %s already exists", request.email())) ;
             } 
+            String previousEmail = student.getEmail();
             student.setFirstName(request.firstName());
             student.setLastName(request.lastName());
             student.setDateOfBirth(request.dateOfBirth());
             student.setEmail(request.email());
-            student = studentRepository.save(student);
+            student = saveWithUniqueEmail(student, previousEmail);
+            studentLookupFilter.recordEmail(student.getEmail());
             log.info(String.format("Updated all details including email for student with id %s",studentId));
-            return new StudentResponse(student.getStudentId(),
+            StudentResponse response = new StudentResponse(student.getStudentId(),
             student.getRollNumber(),student.getFirstName(),
             student.getLastName(),student.getEmail(),student.getDateOfBirth()
             ,student.getCreatedAt(),student.getUpdatedAt());
+            studentOutbox.append(StudentChange.Type.UPDATED, response);
+            studentStatsService.recordBirthDateChanged(previousDateOfBirth, student.getDateOfBirth());
+            studentLookupFlights.forgetAfterCommit(studentId, student.getRollNumber(), previousEmail, student.getEmail());
+            return response;
         }
         
 }
 
+// Without sharding the scatters below run once, on the calling thread
+
 public List<StudentResponse> getAllStudents()
 {
-    List<Student> students = studentRepository.findAll();
+    List<Student> students = shardRouter.scatter(studentRepository::findAll).stream()
+        .flatMap(List::stream).toList();
     return students.stream().map(student -> new StudentResponse(
         student.getStudentId(),
         student.getRollNumber(),
@@ -154,4 +240,231 @@ public List<StudentResponse> getAllStudents()
 
 }
 
+/**
+ * Hands every student to {@code sink} from a cursor held in a read-only transaction on the calling thread,
+ * one shard after another, so at most one fetch of rows is in memory however large the table is. The sink
+ * may block; it holds the shard's connection meanwhile. An exception thrown by the sink ends the walk.
+ */
+public void forEachStudent(Consumer<StudentResponse> sink)
+{
+    TransactionTemplate readOnlyTransaction = new TransactionTemplate(transactionManager);
+    readOnlyTransaction.setReadOnly(true);
+    for (int shard = 0; shard < shardRouter.shardCount(); shard++)
+    {
+        shardRouter.on(shard, () -> readOnlyTransaction.execute(status -> {
+            try (Stream<StudentResponse> students = studentRepository.streamAllResponses())
+            {
+                students.forEach(sink);
+            }
+            return null;
+        }));
+    }
+}
+
+// Sparse fieldset variants: only the requested columns are selected, no entity is loaded
+
+public List<Map<String, Object>> getAllStudents(StudentFields fields)
+{
+    return shardRouter.scatter(() -> studentRepository.findAllFields(fields.names())).stream()
+        .flatMap(List::stream).collect(Collectors.toList());
+}
+
+public Map<String, Object> getStudentById(@ShardKey UUID studentId, StudentFields fields)
+{
+    return studentRepository.findFieldsById(studentId, fields.names())
+                    .or(() -> studentArchive.findById(studentId).map(student -> fieldsOf(student, fields)))
+                    .orElseThrow(()-> new StudentNotFoundException(
+                        String.format("Student with id %s not found",studentId)
+                    ));
+}
+
+public Map<String, Object> getStudentByEmail(@ShardKey String email, StudentFields fields)
+{
+    if (studentLookupFilter.definitelyMissingEmail(email))
+    {
+        throw new StudentNotFoundException(String.format("Student with email %s not found",email));
+    }
+    return studentRepository.findFieldsByEmail(email, fields.names())
+                    .or(() -> studentArchive.findByEmail(email).map(student -> fieldsOf(student, fields)))
+                    .orElseThrow(()-> {
+                        studentLookupFilter.recordFalsePositive(LookupKey.EMAIL);
+                        return new StudentNotFoundException(
+                        String.format("Student with email %s not found",email));
+                    });
+}
+
+public Map<String, Object> getStudentByRollNumber(@ShardKey Integer rollNumber, StudentFields fields)
+{
+    if (studentLookupFilter.definitelyMissingRollNumber(rollNumber))
+    {
+        throw new StudentNotFoundException(String.format("Student with roll number %d not found",rollNumber));
+    }
+    return studentRepository.findFieldsByRollNumber(rollNumber, fields.names())
+                    .or(() -> studentArchive.findByRollNumber(rollNumber).map(student -> fieldsOf(student, fields)))
+                    .orElseThrow(()-> {
+                        studentLookupFilter.recordFalsePositive(LookupKey.ROLL_NUMBER);
+                        return new StudentNotFoundException(
+                        String.format("Student with roll number %d not found",rollNumber));
+                    });
+}
+
+/**
+ * Resolves a batch of keys of one type with a single array query per shard holding any of them and
+ * returns one result per requested key, in request order, with misses reported explicitly. Keys the
+ * lookup filter knows to be absent never reach the database.
+ */
+public List<StudentLookupResult> lookupStudents(LookupKey keyType, List<String> keys)
+{
+    Function<String, String> normalize = switch (keyType) {
+        case ID -> key -> UUID.fromString(key.trim()).toString();
+        case EMAIL -> key -> key.trim().toLowerCase(Locale.ROOT);
+        case ROLL_NUMBER -> key -> Integer.valueOf(key.trim()).toString();
+    };
+    Set<String> candidates = new LinkedHashSet<>();
+    for (String key : keys)
+    {
+        String normalized = normalize.apply(key);
+        boolean definitelyMissing = switch (keyType) {
+            case ID -> false;
+            case EMAIL -> studentLookupFilter.definitelyMissingEmail(normalized);
+            case ROLL_NUMBER -> studentLookupFilter.definitelyMissingRollNumber(Integer.valueOf(normalized));
+        };
+        if (!definitelyMissing)
+        {
+            candidates.add(normalized);
+        }
+    }
+
+    Map<String, Student> matches = new HashMap<>();
+    if (!candidates.isEmpty())
+    {
+        List<Student> students = new ArrayList<>();
+        shardRouter.partition(keyType, candidates).forEach((shard, keysOnShard) ->
+                students.addAll(shardRouter.on(shard, () -> findAllByKeys(keyType, keysOnShard))));
+        for (Student student : students)
+        {
+            matches.put(keyOf(keyType, student), student);
+        }
+        if (keyType != LookupKey.ID)
+        {
+            candidates.stream().filter(key -> !matches.containsKey(key))
+                    .forEach(key -> studentLookupFilter.recordFalsePositive(keyType));
+        }
+    }
+    log.info(String.format("Batched %s lookup resolved %d of %d keys", keyType.tag(), matches.size(), keys.size()));
+
+    return keys.stream().map(key -> {
+        Student student = matches.get(normalize.apply(key));
+        return new StudentLookupResult(key, student != null, student == null ? null : toResponse(student));
+    }).collect(Collectors.toList());
+}
+
+// Keys missing from students get one more array query against the archive, on the same shard
+private List<Student> findAllByKeys(LookupKey keyType, List<String> keys)
+{
+    String tenant = TenantContext.current();
+    List<Student> students = new ArrayList<>(switch (keyType) {
+        case ID -> studentRepository.findAllByStudentIdIn(
+                keys.stream().map(UUID::fromString).toArray(UUID[]::new), tenant);
+        case EMAIL -> studentRepository.findAllByLowerEmailIn(keys.toArray(String[]::new), tenant);
+        case ROLL_NUMBER -> studentRepository.findAllByRollNumberIn(
+                keys.stream().map(Integer::valueOf).toArray(Integer[]::new), tenant);
+    });
+    if (students.size() < keys.size())
+    {
+        Set<String> found = students.stream().map(student -> keyOf(keyType, student)).collect(Collectors.toSet());
+        students.addAll(studentArchive.findAllByKeys(keyType,
+                keys.stream().filter(key -> !found.contains(key)).toList()));
+    }
+    return students;
+}
+
+private static String keyOf(LookupKey keyType, Student student)
+{
+    return switch (keyType) {
+        case ID -> student.getStudentId().toString();
+        case EMAIL -> student.getEmail().toLowerCase(Locale.ROOT);
+        case ROLL_NUMBER -> student.getRollNumber().toString();
+    };
+}
+
+// Archived students are loaded whole; the requested fields are picked from the response
+private Map<String, Object> fieldsOf(Student student, StudentFields fields)
+{
+    StudentResponse response = toResponse(student);
+    Map<String, Object> row = new LinkedHashMap<>(fields.names().size() * 2);
+    try
+    {
+        for (RecordComponent component : StudentResponse.class.getRecordComponents())
+        {
+            if (fields.names().contains(component.getName()))
+            {
+                row.put(component.getName(), component.getAccessor().invoke(response));
+            }
+        }
+    }
+    catch (ReflectiveOperationException e)
+    {
+        throw new IllegalStateException("Could not read StudentResponse", e);
+    }
+    return row;
+}
+
+private void recordDeleted(Student student)
+{
+    studentOutbox.appendDeleted(student.getStudentId(), student.getRollNumber());
+    shardRouter.removeStudent(student.getStudentId());
+    studentStatsService.recordDeleted(student.getDateOfBirth(), student.getCreatedAt());
+    studentLookupFlights.forgetAfterCommit(student.getStudentId(), student.getRollNumber(), student.getEmail());
+}
+
+private StudentResponse toResponse(Student student)
+{
+    return new StudentResponse(student.getStudentId(),
+        student.getRollNumber(),student.getFirstName(),
+        student.getLastName(),student.getEmail(),student.getDateOfBirth()
+        ,student.getCreatedAt(),student.getUpdatedAt());
+}
+
+private boolean emailExists(String email)
+{
+    if (studentLookupFilter.definitelyMissingEmail(email))
+    {
+        return false;
+    }
+    // Archived students keep their email
+    boolean exists = studentRepository.existsByEmail(email) || studentArchive.containsEmail(email);
+    if (!exists)
+    {
+        studentLookupFilter.recordFalsePositive(LookupKey.EMAIL);
+    }
+    return exists;
+}
+
+// The unique constraint is the final word when the lookup filter lets a duplicate through or two requests race.
+// Flushing surfaces the violation here rather than at commit, and before the outbox event is written.
+// Sharded, the directory's unique index does the same across shards; previousEmail is null for a new student.
+private Student saveWithUniqueEmail(Student student, String previousEmail)
+{
+    try
+    {
+        Student saved = studentRepository.save(student);
+        studentRepository.flush();
+        if (previousEmail == null)
+        {
+            shardRouter.registerStudent(saved.getStudentId(), saved.getEmail(), saved.getRollNumber());
+        }
+        else
+        {
+            shardRouter.changeEmail(saved.getStudentId(), previousEmail, saved.getEmail());
+        }
+        return saved;
+    }
+    catch (DataIntegrityViolationException e)
+    {
+        log.error("Email : {} already exists", student.getEmail());
+        throw new EmailAlreadyExistsException(String.format("Email %s already exists", student.getEmail()), e);
+    }
+}
+
 }
\ No newline at end of file
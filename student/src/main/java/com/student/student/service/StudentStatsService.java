@@ -0,0 +1,176 @@
+package com.student.student.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.student.student.dto.StudentStatsResponse;
+import com.student.student.repository.StudentRepository;
+import com.student.student.repository.StudentStatsView;
+import com.student.student.shard.ShardRouter;
+import com.student.student.tenant.TenantContext;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-process student counters by birth year and enrollment month.
+ * The student_stats table, maintained by trigger on every write path, is the source of truth: counters are
+ * loaded from it on startup and replaced from it every reconcile interval. In between, this replica's own
+ * writes are applied as deltas after commit, so writes from other replicas or ad hoc SQL show up within
+ * one interval. Sharded, each shard keeps its own student_stats and the reconcile sums them.
+ * <p>
+ * Counters are kept per tenant, as student_stats is, and {@link #getStats()} answers for the bound tenant
+ * only; unbound callers get every tenant's counts summed.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class StudentStatsService {
+
+    static final String TOTAL = "total";
+    static final String BIRTH_YEAR = "birth_year";
+    static final String ENROLLED_MONTH = "enrolled_month";
+
+    private record Counters(LongAdder total, Map<Integer, LongAdder> byBirthYear,
+            Map<Integer, LongAdder> byEnrolledMonth) {
+        Counters() {
+            this(new LongAdder(), new ConcurrentHashMap<>(), new ConcurrentHashMap<>());
+        }
+    }
+
+    private record Reconciled(Map<String, Counters> byTenant, LocalDateTime at) {}
+
+    private final StudentRepository studentRepository;
+    private final ShardRouter shardRouter;
+
+    private volatile Reconciled reconciled;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${student.stats.reconcile-interval:PT1M}",
+            fixedDelayString = "${student.stats.reconcile-interval:PT1M}")
+    public void reconcile() {
+        Reconciled next = new Reconciled(new ConcurrentHashMap<>(), LocalDateTime.now());
+        List<StudentStatsView> buckets = shardRouter.scatter(studentRepository::findStatsBuckets).stream()
+                .flatMap(List::stream).toList();
+        for (StudentStatsView bucket : buckets) {
+            Counters tenant = counters(next, bucket.getTenantId());
+            switch (bucket.getDimension()) {
+                case TOTAL -> tenant.total().add(bucket.getStudentCount());
+                case BIRTH_YEAR -> counter(tenant.byBirthYear(), bucket.getBucket()).add(bucket.getStudentCount());
+                case ENROLLED_MONTH -> counter(tenant.byEnrolledMonth(), bucket.getBucket()).add(bucket.getStudentCount());
+                default -> log.warn("Ignoring unknown student stats dimension {}", bucket.getDimension());
+            }
+        }
+        reconciled = next;
+        log.debug("Student stats reconciled for {} tenants", next.byTenant().size());
+    }
+
+    public StudentStatsResponse getStats() {
+        Reconciled current = reconciled;
+        if (current == null) {
+            reconcile();
+            current = reconciled;
+        }
+        String tenant = TenantContext.current();
+        List<Counters> scope = tenant == null ? List.copyOf(current.byTenant().values())
+                : Stream.ofNullable(current.byTenant().get(tenant)).toList();
+        long total = 0;
+        Map<Integer, Long> byBirthYear = new TreeMap<>();
+        Map<String, Long> byEnrollmentMonth = new TreeMap<>();
+        for (Counters counters : scope) {
+            total += counters.total().sum();
+            counters.byBirthYear().forEach((year, count) -> byBirthYear.merge(year, count.sum(), Long::sum));
+            counters.byEnrolledMonth().forEach((month, count) ->
+                    byEnrollmentMonth.merge(String.format("%04d-%02d", month / 100, month % 100), count.sum(), Long::sum));
+        }
+        byBirthYear.values().removeIf(count -> count == 0);
+        byEnrollmentMonth.values().removeIf(count -> count == 0);
+        return new StudentStatsResponse(total, byBirthYear, byEnrollmentMonth, current.at());
+    }
+
+    public void recordCreated(LocalDate dateOfBirth, LocalDateTime createdAt) {
+        String tenant = writingTenant();
+        afterCommit(() -> apply(tenant, dateOfBirth, createdAt, 1));
+    }
+
+    public void recordDeleted(LocalDate dateOfBirth, LocalDateTime createdAt) {
+        String tenant = writingTenant();
+        afterCommit(() -> apply(tenant, dateOfBirth, createdAt, -1));
+    }
+
+    public void recordBirthDateChanged(LocalDate previous, LocalDate current) {
+        if (previous.equals(current)) {
+            return;
+        }
+        String tenant = writingTenant();
+        afterCommit(() -> {
+            Reconciled target = reconciled;
+            if (target != null) {
+                Counters counters = counters(target, tenant);
+                counter(counters.byBirthYear(), previous.getYear()).decrement();
+                counter(counters.byBirthYear(), current.getYear()).increment();
+            }
+        });
+    }
+
+    private void apply(String tenant, LocalDate dateOfBirth, LocalDateTime createdAt, int delta) {
+        Reconciled target = reconciled;
+        if (target == null) {
+            return;
+        }
+        Counters counters = counters(target, tenant);
+        counters.total().add(delta);
+        counter(counters.byBirthYear(), dateOfBirth.getYear()).add(delta);
+        counter(counters.byEnrolledMonth(), enrolledMonth(createdAt)).add(delta);
+    }
+
+    // Rows written without a bound tenant get the column default, as in the trigger
+    private static String writingTenant() {
+        String tenant = TenantContext.current();
+        return tenant == null ? TenantContext.DEFAULT_TENANT : tenant;
+    }
+
+    private static Counters counters(Reconciled reconciled, String tenant) {
+        return reconciled.byTenant().computeIfAbsent(tenant, key -> new Counters());
+    }
+
+    // Rolled-back writes must not move the counters
+    private static void afterCommit(Runnable delta) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            delta.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                delta.run();
+            }
+        });
+    }
+
+    // Same bucket as the trigger: yyyymm of created_at in UTC
+    static int enrolledMonth(LocalDateTime createdAt) {
+        ZonedDateTime utc = createdAt.atZone(ZoneId.systemDefault()).withZoneSameInstant(ZoneOffset.UTC);
+        return utc.getYear() * 100 + utc.getMonthValue();
+    }
+
+    private static LongAdder counter(Map<Integer, LongAdder> counters, Integer bucket) {
+        return counters.computeIfAbsent(bucket, key -> new LongAdder());
+    }
+}
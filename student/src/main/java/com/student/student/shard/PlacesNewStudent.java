@@ -0,0 +1,15 @@
+package com.student.student.shard;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a service method that creates a student: it runs on a shard picked for the new row, and the ids it
+ * generates are drawn until one hashes to that shard. See {@link ShardRoutingAspect}.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface PlacesNewStudent {
+}
@@ -0,0 +1,48 @@
+package com.student.student.shard;
+
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * The shard the current thread is working on, read by {@link ShardRoutingDataSource} when a connection is
+ * taken and by the id generator when a new student is placed. Unset outside sharded deployments.
+ */
+public final class ShardContext {
+
+    private record Route(int shard, int shardCount) {}
+
+    private static final ThreadLocal<Route> CURRENT = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    /**
+     * Shard bound to this thread, or null when none is.
+     */
+    public static Integer currentShard() {
+        Route route = CURRENT.get();
+        return route == null ? null : route.shard();
+    }
+
+    /**
+     * Whether a new row with this id belongs on the current shard; always true when no shard is bound.
+     */
+    public static boolean accepts(UUID studentId) {
+        Route route = CURRENT.get();
+        return route == null || ShardRouter.shardOf(studentId, route.shardCount()) == route.shard();
+    }
+
+    static <T> T call(int shard, int shardCount, Supplier<T> work) {
+        Route previous = CURRENT.get();
+        CURRENT.set(new Route(shard, shardCount));
+        try {
+            return work.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.student.student.shard;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks the first parameter of a service method as the key that picks the shard: a student id (UUID), a roll
+ * number (Integer) or an email (String). See {@link ShardRoutingAspect}.
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ShardKey {
+}
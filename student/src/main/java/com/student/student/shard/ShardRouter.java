@@ -0,0 +1,195 @@
+package com.student.student.shard;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+import com.student.student.cache.LookupKey;
+import com.student.student.tenant.TenantContext;
+
+/**
+ * Maps students to shards and runs work against one or all of them.
+ * A student lives on shard {@code hash(studentId) mod N}; emails and roll numbers are resolved to an id
+ * through the {@link StudentDirectory} first. With a single shard there is no directory and no routing:
+ * every method runs its work directly on the calling thread, exactly as an unsharded deployment would.
+ */
+public class ShardRouter implements AutoCloseable {
+
+    private final int shardCount;
+    private final StudentDirectory directory;
+    private final ExecutorService scatterExecutor;
+
+    public ShardRouter(int shardCount, StudentDirectory directory) {
+        if (shardCount < 1 || (shardCount > 1 && directory == null)) {
+            throw new IllegalArgumentException("A sharded deployment needs at least one shard and a directory");
+        }
+        this.shardCount = shardCount;
+        this.directory = directory;
+        this.scatterExecutor = shardCount > 1 ? Executors.newVirtualThreadPerTaskExecutor() : null;
+    }
+
+    public static ShardRouter single() {
+        return new ShardRouter(1, null);
+    }
+
+    /**
+     * Stable for a given shard count; mixes all 128 bits, since the leading bits of a version 7 id are a
+     * timestamp and would put every student created in the same period on the same shard.
+     */
+    public static int shardOf(UUID studentId, int shardCount) {
+        long h = studentId.getMostSignificantBits() ^ Long.rotateLeft(studentId.getLeastSignificantBits(), 32);
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return (int) Math.floorMod(h, (long) shardCount);
+    }
+
+    public int shardCount() {
+        return shardCount;
+    }
+
+    public boolean sharded() {
+        return shardCount > 1;
+    }
+
+    public int shardOf(UUID studentId) {
+        return shardOf(studentId, shardCount);
+    }
+
+    /**
+     * Shard holding the student with this email, or -1 when the directory has no such student.
+     */
+    public int shardOfEmail(String email) {
+        if (!sharded()) {
+            return 0;
+        }
+        return directory.findByEmail(email.toLowerCase(Locale.ROOT)).map(this::shardOf).orElse(-1);
+    }
+
+    /**
+     * Shard holding the student with this roll number, or -1 when the directory has no such student.
+     */
+    public int shardOfRollNumber(Integer rollNumber) {
+        if (!sharded()) {
+            return 0;
+        }
+        return directory.findByRollNumber(rollNumber).map(this::shardOf).orElse(-1);
+    }
+
+    /**
+     * Shard for a student about to be created; ids are then generated until one hashes to it.
+     */
+    public int placeNewStudent() {
+        return sharded() ? ThreadLocalRandom.current().nextInt(shardCount) : 0;
+    }
+
+    /**
+     * Groups normalized lookup keys by the shard holding them, in shard order. Emails and roll numbers the
+     * directory does not know are left out: no shard has them.
+     */
+    public Map<Integer, List<String>> partition(LookupKey keyType, Collection<String> keys) {
+        Map<Integer, List<String>> byShard = new TreeMap<>();
+        if (!sharded()) {
+            byShard.put(0, List.copyOf(keys));
+            return byShard;
+        }
+        Map<String, UUID> ids = switch (keyType) {
+            case ID -> null;
+            case EMAIL -> directory.findByEmails(keys);
+            case ROLL_NUMBER -> directory.findByRollNumbers(keys);
+        };
+        for (String key : keys) {
+            UUID studentId = ids == null ? UUID.fromString(key) : ids.get(key);
+            if (studentId != null) {
+                byShard.computeIfAbsent(shardOf(studentId), shard -> new ArrayList<>()).add(key);
+            }
+        }
+        return byShard;
+    }
+
+    /**
+     * Runs {@code work} with {@code shard} bound to the calling thread, so connections it takes come from
+     * that shard.
+     */
+    public <T> T on(int shard, Supplier<T> work) {
+        if (!sharded()) {
+            return work.get();
+        }
+        return ShardContext.call(shard, shardCount, work);
+    }
+
+    /**
+     * Runs {@code work} once per shard, in parallel, and returns the results indexed by shard. Each run
+     * gets its own thread, bound to the caller's tenant, so it must not rely on a transaction the caller
+     * has open.
+     */
+    public <T> List<T> scatter(Supplier<T> work) {
+        if (!sharded()) {
+            return Collections.singletonList(work.get());
+        }
+        String tenant = TenantContext.current();
+        List<Future<T>> pending = new ArrayList<>(shardCount);
+        for (int shard = 0; shard < shardCount; shard++) {
+            int target = shard;
+            pending.add(scatterExecutor.submit(
+                    () -> TenantContext.call(tenant, () -> ShardContext.call(target, shardCount, work))));
+        }
+        List<T> results = new ArrayList<>(shardCount);
+        try {
+            for (Future<T> result : pending) {
+                results.add(result.get());
+            }
+        } catch (InterruptedException e) {
+            pending.forEach(result -> result.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for shards", e);
+        } catch (ExecutionException e) {
+            pending.forEach(result -> result.cancel(true));
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Shard query failed", e.getCause());
+        }
+        return results;
+    }
+
+    // Directory upkeep, called by StudentService inside the shard transaction; no-ops without sharding
+
+    public void registerStudent(UUID studentId, String email, Integer rollNumber) {
+        if (sharded()) {
+            directory.register(studentId, email, rollNumber);
+        }
+    }
+
+    public void changeEmail(UUID studentId, String previousEmail, String email) {
+        if (sharded()) {
+            directory.changeEmail(studentId, previousEmail, email);
+        }
+    }
+
+    public void removeStudent(UUID studentId) {
+        if (sharded()) {
+            directory.remove(studentId);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (scatterExecutor != null) {
+            scatterExecutor.shutdownNow();
+        }
+    }
+}
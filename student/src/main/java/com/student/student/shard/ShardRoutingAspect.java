@@ -0,0 +1,58 @@
+package com.student.student.shard;
+
+import java.util.UUID;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Binds the shard for service methods taking a {@link ShardKey} or marked {@link PlacesNewStudent}.
+ * Ordered ahead of the transaction interceptor, so the transaction opens on the shard's connection.
+ * A key the directory does not know is routed to shard 0, where the lookup then fails as it would unsharded.
+ */
+@Aspect
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class ShardRoutingAspect {
+
+    private final ShardRouter shardRouter;
+
+    @Around("within(com.student.student.service..*) && execution(* *(@com.student.student.shard.ShardKey (*), ..))")
+    public Object routeByKey(ProceedingJoinPoint joinPoint) throws Throwable {
+        Object key = joinPoint.getArgs()[0];
+        int shard = switch (key) {
+            case UUID studentId -> shardRouter.shardOf(studentId);
+            case Integer rollNumber -> shardRouter.shardOfRollNumber(rollNumber);
+            case String email -> shardRouter.shardOfEmail(email);
+            case null, default -> throw new IllegalArgumentException(
+                    "Unsupported shard key " + key + " on " + joinPoint.getSignature().toShortString());
+        };
+        return proceedOn(Math.max(shard, 0), joinPoint);
+    }
+
+    @Around("within(com.student.student.service..*) && @annotation(com.student.student.shard.PlacesNewStudent)")
+    public Object placeNewStudent(ProceedingJoinPoint joinPoint) throws Throwable {
+        return proceedOn(shardRouter.placeNewStudent(), joinPoint);
+    }
+
+    private Object proceedOn(int shard, ProceedingJoinPoint joinPoint) throws Throwable {
+        Throwable[] failure = new Throwable[1];
+        Object result = shardRouter.on(shard, () -> {
+            try {
+                return joinPoint.proceed();
+            } catch (Throwable e) {
+                failure[0] = e;
+                return null;
+            }
+        });
+        if (failure[0] != null) {
+            throw failure[0];
+        }
+        return result;
+    }
+}
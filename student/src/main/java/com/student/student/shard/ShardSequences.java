@@ -0,0 +1,52 @@
+package com.student.student.shard;
+
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Interleaves roll_number_seq across shards so roll numbers stay globally unique: with N shards every
+ * sequence increments by N blocks and shard i starts i blocks in, so each shard hands out every Nth block.
+ * Runs after the shard migrations; a no-op once the increments match.
+ */
+@Slf4j
+final class ShardSequences {
+
+    private static final String SEQUENCE_SQL = """
+            select increment_by, coalesce(last_value, start_value) as last_value,
+                   (select coalesce(max(roll_number), 0) from students) as max_roll_number
+            from pg_sequences where schemaname = current_schema() and sequencename = 'roll_number_seq'
+            """;
+
+    private ShardSequences() {
+    }
+
+    static void alignRollNumbers(List<? extends DataSource> shards, int allocationSize) {
+        long stride = (long) allocationSize * shards.size();
+        List<Map<String, Object>> sequences = shards.stream()
+                .map(shard -> new JdbcTemplate(shard).queryForMap(SEQUENCE_SQL))
+                .toList();
+        if (sequences.stream().allMatch(sequence -> ((Number) sequence.get("increment_by")).longValue() == stride)) {
+            return;
+        }
+        // Past every block handed out so far and every roll number in use, on any shard
+        long high = 0;
+        for (Map<String, Object> sequence : sequences) {
+            long last = ((Number) sequence.get("last_value")).longValue()
+                    + ((Number) sequence.get("increment_by")).longValue();
+            high = Math.max(high, Math.max(last, ((Number) sequence.get("max_roll_number")).longValue() + 1));
+        }
+        long base = (high + stride - 1) / stride * stride;
+        for (int shard = 0; shard < shards.size(); shard++) {
+            new JdbcTemplate(shards.get(shard)).execute(String.format(
+                    "ALTER SEQUENCE roll_number_seq INCREMENT BY %d RESTART WITH %d", stride,
+                    base + (long) allocationSize * shard));
+        }
+        log.info("Interleaved roll_number_seq across {} shards from {} in steps of {}", shards.size(), base, stride);
+    }
+}
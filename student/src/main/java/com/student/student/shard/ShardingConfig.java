@@ -0,0 +1,140 @@
+package com.student.student.shard;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.flywaydb.core.Flyway;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import com.student.student.entity.RollNumberSequence;
+import com.student.student.entity.Student;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Student storage layout selected by {@code student.sharding.enabled}. Unsharded (default), the single
+ * spring.datasource database holds everything and {@link ShardRouter#single()} routes nothing. Sharded,
+ * students live on {@code student.sharding.shard-urls} (index = shard number) and their emails and roll
+ * numbers in the directory database; Flyway migrates every shard and the directory on startup.
+ * <p>
+ * The shard count is fixed by the data: changing the URL list of a populated deployment moves the hash
+ * boundaries and requires re-distributing existing students first.
+ */
+@Configuration(proxyBeanMethods = false)
+public class ShardingConfig {
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnProperty(name = "student.sharding.enabled", havingValue = "false", matchIfMissing = true)
+    static class Single {
+
+        @Bean(destroyMethod = "close")
+        ShardRouter shardRouter() {
+            return ShardRouter.single();
+        }
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnProperty(name = "student.sharding.enabled", havingValue = "true")
+    @Slf4j
+    static class Sharded {
+
+        @Value("${student.sharding.username}")
+        private String username;
+
+        @Value("${student.sharding.password}")
+        private String password;
+
+        @Value("${student.sharding.pool-size:20}")
+        private int poolSize;
+
+        @Bean
+        @Primary
+        DataSource dataSource(@Value("${student.sharding.shard-urls}") String[] shardUrls, MeterRegistry meterRegistry) {
+            if (shardUrls.length == 0) {
+                throw new IllegalStateException("student.sharding.shard-urls must list at least one database");
+            }
+            List<HikariDataSource> shards = new ArrayList<>();
+            for (int shard = 0; shard < shardUrls.length; shard++) {
+                shards.add(pool("StudentPool-shard" + shard, shardUrls[shard].trim(), meterRegistry));
+            }
+            log.info("Students sharded over {} databases", shards.size());
+            return new ShardRoutingDataSource(shards);
+        }
+
+        @Bean
+        StudentDirectory studentDirectory(@Value("${student.sharding.directory-url}") String directoryUrl,
+                MeterRegistry meterRegistry) {
+            return new StudentDirectory(pool("StudentDirectoryPool", directoryUrl, meterRegistry));
+        }
+
+        @Bean(destroyMethod = "close")
+        ShardRouter shardRouter(DataSource dataSource, StudentDirectory studentDirectory) throws SQLException {
+            return new ShardRouter(routing(dataSource).shards().size(), studentDirectory);
+        }
+
+        @Bean
+        ShardRoutingAspect shardRoutingAspect(ShardRouter shardRouter) {
+            return new ShardRoutingAspect(shardRouter);
+        }
+
+        /**
+         * Applies the configured migrations (spring.flyway.*) to every shard, the directory migrations
+         * to the directory database, then interleaves the roll number sequences.
+         */
+        @Bean
+        FlywayMigrationStrategy shardedFlywayMigration(DataSource dataSource,
+                @Value("${student.sharding.directory-url}") String directoryUrl,
+                @Value("${student.sharding.directory-locations:classpath:db/directory}") String directoryLocations) {
+            return flyway -> {
+                try {
+                    List<? extends DataSource> shards = routing(dataSource).shards();
+                    for (int shard = 0; shard < shards.size(); shard++) {
+                        log.info("Migrating shard {}", shard);
+                        Flyway.configure().configuration(flyway.getConfiguration())
+                                .dataSource(shards.get(shard)).load().migrate();
+                    }
+                    log.info("Migrating student directory");
+                    Flyway.configure().configuration(flyway.getConfiguration())
+                            .dataSource(directoryUrl, username, password)
+                            .locations(directoryLocations)
+                            .load().migrate();
+                    ShardSequences.alignRollNumbers(shards, rollNumberAllocationSize());
+                } catch (SQLException | ReflectiveOperationException e) {
+                    throw new IllegalStateException("Could not migrate the student shards", e);
+                }
+            };
+        }
+
+        private HikariDataSource pool(String name, String url, MeterRegistry meterRegistry) {
+            HikariConfig config = new HikariConfig();
+            config.setPoolName(name);
+            config.setJdbcUrl(url);
+            config.setUsername(username);
+            config.setPassword(password);
+            config.setMaximumPoolSize(poolSize);
+            config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            return new HikariDataSource(config);
+        }
+
+        // The bean is wrapped by ObservedDataSourcePostProcessor
+        private static ShardRoutingDataSource routing(DataSource dataSource) throws SQLException {
+            return dataSource.unwrap(ShardRoutingDataSource.class);
+        }
+
+        private static int rollNumberAllocationSize() throws ReflectiveOperationException {
+            return Student.class.getDeclaredField("rollNumber").getAnnotation(RollNumberSequence.class).allocationSize();
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.student.student.shard;
+
+import java.sql.PreparedStatement;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The student_directory table of a sharded deployment: email and roll number to student id.
+ * Writes are autocommitted on the directory database while the shard transaction is still open and undone
+ * if that transaction rolls back; removals wait for the shard commit. A compensation that fails leaves a
+ * stale row behind, which only blocks reuse of that email until it is deleted by hand.
+ */
+@Slf4j
+public class StudentDirectory {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public StudentDirectory(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    public Optional<UUID> findByEmail(String lowerCaseEmail) {
+        return jdbcTemplate.query("select student_id from student_directory where email_lower = ?",
+                (rs, row) -> rs.getObject(1, UUID.class), lowerCaseEmail).stream().findFirst();
+    }
+
+    public Optional<UUID> findByRollNumber(Integer rollNumber) {
+        return jdbcTemplate.query("select student_id from student_directory where roll_number = ?",
+                (rs, row) -> rs.getObject(1, UUID.class), rollNumber).stream().findFirst();
+    }
+
+    /**
+     * @return student id by lower-case email, for the emails that exist
+     */
+    public Map<String, UUID> findByEmails(Collection<String> lowerCaseEmails) {
+        return findAll("select email_lower, student_id from student_directory where email_lower = any(?)",
+                "text", lowerCaseEmails.toArray());
+    }
+
+    /**
+     * @return student id by roll number (as its decimal string), for the roll numbers that exist
+     */
+    public Map<String, UUID> findByRollNumbers(Collection<String> rollNumbers) {
+        return findAll("select roll_number::text, student_id from student_directory where roll_number = any(?)",
+                "int4", rollNumbers.stream().map(Integer::valueOf).toArray());
+    }
+
+    /**
+     * Throws {@link org.springframework.dao.DuplicateKeyException} when another shard already has the email.
+     */
+    public void register(UUID studentId, String email, Integer rollNumber) {
+        jdbcTemplate.update("insert into student_directory (student_id, email_lower, roll_number) values (?, ?, ?)",
+                studentId, email.toLowerCase(Locale.ROOT), rollNumber);
+        afterCompletion(false, () -> jdbcTemplate.update("delete from student_directory where student_id = ?",
+                studentId));
+    }
+
+    public void changeEmail(UUID studentId, String previousEmail, String email) {
+        jdbcTemplate.update("update student_directory set email_lower = ? where student_id = ?",
+                email.toLowerCase(Locale.ROOT), studentId);
+        afterCompletion(false, () -> jdbcTemplate.update(
+                "update student_directory set email_lower = ? where student_id = ?",
+                previousEmail.toLowerCase(Locale.ROOT), studentId));
+    }
+
+    public void remove(UUID studentId) {
+        afterCompletion(true, () -> jdbcTemplate.update("delete from student_directory where student_id = ?",
+                studentId));
+    }
+
+    /**
+     * Bulk registration for the dataset generator; rows are (student id, email, roll number).
+     */
+    public void registerAll(List<Object[]> rows) {
+        jdbcTemplate.batchUpdate(
+                "insert into student_directory (student_id, email_lower, roll_number) values (?, lower(?), ?)", rows);
+    }
+
+    public void truncate() {
+        jdbcTemplate.execute("TRUNCATE student_directory");
+    }
+
+    private Map<String, UUID> findAll(String sql, String elementType, Object[] keys) {
+        ResultSetExtractor<Map<String, UUID>> extractor = rs -> {
+            Map<String, UUID> ids = new HashMap<>();
+            while (rs.next()) {
+                ids.put(rs.getString(1), rs.getObject(2, UUID.class));
+            }
+            return ids;
+        };
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql);
+            statement.setArray(1, connection.createArrayOf(elementType, keys));
+            return statement;
+        }, extractor);
+    }
+
+    // Runs the action once the surrounding shard transaction commits (onCommit) or rolls back (!onCommit);
+    // without a transaction the write has already taken effect, so only removals run, immediately
+    private static void afterCompletion(boolean onCommit, Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            if (onCommit) {
+                action.run();
+            }
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != (onCommit ? STATUS_COMMITTED : STATUS_ROLLED_BACK)) {
+                    return;
+                }
+                try {
+                    action.run();
+                } catch (RuntimeException e) {
+                    log.error("Student directory could not follow the shard transaction: {}", e.getMessage());
+                }
+            }
+        });
+    }
+}
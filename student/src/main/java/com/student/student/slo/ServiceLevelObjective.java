@@ -0,0 +1,57 @@
+package com.student.student.slo;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Locale;
+
+import org.springframework.boot.convert.DurationStyle;
+
+/**
+ * Latency and availability objectives of one endpoint, identified by method and route pattern as in
+ * {@code @GetMapping}. Written as {@code GET /api/v1/students/{id} latency=50ms@99% availability=99.9%}:
+ * 99% of successful requests within 50ms, and 99.9% of requests not failing with a 5xx.
+ */
+public record ServiceLevelObjective(String method, String path, Duration latencyThreshold, double latencyTarget,
+        double availabilityTarget) {
+
+    public ServiceLevelObjective {
+        if (latencyThreshold.isNegative() || latencyThreshold.isZero()) {
+            throw new IllegalArgumentException("Latency threshold must be positive, got " + latencyThreshold);
+        }
+        requireFraction(latencyTarget);
+        requireFraction(availabilityTarget);
+    }
+
+    public String name() {
+        return method + " " + path;
+    }
+
+    public static ServiceLevelObjective parse(String spec) {
+        String[] parts = spec.trim().split("\\s+");
+        if (parts.length != 4 || !parts[2].startsWith("latency=") || !parts[3].startsWith("availability=")) {
+            throw new IllegalArgumentException(String.format(
+                    "Expected \"METHOD /path latency=50ms@99%% availability=99.9%%\", got \"%s\"", spec.trim()));
+        }
+        String[] latency = parts[2].substring("latency=".length()).split("@");
+        if (latency.length != 2) {
+            throw new IllegalArgumentException("Expected latency=<threshold>@<target>%, got " + parts[2]);
+        }
+        return new ServiceLevelObjective(parts[0].toUpperCase(Locale.ROOT), parts[1],
+                DurationStyle.detectAndParse(latency[0]), percentage(latency[1]),
+                percentage(parts[3].substring("availability=".length())));
+    }
+
+    private static double percentage(String value) {
+        if (!value.endsWith("%")) {
+            throw new IllegalArgumentException("Expected a percentage, got " + value);
+        }
+        // Decimal, so 99.9% is 0.999 rather than 0.9990000000000001
+        return new BigDecimal(value.substring(0, value.length() - 1)).movePointLeft(2).doubleValue();
+    }
+
+    private static void requireFraction(double target) {
+        if (!(target > 0 && target < 1)) {
+            throw new IllegalArgumentException("Targets must be between 0% and 100% exclusive, got " + target * 100 + "%");
+        }
+    }
+}
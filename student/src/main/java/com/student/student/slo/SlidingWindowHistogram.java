@@ -0,0 +1,147 @@
+package com.student.student.slo;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.LongSupplier;
+
+/**
+ * Request outcomes and latencies over a sliding window, kept as a ring of fixed-width time buckets. Each
+ * bucket counts requests, errors, requests slower than the latency threshold, and latencies in log-scale
+ * bins roughly 19% wide (four per doubling, 100µs to about 100s). Recording is lock-free: a bucket is
+ * reused by compare-and-set once its slot comes round again, and counts racing with that swap may be lost,
+ * which is negligible next to the bucket's traffic. Windows read whole buckets, so they span up to one
+ * bucket width more than asked, including the bucket being filled.
+ */
+public class SlidingWindowHistogram {
+
+    /** Request outcomes over a window; {@code requests} is zero for an idle window. */
+    public record Window(long requests, long errors, long slow, Duration p50, Duration p99) {
+
+        /** Share of requests that did not fail, 1 when idle. */
+        public double availability() {
+            return requests == 0 ? 1.0 : 1.0 - (double) errors / requests;
+        }
+
+        /** Share of successful requests within the latency threshold, 1 when idle. */
+        public double latencyCompliance() {
+            long succeeded = requests - errors;
+            return succeeded == 0 ? 1.0 : 1.0 - (double) slow / succeeded;
+        }
+    }
+
+    static final int BINS = 80;
+    private static final double MIN_MICROS = 100;
+    private static final int BINS_PER_DOUBLING = 4;
+
+    private static final int REQUESTS = 0;
+    private static final int ERRORS = 1;
+    private static final int SLOW = 2;
+    private static final int FIRST_BIN = 3;
+
+    private record Bucket(long epoch, AtomicLongArray counts) {}
+
+    private final AtomicReferenceArray<Bucket> buckets;
+    private final long bucketMillis;
+    private final long thresholdNanos;
+    private final LongSupplier clockMillis;
+
+    public SlidingWindowHistogram(Duration horizon, Duration bucketWidth, Duration latencyThreshold,
+            LongSupplier clockMillis) {
+        if (bucketWidth.isZero() || bucketWidth.isNegative() || horizon.compareTo(bucketWidth) < 0) {
+            throw new IllegalArgumentException("Bucket width must be positive and no longer than the horizon");
+        }
+        this.bucketMillis = bucketWidth.toMillis();
+        // One spare bucket, so a full horizon is still intact while the current bucket fills
+        this.buckets = new AtomicReferenceArray<>(Math.toIntExact(bucketsIn(horizon) + 1));
+        this.thresholdNanos = latencyThreshold.toNanos();
+        this.clockMillis = clockMillis;
+    }
+
+    public void record(long latencyNanos, boolean error) {
+        AtomicLongArray counts = current().counts();
+        counts.incrementAndGet(REQUESTS);
+        if (error) {
+            counts.incrementAndGet(ERRORS);
+        } else if (latencyNanos > thresholdNanos) {
+            counts.incrementAndGet(SLOW);
+        }
+        counts.incrementAndGet(FIRST_BIN + bin(latencyNanos));
+    }
+
+    /**
+     * Outcomes of the requests recorded within {@code window} of now, which must not exceed the horizon.
+     */
+    public Window window(Duration window) {
+        long now = clockMillis.getAsLong() / bucketMillis;
+        long oldest = now - Math.min(bucketsIn(window), buckets.length() - 1) + 1;
+        long[] totals = new long[FIRST_BIN + BINS];
+        for (int slot = 0; slot < buckets.length(); slot++) {
+            Bucket bucket = buckets.get(slot);
+            if (bucket == null || bucket.epoch() < oldest || bucket.epoch() > now) {
+                continue;
+            }
+            for (int i = 0; i < totals.length; i++) {
+                totals[i] += bucket.counts().get(i);
+            }
+        }
+        return new Window(totals[REQUESTS], totals[ERRORS], totals[SLOW], quantile(totals, 0.50),
+                quantile(totals, 0.99));
+    }
+
+    private Bucket current() {
+        long epoch = clockMillis.getAsLong() / bucketMillis;
+        int slot = (int) Math.floorMod(epoch, (long) buckets.length());
+        while (true) {
+            Bucket bucket = buckets.get(slot);
+            if (bucket != null && bucket.epoch() >= epoch) {
+                // A bucket from the future only after the clock stepped back; count into it
+                return bucket;
+            }
+            Bucket fresh = new Bucket(epoch, new AtomicLongArray(FIRST_BIN + BINS));
+            if (buckets.compareAndSet(slot, bucket, fresh)) {
+                return fresh;
+            }
+        }
+    }
+
+    private long bucketsIn(Duration window) {
+        return Math.max(1, (window.toMillis() + bucketMillis - 1) / bucketMillis);
+    }
+
+    static int bin(long latencyNanos) {
+        double micros = latencyNanos / 1_000.0;
+        if (micros <= MIN_MICROS) {
+            return 0;
+        }
+        int bin = (int) Math.ceil(BINS_PER_DOUBLING * Math.log(micros / MIN_MICROS) / Math.log(2));
+        return Math.min(bin, BINS - 1);
+    }
+
+    /** Upper bound of a bin; the last bin is open-ended and reports its lower bound. */
+    static Duration upperBound(int bin) {
+        double micros = MIN_MICROS * Math.pow(2, (double) Math.min(bin, BINS - 2) / BINS_PER_DOUBLING);
+        return Duration.ofNanos(Math.round(micros * TimeUnit.MICROSECONDS.toNanos(1)));
+    }
+
+    private static Duration quantile(long[] totals, double quantile) {
+        // Bins rather than the request count, which a concurrent record may have bumped first
+        long binned = 0;
+        for (int bin = 0; bin < BINS; bin++) {
+            binned += totals[FIRST_BIN + bin];
+        }
+        if (binned == 0) {
+            return Duration.ZERO;
+        }
+        long rank = (long) Math.ceil(quantile * binned);
+        long seen = 0;
+        for (int bin = 0; bin < BINS; bin++) {
+            seen += totals[FIRST_BIN + bin];
+            if (seen >= rank) {
+                return upperBound(bin);
+            }
+        }
+        return upperBound(BINS - 1);
+    }
+}
@@ -0,0 +1,41 @@
+package com.student.student.slo;
+
+import java.io.IOException;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Reports every finished request to the {@link SloMonitor} under its route pattern. A 5xx response or an
+ * exception escaping the handler counts as an error; client errors count as served.
+ */
+@Component
+@RequiredArgsConstructor
+public class SloFilter extends OncePerRequestFilter {
+
+    private final SloMonitor sloMonitor;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long arrival = System.nanoTime();
+        boolean failed = true;
+        try {
+            filterChain.doFilter(request, response);
+            failed = false;
+        } finally {
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            if (pattern != null) {
+                sloMonitor.record(request.getMethod(), pattern.toString(), System.nanoTime() - arrival,
+                        failed || response.getStatus() >= 500);
+            }
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.student.student.slo;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongSupplier;
+import java.util.function.ToDoubleFunction;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.student.student.dto.SloStatusResponse;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Evaluates the configured {@link ServiceLevelObjective}s over sliding windows of the requests
+ * {@link SloFilter} reports, so burn rates and percentiles need no external time series database.
+ *
+ * <p>A burn rate is the window's bad-request share over the share the objective allows: at 1 the error
+ * budget lasts exactly its period. Alerts follow the multi-window rules of the SRE workbook: PAGE when both
+ * the last hour and the last 5 minutes burn faster than 14.4 (2% of a 30-day budget in an hour), TICKET
+ * when both the last 6 hours and the last 30 minutes burn faster than 6 (5% in 6 hours). The short window
+ * stops the alert soon after the burn does. Neither fires before the long window has seen
+ * {@code min-requests}, so one slow request to an idle endpoint does not page.
+ */
+@Component
+@Slf4j
+public class SloMonitor {
+
+    static final Map<String, Duration> WINDOWS = windows();
+
+    private record AlertRule(String severity, String longWindow, String shortWindow, double threshold) {}
+
+    private static final List<AlertRule> ALERT_RULES = List.of(
+            new AlertRule("PAGE", "1h", "5m", 14.4),
+            new AlertRule("TICKET", "6h", "30m", 6));
+
+    private record Tracked(ServiceLevelObjective objective, SlidingWindowHistogram histogram) {}
+
+    private final Map<String, Tracked> objectives = new LinkedHashMap<>();
+    private final long minRequests;
+
+    @Autowired
+    public SloMonitor(@Value("${student.slo.objectives:}") String[] specs,
+            @Value("${student.slo.bucket-width:PT30S}") Duration bucketWidth,
+            @Value("${student.slo.min-requests:100}") long minRequests, MeterRegistry meterRegistry) {
+        this(specs, bucketWidth, minRequests, meterRegistry, System::currentTimeMillis);
+    }
+
+    SloMonitor(String[] specs, Duration bucketWidth, long minRequests, MeterRegistry meterRegistry,
+            LongSupplier clockMillis) {
+        this.minRequests = minRequests;
+        Duration horizon = WINDOWS.values().stream().max(Duration::compareTo).orElseThrow();
+        for (String spec : specs) {
+            if (spec.isBlank()) {
+                continue;
+            }
+            ServiceLevelObjective objective = ServiceLevelObjective.parse(spec);
+            if (objectives.putIfAbsent(objective.name(), new Tracked(objective,
+                    new SlidingWindowHistogram(horizon, bucketWidth, objective.latencyThreshold(), clockMillis))) != null) {
+                throw new IllegalArgumentException("Service level objective for " + objective.name() + " is listed twice");
+            }
+        }
+        objectives.values().forEach(tracked -> registerGauges(tracked, meterRegistry));
+        log.info("Tracking {} service level objectives", objectives.size());
+    }
+
+    /**
+     * Counts a finished request against the objective of its route, if it has one.
+     */
+    public void record(String method, String pattern, long latencyNanos, boolean error) {
+        Tracked tracked = objectives.get(method + " " + pattern);
+        if (tracked != null) {
+            tracked.histogram().record(latencyNanos, error);
+        }
+    }
+
+    public SloStatusResponse status() {
+        List<SloStatusResponse.Objective> evaluated = new ArrayList<>();
+        String status = "OK";
+        for (Tracked tracked : objectives.values()) {
+            ServiceLevelObjective objective = tracked.objective();
+            Map<String, SloStatusResponse.Window> windows = new LinkedHashMap<>();
+            WINDOWS.forEach((name, length) -> windows.put(name, evaluate(objective, tracked.histogram().window(length))));
+            List<SloStatusResponse.Alert> alerts = alerts(windows);
+            for (SloStatusResponse.Alert alert : alerts) {
+                if (status.equals("OK") || alert.severity().equals("PAGE")) {
+                    status = alert.severity();
+                }
+            }
+            evaluated.add(new SloStatusResponse.Objective(objective.name(), objective.latencyThreshold().toMillis(),
+                    objective.latencyTarget(), objective.availabilityTarget(), windows, alerts));
+        }
+        return new SloStatusResponse(status, Instant.now(), evaluated);
+    }
+
+    private static SloStatusResponse.Window evaluate(ServiceLevelObjective objective,
+            SlidingWindowHistogram.Window window) {
+        return new SloStatusResponse.Window(window.requests(), window.availability(), window.latencyCompliance(),
+                window.p50().toNanos() / 1e6, window.p99().toNanos() / 1e6,
+                availabilityBurnRate(objective, window), latencyBurnRate(objective, window));
+    }
+
+    private List<SloStatusResponse.Alert> alerts(Map<String, SloStatusResponse.Window> windows) {
+        List<SloStatusResponse.Alert> alerts = new ArrayList<>();
+        for (AlertRule rule : ALERT_RULES) {
+            SloStatusResponse.Window longWindow = windows.get(rule.longWindow());
+            SloStatusResponse.Window shortWindow = windows.get(rule.shortWindow());
+            if (longWindow.requests() < minRequests) {
+                continue;
+            }
+            if (longWindow.availabilityBurnRate() > rule.threshold() && shortWindow.availabilityBurnRate() > rule.threshold()) {
+                alerts.add(new SloStatusResponse.Alert(rule.severity(), "availability", rule.longWindow(),
+                        rule.shortWindow(), rule.threshold(), longWindow.availabilityBurnRate()));
+            }
+            if (longWindow.latencyBurnRate() > rule.threshold() && shortWindow.latencyBurnRate() > rule.threshold()) {
+                alerts.add(new SloStatusResponse.Alert(rule.severity(), "latency", rule.longWindow(),
+                        rule.shortWindow(), rule.threshold(), longWindow.latencyBurnRate()));
+            }
+        }
+        return alerts;
+    }
+
+    private static double availabilityBurnRate(ServiceLevelObjective objective, SlidingWindowHistogram.Window window) {
+        return (1 - window.availability()) / (1 - objective.availabilityTarget());
+    }
+
+    private static double latencyBurnRate(ServiceLevelObjective objective, SlidingWindowHistogram.Window window) {
+        return (1 - window.latencyCompliance()) / (1 - objective.latencyTarget());
+    }
+
+    private void registerGauges(Tracked tracked, MeterRegistry meterRegistry) {
+        ServiceLevelObjective objective = tracked.objective();
+        WINDOWS.forEach((name, length) -> {
+            gauge(meterRegistry, "student.slo.burn_rate", "Error budget burn rate, 1 spends it exactly on schedule",
+                    tracked, length, window -> availabilityBurnRate(objective, window),
+                    "slo", objective.name(), "sli", "availability", "window", name);
+            gauge(meterRegistry, "student.slo.burn_rate", "Error budget burn rate, 1 spends it exactly on schedule",
+                    tracked, length, window -> latencyBurnRate(objective, window),
+                    "slo", objective.name(), "sli", "latency", "window", name);
+            gauge(meterRegistry, "student.slo.latency", "Latency percentile over the window, in seconds",
+                    tracked, length, window -> window.p99().toNanos() / 1e9,
+                    "slo", objective.name(), "quantile", "0.99", "window", name);
+        });
+        for (AlertRule rule : ALERT_RULES) {
+            Gauge.builder("student.slo.alert", tracked, t -> firing(t, rule) ? 1 : 0)
+                    .description("1 while both windows of the burn rate rule exceed its threshold")
+                    .tags("slo", objective.name(), "severity", rule.severity())
+                    .register(meterRegistry);
+        }
+    }
+
+    private static void gauge(MeterRegistry meterRegistry, String name, String description, Tracked tracked,
+            Duration length, ToDoubleFunction<SlidingWindowHistogram.Window> value, String... tags) {
+        Gauge.builder(name, tracked, t -> value.applyAsDouble(t.histogram().window(length)))
+                .description(description)
+                .tags(tags)
+                .register(meterRegistry);
+    }
+
+    private boolean firing(Tracked tracked, AlertRule rule) {
+        ServiceLevelObjective objective = tracked.objective();
+        SlidingWindowHistogram.Window longWindow = tracked.histogram().window(WINDOWS.get(rule.longWindow()));
+        SlidingWindowHistogram.Window shortWindow = tracked.histogram().window(WINDOWS.get(rule.shortWindow()));
+        if (longWindow.requests() < minRequests) {
+            return false;
+        }
+        return (availabilityBurnRate(objective, longWindow) > rule.threshold()
+                        && availabilityBurnRate(objective, shortWindow) > rule.threshold())
+                || (latencyBurnRate(objective, longWindow) > rule.threshold()
+                        && latencyBurnRate(objective, shortWindow) > rule.threshold());
+    }
+
+    private static Map<String, Duration> windows() {
+        Map<String, Duration> windows = new LinkedHashMap<>();
+        windows.put("5m", Duration.ofMinutes(5));
+        windows.put("30m", Duration.ofMinutes(30));
+        windows.put("1h", Duration.ofHours(1));
+        windows.put("6h", Duration.ofHours(6));
+        return windows;
+    }
+}
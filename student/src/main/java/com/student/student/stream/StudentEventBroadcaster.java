@@ -0,0 +1,265 @@
+package com.student.student.stream;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.student.student.dto.StudentEvent;
+import com.student.student.entity.StudentOutboxEvent;
+import com.student.student.repository.StudentOutboxRepository;
+import com.student.student.shard.ShardRouter;
+import com.student.student.tenant.TenantContext;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Fans relayed outbox events out to SSE subscribers.
+ * Each subscriber has a bounded buffer drained by its own virtual thread, so a slow client never blocks
+ * the relay or other subscribers; a subscriber whose buffer fills up is disconnected and is expected to
+ * reconnect with Last-Event-ID. A subscriber only receives the events of the tenant it subscribed as, so
+ * another tenant's write burst never fills its buffer.
+ * <p>
+ * An SSE event id is the position reached in every shard's outbox: the plain outbox event id when
+ * unsharded, shard positions joined with dots (e.g. {@code 120.97.131}) otherwise.
+ */
+@Component
+@Slf4j
+public class StudentEventBroadcaster {
+
+    private static final int REPLAY_BATCH = 500;
+
+    // Serialised once per event, not once per subscriber
+    private record Frame(int shard, long eventId, String tenant, String name, String json, LocalDateTime occurredAt) {}
+
+    private final StudentOutboxRepository studentOutboxRepository;
+    private final ShardRouter shardRouter;
+    private final ObjectMapper objectMapper;
+    private final int bufferSize;
+    private final Duration heartbeatInterval;
+    private final Duration subscriptionTimeout;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+    private final Counter slowConsumerDisconnects;
+    private final Timer deliveryLatency;
+
+    public StudentEventBroadcaster(StudentOutboxRepository studentOutboxRepository, ShardRouter shardRouter,
+            ObjectMapper objectMapper, MeterRegistry meterRegistry,
+            @Value("${student.stream.buffer-size:256}") int bufferSize,
+            @Value("${student.stream.heartbeat-interval:PT15S}") Duration heartbeatInterval,
+            @Value("${student.stream.subscription-timeout:PT30M}") Duration subscriptionTimeout) {
+        this.studentOutboxRepository = studentOutboxRepository;
+        this.shardRouter = shardRouter;
+        this.objectMapper = objectMapper;
+        this.bufferSize = bufferSize;
+        this.heartbeatInterval = heartbeatInterval;
+        this.subscriptionTimeout = subscriptionTimeout;
+        Gauge.builder("student.stream.subscribers", subscribers, Set::size)
+                .description("Connected student event stream subscribers")
+                .register(meterRegistry);
+        this.slowConsumerDisconnects = Counter.builder("student.stream.slow_consumer_disconnects")
+                .description("Subscribers dropped because their buffer was full")
+                .register(meterRegistry);
+        this.deliveryLatency = Timer.builder("student.stream.delivery.latency")
+                .description("Time from the outbox write to the event being written to a subscriber")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+
+    /**
+     * @param lastEventId id of the last event the client saw, or null to start with live events
+     * @param relayPositions last event id the relay has published, per shard; events up to it are replayed
+     *            from the outbox
+     * @throws IllegalArgumentException if lastEventId is not an id this stream hands out
+     */
+    public SseEmitter subscribe(String lastEventId, Supplier<long[]> relayPositions) {
+        boolean resumed = lastEventId != null;
+        // A new subscriber starts where the relay is now and catches up on whatever it publishes meanwhile
+        long[] from = resumed ? parseEventId(lastEventId, shardRouter.shardCount()) : relayPositions.get();
+        SseEmitter emitter = new SseEmitter(subscriptionTimeout.toMillis());
+        Subscriber subscriber = new Subscriber(TenantContext.current(), emitter, new ArrayBlockingQueue<>(bufferSize));
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(error -> subscriber.close());
+        // Register before reading the relay position so nothing published in between is lost; duplicates are skipped by id
+        subscribers.add(subscriber);
+        long[] replayUpTo = relayPositions.get();
+        senders.execute(() -> subscriber.run(from, resumed, replayUpTo));
+        return emitter;
+    }
+
+    /**
+     * Called from the relay thread only.
+     */
+    public void publish(int shard, StudentOutboxEvent event) {
+        Frame frame = toFrame(shard, event);
+        for (Subscriber subscriber : subscribers) {
+            if (!subscriber.follows(frame.tenant())) {
+                continue;
+            }
+            if (!subscriber.queue.offer(frame)) {
+                slowConsumerDisconnects.increment();
+                log.warn("Disconnecting slow event stream subscriber, {} events buffered", bufferSize);
+                subscriber.closeWithError(new IllegalStateException("Subscriber too slow, reconnect with Last-Event-ID"));
+            }
+        }
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.forEach(Subscriber::close);
+        senders.shutdownNow();
+    }
+
+    static String eventId(long[] positions) {
+        return Arrays.stream(positions).mapToObj(String::valueOf).collect(Collectors.joining("."));
+    }
+
+    static long[] parseEventId(String eventId, int shardCount) {
+        String[] parts = eventId.trim().split("\\.");
+        if (parts.length != shardCount) {
+            throw new IllegalArgumentException("Last-Event-ID " + eventId + " was not issued by this event stream");
+        }
+        long[] positions = new long[shardCount];
+        for (int shard = 0; shard < shardCount; shard++) {
+            positions[shard] = Long.parseLong(parts[shard]);
+        }
+        return positions;
+    }
+
+    private Frame toFrame(int shard, StudentOutboxEvent event) {
+        StudentEvent studentEvent = new StudentEvent(event.getEventId(), event.getEventType(), event.getStudentId(),
+                event.getRollNumber(), event.getCreatedAt(), event.getPayload());
+        try {
+            return new Frame(shard, event.getEventId(), event.getTenantId(), event.getEventType().name().toLowerCase(),
+                    objectMapper.writeValueAsString(studentEvent), event.getCreatedAt());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialise student event " + event.getEventId(), e);
+        }
+    }
+
+    private final class Subscriber {
+
+        // Null for a tenant-blind subscriber, which follows every tenant
+        private final String tenant;
+        private final SseEmitter emitter;
+        private final BlockingQueue<Frame> queue;
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private long[] lastSent;
+
+        private Subscriber(String tenant, SseEmitter emitter, BlockingQueue<Frame> queue) {
+            this.tenant = tenant;
+            this.emitter = emitter;
+            this.queue = queue;
+        }
+
+        private boolean follows(String eventTenant) {
+            return tenant == null || tenant.equals(eventTenant);
+        }
+
+        private void run(long[] from, boolean resumed, long[] relayPositions) {
+            try {
+                lastSent = from.clone();
+                for (int shard = 0; shard < lastSent.length && !closed.get(); shard++) {
+                    replay(shard, resumed, relayPositions[shard]);
+                }
+                while (!closed.get()) {
+                    Frame frame = queue.poll(heartbeatInterval.toMillis(), TimeUnit.MILLISECONDS);
+                    if (frame == null) {
+                        emitter.send(SseEmitter.event().comment("heartbeat"));
+                    } else if (frame.eventId() > lastSent[frame.shard()]) {
+                        send(frame);
+                    }
+                }
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Event stream subscriber went away: {}", e.getMessage());
+                close();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                close();
+            }
+        }
+
+        private void replay(int shard, boolean resumed, long relayPosition) throws IOException {
+            long lastEventId = lastSent[shard];
+            if (resumed) {
+                Long oldest = shardRouter.on(shard, () -> studentOutboxRepository.findMinEventId().orElse(null));
+                if (oldest != null && lastEventId + 1 < oldest) {
+                    // Events were purged; the client has to rebuild its state, e.g. from /changes
+                    emitter.send(SseEmitter.event().name("resync").data("events after " + lastEventId + " are no longer retained"));
+                }
+            }
+            // Runs unbound and reads every tenant's events, so it keeps its own position past other tenants' events
+            long read = lastSent[shard];
+            while (read < relayPosition && !closed.get()) {
+                long after = read;
+                List<StudentOutboxEvent> batch = shardRouter.on(shard, () -> studentOutboxRepository
+                        .findByEventIdGreaterThanOrderByEventIdAsc(after, Limit.of(REPLAY_BATCH)));
+                if (batch.isEmpty()) {
+                    return;
+                }
+                for (StudentOutboxEvent event : batch) {
+                    if (event.getEventId() > relayPosition) {
+                        return;
+                    }
+                    read = event.getEventId();
+                    if (follows(event.getTenantId())) {
+                        send(toFrame(shard, event));
+                    }
+                }
+            }
+        }
+
+        private void send(Frame frame) throws IOException {
+            lastSent[frame.shard()] = frame.eventId();
+            emitter.send(SseEmitter.event()
+                    .id(eventId(lastSent))
+                    .name(frame.name())
+                    .data(frame.json(), MediaType.APPLICATION_JSON));
+            deliveryLatency.record(Duration.between(frame.occurredAt(), LocalDateTime.now()));
+        }
+
+        private void close() {
+            if (closed.compareAndSet(false, true)) {
+                subscribers.remove(this);
+                emitter.complete();
+            }
+        }
+
+        private void closeWithError(Throwable error) {
+            if (closed.compareAndSet(false, true)) {
+                subscribers.remove(this);
+                emitter.completeWithError(error);
+            }
+        }
+    }
+}
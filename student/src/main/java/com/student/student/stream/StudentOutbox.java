@@ -0,0 +1,51 @@
+package com.student.student.stream;
+
+import java.util.UUID;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.student.student.dto.StudentChange;
+import com.student.student.dto.StudentResponse;
+import com.student.student.entity.StudentOutboxEvent;
+import com.student.student.repository.StudentOutboxRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Appends student change events to the outbox. Must be called inside the transaction that performs
+ * the write, so an event exists exactly when the change committed.
+ */
+@Component
+@RequiredArgsConstructor
+public class StudentOutbox {
+
+    private final StudentOutboxRepository studentOutboxRepository;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(StudentChange.Type type, StudentResponse student) {
+        try {
+            studentOutboxRepository.save(StudentOutboxEvent.builder()
+                    .eventType(type)
+                    .studentId(student.studentId())
+                    .rollNumber(student.rollNumber())
+                    .payload(objectMapper.writeValueAsString(student))
+                    .build());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialise student event", e);
+        }
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void appendDeleted(UUID studentId, Integer rollNumber) {
+        studentOutboxRepository.save(StudentOutboxEvent.builder()
+                .eventType(StudentChange.Type.DELETED)
+                .studentId(studentId)
+                .rollNumber(rollNumber)
+                .build());
+    }
+}
@@ -0,0 +1,137 @@
+package com.student.student.stream;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.student.student.entity.StudentOutboxEvent;
+import com.student.student.repository.StudentOutboxRepository;
+import com.student.student.shard.ShardRouter;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Single thread tailing the student outbox in event_id order and handing events to the broadcaster.
+ * event_id is assigned at insert but transactions commit out of order, so a hole in the sequence may be
+ * an event that is still committing: the relay waits up to the gap timeout for it before moving past
+ * (rolled-back inserts leave permanent holes). Sharded, each shard has its own outbox and sequence, tailed
+ * independently by the same thread.
+ */
+@Component
+@Slf4j
+public class StudentOutboxRelay {
+
+    private final StudentOutboxRepository studentOutboxRepository;
+    private final StudentEventBroadcaster studentEventBroadcaster;
+    private final ShardRouter shardRouter;
+    private final int batchSize;
+    private final Duration pollInterval;
+    private final Duration gapTimeout;
+    private final Duration retention;
+
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(
+            runnable -> new Thread(runnable, "student-outbox-relay"));
+
+    // Indexed by shard; replaced, never mutated, so readers see a consistent vector
+    private volatile long[] positions;
+    private final long[] gapSeenAt;
+
+    public StudentOutboxRelay(StudentOutboxRepository studentOutboxRepository,
+            StudentEventBroadcaster studentEventBroadcaster, ShardRouter shardRouter,
+            @Value("${student.stream.relay-batch-size:500}") int batchSize,
+            @Value("${student.stream.poll-interval:PT0.1S}") Duration pollInterval,
+            @Value("${student.stream.gap-timeout:PT2S}") Duration gapTimeout,
+            @Value("${student.stream.retention:PT1H}") Duration retention) {
+        this.studentOutboxRepository = studentOutboxRepository;
+        this.studentEventBroadcaster = studentEventBroadcaster;
+        this.shardRouter = shardRouter;
+        this.batchSize = batchSize;
+        this.pollInterval = pollInterval;
+        this.gapTimeout = gapTimeout;
+        this.retention = retention;
+        this.positions = new long[shardRouter.shardCount()];
+        Arrays.fill(positions, -1);
+        this.gapSeenAt = new long[shardRouter.shardCount()];
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        // Live delivery starts at the current tail; anything older is served by Last-Event-ID replay
+        positions = shardRouter.scatter(() -> studentOutboxRepository.findMaxEventId().orElse(0L)).stream()
+                .mapToLong(Long::longValue).toArray();
+        executor.scheduleWithFixedDelay(this::poll, 0, pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+        log.info("Student outbox relay started at event {}", StudentEventBroadcaster.eventId(positions));
+    }
+
+    /**
+     * Last event id handed to the broadcaster, per shard; -1 until the relay has started.
+     */
+    public long[] positions() {
+        return positions.clone();
+    }
+
+    void poll() {
+        for (int shard = 0; shard < positions.length; shard++) {
+            int target = shard;
+            try {
+                shardRouter.on(target, () -> {
+                    pollShard(target);
+                    return null;
+                });
+            } catch (RuntimeException e) {
+                log.error("Student outbox relay poll of shard {} failed: {}", target, e.getMessage());
+            }
+        }
+    }
+
+    private void pollShard(int shard) {
+        long position = positions[shard];
+        List<StudentOutboxEvent> batch = studentOutboxRepository
+                .findByEventIdGreaterThanOrderByEventIdAsc(position, Limit.of(batchSize));
+        for (StudentOutboxEvent event : batch) {
+            if (event.getEventId() != position + 1) {
+                long now = System.currentTimeMillis();
+                if (gapSeenAt[shard] == 0) {
+                    gapSeenAt[shard] = now;
+                }
+                if (now - gapSeenAt[shard] < gapTimeout.toMillis()) {
+                    return;
+                }
+                log.debug("Skipping outbox gap {}..{} on shard {}", position + 1, event.getEventId() - 1, shard);
+            }
+            gapSeenAt[shard] = 0;
+            position = event.getEventId();
+            long[] next = positions.clone();
+            next[shard] = position;
+            positions = next;
+            studentEventBroadcaster.publish(shard, event);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${student.stream.purge-interval:PT5M}")
+    public void purgeRelayedEvents() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+        int purged = shardRouter.scatter(() -> studentOutboxRepository.deleteOlderThan(cutoff)).stream()
+                .mapToInt(Integer::intValue).sum();
+        if (purged > 0) {
+            log.info("Purged {} student outbox events older than {}", purged, retention);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+}
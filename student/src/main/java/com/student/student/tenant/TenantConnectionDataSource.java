@@ -0,0 +1,105 @@
+package com.student.student.tenant;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import com.student.student.shard.ShardContext;
+
+/**
+ * The API connection pool partitioned into per-tenant bulkheads: a thread working for a tenant takes one
+ * of that tenant's {@code max-connections} slots on the pool (the shard it is bound to) before it takes a
+ * connection, and gives it back when the connection is closed. A tenant holding all of its slots waits for
+ * its own connections, up to {@code connection-wait}, and then fails, while the rest of the pool stays
+ * free for the other tenants. Unbound threads take connections as before.
+ */
+public class TenantConnectionDataSource extends DelegatingDataSource {
+
+    private final Supplier<TenantRegistry> tenantRegistry;
+
+    public TenantConnectionDataSource(DataSource target, Supplier<TenantRegistry> tenantRegistry) {
+        super(target);
+        this.tenantRegistry = tenantRegistry;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return withinBulkhead(() -> super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return withinBulkhead(() -> super.getConnection(username, password));
+    }
+
+    private interface ConnectionSource {
+        Connection get() throws SQLException;
+    }
+
+    private Connection withinBulkhead(ConnectionSource source) throws SQLException {
+        String tenant = TenantContext.current();
+        if (tenant == null) {
+            return source.get();
+        }
+        TenantRegistry registry = tenantRegistry.get();
+        TenantRegistry.Partition partition = registry.partition(tenant);
+        Integer shard = ShardContext.currentShard();
+        int pool = shard == null ? 0 : shard;
+        try {
+            if (!partition.acquireConnection(pool)) {
+                throw new SQLTransientConnectionException(String.format(
+                        "Tenant %s holds all of its connections, none freed up within %d ms", tenant,
+                        registry.connectionWait().toMillis()));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a connection of tenant " + tenant, e);
+        }
+        try {
+            Connection connection = source.get();
+            return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { Connection.class },
+                    new ReleasingHandler(connection, () -> partition.releaseConnection(pool)));
+        } catch (SQLException | RuntimeException e) {
+            partition.releaseConnection(pool);
+            throw e;
+        }
+    }
+
+    /**
+     * Gives the tenant's slot back on the first close of the connection.
+     */
+    private static final class ReleasingHandler implements InvocationHandler {
+
+        private final Connection connection;
+        private final Runnable release;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private ReleasingHandler(Connection connection, Runnable release) {
+            this.connection = connection;
+            this.release = release;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(connection, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            } finally {
+                if (method.getName().equals("close") && released.compareAndSet(false, true)) {
+                    release.run();
+                }
+            }
+        }
+    }
+}
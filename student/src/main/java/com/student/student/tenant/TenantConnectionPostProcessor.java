@@ -0,0 +1,40 @@
+package com.student.student.tenant;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+
+import com.student.student.jdbc.ObservedDataSource;
+import com.student.student.job.JobConnectionDataSource;
+
+/**
+ * Wraps the application DataSource in a {@link TenantConnectionDataSource}. Runs first, so the job pool
+ * that JobConnectionPostProcessor wraps around it next stays outside the tenant bulkheads.
+ */
+@Component
+public class TenantConnectionPostProcessor implements BeanPostProcessor, Ordered {
+
+    private final ObjectProvider<TenantRegistry> tenantRegistry;
+
+    public TenantConnectionPostProcessor(ObjectProvider<TenantRegistry> tenantRegistry) {
+        this.tenantRegistry = tenantRegistry;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof TenantConnectionDataSource)
+                && !(bean instanceof JobConnectionDataSource) && !(bean instanceof ObservedDataSource)) {
+            // Resolved on first use, once a tenant's thread asks for a connection
+            return new TenantConnectionDataSource(dataSource, tenantRegistry::getObject);
+        }
+        return bean;
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+}
@@ -0,0 +1,71 @@
+package com.student.student.tenant;
+
+import java.util.function.Supplier;
+
+/**
+ * The tenant (school) the current thread is working for, bound by {@link TenantFilter} for API requests
+ * and by the gRPC and job entry points. Hibernate scopes entity queries and new rows to it through
+ * {@link TenantIdentifierResolver}. Unbound threads (schedulers, the outbox relay, the lookup filter
+ * rebuild, the warm-up) are tenant-blind and see every tenant's rows.
+ */
+public final class TenantContext {
+
+    /** Tenant of requests without a tenant header, and of every row written before tenancy. */
+    public static final String DEFAULT_TENANT = "default";
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private TenantContext() {
+    }
+
+    /**
+     * Tenant bound to this thread, or null when none is.
+     */
+    public static String current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Runs {@code work} as {@code tenant}; a null tenant runs it unbound.
+     */
+    public static <T> T call(String tenant, Supplier<T> work) {
+        try (Scope scope = open(tenant)) {
+            return work.get();
+        }
+    }
+
+    /**
+     * Binds {@code tenant} (null unbinds) until the returned scope is closed, for callers whose work throws
+     * checked exceptions.
+     */
+    public static Scope open(String tenant) {
+        String previous = CURRENT.get();
+        set(tenant);
+        return new Scope(previous);
+    }
+
+    private static void set(String tenant) {
+        if (tenant == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(tenant);
+        }
+    }
+
+    /**
+     * Restores the tenant bound before {@link #open} when closed.
+     */
+    public static final class Scope implements AutoCloseable {
+
+        private final String previous;
+
+        private Scope(String previous) {
+            this.previous = previous;
+        }
+
+        @Override
+        public void close() {
+            set(previous);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.student.student.tenant;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.student.student.dto.ApiErrorResponse;
+
+import io.micrometer.core.instrument.binder.http.Outcome;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Binds the tenant named by the {@code X-Tenant-Id} header to API requests (/api/**) and holds each tenant
+ * to its quota of concurrent requests: a request over the quota is answered 429 with Retry-After at once,
+ * before any other filter or the database sees it. Health checks and actuator endpoints are tenant-blind.
+ * Every API request is timed under its tenant as student.tenant.requests.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@RequiredArgsConstructor
+public class TenantFilter extends OncePerRequestFilter {
+
+    public static final String TENANT_HEADER = "X-Tenant-Id";
+
+    private final TenantRegistry tenantRegistry;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith(request.getContextPath() + "/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long arrival = System.nanoTime();
+        String tenant;
+        try {
+            tenant = tenantRegistry.resolve(request.getHeader(TENANT_HEADER));
+        } catch (IllegalArgumentException e) {
+            reject(request, response, HttpStatus.BAD_REQUEST, "INVALID_TENANT", e.getMessage());
+            return;
+        }
+        TenantRegistry.Partition partition = tenantRegistry.partition(tenant);
+        if (!partition.tryEnter()) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            reject(request, response, HttpStatus.TOO_MANY_REQUESTS, "TENANT_QUOTA_EXCEEDED",
+                    "Tenant " + tenant + " has too many requests in progress, retry shortly");
+            partition.recordRequest(System.nanoTime() - arrival, Outcome.forStatus(response.getStatus()));
+            return;
+        }
+        try (TenantContext.Scope scope = TenantContext.open(tenant)) {
+            filterChain.doFilter(request, response);
+        } finally {
+            partition.exit();
+            partition.recordRequest(System.nanoTime() - arrival, Outcome.forStatus(response.getStatus()));
+        }
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, HttpStatus status, String error,
+            String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), ApiErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(status.value())
+                .error(error)
+                .message(message)
+                .path(request.getRequestURI())
+                .build());
+    }
+}
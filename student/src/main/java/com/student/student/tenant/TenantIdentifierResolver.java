@@ -0,0 +1,39 @@
+package com.student.student.tenant;
+
+import java.util.Map;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.context.spi.CurrentTenantIdentifierResolver;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tells Hibernate which tenant a session works for when it opens: the tenant bound to the thread, whose
+ * id it then adds to every query on a {@code @TenantId} entity and stamps on new rows. A session opened on
+ * an unbound thread is a root session: it reads every tenant's rows, and new rows go to the default tenant
+ * unless they name their own.
+ */
+@Component
+public class TenantIdentifierResolver implements CurrentTenantIdentifierResolver<String>, HibernatePropertiesCustomizer {
+
+    @Override
+    public String resolveCurrentTenantIdentifier() {
+        String tenant = TenantContext.current();
+        return tenant == null ? TenantContext.DEFAULT_TENANT : tenant;
+    }
+
+    @Override
+    public boolean isRoot(String tenantId) {
+        return TenantContext.current() == null;
+    }
+
+    @Override
+    public boolean validateExistingCurrentSessions() {
+        return false;
+    }
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put(AvailableSettings.MULTI_TENANT_IDENTIFIER_RESOLVER, this);
+    }
+}
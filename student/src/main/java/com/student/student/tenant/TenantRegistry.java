@@ -0,0 +1,220 @@
+package com.student.student.tenant;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.http.Outcome;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Validates tenant ids and holds each tenant's share of the instance: a quota of concurrent requests, a
+ * bulkhead of connections per pool, and its latency metrics. A tenant at its quota is turned away or
+ * waits while the others keep their share.
+ *
+ * <p>The first {@code max-tracked-tenants} tenants seen (allow-listed tenants always) get a partition of
+ * their own; later ones share the {@code other} partition, so a flood of made-up tenant ids can neither
+ * grow memory nor metric cardinality without bound. Partitions only divide capacity: data is always
+ * scoped to the tenant itself.
+ */
+@Component
+@Slf4j
+public class TenantRegistry {
+
+    public static final String OTHER = "other";
+
+    private static final Pattern TENANT_ID = Pattern.compile("[a-z0-9][a-z0-9_-]{0,63}");
+
+    private final MeterRegistry meterRegistry;
+    private final boolean requireHeader;
+    private final Set<String> allowedTenants;
+    private final int maxTrackedTenants;
+    private final int maxConcurrentRequests;
+    private final int maxConnections;
+    private final Duration connectionWait;
+    private final Map<String, Partition> partitions = new ConcurrentHashMap<>();
+    private final Partition other;
+
+    public TenantRegistry(MeterRegistry meterRegistry,
+            @Value("${student.tenancy.require-header:false}") boolean requireHeader,
+            @Value("${student.tenancy.allowed-tenants:}") String[] allowedTenants,
+            @Value("${student.tenancy.max-tracked-tenants:100}") int maxTrackedTenants,
+            @Value("${student.tenancy.max-concurrent-requests:32}") int maxConcurrentRequests,
+            @Value("${student.tenancy.max-connections:10}") int maxConnections,
+            @Value("${student.tenancy.connection-wait:PT2S}") Duration connectionWait) {
+        this.meterRegistry = meterRegistry;
+        this.requireHeader = requireHeader;
+        this.allowedTenants = Arrays.stream(allowedTenants).map(String::trim).filter(tenant -> !tenant.isEmpty())
+                .map(TenantRegistry::normalize).collect(Collectors.toUnmodifiableSet());
+        this.maxTrackedTenants = maxTrackedTenants;
+        this.maxConcurrentRequests = maxConcurrentRequests;
+        this.maxConnections = maxConnections;
+        this.connectionWait = connectionWait;
+        this.other = new Partition(OTHER);
+        partitions.put(TenantContext.DEFAULT_TENANT, new Partition(TenantContext.DEFAULT_TENANT));
+        this.allowedTenants.forEach(tenant -> partitions.computeIfAbsent(tenant, Partition::new));
+        log.info("Tenancy: {} concurrent requests and {} connections per tenant, {}", limit(maxConcurrentRequests),
+                limit(maxConnections), this.allowedTenants.isEmpty() ? "any tenant id accepted"
+                        : this.allowedTenants.size() + " tenants allowed");
+    }
+
+    /**
+     * The tenant a request asks for through its tenant header, normalized to lower case; the default
+     * tenant when the header is absent and not required.
+     *
+     * @throws IllegalArgumentException if the tenant id is missing but required, malformed or not allowed
+     */
+    public String resolve(String requested) {
+        if (requested == null || requested.isBlank()) {
+            if (requireHeader) {
+                throw new IllegalArgumentException("The " + TenantFilter.TENANT_HEADER + " header is required");
+            }
+            return TenantContext.DEFAULT_TENANT;
+        }
+        String tenant = normalize(requested);
+        if (!TENANT_ID.matcher(tenant).matches()) {
+            throw new IllegalArgumentException("Tenant id must be 1 to 64 letters, digits, '-' or '_', got " + requested);
+        }
+        if (!allowedTenants.isEmpty() && !allowedTenants.contains(tenant) && !tenant.equals(TenantContext.DEFAULT_TENANT)) {
+            throw new IllegalArgumentException("Unknown tenant " + tenant);
+        }
+        return tenant;
+    }
+
+    /**
+     * The partition holding {@code tenant}'s quotas and metrics; {@code other} once the tracked tenants are taken.
+     */
+    public Partition partition(String tenant) {
+        Partition partition = partitions.get(tenant);
+        if (partition != null) {
+            return partition;
+        }
+        if (partitions.size() >= maxTrackedTenants) {
+            return other;
+        }
+        // May overshoot the limit by a few under a race; the bound only has to hold roughly
+        return partitions.computeIfAbsent(tenant, Partition::new);
+    }
+
+    public Duration connectionWait() {
+        return connectionWait;
+    }
+
+    private static String normalize(String tenant) {
+        return tenant.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String limit(int limit) {
+        return limit > 0 ? String.valueOf(limit) : "unlimited";
+    }
+
+    /**
+     * One tenant's quotas and metrics, or the ones shared by the untracked tenants.
+     */
+    public final class Partition {
+
+        private final String name;
+        private final Semaphore requests;
+        private final Map<Integer, Semaphore> connections = new ConcurrentHashMap<>();
+        private final AtomicInteger activeConnections = new AtomicInteger();
+        private final Map<Outcome, Timer> latencies = new EnumMap<>(Outcome.class);
+        private final Counter requestRejections;
+        private final Counter connectionRejections;
+
+        private Partition(String name) {
+            this.name = name;
+            this.requests = maxConcurrentRequests > 0 ? new Semaphore(maxConcurrentRequests) : null;
+            for (Outcome outcome : Outcome.values()) {
+                latencies.put(outcome, Timer.builder("student.tenant.requests")
+                        .description("API and gRPC requests by tenant, from arrival to response, including rejected ones")
+                        .tag("tenant", name)
+                        .tag("outcome", outcome.name())
+                        .publishPercentiles(0.5, 0.99)
+                        .register(meterRegistry));
+            }
+            this.requestRejections = rejections("requests");
+            this.connectionRejections = rejections("connections");
+            if (requests != null) {
+                Gauge.builder("student.tenant.requests.active", requests,
+                        semaphore -> maxConcurrentRequests - semaphore.availablePermits())
+                        .description("API requests of the tenant in progress")
+                        .tag("tenant", name)
+                        .register(meterRegistry);
+            }
+            Gauge.builder("student.tenant.connections.active", activeConnections, AtomicInteger::get)
+                    .description("Pooled connections held by the tenant's requests, over all pools")
+                    .tag("tenant", name)
+                    .register(meterRegistry);
+        }
+
+        public String name() {
+            return name;
+        }
+
+        /**
+         * Takes a request slot without waiting; false when the tenant is at its quota.
+         */
+        public boolean tryEnter() {
+            if (requests == null || requests.tryAcquire()) {
+                return true;
+            }
+            requestRejections.increment();
+            return false;
+        }
+
+        public void exit() {
+            if (requests != null) {
+                requests.release();
+            }
+        }
+
+        /**
+         * Takes one of the tenant's connection slots on {@code pool} (the shard), waiting up to the configured
+         * connection wait; false when none freed up in time.
+         */
+        public boolean acquireConnection(int pool) throws InterruptedException {
+            if (maxConnections > 0 && !connections.computeIfAbsent(pool, key -> new Semaphore(maxConnections))
+                    .tryAcquire(connectionWait.toNanos(), TimeUnit.NANOSECONDS)) {
+                connectionRejections.increment();
+                return false;
+            }
+            activeConnections.incrementAndGet();
+            return true;
+        }
+
+        public void releaseConnection(int pool) {
+            activeConnections.decrementAndGet();
+            if (maxConnections > 0) {
+                connections.get(pool).release();
+            }
+        }
+
+        public void recordRequest(long nanos, Outcome outcome) {
+            latencies.get(outcome).record(nanos, TimeUnit.NANOSECONDS);
+        }
+
+        private Counter rejections(String limit) {
+            return Counter.builder("student.tenant.rejected")
+                    .description("Requests turned away because the tenant was at its request quota or connection bulkhead")
+                    .tag("tenant", name)
+                    .tag("limit", limit)
+                    .register(meterRegistry);
+        }
+    }
+}
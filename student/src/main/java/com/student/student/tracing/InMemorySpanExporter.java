@@ -0,0 +1,70 @@
+package com.student.student.tracing;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.List;
+
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+
+/**
+ * Keeps the most recent exported spans in a bounded ring, oldest evicted first, for {@link SpansEndpoint}.
+ */
+public class InMemorySpanExporter implements SpanExporter {
+
+    private final int capacity;
+    private final ArrayDeque<RecordedSpan> spans;
+
+    public InMemorySpanExporter(int capacity) {
+        this.capacity = capacity;
+        this.spans = new ArrayDeque<>(capacity);
+    }
+
+    @Override
+    public CompletableResultCode export(Collection<SpanData> batch) {
+        List<RecordedSpan> recorded = batch.stream().map(RecordedSpan::from).toList();
+        synchronized (spans) {
+            for (RecordedSpan span : recorded) {
+                if (spans.size() == capacity) {
+                    spans.removeFirst();
+                }
+                spans.addLast(span);
+            }
+        }
+        return CompletableResultCode.ofSuccess();
+    }
+
+    /**
+     * Spans of one trace in start order, or the whole ring when {@code traceId} is null.
+     */
+    public List<RecordedSpan> spans(String traceId) {
+        List<RecordedSpan> snapshot;
+        synchronized (spans) {
+            snapshot = List.copyOf(spans);
+        }
+        if (traceId == null) {
+            return snapshot;
+        }
+        return snapshot.stream()
+                .filter(span -> span.traceId().equals(traceId))
+                .sorted((a, b) -> a.start().compareTo(b.start()))
+                .toList();
+    }
+
+    public void clear() {
+        synchronized (spans) {
+            spans.clear();
+        }
+    }
+
+    @Override
+    public CompletableResultCode flush() {
+        return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public CompletableResultCode shutdown() {
+        return CompletableResultCode.ofSuccess();
+    }
+}
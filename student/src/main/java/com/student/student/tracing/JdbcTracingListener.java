@@ -0,0 +1,61 @@
+package com.student.student.tracing;
+
+import java.time.Instant;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.stereotype.Component;
+
+import com.student.student.jdbc.JdbcExecution;
+import com.student.student.jdbc.JdbcExecutionListener;
+import com.student.student.profiling.SlowQueryRecorder;
+
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * One client span per JDBC statement inside a sampled trace. The listener runs after the statement, so the
+ * span is back-dated by the measured execution time. Row counts are recorded for writes; for reads the
+ * enclosing service span carries the number of rows returned.
+ */
+@Component
+@RequiredArgsConstructor
+public class JdbcTracingListener implements JdbcExecutionListener {
+
+    private final Tracer tracer;
+
+    @Override
+    public void afterExecution(JdbcExecution execution) {
+        if (!TracingSupport.inSampledSpan(tracer)) {
+            return;
+        }
+        Instant now = Instant.now();
+        long endNanos = TimeUnit.SECONDS.toNanos(now.getEpochSecond()) + now.getNano();
+        String operation = operation(execution.sql());
+        Span span = tracer.spanBuilder()
+                .name("jdbc " + operation)
+                .kind(Span.Kind.CLIENT)
+                .tag("db.system", "postgresql")
+                .tag("db.operation", operation)
+                .tag("db.statement", SlowQueryRecorder.normalize(execution.sql()))
+                .startTimestamp(endNanos - execution.elapsedNanos(), TimeUnit.NANOSECONDS)
+                .start();
+        if (execution.updateCount() >= 0) {
+            span.tag("db.rows_affected", execution.updateCount());
+        }
+        if (execution.failed()) {
+            span.tag("error", "true");
+        }
+        span.end(endNanos, TimeUnit.NANOSECONDS);
+    }
+
+    static String operation(String sql) {
+        String trimmed = sql.stripLeading();
+        int end = 0;
+        while (end < trimmed.length() && Character.isLetter(trimmed.charAt(end))) {
+            end++;
+        }
+        return end == 0 ? "statement" : trimmed.substring(0, end).toLowerCase(Locale.ROOT);
+    }
+}
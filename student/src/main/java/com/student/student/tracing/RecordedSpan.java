@@ -0,0 +1,39 @@
+package com.student.student.tracing;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import io.opentelemetry.sdk.trace.data.SpanData;
+
+/**
+ * Exported span as kept in memory and written by the file exporter.
+ *
+ * @param parentSpanId null for the root span of a trace
+ * @param status UNSET, OK or ERROR
+ */
+public record RecordedSpan(
+    String traceId,
+    String spanId,
+    String parentSpanId,
+    String name,
+    String kind,
+    Instant start,
+    long durationMicros,
+    String status,
+    Map<String, Object> attributes
+) {
+
+    public static RecordedSpan from(SpanData span) {
+        Map<String, Object> attributes = new LinkedHashMap<>();
+        span.getAttributes().forEach((key, value) -> attributes.put(key.getKey(), value));
+        String parentSpanId = span.getParentSpanContext().isValid() ? span.getParentSpanId() : null;
+        return new RecordedSpan(span.getTraceId(), span.getSpanId(), parentSpanId, span.getName(),
+                span.getKind().name(),
+                Instant.EPOCH.plusNanos(span.getStartEpochNanos()),
+                TimeUnit.NANOSECONDS.toMicros(span.getEndEpochNanos() - span.getStartEpochNanos()),
+                span.getStatus().getStatusCode().name(),
+                attributes);
+    }
+}
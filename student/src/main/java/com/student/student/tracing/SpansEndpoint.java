@@ -0,0 +1,33 @@
+package com.student.student.tracing;
+
+import java.util.List;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * {@code /actuator/spans}: GET lists the spans held by the in-memory exporter, optionally only those of one
+ * trace ({@code ?traceId=}); DELETE clears them. Only registered when the memory exporter is selected. Span
+ * attributes carry request URLs (student emails included) and statements, so like every actuator endpoint
+ * this one is only reachable on the management port, which listens on loopback.
+ */
+@Endpoint(id = "spans")
+@RequiredArgsConstructor
+public class SpansEndpoint {
+
+    private final InMemorySpanExporter exporter;
+
+    @ReadOperation
+    public List<RecordedSpan> spans(@Nullable String traceId) {
+        return exporter.spans(traceId);
+    }
+
+    @DeleteOperation
+    public void clear() {
+        exporter.clear();
+    }
+}
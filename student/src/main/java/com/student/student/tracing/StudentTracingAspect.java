@@ -0,0 +1,63 @@
+package com.student.student.tracing;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import com.student.student.profiling.OperationAttributes;
+
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Child spans for {@code StudentController} and {@code StudentService} methods under the HTTP server span.
+ * Sampling is decided once at the root: calls outside a sampled trace proceed without creating a span.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class StudentTracingAspect {
+
+    private final Tracer tracer;
+
+    @Around("execution(public * com.student.student.controller.StudentController.*(..))")
+    public Object traceController(ProceedingJoinPoint joinPoint) throws Throwable {
+        return trace(joinPoint, "controller");
+    }
+
+    @Around("execution(public * com.student.student.service.StudentService.*(..))")
+    public Object traceService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return trace(joinPoint, "service");
+    }
+
+    private Object trace(ProceedingJoinPoint joinPoint, String layer) throws Throwable {
+        if (!TracingSupport.inSampledSpan(tracer)) {
+            return joinPoint.proceed();
+        }
+        String method = joinPoint.getSignature().getName();
+        Span span = tracer.nextSpan()
+                .name(joinPoint.getSignature().getDeclaringType().getSimpleName() + "." + method)
+                .tag("student.layer", layer)
+                .start();
+        String keyType = OperationAttributes.keyType(method, joinPoint.getArgs());
+        if (!keyType.isEmpty()) {
+            span.tag("student.key_type", keyType);
+        }
+        try (Tracer.SpanInScope scope = tracer.withSpan(span)) {
+            Object result = joinPoint.proceed();
+            int rows = OperationAttributes.rowCount(result instanceof ResponseEntity<?> response ? response.getBody() : result);
+            if (rows >= 0) {
+                span.tag("student.row_count", rows);
+            }
+            return result;
+        } catch (Throwable e) {
+            span.error(e);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+}
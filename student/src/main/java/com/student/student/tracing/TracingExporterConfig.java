@@ -0,0 +1,47 @@
+package com.student.student.tracing;
+
+import java.nio.file.Path;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Local span sinks selected by {@code student.tracing.exporter}: {@code memory} (default), {@code file} or
+ * {@code none}. Spring Boot hands every SpanExporter bean to one BatchSpanProcessor, so spans are exported
+ * asynchronously in batches; a collector exporter (e.g. OTLP) can be added as another bean alongside these.
+ */
+@Configuration(proxyBeanMethods = false)
+public class TracingExporterConfig {
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnProperty(name = "student.tracing.exporter", havingValue = "memory", matchIfMissing = true)
+    static class InMemory {
+
+        @Bean
+        InMemorySpanExporter inMemorySpanExporter(@Value("${student.tracing.memory.capacity:2000}") int capacity) {
+            return new InMemorySpanExporter(capacity);
+        }
+
+        @Bean
+        SpansEndpoint spansEndpoint(InMemorySpanExporter inMemorySpanExporter) {
+            return new SpansEndpoint(inMemorySpanExporter);
+        }
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnProperty(name = "student.tracing.exporter", havingValue = "file")
+    static class File {
+
+        @Bean
+        JsonLinesSpanExporter jsonLinesSpanExporter(ObjectMapper objectMapper,
+                @Value("${student.tracing.file.path:traces/spans.jsonl}") Path path,
+                @Value("${student.tracing.file.max-size:50MB}") DataSize maxSize) {
+            return new JsonLinesSpanExporter(objectMapper, path, maxSize.toBytes());
+        }
+    }
+}
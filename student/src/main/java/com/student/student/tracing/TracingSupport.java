@@ -0,0 +1,15 @@
+package com.student.student.tracing;
+
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+
+final class TracingSupport {
+
+    private TracingSupport() {
+    }
+
+    static boolean inSampledSpan(Tracer tracer) {
+        Span current = tracer.currentSpan();
+        return current != null && Boolean.TRUE.equals(current.context().sampled());
+    }
+}
@@ -0,0 +1,104 @@
+package com.student.student.traffic;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.student.student.cache.LookupKey;
+
+/**
+ * Reduces a JSON request body to its shape: field names and structure are kept, every scalar is replaced
+ * by a type token, so no personal data reaches the recording.
+ * <ul>
+ * <li>{@code email}, {@code date}, {@code uuid}, {@code digits}: strings of that form</li>
+ * <li>{@code str:<length>}: any other string</li>
+ * <li>{@code =VALUE}: {@link LookupKey} constants, kept verbatim; any other upper-case string could be a name</li>
+ * <li>{@code int}, {@code num}, {@code bool}, {@code null}</li>
+ * <li>{@code ["*<n>", <shape>]}: an array of n elements shaped like its first element</li>
+ * <li>{@code raw:<bytes>}: a body that is not JSON</li>
+ * </ul>
+ */
+public final class BodyShape {
+
+    private static final Pattern EMAIL = Pattern.compile("[^@\\s]+@[^@\\s]+");
+    private static final Pattern DATE = Pattern.compile("\\d{4}-\\d{2}-\\d{2}");
+    private static final Pattern UUID = Pattern.compile("\\p{XDigit}{8}-\\p{XDigit}{4}-\\p{XDigit}{4}-\\p{XDigit}{4}-\\p{XDigit}{12}");
+    private static final Pattern DIGITS = Pattern.compile("\\d{1,18}");
+    private static final Set<String> CONSTANTS = Arrays.stream(LookupKey.values()).map(Enum::name).collect(Collectors.toSet());
+
+    private static final JsonNodeFactory NODES = JsonNodeFactory.instance;
+
+    private BodyShape() {
+    }
+
+    public static String of(ObjectMapper objectMapper, byte[] body) {
+        if (body.length == 0) {
+            return "-";
+        }
+        try {
+            return objectMapper.writeValueAsString(shape(objectMapper.readTree(body)));
+        } catch (Exception e) {
+            return "raw:" + body.length;
+        }
+    }
+
+    static JsonNode shape(JsonNode node) {
+        if (node.isObject()) {
+            ObjectNode shaped = NODES.objectNode();
+            for (Iterator<Map.Entry<String, JsonNode>> fields = node.fields(); fields.hasNext();) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                shaped.set(field.getKey(), shape(field.getValue()));
+            }
+            return shaped;
+        }
+        if (node.isArray()) {
+            ArrayNode shaped = NODES.arrayNode();
+            if (!node.isEmpty()) {
+                shaped.add("*" + node.size());
+                shaped.add(shape(node.get(0)));
+            }
+            return shaped;
+        }
+        return NODES.textNode(token(node));
+    }
+
+    private static String token(JsonNode node) {
+        if (node.isTextual()) {
+            String value = node.textValue();
+            if (EMAIL.matcher(value).matches()) {
+                return "email";
+            }
+            if (DATE.matcher(value).matches()) {
+                return "date";
+            }
+            if (UUID.matcher(value).matches()) {
+                return "uuid";
+            }
+            if (DIGITS.matcher(value).matches()) {
+                return "digits";
+            }
+            if (CONSTANTS.contains(value)) {
+                return "=" + value;
+            }
+            return "str:" + value.length();
+        }
+        if (node.isIntegralNumber()) {
+            return "int";
+        }
+        if (node.isNumber()) {
+            return "num";
+        }
+        if (node.isBoolean()) {
+            return "bool";
+        }
+        return "null";
+    }
+}
@@ -0,0 +1,148 @@
+package com.student.student.traffic;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Appends recorded requests to the traffic file from a single background thread. Request threads only
+ * offer to a bounded queue; when it is full, or the file has reached its size limit, the request is
+ * dropped from the recording and counted.
+ * <p>
+ * File format, one request per line after a {@code #} header, tab separated:
+ * {@code offsetMicros method pattern query status durationMicros bodyShape}, where offsetMicros is the
+ * arrival time since recording start and absent values are {@code -}. Lines are written in completion
+ * order; replay sorts them by offset.
+ */
+@Component
+@ConditionalOnProperty(name = "student.traffic-recording.enabled", havingValue = "true")
+@Slf4j
+public class TrafficRecorder {
+
+    public record RecordedRequest(
+        long arrivalNanos,
+        String method,
+        String pattern,
+        String query,
+        int status,
+        long durationNanos,
+        String bodyShape
+    ) {}
+
+    private final Path path;
+    private final long maxBytes;
+    private final double sampleRate;
+    private final BlockingQueue<RecordedRequest> queue;
+    private final Counter recorded;
+    private final Counter dropped;
+    private final long startNanos = System.nanoTime();
+    private final Thread writerThread;
+
+    private volatile boolean full;
+
+    public TrafficRecorder(MeterRegistry meterRegistry,
+            @Value("${student.traffic-recording.path:traffic/students.traffic}") Path path,
+            @Value("${student.traffic-recording.max-size:200MB}") DataSize maxSize,
+            @Value("${student.traffic-recording.sample-rate:0.1}") double sampleRate,
+            @Value("${student.traffic-recording.queue-capacity:10000}") int queueCapacity) {
+        this.path = path;
+        this.maxBytes = maxSize.toBytes();
+        this.sampleRate = sampleRate;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.recorded = Counter.builder("student.traffic.recorded")
+                .description("Requests written to the traffic recording")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("student.traffic.dropped")
+                .description("Sampled requests left out of the recording because the queue or file was full")
+                .register(meterRegistry);
+        this.writerThread = Thread.ofPlatform().name("traffic-recorder").daemon().start(this::writeLoop);
+        log.info("Recording {}% of student API traffic to {}", sampleRate * 100, path.toAbsolutePath());
+    }
+
+    public double sampleRate() {
+        return sampleRate;
+    }
+
+    public void record(RecordedRequest request) {
+        if (full || !queue.offer(request)) {
+            dropped.increment();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        writerThread.interrupt();
+        writerThread.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    private void writeLoop() {
+        try (BufferedWriter writer = open()) {
+            long written = Files.size(path);
+            while (written < maxBytes) {
+                RecordedRequest request;
+                try {
+                    request = queue.poll(1, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    break;
+                }
+                if (request == null) {
+                    writer.flush();
+                    continue;
+                }
+                written += write(writer, request);
+            }
+            // on shutdown, keep what was already accepted
+            for (RecordedRequest request; written < maxBytes && (request = queue.poll()) != null;) {
+                written += write(writer, request);
+            }
+            if (written >= maxBytes) {
+                full = true;
+                log.warn("Traffic recording {} reached {} bytes, no longer recording", path, maxBytes);
+            }
+        } catch (IOException e) {
+            full = true;
+            log.error("Traffic recording to {} failed, no longer recording: {}", path, e.getMessage());
+        }
+    }
+
+    private BufferedWriter open() throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        writer.write("# student-traffic v1 started=" + Instant.now() + " sample-rate=" + sampleRate + "\n");
+        return writer;
+    }
+
+    private int write(BufferedWriter writer, RecordedRequest request) throws IOException {
+        String line = TimeUnit.NANOSECONDS.toMicros(request.arrivalNanos() - startNanos) + "\t"
+                + request.method() + "\t"
+                + request.pattern() + "\t"
+                + request.query() + "\t"
+                + request.status() + "\t"
+                + TimeUnit.NANOSECONDS.toMicros(request.durationNanos()) + "\t"
+                + request.bodyShape() + "\n";
+        writer.write(line);
+        recorded.increment();
+        return line.length();
+    }
+}
@@ -0,0 +1,66 @@
+package com.student.student.traffic;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingRequestWrapper;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Records a sample of student API requests for later replay. Only the route pattern is kept, never the
+ * concrete path, so ids, emails and roll numbers are dropped; query values are dropped except
+ * {@code fields}; bodies are reduced to their {@link BodyShape}. Headers are not recorded. The event
+ * stream is skipped since its connections are long-lived.
+ */
+@Component
+@ConditionalOnProperty(name = "student.traffic-recording.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class TrafficRecordingFilter extends OncePerRequestFilter {
+
+    private static final String API_PREFIX = "/api/v1/students";
+    private static final int MAX_BODY_BYTES = 64 * 1024;
+
+    private final TrafficRecorder trafficRecorder;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        return !path.startsWith(API_PREFIX) || path.endsWith("/stream");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (ThreadLocalRandom.current().nextDouble() >= trafficRecorder.sampleRate()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        long arrival = System.nanoTime();
+        ContentCachingRequestWrapper wrapped = new ContentCachingRequestWrapper(request, MAX_BODY_BYTES);
+        try {
+            filterChain.doFilter(wrapped, response);
+        } finally {
+            Object pattern = wrapped.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            trafficRecorder.record(new TrafficRecorder.RecordedRequest(arrival, request.getMethod(),
+                    pattern != null ? pattern.toString() : "-", query(request), response.getStatus(),
+                    System.nanoTime() - arrival, BodyShape.of(objectMapper, wrapped.getContentAsByteArray())));
+        }
+    }
+
+    private static String query(HttpServletRequest request) {
+        String fields = request.getParameter("fields");
+        return fields != null ? "fields=" + fields.replaceAll("[^A-Za-z0-9_,]", "") : "-";
+    }
+}
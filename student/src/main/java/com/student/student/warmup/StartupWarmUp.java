@@ -0,0 +1,174 @@
+package com.student.student.warmup;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.CompilationMXBean;
+import java.lang.management.ManagementFactory;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.student.student.dto.StudentResponse;
+import com.student.student.entity.Student;
+import com.student.student.repository.StudentRepository;
+import com.student.student.service.StudentService;
+import com.student.student.shard.ShardRouter;
+import com.student.student.shard.ShardRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Warms a fresh instance up before it takes traffic: opens every pooled connection, then replays read-only
+ * lookups of existing students through {@link StudentService} and Jackson, round after round, until JIT
+ * compilation settles (a round spends less than {@code settle-ratio} of its time compiling, twice in a row)
+ * or {@code max-duration} runs out.
+ *
+ * <p>Runs on the startup thread as the last ApplicationReadyEvent listener. Spring Boot marks the
+ * application ready to accept traffic only after those listeners return, so the readiness state (and
+ * /healthcheck) flips once the warm-up is done; liveness is unaffected. Pool connections beyond
+ * {@code minimum-idle} are retired again after Hikari's idle timeout.
+ */
+@Component
+@Slf4j
+public class StartupWarmUp {
+
+    private final DataSource dataSource;
+    private final StudentService studentService;
+    private final StudentRepository studentRepository;
+    private final ShardRouter shardRouter;
+    private final ObjectMapper objectMapper;
+    private final Timer warmUps;
+    private final boolean enabled;
+    private final Duration maxDuration;
+    private final int sampleSize;
+    private final double settleRatio;
+
+    public StartupWarmUp(DataSource dataSource, StudentService studentService, StudentRepository studentRepository,
+            ShardRouter shardRouter, ObjectMapper objectMapper, MeterRegistry meterRegistry,
+            @Value("${student.warmup.enabled:true}") boolean enabled,
+            @Value("${student.warmup.max-duration:PT30S}") Duration maxDuration,
+            @Value("${student.warmup.sample-size:100}") int sampleSize,
+            @Value("${student.warmup.settle-ratio:0.05}") double settleRatio) {
+        this.dataSource = dataSource;
+        this.studentService = studentService;
+        this.studentRepository = studentRepository;
+        this.shardRouter = shardRouter;
+        this.objectMapper = objectMapper;
+        this.warmUps = Timer.builder("student.warmup")
+                .description("Time from application ready to accepting traffic, spent filling pools and compiling")
+                .register(meterRegistry);
+        this.enabled = enabled;
+        this.maxDuration = maxDuration;
+        this.sampleSize = sampleSize;
+        this.settleRatio = settleRatio;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void warmUp() {
+        if (!enabled) {
+            return;
+        }
+        long started = System.nanoTime();
+        try {
+            int connections = fillPools();
+            int rounds = exercise(started + maxDuration.toNanos());
+            Duration took = Duration.ofNanos(System.nanoTime() - started);
+            warmUps.record(took);
+            log.info("Warmed up in {} ms: {} pooled connections opened, {} lookup rounds", took.toMillis(),
+                    connections, rounds);
+        } catch (RuntimeException | SQLException e) {
+            // A failed warm-up only costs latency; the instance still becomes ready
+            log.warn("Warm-up failed after {} ms, accepting traffic anyway: {}",
+                    Duration.ofNanos(System.nanoTime() - started).toMillis(), e.getMessage());
+        }
+    }
+
+    /**
+     * Borrows every connection of each pool at once, so the first burst of requests does not wait for
+     * connections to be established; returns how many were held.
+     */
+    private int fillPools() throws SQLException {
+        List<? extends DataSource> pools = dataSource.isWrapperFor(ShardRoutingDataSource.class)
+                ? dataSource.unwrap(ShardRoutingDataSource.class).shards()
+                : List.of(dataSource);
+        int held = 0;
+        for (DataSource pool : pools) {
+            if (!pool.isWrapperFor(HikariDataSource.class)) {
+                continue;
+            }
+            List<Connection> connections = new ArrayList<>();
+            try {
+                int size = pool.unwrap(HikariDataSource.class).getMaximumPoolSize();
+                for (int i = 0; i < size; i++) {
+                    connections.add(pool.getConnection());
+                }
+                held += connections.size();
+            } finally {
+                for (Connection connection : connections) {
+                    connection.close();
+                }
+            }
+        }
+        return held;
+    }
+
+    /**
+     * Replays lookups until compilation settles or the deadline passes; returns the rounds run.
+     */
+    private int exercise(long deadline) {
+        List<Student> sample = shardRouter.scatter(
+                () -> studentRepository.findAll(PageRequest.of(0, sampleSize)).getContent())
+                .stream().flatMap(List::stream).toList();
+        if (sample.isEmpty()) {
+            log.info("No students to warm up with, skipping the lookup rounds");
+            return 0;
+        }
+        CompilationMXBean compiler = ManagementFactory.getCompilationMXBean();
+        boolean observable = compiler != null && compiler.isCompilationTimeMonitoringSupported();
+        int rounds = 0;
+        int settledRounds = 0;
+        while (System.nanoTime() < deadline && settledRounds < 2) {
+            long roundStarted = System.nanoTime();
+            long compiledBefore = observable ? compiler.getTotalCompilationTime() : 0;
+            for (Student student : sample) {
+                lookUp(student);
+            }
+            rounds++;
+            if (observable) {
+                double compilingMillis = compiler.getTotalCompilationTime() - compiledBefore;
+                double roundMillis = Math.max(System.nanoTime() - roundStarted, 1) / 1e6;
+                settledRounds = compilingMillis / roundMillis < settleRatio ? settledRounds + 1 : 0;
+            }
+        }
+        return rounds;
+    }
+
+    private void lookUp(Student student) {
+        try {
+            StudentResponse byId = studentService.getStudentById(student.getStudentId());
+            StudentResponse byEmail = studentService.getStudentByEmail(student.getEmail());
+            StudentResponse byRollNumber = studentService.getStudentByRollNumber(student.getRollNumber());
+            objectMapper.writeValueAsBytes(List.of(byEmail, byRollNumber));
+            objectMapper.readValue(objectMapper.writeValueAsBytes(byId), StudentResponse.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+-- V1__Create_student_directory.sql
+
+-- Global directory of a sharded deployment (student.sharding): maps the secondary keys of every student to
+-- its id, which in turn determines the shard. Lives in its own database, migrated separately from the shards.
+-- The unique indexes enforce email and roll number uniqueness across shards.
+CREATE TABLE IF NOT EXISTS student_directory (
+    student_id UUID PRIMARY KEY,
+    email_lower VARCHAR(255) NOT NULL,
+    roll_number INTEGER NOT NULL
+);
+
+CREATE UNIQUE INDEX IF NOT EXISTS ux_student_directory_email_lower ON student_directory (email_lower);
+CREATE UNIQUE INDEX IF NOT EXISTS ux_student_directory_roll_number ON student_directory (roll_number);
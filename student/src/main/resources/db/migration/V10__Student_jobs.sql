@@ -0,0 +1,27 @@
+-- V10__Student_jobs.sql
+
+-- Long-running imports, exports and archival runs submitted through /api/v1/jobs (see JobRunner).
+-- A job is run by one instance (owner), which keeps its input and result files; when that instance
+-- restarts, its RUNNING jobs are queued again and resume from their checkpoint. Sharded, jobs live on
+-- shard 0 only.
+CREATE TABLE IF NOT EXISTS student_jobs (
+    job_id UUID PRIMARY KEY,
+    job_type VARCHAR(16) NOT NULL,
+    status VARCHAR(16) NOT NULL,
+    -- Handler-specific resume position, JSON
+    checkpoint TEXT,
+    processed BIGINT NOT NULL DEFAULT 0,
+    failed BIGINT NOT NULL DEFAULT 0,
+    total BIGINT,
+    error TEXT,
+    -- Instance running the job; its local file store holds the input and result files
+    owner VARCHAR(128),
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT clock_timestamp(),
+    started_at TIMESTAMP WITH TIME ZONE,
+    finished_at TIMESTAMP WITH TIME ZONE,
+    -- Last progress report
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT clock_timestamp()
+);
+
+CREATE INDEX IF NOT EXISTS idx_student_jobs_queued ON student_jobs (created_at) WHERE status = 'QUEUED';
+CREATE INDEX IF NOT EXISTS idx_student_jobs_finished_at ON student_jobs (finished_at) WHERE finished_at IS NOT NULL;
@@ -0,0 +1,4 @@
+-- V11__Student_job_parameters.sql
+
+-- Options a job was submitted with, JSON; only SNAPSHOT jobs take any (columns, updatedSince).
+ALTER TABLE student_jobs ADD COLUMN IF NOT EXISTS parameters TEXT;
@@ -0,0 +1,31 @@
+-- V12__Student_tenants.sql
+
+-- One deployment serves many schools (tenants). Every student row belongs to exactly one tenant; rows that
+-- predate tenancy belong to 'default', the tenant of requests without an X-Tenant-Id header. Hibernate
+-- adds the tenant predicate to entity queries (@TenantId), the native queries on the request path add it
+-- themselves. Email and roll number stay unique across all tenants: the sharding directory and the lookup
+-- filter key on them alone.
+ALTER TABLE students ADD COLUMN IF NOT EXISTS tenant_id VARCHAR(64) NOT NULL DEFAULT 'default';
+ALTER TABLE students_archive ADD COLUMN IF NOT EXISTS tenant_id VARCHAR(64) NOT NULL DEFAULT 'default';
+ALTER TABLE student_tombstones ADD COLUMN IF NOT EXISTS tenant_id VARCHAR(64) NOT NULL DEFAULT 'default';
+ALTER TABLE student_outbox ADD COLUMN IF NOT EXISTS tenant_id VARCHAR(64) NOT NULL DEFAULT 'default';
+-- Tenant that submitted the job; the job runs as that tenant
+ALTER TABLE student_jobs ADD COLUMN IF NOT EXISTS tenant_id VARCHAR(64) NOT NULL DEFAULT 'default';
+
+-- A tenant's change feed and listing read only its own rows instead of filtering everyone's. The
+-- (updated_at, student_id) index stays for the tenant-blind lookup filter catch-up.
+CREATE INDEX IF NOT EXISTS idx_students_tenant_updated_at_id ON students(tenant_id, updated_at, student_id);
+CREATE INDEX IF NOT EXISTS idx_student_tombstones_tenant_deleted_at_id ON student_tombstones(tenant_id, deleted_at, student_id);
+
+-- Tombstones keep the tenant of the deleted student, so the feed of one tenant never reports another's deletes
+CREATE OR REPLACE FUNCTION record_student_tombstone() RETURNS trigger AS $$
+BEGIN
+    IF current_setting('student.archiving', true) = 'on' THEN
+        RETURN OLD;
+    END IF;
+    INSERT INTO student_tombstones (student_id, roll_number, tenant_id)
+    VALUES (OLD.student_id, OLD.roll_number, OLD.tenant_id)
+    ON CONFLICT (student_id) DO UPDATE SET deleted_at = EXCLUDED.deleted_at, tenant_id = EXCLUDED.tenant_id;
+    RETURN OLD;
+END
+$$ LANGUAGE plpgsql;
@@ -0,0 +1,56 @@
+-- V13__Student_stats_per_tenant.sql
+
+-- GET /students/stats answers for the caller's tenant, so the summary counters are kept per tenant too.
+-- The counters before this migration mixed every tenant; they are recounted from students and
+-- students_archive (archived students keep counting, see V9). Writes wait for the recount, so none is
+-- counted twice or missed.
+LOCK TABLE students, students_archive, student_stats IN SHARE ROW EXCLUSIVE MODE;
+
+ALTER TABLE student_stats ADD COLUMN IF NOT EXISTS tenant_id VARCHAR(64) NOT NULL DEFAULT 'default';
+ALTER TABLE student_stats DROP CONSTRAINT IF EXISTS student_stats_pkey;
+ALTER TABLE student_stats ADD PRIMARY KEY (tenant_id, dimension, bucket, slot);
+
+DROP FUNCTION IF EXISTS adjust_student_stats(DATE, TIMESTAMPTZ, INTEGER);
+CREATE OR REPLACE FUNCTION adjust_student_stats(p_tenant_id VARCHAR, p_date_of_birth DATE,
+        p_created_at TIMESTAMPTZ, p_delta INTEGER)
+RETURNS void AS $$
+DECLARE
+    v_slot SMALLINT := floor(random() * 8)::SMALLINT;
+BEGIN
+    INSERT INTO student_stats (tenant_id, dimension, bucket, slot, student_count)
+    VALUES (p_tenant_id, 'total', 0, v_slot, p_delta),
+           (p_tenant_id, 'birth_year', extract(year FROM p_date_of_birth)::INTEGER, v_slot, p_delta),
+           (p_tenant_id, 'enrolled_month', to_char(p_created_at AT TIME ZONE 'UTC', 'YYYYMM')::INTEGER, v_slot, p_delta)
+    ON CONFLICT (tenant_id, dimension, bucket, slot)
+    DO UPDATE SET student_count = student_stats.student_count + EXCLUDED.student_count;
+END
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION maintain_student_stats() RETURNS trigger AS $$
+BEGIN
+    IF current_setting('student.archiving', true) = 'on' THEN
+        RETURN NULL;
+    END IF;
+    IF TG_OP IN ('UPDATE', 'DELETE') THEN
+        PERFORM adjust_student_stats(OLD.tenant_id, OLD.date_of_birth, OLD.created_at, -1);
+    END IF;
+    IF TG_OP IN ('INSERT', 'UPDATE') THEN
+        PERFORM adjust_student_stats(NEW.tenant_id, NEW.date_of_birth, NEW.created_at, 1);
+    END IF;
+    RETURN NULL;
+END
+$$ LANGUAGE plpgsql;
+
+TRUNCATE student_stats;
+INSERT INTO student_stats (tenant_id, dimension, bucket, slot, student_count)
+SELECT tenant_id, 'total', 0, 0, count(*)
+FROM (SELECT tenant_id FROM students UNION ALL SELECT tenant_id FROM students_archive) s
+GROUP BY 1
+UNION ALL
+SELECT tenant_id, 'birth_year', extract(year FROM date_of_birth)::INTEGER, 0, count(*)
+FROM (SELECT tenant_id, date_of_birth FROM students UNION ALL SELECT tenant_id, date_of_birth FROM students_archive) s
+GROUP BY 1, 3
+UNION ALL
+SELECT tenant_id, 'enrolled_month', to_char(created_at AT TIME ZONE 'UTC', 'YYYYMM')::INTEGER, 0, count(*)
+FROM (SELECT tenant_id, created_at FROM students UNION ALL SELECT tenant_id, created_at FROM students_archive) s
+GROUP BY 1, 3;
@@ -0,0 +1,11 @@
+-- V2__Drop_redundant_student_indexes.sql
+
+-- UNIQUE(email) and UNIQUE(roll_number) in V1 already back students_email_key and
+-- students_roll_number_key, so these plain indexes doubled the btree work on every insert.
+DROP INDEX IF EXISTS idx_students_email;
+DROP INDEX IF EXISTS idx_students_roll_number;
+
+-- Most updates only touch names/date of birth/updated_at, none of which are indexed.
+-- Leaving 10% free space per page lets PostgreSQL keep those as HOT updates on the same page.
+-- Applies to newly written pages; run VACUUM FULL (or pg_repack) once to rewrite existing ones.
+ALTER TABLE students SET (fillfactor = 90);
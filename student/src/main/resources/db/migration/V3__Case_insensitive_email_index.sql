@@ -0,0 +1,8 @@
+-- V3__Case_insensitive_email_index.sql
+
+-- Email lookups compare lower(email), so uniqueness is enforced on the same expression.
+-- Fails if existing rows differ only by case; resolve those duplicates before migrating.
+CREATE UNIQUE INDEX IF NOT EXISTS ux_students_email_lower ON students (lower(email)) WITH (fillfactor = 90);
+
+-- The case-sensitive constraint is implied by the index above and only adds another btree to maintain.
+ALTER TABLE students DROP CONSTRAINT IF EXISTS students_email_key;
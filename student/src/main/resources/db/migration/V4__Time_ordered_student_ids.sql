@@ -0,0 +1,17 @@
+-- V4__Time_ordered_student_ids.sql
+
+-- Rows inserted outside the application get the same time-ordered keys as UuidV7Generator.
+-- PostgreSQL 18 ships uuidv7(); this is the equivalent for older servers (gen_random_uuid() is core since 13):
+-- bytes 0-5 are the Unix epoch in milliseconds, the version nibble is 7, the variant bits come from gen_random_uuid().
+CREATE OR REPLACE FUNCTION uuid_generate_v7() RETURNS uuid AS $$
+    SELECT encode(
+        set_byte(
+            overlay(uuid_send(gen_random_uuid())
+                    PLACING substring(int8send(floor(extract(epoch FROM clock_timestamp()) * 1000)::bigint) FROM 3)
+                    FROM 1 FOR 6),
+            6, (get_byte(uuid_send(gen_random_uuid()), 6) & 15) | 112),
+        'hex')::uuid;
+$$ LANGUAGE sql VOLATILE;
+
+-- Existing version 4 keys are untouched; both versions are plain uuid values.
+ALTER TABLE students ALTER COLUMN student_id SET DEFAULT uuid_generate_v7();
@@ -0,0 +1,30 @@
+-- V5__Student_change_feed.sql
+
+-- Keyset position of the change feed is (updated_at, student_id).
+UPDATE students SET updated_at = created_at WHERE updated_at IS NULL;
+ALTER TABLE students ALTER COLUMN updated_at SET NOT NULL;
+CREATE INDEX IF NOT EXISTS idx_students_updated_at_id ON students(updated_at, student_id);
+
+-- One row per deleted student so incremental consumers learn about deletes.
+-- Fed by trigger so every delete path (by id, by roll number, ad hoc SQL) is covered.
+CREATE TABLE IF NOT EXISTS student_tombstones (
+    student_id UUID PRIMARY KEY,
+    roll_number INTEGER NOT NULL,
+    deleted_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT clock_timestamp()
+);
+
+CREATE INDEX IF NOT EXISTS idx_student_tombstones_deleted_at_id ON student_tombstones(deleted_at, student_id);
+
+CREATE OR REPLACE FUNCTION record_student_tombstone() RETURNS trigger AS $$
+BEGIN
+    INSERT INTO student_tombstones (student_id, roll_number)
+    VALUES (OLD.student_id, OLD.roll_number)
+    ON CONFLICT (student_id) DO UPDATE SET deleted_at = EXCLUDED.deleted_at;
+    RETURN OLD;
+END
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS students_tombstone ON students;
+CREATE TRIGGER students_tombstone
+    AFTER DELETE ON students
+    FOR EACH ROW EXECUTE FUNCTION record_student_tombstone();
@@ -0,0 +1,14 @@
+-- V6__Student_outbox.sql
+
+-- Transactional outbox: StudentService appends one row per create/update/delete in the same
+-- transaction as the write; a single relay tails it by event_id and fans events out to subscribers.
+CREATE TABLE IF NOT EXISTS student_outbox (
+    event_id BIGSERIAL PRIMARY KEY,
+    event_type VARCHAR(16) NOT NULL,
+    student_id UUID,
+    roll_number INTEGER,
+    payload TEXT,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_student_outbox_created_at ON student_outbox(created_at);
@@ -0,0 +1,61 @@
+-- V7__Student_stats.sql
+
+-- Summary counters behind GET /students/stats, kept current by trigger so reporting never scans students.
+-- dimension: 'total' (bucket 0), 'birth_year' (bucket = year) or 'enrolled_month' (bucket = yyyymm, UTC).
+-- Each bucket is spread over a few slots so concurrent writers rarely queue on the same row lock;
+-- the bucket's count is the sum over its slots.
+CREATE TABLE IF NOT EXISTS student_stats (
+    dimension VARCHAR(16) NOT NULL,
+    bucket INTEGER NOT NULL,
+    slot SMALLINT NOT NULL,
+    student_count BIGINT NOT NULL,
+    PRIMARY KEY (dimension, bucket, slot)
+);
+
+CREATE OR REPLACE FUNCTION adjust_student_stats(p_date_of_birth DATE, p_created_at TIMESTAMPTZ, p_delta INTEGER)
+RETURNS void AS $$
+DECLARE
+    v_slot SMALLINT := floor(random() * 8)::SMALLINT;
+BEGIN
+    INSERT INTO student_stats (dimension, bucket, slot, student_count)
+    VALUES ('total', 0, v_slot, p_delta),
+           ('birth_year', extract(year FROM p_date_of_birth)::INTEGER, v_slot, p_delta),
+           ('enrolled_month', to_char(p_created_at AT TIME ZONE 'UTC', 'YYYYMM')::INTEGER, v_slot, p_delta)
+    ON CONFLICT (dimension, bucket, slot)
+    DO UPDATE SET student_count = student_stats.student_count + EXCLUDED.student_count;
+END
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION maintain_student_stats() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP IN ('UPDATE', 'DELETE') THEN
+        PERFORM adjust_student_stats(OLD.date_of_birth, OLD.created_at, -1);
+    END IF;
+    IF TG_OP IN ('INSERT', 'UPDATE') THEN
+        PERFORM adjust_student_stats(NEW.date_of_birth, NEW.created_at, 1);
+    END IF;
+    RETURN NULL;
+END
+$$ LANGUAGE plpgsql;
+
+-- Updates only count when a bucketed column actually changes
+DROP TRIGGER IF EXISTS students_stats_insert_delete ON students;
+DROP TRIGGER IF EXISTS students_stats_update ON students;
+CREATE TRIGGER students_stats_insert_delete
+    AFTER INSERT OR DELETE ON students
+    FOR EACH ROW EXECUTE FUNCTION maintain_student_stats();
+CREATE TRIGGER students_stats_update
+    AFTER UPDATE OF date_of_birth, created_at ON students
+    FOR EACH ROW
+    WHEN (OLD.date_of_birth IS DISTINCT FROM NEW.date_of_birth OR OLD.created_at IS DISTINCT FROM NEW.created_at)
+    EXECUTE FUNCTION maintain_student_stats();
+
+-- Seed from the existing rows
+INSERT INTO student_stats (dimension, bucket, slot, student_count)
+SELECT 'total', 0, 0, count(*) FROM students
+UNION ALL
+SELECT 'birth_year', extract(year FROM date_of_birth)::INTEGER, 0, count(*)
+FROM students GROUP BY 2
+UNION ALL
+SELECT 'enrolled_month', to_char(created_at AT TIME ZONE 'UTC', 'YYYYMM')::INTEGER, 0, count(*)
+FROM students GROUP BY 2;
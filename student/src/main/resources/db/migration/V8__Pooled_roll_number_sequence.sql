@@ -0,0 +1,8 @@
+-- V8__Pooled_roll_number_sequence.sql
+
+-- Roll numbers are assigned by the application (RollNumberSequence) from blocks of 50:
+-- each nextval returns the first number of a block the caller owns exclusively, so replicas never collide
+-- and an insert needs one sequence call per 50 rows. Must match RollNumberSequence.allocationSize.
+-- Rows inserted outside the application still get nextval as their roll number and leave the rest of
+-- that block unused.
+ALTER SEQUENCE roll_number_seq INCREMENT BY 50;
@@ -0,0 +1,73 @@
+-- V9__Student_archive.sql
+
+-- Cold storage for students enrolled before the archival cutoff, filled by StudentArchiver.
+-- Rows are moved, not copied: a student is in exactly one of students and students_archive.
+-- Archived students are read-only; email and roll number stay unique across both tables.
+CREATE TABLE IF NOT EXISTS students_archive (
+    student_id UUID PRIMARY KEY,
+    roll_number INTEGER NOT NULL,
+    first_name VARCHAR(50) NOT NULL,
+    last_name VARCHAR(50) NOT NULL,
+    email VARCHAR(255) NOT NULL,
+    date_of_birth DATE NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    archived_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT clock_timestamp()
+);
+
+CREATE UNIQUE INDEX IF NOT EXISTS ux_students_archive_email_lower ON students_archive (lower(email));
+CREATE UNIQUE INDEX IF NOT EXISTS ux_students_archive_roll_number ON students_archive (roll_number);
+
+-- The archiver walks students in (created_at, student_id) order; the composite index replaces the V1 one
+CREATE INDEX IF NOT EXISTS idx_students_created_at_id ON students(created_at, student_id);
+DROP INDEX IF EXISTS idx_students_created_at;
+
+-- Keyset position of the pass in progress, so a restarted archiver resumes where it stopped.
+-- Each batch locks the single row, which also keeps archivers on different replicas from overlapping.
+CREATE TABLE IF NOT EXISTS student_archive_checkpoint (
+    id SMALLINT PRIMARY KEY CHECK (id = 1),
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT '-infinity',
+    student_id UUID NOT NULL DEFAULT '00000000-0000-0000-0000-000000000000',
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT clock_timestamp()
+);
+
+INSERT INTO student_archive_checkpoint (id) VALUES (1) ON CONFLICT (id) DO NOTHING;
+
+-- Moving a row to the archive is not a delete: no tombstone, and student_stats keeps counting it.
+-- The archiver sets student.archiving for its own transactions only (SET LOCAL).
+CREATE OR REPLACE FUNCTION record_student_tombstone() RETURNS trigger AS $$
+BEGIN
+    IF current_setting('student.archiving', true) = 'on' THEN
+        RETURN OLD;
+    END IF;
+    INSERT INTO student_tombstones (student_id, roll_number)
+    VALUES (OLD.student_id, OLD.roll_number)
+    ON CONFLICT (student_id) DO UPDATE SET deleted_at = EXCLUDED.deleted_at;
+    RETURN OLD;
+END
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION maintain_student_stats() RETURNS trigger AS $$
+BEGIN
+    IF current_setting('student.archiving', true) = 'on' THEN
+        RETURN NULL;
+    END IF;
+    IF TG_OP IN ('UPDATE', 'DELETE') THEN
+        PERFORM adjust_student_stats(OLD.date_of_birth, OLD.created_at, -1);
+    END IF;
+    IF TG_OP IN ('INSERT', 'UPDATE') THEN
+        PERFORM adjust_student_stats(NEW.date_of_birth, NEW.created_at, 1);
+    END IF;
+    RETURN NULL;
+END
+$$ LANGUAGE plpgsql;
+
+-- Deleting an archived student is a real delete
+DROP TRIGGER IF EXISTS students_archive_tombstone ON students_archive;
+DROP TRIGGER IF EXISTS students_archive_stats_delete ON students_archive;
+CREATE TRIGGER students_archive_tombstone
+    AFTER DELETE ON students_archive
+    FOR EACH ROW EXECUTE FUNCTION record_student_tombstone();
+CREATE TRIGGER students_archive_stats_delete
+    AFTER DELETE ON students_archive
+    FOR EACH ROW EXECUTE FUNCTION maintain_student_stats();
@@ -0,0 +1,125 @@
+package com.student.student.archive;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+
+import com.student.student.cache.LookupKey;
+import com.student.student.dto.StudentLookupResult;
+import com.student.student.dto.StudentRequest;
+import com.student.student.dto.StudentResponse;
+import com.student.student.exception.EmailAlreadyExistsException;
+import com.student.student.service.StudentService;
+import com.student.student.support.SharedPostgres;
+
+@SpringBootTest(properties = {
+        "student.lookup-filter.enabled=false",
+        "student.archive.older-than=P4Y",
+        "student.archive.batch-size=10",
+        "student.archive.pause=PT0S"
+})
+@ContextConfiguration(initializers = SharedPostgres.class)
+@ActiveProfiles("test")
+public class StudentArchiverIntegrationTest {
+
+    @Autowired
+    private StudentArchiver studentArchiver;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void clean() {
+        jdbcTemplate.execute("TRUNCATE students, students_archive, student_stats, student_tombstones");
+        jdbcTemplate.update("update student_archive_checkpoint set created_at = '-infinity', student_id = '00000000-0000-0000-0000-000000000000'");
+    }
+
+    private List<StudentResponse> createStudents(String prefix, int count, int yearsAgo) {
+        List<StudentResponse> created = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            created.add(studentService.createStudent(new StudentRequest("Grace", "Hopper",
+                    prefix + i + "@archive.test", LocalDate.of(2000, 1, 1).plusDays(i))));
+        }
+        jdbcTemplate.update("update students set created_at = created_at - make_interval(years => ?) where email like ?",
+                yearsAgo, prefix + "%");
+        return created;
+    }
+
+    private long count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+
+    @Test
+    void testMovesOnlyOldStudentsAcrossSeveralBatches() {
+        List<StudentResponse> old = createStudents("old", 25, 5);
+        createStudents("recent", 5, 1);
+        long totalBefore = count("select sum(student_count) from student_stats where dimension = 'total'");
+
+        assertThat(studentArchiver.archive()).isEqualTo(25);
+
+        assertThat(count("select count(*) from students")).isEqualTo(5);
+        assertThat(count("select count(*) from students_archive")).isEqualTo(25);
+        // Archival is not a delete: no tombstones, stats unchanged
+        assertThat(count("select count(*) from student_tombstones")).isZero();
+        assertThat(count("select sum(student_count) from student_stats where dimension = 'total'"))
+                .isEqualTo(totalBefore);
+        // The completed pass resets the checkpoint for the next one
+        assertThat(jdbcTemplate.queryForObject(
+                "select created_at = '-infinity' from student_archive_checkpoint", Boolean.class)).isTrue();
+        assertThat(studentArchiver.archive()).isZero();
+
+        StudentResponse archived = old.get(3);
+        assertThat(studentService.getStudentById(archived.studentId()).email()).isEqualTo(archived.email());
+        assertThat(studentService.getStudentByEmail(archived.email()).studentId()).isEqualTo(archived.studentId());
+        assertThat(studentService.getStudentByRollNumber(archived.rollNumber()).studentId())
+                .isEqualTo(archived.studentId());
+    }
+
+    @Test
+    void testResumesFromTheCheckpoint() {
+        createStudents("resume", 15, 5);
+        // As left by a pass interrupted after its first batch of ten
+        jdbcTemplate.update("""
+                update student_archive_checkpoint c set created_at = tenth.created_at, student_id = tenth.student_id
+                from (select created_at, student_id from students order by created_at, student_id offset 9 limit 1) tenth
+                """);
+
+        assertThat(studentArchiver.archive()).isEqualTo(5);
+        // The first ten are picked up by the next pass, which starts from the beginning again
+        assertThat(studentArchiver.archive()).isEqualTo(10);
+        assertThat(count("select count(*) from students")).isZero();
+    }
+
+    @Test
+    void testArchivedStudentsKeepTheirEmailAndCanBeDeleted() {
+        StudentResponse archived = createStudents("kept", 2, 5).get(0);
+        studentArchiver.archive();
+
+        assertThatThrownBy(() -> studentService.createStudent(new StudentRequest("Grace", "Hopper",
+                archived.email().toUpperCase(), LocalDate.of(2000, 1, 1))))
+                .isInstanceOf(EmailAlreadyExistsException.class);
+        List<StudentLookupResult> results = studentService.lookupStudents(LookupKey.EMAIL,
+                List.of(archived.email(), "nobody@archive.test"));
+        assertThat(results).extracting(StudentLookupResult::found).containsExactly(true, false);
+
+        studentService.deleteStudentById(archived.studentId());
+
+        assertThat(count("select count(*) from students_archive")).isEqualTo(1);
+        assertThat(count("select count(*) from student_tombstones")).isEqualTo(1);
+        assertThat(count("select sum(student_count) from student_stats where dimension = 'total'")).isEqualTo(1);
+    }
+}
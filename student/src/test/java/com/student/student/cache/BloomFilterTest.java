@@ -0,0 +1,64 @@
+package com.student.student.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.ByteBuffer;
+
+import org.junit.jupiter.api.Test;
+
+public class BloomFilterTest {
+
+    @Test
+    void testAddedKeysAreAlwaysReported() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("student" + i + "@test.com");
+        }
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(filter.mightContain("student" + i + "@test.com")).isTrue();
+        }
+    }
+
+    @Test
+    void testFalsePositiveRateStaysNearTarget() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("student" + i + "@test.com");
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain("absent" + i + "@test.com")) {
+                falsePositives++;
+            }
+        }
+        assertThat(falsePositives / 100_000.0).isLessThan(0.02);
+        assertThat(filter.expectedFalsePositiveProbability()).isLessThan(0.02);
+    }
+
+    @Test
+    void testInvalidSizingRejected() {
+        assertThatThrownBy(() -> new BloomFilter(0, 0.01)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new BloomFilter(100, 1.0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void testSerializedFilterAnswersTheSame() {
+        BloomFilter filter = new BloomFilter(1_000, 0.01);
+        for (int i = 0; i < 1_000; i++) {
+            filter.put("student" + i + "@test.com");
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(filter.serializedSize());
+        filter.writeTo(buffer);
+        buffer.flip();
+
+        BloomFilter copy = BloomFilter.readFrom(buffer);
+
+        assertThat(buffer.hasRemaining()).isFalse();
+        for (int i = 0; i < 2_000; i++) {
+            assertThat(copy.mightContain("student" + i + "@test.com"))
+                    .isEqualTo(filter.mightContain("student" + i + "@test.com"));
+        }
+        assertThat(copy.expectedFalsePositiveProbability()).isEqualTo(filter.expectedFalsePositiveProbability());
+    }
+}
@@ -0,0 +1,76 @@
+package com.student.student.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class LookupFilterSnapshotTest {
+
+    private static final Instant HIGH_WATER = Instant.parse("2026-01-01T10:15:30.123456Z");
+
+    @TempDir
+    Path directory;
+
+    private Path writeSnapshot() throws IOException {
+        BloomFilter emails = new BloomFilter(1_000, 0.01);
+        BloomFilter rollNumbers = new BloomFilter(1_000, 0.01);
+        emails.put("ada@test.com");
+        rollNumbers.put("42");
+        Path file = directory.resolve("state").resolve("filter.bin");
+        new LookupFilterSnapshot(HIGH_WATER, 1, "7301839245512345678:16384", emails, rollNumbers).write(file);
+        return file;
+    }
+
+    @Test
+    void testRoundTrips() throws IOException {
+        Path file = writeSnapshot();
+
+        LookupFilterSnapshot snapshot = LookupFilterSnapshot.read(file).orElseThrow();
+
+        assertThat(snapshot.highWater()).isEqualTo(HIGH_WATER);
+        assertThat(snapshot.keys()).isEqualTo(1);
+        assertThat(snapshot.database()).isEqualTo("7301839245512345678:16384");
+        assertThat(snapshot.emails().mightContain("ada@test.com")).isTrue();
+        assertThat(snapshot.emails().mightContain("grace@test.com")).isFalse();
+        assertThat(snapshot.rollNumbers().mightContain("42")).isTrue();
+        assertThat(Files.list(file.getParent())).containsExactly(file);
+    }
+
+    @Test
+    void testMissingFileIsEmpty() throws IOException {
+        assertThat(LookupFilterSnapshot.read(directory.resolve("absent.bin"))).isEmpty();
+    }
+
+    @Test
+    void testCorruptFileRejected() throws IOException {
+        Path file = writeSnapshot();
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length / 2] ^= 1;
+        Files.write(file, bytes);
+
+        assertThatThrownBy(() -> LookupFilterSnapshot.read(file))
+                .isInstanceOf(IOException.class)
+                .hasMessage("Snapshot checksum mismatch");
+    }
+
+    @Test
+    void testOtherFormatVersionRejected() throws IOException {
+        Path file = writeSnapshot();
+        byte[] bytes = Files.readAllBytes(file);
+        ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN).putInt(Integer.BYTES, LookupFilterSnapshot.VERSION + 1);
+        Files.write(file, bytes);
+
+        assertThatThrownBy(() -> LookupFilterSnapshot.read(file))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("version " + (LookupFilterSnapshot.VERSION + 1));
+    }
+}
@@ -0,0 +1,131 @@
+package com.student.student.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+public class SingleFlightTest {
+
+    private final List<SingleFlight.Outcome> outcomes = new CopyOnWriteArrayList<>();
+
+    @Test
+    void testWaitersGetTheLeadersResult() throws Exception {
+        SingleFlight<String, Integer> flights = new SingleFlight<>(10, (key, outcome) -> outcomes.add(outcome));
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+
+        CompletableFuture<Integer> leader = CompletableFuture.supplyAsync(() -> flights.execute("a", () -> {
+            calls.incrementAndGet();
+            await(release);
+            return 42;
+        }));
+        awaitInFlight(flights, 1);
+        CompletableFuture<Integer> waiter = CompletableFuture.supplyAsync(() -> flights.execute("a", () -> {
+            calls.incrementAndGet();
+            return -1;
+        }));
+        awaitOutcomes(2);
+        release.countDown();
+
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo(42);
+        assertThat(waiter.get(5, TimeUnit.SECONDS)).isEqualTo(42);
+        assertThat(calls).hasValue(1);
+        assertThat(outcomes).containsExactly(SingleFlight.Outcome.LEADER, SingleFlight.Outcome.COALESCED);
+        assertThat(flights.inFlight()).isZero();
+    }
+
+    @Test
+    void testWaitersGetTheLeadersException() throws Exception {
+        SingleFlight<String, Integer> flights = new SingleFlight<>(10, (key, outcome) -> outcomes.add(outcome));
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<Integer> leader = CompletableFuture.supplyAsync(() -> flights.execute("a", () -> {
+            await(release);
+            throw new IllegalStateException("boom");
+        }));
+        awaitInFlight(flights, 1);
+        CompletableFuture<Integer> waiter = CompletableFuture.supplyAsync(() -> flights.execute("a", () -> 0));
+        awaitOutcomes(2);
+        release.countDown();
+
+        assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS)).hasRootCauseMessage("boom");
+        assertThatThrownBy(() -> waiter.get(5, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(IllegalStateException.class)
+                .hasRootCauseMessage("boom");
+        // A failed call is not remembered either
+        assertThat(flights.execute("a", () -> 7)).isEqualTo(7);
+    }
+
+    @Test
+    void testKeysBeyondTheBoundBypass() throws Exception {
+        SingleFlight<String, Integer> flights = new SingleFlight<>(1, (key, outcome) -> outcomes.add(outcome));
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<Integer> leader = CompletableFuture.supplyAsync(() -> flights.execute("a", () -> {
+            await(release);
+            return 1;
+        }));
+        awaitInFlight(flights, 1);
+
+        assertThat(flights.execute("b", () -> 2)).isEqualTo(2);
+        assertThat(flights.inFlight()).isEqualTo(1);
+        release.countDown();
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo(1);
+        assertThat(outcomes).containsExactly(SingleFlight.Outcome.LEADER, SingleFlight.Outcome.BYPASSED);
+    }
+
+    @Test
+    void testForgottenKeyStartsANewCall() throws Exception {
+        SingleFlight<String, Integer> flights = new SingleFlight<>(10, (key, outcome) -> outcomes.add(outcome));
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<Integer> leader = CompletableFuture.supplyAsync(() -> flights.execute("a", () -> {
+            await(release);
+            return 1;
+        }));
+        awaitInFlight(flights, 1);
+        flights.forget("a");
+
+        assertThat(flights.execute("a", () -> 2)).isEqualTo(2);
+        release.countDown();
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo(1);
+        assertThat(outcomes).containsExactly(SingleFlight.Outcome.LEADER, SingleFlight.Outcome.LEADER);
+        assertThat(flights.inFlight()).isZero();
+    }
+
+    @Test
+    void testRejectsNonPositiveBound() {
+        assertThatThrownBy(() -> new SingleFlight<String, Integer>(0, (key, outcome) -> { }))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private void awaitOutcomes(int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (outcomes.size() < count && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private static void awaitInFlight(SingleFlight<?, ?> flights, int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (flights.inFlight() < count && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
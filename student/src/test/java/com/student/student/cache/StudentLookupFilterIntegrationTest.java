@@ -0,0 +1,169 @@
+package com.student.student.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.student.student.dto.StudentRequest;
+import com.student.student.repository.StudentRepository;
+import com.student.student.service.StudentService;
+import com.student.student.shard.ShardRouter;
+import com.student.student.support.SharedPostgres;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@SpringBootTest(properties = "student.changes.safety-window=PT0S")
+@ContextConfiguration(initializers = SharedPostgres.class)
+@ActiveProfiles("test")
+public class StudentLookupFilterIntegrationTest {
+
+    private static Path snapshot;
+
+    @Autowired
+    private StudentLookupFilter studentLookupFilter;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void snapshotPath(DynamicPropertyRegistry registry) throws IOException {
+        snapshot = Files.createTempDirectory("student-state").resolve("student-lookup-filter.bin");
+        registry.add("student.lookup-filter.snapshot-path", snapshot::toString);
+    }
+
+    @BeforeEach
+    void clean() {
+        jdbcTemplate.execute("TRUNCATE students, students_archive, student_stats, student_tombstones");
+    }
+
+    private void createStudent(String email) {
+        studentService.createStudent(new StudentRequest("Ada", "Lovelace", email, LocalDate.of(2001, 1, 1)));
+    }
+
+    private StudentLookupFilter restarted(MeterRegistry meterRegistry, Duration snapshotMaxAge) {
+        return new StudentLookupFilter(studentRepository, shardRouter, transactionManager, meterRegistry, true,
+                1_000, 0.01, snapshot.toString(), snapshotMaxAge, Duration.ZERO);
+    }
+
+    @Test
+    void testWarmStartReadsOnlyStudentsWrittenSinceTheSnapshot() throws Exception {
+        createStudent("before@filter.test");
+        studentLookupFilter.rebuild();
+        assertThat(snapshot).exists();
+        Thread.sleep(5);
+        createStudent("after@filter.test");
+
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        StudentLookupFilter filter = restarted(meterRegistry, Duration.ofHours(1));
+        filter.warmUp();
+
+        assertThat(filter.definitelyMissingEmail("before@filter.test")).isFalse();
+        assertThat(filter.definitelyMissingEmail("after@filter.test")).isFalse();
+        assertThat(filter.definitelyMissingEmail("absent@filter.test")).isTrue();
+        assertThat(meterRegistry.get("student.lookup.filter.rows_read").tag("source", "snapshot").counter().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get("student.lookup.filter.load").tag("source", "database").timer().count())
+                .isZero();
+    }
+
+    @Test
+    void testCatchUpAddsStudentsWrittenElsewhere() throws Exception {
+        createStudent("before@filter.test");
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        StudentLookupFilter filter = restarted(meterRegistry, Duration.ofHours(1));
+        filter.warmUp();
+        Thread.sleep(5);
+
+        // Written through the application's own filter, standing in for another replica
+        createStudent("elsewhere@filter.test");
+        assertThat(filter.definitelyMissingEmail("elsewhere@filter.test")).isTrue();
+
+        filter.catchUp();
+        assertThat(filter.definitelyMissingEmail("elsewhere@filter.test")).isFalse();
+        assertThat(filter.definitelyMissingEmail("absent@filter.test")).isTrue();
+        assertThat(meterRegistry.get("student.lookup.filter.rows_read").tag("source", "catch_up").counter().count())
+                .isEqualTo(1);
+
+        // The next pass starts where this one ended
+        filter.catchUp();
+        assertThat(meterRegistry.get("student.lookup.filter.rows_read").tag("source", "catch_up").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void testStaleOrCorruptSnapshotFallsBackToFullScan() throws Exception {
+        createStudent("before@filter.test");
+        studentLookupFilter.rebuild();
+
+        MeterRegistry stale = new SimpleMeterRegistry();
+        restarted(stale, Duration.ZERO).warmUp();
+        assertThat(stale.get("student.lookup.filter.rows_read").tag("source", "database").counter().count())
+                .isEqualTo(1);
+
+        Files.write(snapshot, new byte[] { 1, 2, 3 });
+        MeterRegistry corrupt = new SimpleMeterRegistry();
+        StudentLookupFilter filter = restarted(corrupt, Duration.ofHours(1));
+        filter.warmUp();
+        assertThat(corrupt.get("student.lookup.filter.rows_read").tag("source", "database").counter().count())
+                .isEqualTo(1);
+        assertThat(filter.definitelyMissingEmail("before@filter.test")).isFalse();
+        // The full scan replaced the corrupt file
+        assertThat(Files.size(snapshot)).isGreaterThan(3);
+    }
+
+    @Test
+    void testSnapshotThatDoesNotMatchTheDatabaseFallsBackToFullScan() throws Exception {
+        createStudent("before@filter.test");
+        studentLookupFilter.rebuild();
+        // As the seed generator loads them: past timestamps, so no catch-up ever reads them
+        jdbcTemplate.update("""
+                insert into students (student_id, roll_number, first_name, last_name, email, date_of_birth, created_at, updated_at)
+                values (gen_random_uuid(), 900001, 'Seed', 'Row', 'seeded@filter.test', '2001-01-01',
+                        now() - interval '1 year', now() - interval '1 year')
+                """);
+
+        MeterRegistry seeded = new SimpleMeterRegistry();
+        StudentLookupFilter filter = restarted(seeded, Duration.ofHours(1));
+        filter.warmUp();
+        assertThat(seeded.get("student.lookup.filter.rows_read").tag("source", "database").counter().count())
+                .isEqualTo(2);
+        assertThat(filter.definitelyMissingEmail("seeded@filter.test")).isFalse();
+
+        LookupFilterSnapshot saved = LookupFilterSnapshot.read(snapshot).orElseThrow();
+        new LookupFilterSnapshot(saved.highWater(), saved.keys(), "another:database", saved.emails(),
+                saved.rollNumbers()).write(snapshot);
+        MeterRegistry other = new SimpleMeterRegistry();
+        restarted(other, Duration.ofHours(1)).warmUp();
+        assertThat(other.get("student.lookup.filter.rows_read").tag("source", "database").counter().count())
+                .isEqualTo(2);
+        assertThat(other.get("student.lookup.filter.load").tag("source", "snapshot").timer().count()).isZero();
+    }
+}
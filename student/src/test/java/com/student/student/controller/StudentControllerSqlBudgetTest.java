@@ -0,0 +1,90 @@
+package com.student.student.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import com.student.student.support.SharedPostgres;
+
+/**
+ * Guards the statement count of the write path and key lookups, so an added query or an N+1 shows up here
+ * rather than in production latency.
+ */
+@SpringBootTest
+@ContextConfiguration(initializers = SharedPostgres.class)
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class StudentControllerSqlBudgetTest {
+
+    private static final String API = "/api/v1/students";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private int statements(MockHttpServletRequestBuilder request, int expectedStatus) throws Exception {
+        MvcResult result = mockMvc.perform(request).andExpect(status().is(expectedStatus)).andReturn();
+        return Integer.parseInt(result.getResponse().getHeader("X-SQL-Statements"));
+    }
+
+    private static String body(String email) {
+        return "{\"firstName\":\"Budget\",\"lastName\":\"Test\",\"email\":\"" + email + "\",\"dateOfBirth\":\"2001-02-03\"}";
+    }
+
+    @Test
+    void testStudentLifecycle_StaysWithinStatementBudget() throws Exception {
+        String email = "budget." + UUID.randomUUID() + "@test.link";
+        MvcResult created = mockMvc.perform(post(API).contentType(MediaType.APPLICATION_JSON).content(body(email)))
+                .andExpect(status().isCreated()).andReturn();
+        assertThat(Integer.parseInt(created.getResponse().getHeader("X-SQL-Statements"))).isLessThanOrEqualTo(4);
+        JsonNode student = objectMapper.readTree(created.getResponse().getContentAsString());
+        String studentId = student.get("studentId").asText();
+        int rollNumber = student.get("rollNumber").asInt();
+
+        assertThat(statements(get(API + "/" + studentId), 200)).isEqualTo(1);
+        assertThat(statements(get(API + "/rollnumber/" + rollNumber), 200)).isEqualTo(1);
+        assertThat(statements(get(API + "/email/" + email), 200)).isEqualTo(1);
+        assertThat(statements(put(API + "/" + studentId).contentType(MediaType.APPLICATION_JSON)
+                .content(body(email)), 200)).isLessThanOrEqualTo(3);
+        // DELETE ... RETURNING and the outbox insert
+        assertThat(statements(delete(API + "/rollnumber/" + rollNumber), 204)).isEqualTo(2);
+        // The lookup filter cannot forget the roll number, so the miss reaches students and the archive
+        assertThat(statements(get(API + "/rollnumber/" + rollNumber), 404)).isEqualTo(2);
+    }
+
+    @Test
+    void testMisses_SpendTheArchiveFallbackStatement() throws Exception {
+        String email = "budget." + UUID.randomUUID() + "@test.link";
+        String studentId = objectMapper.readTree(mockMvc.perform(post(API).contentType(MediaType.APPLICATION_JSON)
+                        .content(body(email))).andExpect(status().isCreated()).andReturn()
+                .getResponse().getContentAsString()).get("studentId").asText();
+
+        assertThat(statements(get(API + "/" + UUID.randomUUID()), 404)).isEqualTo(2);
+        assertThat(statements(post(API + "/lookup").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"keyType\":\"ID\",\"keys\":[\"" + studentId + "\"]}"), 200)).isEqualTo(1);
+        assertThat(statements(post(API + "/lookup").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"keyType\":\"ID\",\"keys\":[\"" + studentId + "\",\"" + UUID.randomUUID() + "\"]}"), 200))
+                .isEqualTo(2);
+    }
+}
@@ -0,0 +1,49 @@
+package com.student.student.entity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+public class PooledLoAllocatorTest {
+
+    @Test
+    void testNext_ReservesOneBlockPerBlockSizeValues() {
+        PooledLoAllocator allocator = new PooledLoAllocator(50);
+        AtomicLong sequence = new AtomicLong(1000);
+        AtomicInteger reservations = new AtomicInteger();
+
+        List<Long> values = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            values.add(allocator.next(() -> {
+                reservations.incrementAndGet();
+                return sequence.getAndAdd(50);
+            }));
+        }
+
+        assertThat(reservations).hasValue(3);
+        assertThat(values.get(0)).isEqualTo(1000L);
+        assertThat(values.get(49)).isEqualTo(1049L);
+        assertThat(values.get(50)).isEqualTo(1050L);
+        assertThat(values).doesNotHaveDuplicates();
+    }
+
+    @Test
+    void testNext_NodesSharingSequenceNeverOverlap() {
+        AtomicLong sequence = new AtomicLong(1000);
+        PooledLoAllocator first = new PooledLoAllocator(50);
+        PooledLoAllocator second = new PooledLoAllocator(50);
+
+        List<Long> values = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            values.add(first.next(() -> sequence.getAndAdd(50)));
+            values.add(second.next(() -> sequence.getAndAdd(50)));
+        }
+
+        assertThat(values).doesNotHaveDuplicates();
+    }
+}
@@ -0,0 +1,37 @@
+package com.student.student.entity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+public class UuidV7GeneratorTest {
+
+    @Test
+    void testVersionAndVariant() {
+        UUID uuid = UuidV7Generator.next();
+        assertThat(uuid.version()).isEqualTo(7);
+        assertThat(uuid.variant()).isEqualTo(2);
+    }
+
+    @Test
+    void testTimestampPrefix() {
+        long before = System.currentTimeMillis();
+        UUID uuid = UuidV7Generator.next();
+        long embedded = uuid.getMostSignificantBits() >>> 16;
+        assertThat(embedded).isGreaterThanOrEqualTo(before).isLessThanOrEqualTo(System.currentTimeMillis() + 1);
+    }
+
+    @Test
+    void testIdsAreStrictlyIncreasing() {
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 50_000; i++) {
+            ids.add(UuidV7Generator.next().toString());
+        }
+        // PostgreSQL orders uuid values bytewise, which matches the ordering of the canonical string form
+        assertThat(ids).isSorted().doesNotHaveDuplicates();
+    }
+}
@@ -0,0 +1,239 @@
+package com.student.student.grpc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.student.student.cache.LookupKey;
+import com.student.student.dto.StudentLookupResult;
+import com.student.student.dto.StudentRequest;
+import com.student.student.dto.StudentResponse;
+import com.student.student.exception.EmailAlreadyExistsException;
+import com.student.student.exception.StudentNotFoundException;
+import com.google.protobuf.Empty;
+import com.student.student.grpc.v1.GetStudentRequest;
+import com.student.student.grpc.v1.KeyType;
+import com.student.student.grpc.v1.LookupResult;
+import com.student.student.grpc.v1.LookupStudentsRequest;
+import com.student.student.grpc.v1.Student;
+import com.student.student.grpc.v1.StudentInput;
+import com.student.student.grpc.v1.StudentServiceGrpc;
+import com.student.student.service.StudentChangeService;
+import com.student.student.service.StudentService;
+import com.student.student.service.StudentStatsService;
+
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.ServerInterceptors;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.ClientCallStreamObserver;
+import io.grpc.stub.ClientResponseObserver;
+import jakarta.validation.Validation;
+
+@ExtendWith(MockitoExtension.class)
+public class StudentGrpcServiceTest {
+
+    @Mock
+    private StudentService studentService;
+
+    @Mock
+    private StudentChangeService studentChangeService;
+
+    @Mock
+    private StudentStatsService studentStatsService;
+
+    private Server server;
+    private ManagedChannel channel;
+    private StudentServiceGrpc.StudentServiceBlockingStub stub;
+
+    private final StudentResponse student = new StudentResponse(UUID.randomUUID(), 1001, "John", "Doe",
+            "john.doe@test.link", LocalDate.of(2015, 12, 12), LocalDateTime.of(2023, 10, 1, 12, 0),
+            LocalDateTime.of(2023, 10, 2, 8, 30));
+
+    @BeforeEach
+    void setUp() throws IOException {
+        String name = InProcessServerBuilder.generateName();
+        StudentGrpcService service = new StudentGrpcService(studentService, studentChangeService, studentStatsService,
+                Validation.buildDefaultValidatorFactory().getValidator());
+        server = InProcessServerBuilder.forName(name).directExecutor()
+                .addService(ServerInterceptors.intercept(service, new GrpcExceptionInterceptor()))
+                .build().start();
+        channel = InProcessChannelBuilder.forName(name).directExecutor().build();
+        stub = StudentServiceGrpc.newBlockingStub(channel);
+    }
+
+    @AfterEach
+    void tearDown() {
+        channel.shutdownNow();
+        server.shutdownNow();
+    }
+
+    @Test
+    void testGetStudent_MapsEveryField() {
+        when(studentService.getStudentByEmail("john.doe@test.link")).thenReturn(student);
+
+        Student message = stub.getStudent(GetStudentRequest.newBuilder().setEmail("john.doe@test.link").build());
+
+        assertThat(message.getStudentId()).isEqualTo(student.studentId().toString());
+        assertThat(message.getRollNumber()).isEqualTo(1001);
+        assertThat(message.getDateOfBirth()).isEqualTo("2015-12-12");
+        assertThat(message.getCreatedAt().getSeconds()).isEqualTo(
+                student.createdAt().atZone(ZoneId.systemDefault()).toEpochSecond());
+    }
+
+    @Test
+    void testGetStudent_NotFoundIsNotFound() {
+        when(studentService.getStudentByRollNumber(42)).thenThrow(new StudentNotFoundException("Student with roll number 42 not found"));
+
+        assertThatThrownBy(() -> stub.getStudent(GetStudentRequest.newBuilder().setRollNumber(42).build()))
+                .isInstanceOfSatisfying(StatusRuntimeException.class, e -> {
+                    assertThat(e.getStatus().getCode()).isEqualTo(Status.Code.NOT_FOUND);
+                    assertThat(e.getStatus().getDescription()).isEqualTo("Student with roll number 42 not found");
+                });
+    }
+
+    @Test
+    void testGetStudent_MalformedIdIsInvalidArgument() {
+        assertThatThrownBy(() -> stub.getStudent(GetStudentRequest.newBuilder().setStudentId("not-a-uuid").build()))
+                .isInstanceOfSatisfying(StatusRuntimeException.class,
+                        e -> assertThat(e.getStatus().getCode()).isEqualTo(Status.Code.INVALID_ARGUMENT));
+    }
+
+    @Test
+    void testCreateStudent_InvalidInputNeverReachesTheService() {
+        StudentInput input = StudentInput.newBuilder().setFirstName("John").setLastName("Doe")
+                .setEmail("not-an-email").setDateOfBirth("2015-12-12").build();
+
+        assertThatThrownBy(() -> stub.createStudent(input))
+                .isInstanceOfSatisfying(StatusRuntimeException.class, e -> {
+                    assertThat(e.getStatus().getCode()).isEqualTo(Status.Code.INVALID_ARGUMENT);
+                    assertThat(e.getStatus().getDescription()).isEqualTo("email: Please enter a valid email");
+                });
+        verifyNoInteractions(studentService);
+    }
+
+    @Test
+    void testCreateStudent_TakenEmailIsAlreadyExists() {
+        when(studentService.createStudent(any(StudentRequest.class)))
+                .thenThrow(new EmailAlreadyExistsException("Email john.doe@test.link already exists"));
+        StudentInput input = StudentInput.newBuilder().setFirstName("John").setLastName("Doe")
+                .setEmail("john.doe@test.link").setDateOfBirth("2015-12-12").build();
+
+        assertThatThrownBy(() -> stub.createStudent(input))
+                .isInstanceOfSatisfying(StatusRuntimeException.class,
+                        e -> assertThat(e.getStatus().getCode()).isEqualTo(Status.Code.ALREADY_EXISTS));
+        verify(studentService).createStudent(new StudentRequest("John", "Doe", "john.doe@test.link",
+                LocalDate.of(2015, 12, 12)));
+    }
+
+    @Test
+    void testLookupStudents_StreamsOneResultPerKeyInOrder() {
+        when(studentService.lookupStudents(LookupKey.ROLL_NUMBER, List.of("1001", "9999"))).thenReturn(List.of(
+                new StudentLookupResult("1001", true, student),
+                new StudentLookupResult("9999", false, null)));
+
+        List<LookupResult> results = new ArrayList<>();
+        stub.lookupStudents(LookupStudentsRequest.newBuilder()
+                .setKeyType(KeyType.KEY_TYPE_ROLL_NUMBER).addKeys("1001").addKeys("9999").build())
+                .forEachRemaining(results::add);
+
+        assertThat(results).extracting(LookupResult::getKey).containsExactly("1001", "9999");
+        assertThat(results).extracting(LookupResult::getFound).containsExactly(true, false);
+        assertThat(results.get(0).getStudent().getEmail()).isEqualTo("john.doe@test.link");
+        assertThat(results.get(1).hasStudent()).isFalse();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void streamStudents(int count, AtomicInteger sent) {
+        doAnswer(invocation -> {
+            Consumer<StudentResponse> sink = invocation.getArgument(0);
+            for (int i = 0; i < count; i++) {
+                sink.accept(student);
+                sent.incrementAndGet();
+            }
+            return null;
+        }).when(studentService).forEachStudent(any(Consumer.class));
+    }
+
+    @Test
+    void testListStudents_StreamsEveryStudent() {
+        streamStudents(3, new AtomicInteger());
+
+        List<Student> students = new ArrayList<>();
+        stub.listStudents(Empty.getDefaultInstance()).forEachRemaining(students::add);
+
+        assertThat(students).hasSize(3).extracting(Student::getEmail).containsOnly("john.doe@test.link");
+    }
+
+    @Test
+    void testListStudents_WaitsForTheClientToAskForMore() throws InterruptedException {
+        AtomicInteger sent = new AtomicInteger();
+        streamStudents(5, sent);
+        List<Student> received = new ArrayList<>();
+        CountDownLatch first = new CountDownLatch(1);
+        CountDownLatch completed = new CountDownLatch(1);
+        AtomicReference<ClientCallStreamObserver<Empty>> requestStream = new AtomicReference<>();
+
+        StudentServiceGrpc.newStub(channel).listStudents(Empty.getDefaultInstance(),
+                new ClientResponseObserver<Empty, Student>() {
+
+                    @Override
+                    public void beforeStart(ClientCallStreamObserver<Empty> stream) {
+                        requestStream.set(stream);
+                        stream.disableAutoRequestWithInitial(1);
+                    }
+
+                    @Override
+                    public void onNext(Student value) {
+                        received.add(value);
+                        first.countDown();
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                    }
+
+                    @Override
+                    public void onCompleted() {
+                        completed.countDown();
+                    }
+                });
+
+        assertThat(first.await(5, TimeUnit.SECONDS)).isTrue();
+        Thread.sleep(200);
+        assertThat(sent.get()).isLessThan(5);
+        assertThat(completed.getCount()).isEqualTo(1);
+
+        requestStream.get().request(4);
+        assertThat(completed.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(received).hasSize(5);
+        assertThat(sent.get()).isEqualTo(5);
+    }
+}
@@ -0,0 +1,234 @@
+package com.student.student.job;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import com.student.student.dto.JobRequest;
+import com.student.student.dto.JobResponse;
+import com.student.student.dto.StudentRequest;
+import com.student.student.entity.UuidV7Generator;
+import com.student.student.service.JobService;
+import com.student.student.service.StudentService;
+import com.student.student.support.SharedPostgres;
+
+@SpringBootTest(properties = {
+        "student.lookup-filter.enabled=false",
+        "student.jobs.page-size=10",
+        "student.jobs.poll-interval=PT0.05S",
+        "student.jobs.node-id=test-node"
+})
+@ContextConfiguration(initializers = SharedPostgres.class)
+@ActiveProfiles("test")
+public class JobRunnerIntegrationTest {
+
+    @Autowired
+    private JobService jobService;
+
+    @Autowired
+    private JobFiles jobFiles;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void storePath(DynamicPropertyRegistry registry) throws IOException {
+        Path store = Files.createTempDirectory("student-jobs");
+        registry.add("student.jobs.store-path", store::toString);
+    }
+
+    @BeforeEach
+    void clean() {
+        jdbcTemplate.execute("TRUNCATE students, students_archive, student_stats, student_tombstones, student_jobs");
+    }
+
+    private void createStudents(int count) {
+        for (int i = 0; i < count; i++) {
+            studentService.createStudent(new StudentRequest("Ada", "Lovelace", "export" + i + "@jobs.test",
+                    LocalDate.of(2001, 1, 1).plusDays(i)));
+        }
+    }
+
+    private JobResponse awaitFinished(UUID jobId) throws InterruptedException {
+        for (int i = 0; i < 200; i++) {
+            JobResponse job = jobService.getJob(jobId);
+            if (job.status().finished()) {
+                return job;
+            }
+            Thread.sleep(50);
+        }
+        throw new AssertionError("Job " + jobId + " did not finish");
+    }
+
+    @Test
+    void testExportsEveryStudentAcrossPages() throws Exception {
+        createStudents(25);
+
+        JobResponse job = awaitFinished(jobService.submit(new JobRequest(JobType.EXPORT, null, null)).jobId());
+
+        assertThat(job.status()).isEqualTo(JobStatus.SUCCEEDED);
+        assertThat(job.processed()).isEqualTo(25);
+        assertThat(job.total()).isEqualTo(25);
+        assertThat(job.resultUrl()).isEqualTo("/api/v1/jobs/" + job.jobId() + "/result");
+        List<String> lines = Files.readAllLines(jobService.result(job.jobId()));
+        assertThat(lines).hasSize(26);
+        assertThat(lines.get(0)).isEqualTo(ExportJob.HEADER.strip());
+        assertThat(lines.subList(1, 26)).allSatisfy(line -> assertThat(line).contains("@jobs.test"));
+    }
+
+    @Test
+    void testImportListsRejectedRows() throws Exception {
+        createStudents(1);
+        String csv = """
+                firstName,lastName,email,dateOfBirth
+                Alan,Turing,alan@jobs.test,1990-06-23
+                "Hopper, Grace",Hopper,not-an-email,1990-12-09
+                Ada,Lovelace,export0@jobs.test,1990-12-10
+
+                Edsger,Dijkstra,edsger@jobs.test,1990-05-11
+                """;
+
+        JobResponse job = awaitFinished(jobService.submitImport(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8))).jobId());
+
+        assertThat(job.status()).isEqualTo(JobStatus.SUCCEEDED);
+        assertThat(job.processed()).isEqualTo(4);
+        assertThat(job.failed()).isEqualTo(2);
+        assertThat(job.total()).isEqualTo(4);
+        assertThat(jdbcTemplate.queryForObject("select count(*) from students where email = 'edsger@jobs.test'", Long.class))
+                .isEqualTo(1);
+        assertThat(Files.readAllLines(jobService.result(job.jobId()))).containsExactly(
+                "line,email,error",
+                "3,not-an-email,Please enter a valid email",
+                "4,export0@jobs.test,Email export0@jobs.test already exists");
+    }
+
+    @Test
+    void testResumedExportContinuesFromItsCheckpoint() throws Exception {
+        createStudents(15);
+        JobResponse export = awaitFinished(jobService.submit(new JobRequest(JobType.EXPORT, null, null)).jobId());
+        Path complete = jobService.result(export.jobId());
+        List<String> lines = Files.readAllLines(complete);
+        String written = String.join("\n", lines.subList(0, 11)) + "\n";
+        UUID tenth = UUID.fromString(lines.get(10).substring(0, 36));
+
+        // As left by a run interrupted after checkpointing its first page, the file having grown since
+        UUID jobId = UuidV7Generator.next();
+        Files.writeString(jobFiles.resultForWriting(jobId, JobType.EXPORT), written + "partial,row\n");
+        jdbcTemplate.update("""
+                insert into student_jobs (job_id, job_type, status, owner, processed, total, checkpoint)
+                values (?, 'EXPORT', 'QUEUED', 'test-node', 10, 15, ?)
+                """, jobId, String.format("{\"shard\":0,\"after\":\"%s\",\"bytes\":%d}", tenth,
+                written.getBytes(StandardCharsets.UTF_8).length));
+
+        JobResponse job = awaitFinished(jobId);
+
+        assertThat(job.status()).isEqualTo(JobStatus.SUCCEEDED);
+        assertThat(job.processed()).isEqualTo(15);
+        assertThat(Files.readString(jobService.result(jobId))).isEqualTo(Files.readString(complete));
+    }
+
+    @Test
+    void testSnapshotWritesTheRequestedColumnsToParquet() throws Exception {
+        createStudents(25);
+
+        JobResponse job = awaitFinished(jobService.submit(new JobRequest(JobType.SNAPSHOT,
+                List.of("studentId", "firstName", "updatedAt"), null)).jobId());
+
+        assertThat(job.status()).isEqualTo(JobStatus.SUCCEEDED);
+        assertThat(job.processed()).isEqualTo(25);
+        assertThat(job.total()).isEqualTo(25);
+        Path result = jobService.result(job.jobId());
+        assertThat(result.getFileName().toString()).isEqualTo("result.parquet");
+        try (Connection duckDb = DriverManager.getConnection("jdbc:duckdb:");
+                Statement statement = duckDb.createStatement()) {
+            try (ResultSet rs = statement.executeQuery("select * from '" + result + "'")) {
+                assertThat(rs.getMetaData().getColumnCount()).isEqualTo(3);
+                assertThat(rs.getMetaData().getColumnName(1)).isEqualTo("studentId");
+                assertThat(rs.getMetaData().getColumnName(2)).isEqualTo("firstName");
+                assertThat(rs.getMetaData().getColumnName(3)).isEqualTo("updatedAt");
+            }
+            try (ResultSet rs = statement.executeQuery(
+                    "select count(*), count(distinct studentId), min(firstName) from '" + result + "'")) {
+                rs.next();
+                assertThat(rs.getLong(1)).isEqualTo(25);
+                assertThat(rs.getLong(2)).isEqualTo(25);
+                assertThat(rs.getString(3)).isEqualTo("Ada");
+            }
+            try (ResultSet rs = statement.executeQuery("select decode(value) from parquet_kv_metadata('" + result
+                    + "') where decode(key) = 'student.snapshot.next_updated_since'")) {
+                assertThat(rs.next()).isTrue();
+                assertThat(OffsetDateTime.parse(rs.getString(1))).isBefore(OffsetDateTime.now());
+            }
+        }
+    }
+
+    @Test
+    void testIncrementalSnapshotHasOnlyStudentsUpdatedSince() throws Exception {
+        createStudents(5);
+        jdbcTemplate.update("update students set updated_at = now() - interval '1 day' where email in (?, ?, ?)",
+                "export0@jobs.test", "export1@jobs.test", "export2@jobs.test");
+
+        JobResponse job = awaitFinished(jobService.submit(new JobRequest(JobType.SNAPSHOT, List.of("email"),
+                OffsetDateTime.now().minusHours(1))).jobId());
+
+        assertThat(job.status()).isEqualTo(JobStatus.SUCCEEDED);
+        assertThat(job.processed()).isEqualTo(2);
+        try (Connection duckDb = DriverManager.getConnection("jdbc:duckdb:");
+                Statement statement = duckDb.createStatement();
+                ResultSet rs = statement.executeQuery(
+                        "select email from '" + jobService.result(job.jobId()) + "' order by email")) {
+            List<String> emails = new ArrayList<>();
+            while (rs.next()) {
+                emails.add(rs.getString(1));
+            }
+            assertThat(emails).containsExactly("export3@jobs.test", "export4@jobs.test");
+        }
+    }
+
+    @Test
+    void testSnapshotOptionsAreValidatedOnSubmit() {
+        assertThatThrownBy(() -> jobService.submit(new JobRequest(JobType.SNAPSHOT, List.of("password"), null)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Unknown snapshot column password");
+        assertThatThrownBy(() -> jobService.submit(new JobRequest(JobType.EXPORT, List.of("email"), null)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("columns and updatedSince only apply to SNAPSHOT jobs");
+        assertThat(jdbcTemplate.queryForObject("select count(*) from student_jobs", Long.class)).isZero();
+    }
+
+    @Test
+    void testArchiveJobsAreRejectedWhileArchivingIsDisabled() {
+        assertThatThrownBy(() -> jobService.submit(new JobRequest(JobType.ARCHIVE, null, null)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Archiving is disabled (student.archive.enabled)");
+        assertThat(jdbcTemplate.queryForObject("select count(*) from student_jobs", Long.class)).isZero();
+    }
+}
@@ -0,0 +1,152 @@
+package com.student.student.parquet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Files are read back with DuckDB, a reader that shares no code with the writer.
+ */
+public class ParquetWriterTest {
+
+    private static final List<ParquetColumn> COLUMNS = List.of(
+            ParquetColumn.of("id", ParquetColumn.Type.UUID),
+            ParquetColumn.of("number", ParquetColumn.Type.INT32),
+            ParquetColumn.dictionary("name", ParquetColumn.Type.STRING),
+            ParquetColumn.dictionary("email", ParquetColumn.Type.STRING),
+            ParquetColumn.of("born", ParquetColumn.Type.DATE),
+            ParquetColumn.of("updated", ParquetColumn.Type.TIMESTAMP));
+
+    private static final String[] NAMES = { "Ada", "Grace", "Émile", "李" };
+
+    private static final OffsetDateTime EPOCH = OffsetDateTime.of(2024, 1, 1, 0, 0, 0, 123_456_000, ZoneOffset.ofHours(2));
+
+    @TempDir
+    Path directory;
+
+    private Path write(int rows, ParquetWriter.Settings settings) throws IOException {
+        Path file = directory.resolve("students-" + settings.codec() + ".parquet");
+        try (ParquetWriter writer = new ParquetWriter(Files.newOutputStream(file), COLUMNS, settings)) {
+            writer.metadata("source", "test");
+            for (int i = 0; i < rows; i++) {
+                writer.write(new UUID(i, -i), i - 5, NAMES[i % NAMES.length], "student" + i + "@test.com",
+                        LocalDate.of(1990, 1, 1).plusDays(i), EPOCH.plusSeconds(i));
+            }
+        }
+        return file;
+    }
+
+    @Test
+    void testEveryTypeRoundTrips() throws Exception {
+        for (ParquetWriter.Codec codec : ParquetWriter.Codec.values()) {
+            Path file = write(1_000, new ParquetWriter.Settings(1 << 20, 4096, 1 << 16, codec));
+
+            List<List<Object>> rows = query(file, "select id::varchar, number, name, email, born::varchar, "
+                    + "epoch_us(updated) from '" + file + "' where number in (-5, 994) order by number");
+
+            assertThat(rows).containsExactly(
+                    List.of("00000000-0000-0000-0000-000000000000", -5, "Ada", "student0@test.com", "1990-01-01",
+                            EPOCH.toEpochSecond() * 1_000_000 + 123_456),
+                    List.of("00000000-0000-03e7-ffff-fffffffffc19", 994, "李", "student999@test.com", "1992-09-26",
+                            (EPOCH.toEpochSecond() + 999) * 1_000_000 + 123_456));
+            assertThat(query(file, "select count(*), count(distinct name) from '" + file + "'"))
+                    .containsExactly(List.of(1_000L, 4L));
+            assertThat(query(file, "select decode(value) from parquet_kv_metadata('" + file + "')"))
+                    .containsExactly(List.of("test"));
+        }
+    }
+
+    @Test
+    void testRowGroupsAreBoundedByBufferedBytes() throws Exception {
+        // About 150 bytes buffered per row, so a row group every ~70 rows
+        Path file = write(1_000, new ParquetWriter.Settings(10_000, 1024, 1 << 16, ParquetWriter.Codec.GZIP));
+
+        List<List<Object>> rowGroups = query(file,
+                "select row_group_id, max(row_group_num_rows) from parquet_metadata('" + file + "') group by 1");
+
+        assertThat(rowGroups).hasSizeGreaterThan(10);
+        assertThat(rowGroups).allSatisfy(rowGroup -> assertThat((Long) rowGroup.get(1)).isLessThan(100));
+        assertThat(query(file, "select count(*) from '" + file + "'")).containsExactly(List.of(1_000L));
+    }
+
+    @Test
+    void testDictionaryFallsBackToPlainWhenTooLarge() throws Exception {
+        Path file = write(1_000, new ParquetWriter.Settings(1 << 20, 4096, 1024, ParquetWriter.Codec.UNCOMPRESSED));
+
+        List<List<Object>> encodings = query(file,
+                "select path_in_schema, encodings from parquet_metadata('" + file + "') where path_in_schema in "
+                        + "('name', 'email') order by 1");
+
+        assertThat(encodings).containsExactly(List.of("email", "PLAIN"), List.of("name", "PLAIN_DICTIONARY"));
+        assertThat(query(file, "select count(distinct email) from '" + file + "'")).containsExactly(List.of(1_000L));
+    }
+
+    @Test
+    void testStatisticsLetReadersSkipRowGroups() throws Exception {
+        Path file = write(1_000, new ParquetWriter.Settings(10_000, 1024, 1 << 16, ParquetWriter.Codec.GZIP));
+
+        List<List<Object>> statistics = query(file, "select stats_min_value, stats_max_value from parquet_metadata('"
+                + file + "') where path_in_schema = 'number' and row_group_id = 0");
+
+        assertThat(statistics).hasSize(1);
+        assertThat(statistics.get(0).get(0)).isEqualTo("-5");
+        assertThat(Integer.parseInt((String) statistics.get(0).get(1))).isBetween(0, 100);
+    }
+
+    @Test
+    void testEmptyFileIsReadable() throws Exception {
+        Path file = write(0, new ParquetWriter.Settings(1 << 20, 4096, 1 << 16, ParquetWriter.Codec.GZIP));
+
+        assertThat(query(file, "select count(*) from '" + file + "'")).containsExactly(List.of(0L));
+    }
+
+    @Test
+    void testRejectsMissingValuesAndWrongArity() throws Exception {
+        try (ParquetWriter writer = new ParquetWriter(Files.newOutputStream(directory.resolve("bad.parquet")),
+                COLUMNS, new ParquetWriter.Settings(1 << 20, 4096, 1 << 16, ParquetWriter.Codec.GZIP))) {
+            assertThatThrownBy(() -> writer.write(UUID.randomUUID(), 1))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("Expected 6 values per row, got 2");
+            assertThatThrownBy(() -> writer.write(UUID.randomUUID(), 1, null, "a@test.com", LocalDate.EPOCH, EPOCH))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("Column name is required");
+        }
+        assertThatThrownBy(() -> new ParquetWriter(Files.newOutputStream(directory.resolve("dictionary.parquet")),
+                List.of(ParquetColumn.dictionary("number", ParquetColumn.Type.INT32)),
+                new ParquetWriter.Settings(1 << 20, 4096, 1 << 16, ParquetWriter.Codec.GZIP)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static List<List<Object>> query(Path file, String sql) throws SQLException {
+        try (Connection duckDb = DriverManager.getConnection("jdbc:duckdb:");
+                Statement statement = duckDb.createStatement();
+                ResultSet rs = statement.executeQuery(sql)) {
+            List<List<Object>> rows = new ArrayList<>();
+            while (rs.next()) {
+                List<Object> row = new ArrayList<>();
+                for (int i = 1; i <= rs.getMetaData().getColumnCount(); i++) {
+                    row.add(rs.getObject(i));
+                }
+                rows.add(row);
+            }
+            return rows;
+        }
+    }
+}
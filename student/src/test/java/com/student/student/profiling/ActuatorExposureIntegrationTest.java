@@ -0,0 +1,61 @@
+package com.student.student.profiling;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+
+import com.student.student.support.SharedPostgres;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "management.server.port=0")
+@ContextConfiguration(initializers = SharedPostgres.class)
+@ActiveProfiles("test")
+public class ActuatorExposureIntegrationTest {
+
+    @LocalServerPort
+    private int serverPort;
+
+    @LocalManagementPort
+    private int managementPort;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    private HttpStatus status(int port, String path) {
+        return HttpStatus.valueOf(restTemplate.getForEntity("http://127.0.0.1:" + port + path, String.class)
+                .getStatusCode().value());
+    }
+
+    @Test
+    void testJfrIsOnlyServedOnTheManagementPort() {
+        assertThat(managementPort).isNotEqualTo(serverPort);
+        assertThat(status(serverPort, "/actuator/jfr").is2xxSuccessful()).isFalse();
+        assertThat(status(managementPort, "/actuator/jfr")).isEqualTo(HttpStatus.OK);
+    }
+
+    @Test
+    void testSlowQueriesAreOnlyServedOnTheManagementPort() {
+        assertThat(status(serverPort, "/actuator/slowqueries").is2xxSuccessful()).isFalse();
+        assertThat(status(managementPort, "/actuator/slowqueries")).isEqualTo(HttpStatus.OK);
+    }
+
+    @Test
+    void testSpansAreOnlyServedOnTheManagementPort() {
+        assertThat(status(serverPort, "/actuator/spans").is2xxSuccessful()).isFalse();
+        assertThat(status(managementPort, "/actuator/spans")).isEqualTo(HttpStatus.OK);
+    }
+
+    @Test
+    void testHealthMovesWithTheOtherEndpoints() {
+        assertThat(status(serverPort, "/actuator/health").is2xxSuccessful()).isFalse();
+        assertThat(status(managementPort, "/actuator/health")).isEqualTo(HttpStatus.OK);
+        assertThat(status(serverPort, "/healthcheck")).isEqualTo(HttpStatus.OK);
+    }
+}
@@ -0,0 +1,76 @@
+package com.student.student.profiling;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.unit.DataSize;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+public class JfrRecordingEndpointTest {
+
+    private final JfrRecordingEndpoint endpoint =
+            new JfrRecordingEndpoint(Duration.ofMinutes(1), Duration.ofMinutes(5), DataSize.ofMegabytes(50));
+
+    @AfterEach
+    void tearDown() {
+        endpoint.discard();
+    }
+
+    @Test
+    void testStartAndStop_ReturnsRecordingWithCustomEvents() throws Exception {
+        WebEndpointResponse<Map<String, Object>> started = endpoint.start("PT30S", "default");
+        assertThat(started.getStatus()).isEqualTo(WebEndpointResponse.STATUS_OK);
+        assertThat(endpoint.start(null, null).getStatus()).isEqualTo(HttpStatus.CONFLICT.value());
+
+        StudentOperationEvent event = new StudentOperationEvent();
+        event.begin();
+        event.operation = "StudentService.getStudentByEmail";
+        event.keyType = "email";
+        event.rowCount = 1;
+        event.commit();
+
+        WebEndpointResponse<Resource> stopped = endpoint.stop();
+        assertThat(stopped.getStatus()).isEqualTo(WebEndpointResponse.STATUS_OK);
+        List<RecordedEvent> events = RecordingFile.readAllEvents(stopped.getBody().getFile().toPath());
+        assertThat(events).anySatisfy(recorded -> {
+            assertThat(recorded.getEventType().getName()).isEqualTo("com.student.StudentOperation");
+            assertThat(recorded.getString("keyType")).isEqualTo("email");
+        });
+        assertThat(endpoint.status().get("state")).isNotEqualTo("RUNNING");
+    }
+
+    @Test
+    void testRecording_UsesDefaultSettingsAndLeavesOutEnvironment() throws Exception {
+        assertThat(endpoint.start("PT30S", null).getStatus()).isEqualTo(WebEndpointResponse.STATUS_OK);
+        assertThat(endpoint.status().get("settings")).isEqualTo("default");
+
+        WebEndpointResponse<Resource> stopped = endpoint.stop();
+        List<RecordedEvent> events = RecordingFile.readAllEvents(stopped.getBody().getFile().toPath());
+        assertThat(events).extracting(recorded -> recorded.getEventType().getName())
+                .isNotEmpty()
+                .doesNotContain("jdk.InitialEnvironmentVariable", "jdk.InitialSystemProperty", "jdk.JVMInformation");
+    }
+
+    @Test
+    void testStart_RejectsUnknownSettings() {
+        assertThat(endpoint.start(null, "nope").getStatus()).isEqualTo(WebEndpointResponse.STATUS_BAD_REQUEST);
+        assertThat(endpoint.stop().getStatus()).isEqualTo(WebEndpointResponse.STATUS_NOT_FOUND);
+    }
+
+    @Test
+    void testRowCount_CountsCollectionsAndOptionals() {
+        assertThat(OperationAttributes.rowCount(List.of(1, 2, 3))).isEqualTo(3);
+        assertThat(OperationAttributes.rowCount(java.util.Optional.empty())).isZero();
+        assertThat(OperationAttributes.keyType("getStudentByRollNumber", new Object[] { 5 })).isEqualTo("rollNumber");
+    }
+}
@@ -0,0 +1,52 @@
+package com.student.student.profiling;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.student.student.jdbc.JdbcExecution;
+
+public class SlowQueryRecorderTest {
+
+    private static final String FIND_BY_EMAIL = "select s1_0.student_id from students s1_0 where lower(s1_0.email)=lower(?)";
+
+    private final SlowQueryRecorder recorder = new SlowQueryRecorder(null, Duration.ofMillis(100), 0.0,
+            Duration.ofSeconds(5), 3);
+
+    private static JdbcExecution execution(String sql, long millis) {
+        return new JdbcExecution(sql, List.of("a@b.test"), List.of("String"), Duration.ofMillis(millis).toNanos(), -1, false);
+    }
+
+    @Test
+    void testAfterExecution_GroupsSlowStatementsAndKeepsOnlyTheNewest() {
+        recorder.afterExecution(execution(FIND_BY_EMAIL, 50));
+        recorder.afterExecution(execution(FIND_BY_EMAIL, 300));
+        recorder.afterExecution(execution("select * from students where roll_number = 1001", 150));
+        recorder.afterExecution(execution(FIND_BY_EMAIL, 200));
+        recorder.afterExecution(execution("select * from students where roll_number = 1002", 120));
+
+        List<SlowQueryGroup> groups = recorder.groups();
+
+        // capacity 3: the 300 ms email lookup was the oldest slow entry and has been evicted, the 50 ms one never counted
+        assertThat(groups).hasSize(2);
+        assertThat(groups.get(0).sql()).isEqualTo(FIND_BY_EMAIL);
+        assertThat(groups.get(0).count()).isEqualTo(1);
+        assertThat(groups.get(0).p99Millis()).isEqualTo(200.0);
+        assertThat(groups.get(0).parameterTypes()).containsExactly("String");
+        assertThat(groups.get(1).sql()).isEqualTo("select * from students where roll_number = ?");
+        assertThat(groups.get(1).count()).isEqualTo(2);
+        assertThat(groups.get(1).maxMillis()).isEqualTo(150.0);
+    }
+
+    @Test
+    void testNormalizeAndExplainable() {
+        assertThat(SlowQueryRecorder.normalize("select *\n  from students where email in (?, ?, ?) and note = 'it''s'"))
+                .isEqualTo("select * from students where email in (?...) and note = ?");
+        assertThat(SlowQueryRecorder.explainable(FIND_BY_EMAIL)).isTrue();
+        assertThat(SlowQueryRecorder.explainable("select nextval('roll_number_seq')")).isFalse();
+        assertThat(SlowQueryRecorder.explainable("delete from students where student_id=?")).isFalse();
+    }
+}
@@ -1,6 +1,7 @@
 package com.student.student.repository;
 
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -113,7 +114,32 @@ public class StudentRepositoryTest {
         assertThat(retStudent.get()).isEqualTo(savedStudent);
 
     }
+
+    @Test
+    void testFindByEmail_IgnoresCase(){
+        Student savedStudent = testEntityManager.persistAndFlush(testStudent);
+
+        Optional<Student> retStudent = studentRepository.findByEmail("TestEmail@Test.LINK");
+        assertThat(retStudent).isNotEmpty();
+        assertThat(retStudent.get().getStudentId()).isEqualTo(savedStudent.getStudentId());
+        assertThat(studentRepository.existsByEmail("TESTEMAIL@TEST.LINK")).isTrue();
+
+    }
     
 
 
+    @Test
+    void testSaveAll_AssignsRollNumbersBeforeInsert() {
+        Student second = Student.builder()
+                        .firstName("Jane")
+                        .lastName("Doe")
+                        .dateOfBirth(LocalDate.of(2015,12,12))
+                        .email("second@test.link")
+                        .build();
+
+        List<Student> saved = studentRepository.saveAllAndFlush(List.of(testStudent, second));
+
+        assertThat(saved).extracting(Student::getRollNumber).doesNotContainNull().doesNotHaveDuplicates();
+        assertThat(studentRepository.existsByRollNumber(saved.get(1).getRollNumber())).isTrue();
+    }
 }
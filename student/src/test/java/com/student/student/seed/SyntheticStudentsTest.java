@@ -0,0 +1,47 @@
+package com.student.student.seed;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+class SyntheticStudentsTest {
+
+    private static final Instant REFERENCE = Instant.parse("2025-09-01T00:00:00Z");
+    private static final Duration WINDOW = Duration.ofDays(1460);
+
+    @Test
+    void testRow_IsDeterministicPerSeedAndIndex() {
+        SyntheticStudents first = new SyntheticStudents(42, 10_000, REFERENCE, WINDOW);
+        SyntheticStudents second = new SyntheticStudents(42, 10_000, REFERENCE, WINDOW);
+        SyntheticStudents otherSeed = new SyntheticStudents(7, 10_000, REFERENCE, WINDOW);
+
+        assertThat(first.row(1234)).isEqualTo(second.row(1234));
+        assertThat(first.row(1234).studentId()).isNotEqualTo(otherSeed.row(1234).studentId());
+    }
+
+    @Test
+    void testRow_ProducesValidStudents() {
+        int rows = 10_000;
+        SyntheticStudents students = new SyntheticStudents(42, rows, REFERENCE, WINDOW);
+        Set<String> emails = new HashSet<>();
+        Instant previous = Instant.MIN;
+
+        for (int i = 0; i < rows; i++) {
+            SyntheticStudents.Row row = students.row(i);
+            assertThat(emails.add(row.email())).isTrue();
+            assertThat(row.email()).matches("[a-z]+\\.[a-z]+\\.\\d+@example\\.test");
+            assertThat(row.createdAt()).isBetween(REFERENCE.minus(WINDOW), REFERENCE);
+            assertThat(row.createdAt()).isAfterOrEqualTo(previous);
+            assertThat(row.dateOfBirth()).isBefore(LocalDate.ofInstant(row.createdAt(), ZoneOffset.UTC).minusYears(17).plusDays(1));
+            assertThat(row.studentId().version()).isEqualTo(7);
+            previous = row.createdAt();
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.student.student.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.student.student.dto.StudentChange;
+import com.student.student.dto.StudentChangesResponse;
+import com.student.student.entity.Student;
+import com.student.student.entity.StudentTombstone;
+import com.student.student.exception.ChangeTokenExpiredException;
+import com.student.student.repository.StudentRepository;
+import com.student.student.repository.StudentTombstoneRepository;
+import com.student.student.shard.ShardRouter;
+import com.student.student.tenant.TenantContext;
+
+@ExtendWith(MockitoExtension.class)
+public class StudentChangeServiceTest {
+
+    @Mock
+    private StudentRepository studentRepository;
+
+    @Mock
+    private StudentTombstoneRepository studentTombstoneRepository;
+
+    private StudentChangeService studentChangeService;
+
+    private final LocalDateTime base = LocalDateTime.now().minusHours(1);
+
+    @BeforeEach
+    void setUp() {
+        studentChangeService = new StudentChangeService(studentRepository, studentTombstoneRepository, ShardRouter.single(),
+                Duration.ofSeconds(5), Duration.ofDays(30), 1000);
+    }
+
+    private Student student(int rollNumber, LocalDateTime createdAt, LocalDateTime updatedAt) {
+        return Student.builder()
+                .studentId(UUID.randomUUID())
+                .rollNumber(rollNumber)
+                .firstName("John")
+                .lastName("Doe")
+                .email(rollNumber + "@test.com")
+                .dateOfBirth(LocalDate.of(2000, 1, 15))
+                .createdAt(createdAt)
+                .updatedAt(updatedAt)
+                .build();
+    }
+
+    @Test
+    void testChangesMergeUpsertsAndTombstonesInTimeOrder() {
+        ChangeToken since = new ChangeToken(base, new UUID(0L, 0L));
+        Student created = student(1001, base.plusSeconds(1), base.plusSeconds(1));
+        Student updated = student(1002, base.minusDays(1), base.plusSeconds(3));
+        StudentTombstone deleted = new StudentTombstone(UUID.randomUUID(), 1003, base.plusSeconds(2), TenantContext.DEFAULT_TENANT);
+        when(studentRepository.findChangedAfter(eq(base), eq(since.studentId()), any(), any()))
+            .thenReturn(List.of(created, updated));
+        when(studentTombstoneRepository.findDeletedAfter(eq(base), eq(since.studentId()), any(), any()))
+            .thenReturn(List.of(deleted));
+
+        StudentChangesResponse response = studentChangeService.getChangesSince(since.encode(), 10);
+
+        assertThat(response.changes()).extracting(StudentChange::type).containsExactly(
+                StudentChange.Type.CREATED, StudentChange.Type.DELETED, StudentChange.Type.UPDATED);
+        assertThat(response.changes().get(1).student()).isNull();
+        assertThat(response.hasMore()).isFalse();
+        assertThat(ChangeToken.decode(response.nextToken()))
+            .isEqualTo(new ChangeToken(updated.getUpdatedAt(), updated.getStudentId()));
+    }
+
+    @Test
+    void testPageIsCutAtLimitAndTokenPointsAtLastReturnedChange() {
+        Student first = student(1001, base.plusSeconds(1), base.plusSeconds(1));
+        Student second = student(1002, base.plusSeconds(2), base.plusSeconds(2));
+        when(studentRepository.findChangedAfter(any(), any(), any(), any())).thenReturn(List.of(first, second));
+        when(studentTombstoneRepository.findDeletedAfter(any(), any(), any(), any())).thenReturn(List.of());
+
+        StudentChangesResponse response = studentChangeService.getChangesSince(null, 1);
+
+        assertThat(response.changes()).hasSize(1);
+        assertThat(response.hasMore()).isTrue();
+        assertThat(ChangeToken.decode(response.nextToken()).studentId()).isEqualTo(first.getStudentId());
+    }
+
+    @Test
+    void testExpiredTokenIsRejected() {
+        String token = new ChangeToken(LocalDateTime.now().minusDays(31), UUID.randomUUID()).encode();
+
+        assertThatThrownBy(() -> studentChangeService.getChangesSince(token, 10))
+                .isInstanceOf(ChangeTokenExpiredException.class);
+    }
+
+    @Test
+    void testMalformedTokenIsRejected() {
+        assertThatThrownBy(() -> studentChangeService.getChangesSince("not-a-token", 10))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid change token");
+    }
+}
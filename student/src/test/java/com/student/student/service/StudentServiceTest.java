@@ -4,31 +4,52 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import org.springframework.test.context.ActiveProfiles;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import com.student.student.archive.StudentArchive;
+import com.student.student.cache.LookupKey;
+import com.student.student.cache.StudentLookupFilter;
+import com.student.student.cache.StudentLookupFlights;
+import com.student.student.dto.StudentFields;
+import com.student.student.dto.StudentLookupResult;
 import com.student.student.dto.StudentRequest;
 import com.student.student.dto.StudentResponse;
 import com.student.student.entity.Student;
 import com.student.student.exception.EmailAlreadyExistsException;
 import com.student.student.exception.StudentNotFoundException;
 import com.student.student.repository.StudentRepository;
+import com.student.student.shard.ShardRouter;
+import com.student.student.tenant.TenantRegistry;
+import com.student.student.dto.StudentChange;
+import com.student.student.stream.StudentOutbox;
 
 
 
@@ -39,6 +60,27 @@ public class StudentServiceTest {
 
     @Mock
     private StudentRepository studentRepository;  // ✅ Mock the repository
+
+    @Mock
+    private StudentLookupFilter studentLookupFilter;
+
+    @Mock
+    private StudentOutbox studentOutbox;
+
+    @Mock
+    private StudentStatsService studentStatsService;
+
+    @Spy
+    private ShardRouter shardRouter = ShardRouter.single();
+
+    @Mock
+    private StudentArchive studentArchive;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private StudentLookupFlights studentLookupFlights = new StudentLookupFlights(meterRegistry,
+            new TenantRegistry(meterRegistry, false, new String[0], 100, 32, 10, Duration.ofSeconds(2)), true, 1000);
     
     @InjectMocks
     private StudentService studentService;
@@ -119,10 +161,12 @@ public class StudentServiceTest {
 
     @Test
     void testDeleteStudentByRollNumber() {
+       when(studentRepository.deleteReturningByRollNumber(1001, null)).thenReturn(Optional.of(testStudent));
        studentService.deleteStudentByRollNumber(1001);
     
     // Then
-    verify(studentRepository).deleteByRollNumber(1001);
+    verify(studentRepository).deleteReturningByRollNumber(1001, null);
+    verify(studentArchive, never()).deleteByRollNumber(1001);
     
 
 
@@ -365,4 +409,188 @@ void testGetAllStudents_EmptyList() {
     verify(studentRepository).findAll();
 }
 
+@Test
+void testGetStudentByEmail_DefinitelyMissing_SkipsDatabase() {
+    when(studentLookupFilter.definitelyMissingEmail("ghost@test.com")).thenReturn(true);
+
+    assertThatThrownBy(() -> studentService.getStudentByEmail("ghost@test.com"))
+            .isInstanceOf(StudentNotFoundException.class)
+            .hasMessage("Student with email ghost@test.com not found");
+
+    verify(studentRepository, never()).findByEmail(any());
+}
+
+@Test
+void testCreateStudent_DefinitelyMissingEmail_SkipsExistsCheck() {
+    when(studentLookupFilter.definitelyMissingEmail("john.doe@test.com")).thenReturn(true);
+    when(studentRepository.save(any(Student.class))).thenReturn(testStudent);
+
+    StudentResponse result = studentService.createStudent(testRequest);
+
+    assertThat(result.rollNumber()).isEqualTo(1001);
+    verify(studentRepository, never()).existsByEmail(any());
+    verify(studentLookupFilter).recordEmail("john.doe@test.com");
+    verify(studentLookupFilter).recordRollNumber(1001);
+}
+
+@Test
+void testLookupStudents_PreservesRequestOrderAndReportsMisses() {
+    Student anotherStudent = Student.builder()
+            .studentId(UUID.randomUUID())
+            .rollNumber(1002)
+            .firstName("Alice")
+            .lastName("Johnson")
+            .email("alice.j@test.com")
+            .dateOfBirth(LocalDate.of(2001, 2, 25))
+            .build();
+    when(studentRepository.findAllByRollNumberIn(any(), any()))
+        .thenReturn(List.of(anotherStudent, testStudent));
+
+    List<StudentLookupResult> results = studentService.lookupStudents(
+            LookupKey.ROLL_NUMBER, List.of("1001", "9999", "1002"));
+
+    assertThat(results).extracting(StudentLookupResult::key).containsExactly("1001", "9999", "1002");
+    assertThat(results).extracting(StudentLookupResult::found).containsExactly(true, false, true);
+    assertThat(results.get(0).student().firstName()).isEqualTo("John");
+    assertThat(results.get(1).student()).isNull();
+    assertThat(results.get(2).student().firstName()).isEqualTo("Alice");
+    verify(studentRepository).findAllByRollNumberIn(new Integer[] { 1001, 9999, 1002 }, null);
+}
+
+@Test
+void testGetStudentById_WithFields_SelectsOnlyRequestedColumns() {
+    when(studentRepository.findFieldsById(testStudentId, List.of("rollNumber", "firstName")))
+        .thenReturn(Optional.of(Map.of("rollNumber", 1001, "firstName", "John")));
+
+    Map<String, Object> result = studentService.getStudentById(testStudentId, StudentFields.parse("firstName, rollNumber"));
+
+    assertThat(result).containsOnlyKeys("rollNumber", "firstName");
+    verify(studentRepository, never()).findById(any());
+}
+
+@Test
+void testStudentFields_RejectsUnknownField() {
+    assertThatThrownBy(() -> StudentFields.parse("firstName,password"))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageStartingWith("Unknown field password");
+}
+
+
+@Test
+void testCreateStudent_AppendsCreatedEvent() {
+    when(studentRepository.existsByEmail(testRequest.email())).thenReturn(false);
+    when(studentRepository.save(any(Student.class))).thenReturn(testStudent);
+
+    StudentResponse response = studentService.createStudent(testRequest);
+
+    verify(studentOutbox).append(StudentChange.Type.CREATED, response);
+}
+
+@Test
+void testDeleteStudentById_AppendsDeletedEvent() {
+    when(studentRepository.findById(testStudentId)).thenReturn(Optional.of(testStudent));
+
+    studentService.deleteStudentById(testStudentId);
+
+    verify(studentOutbox).appendDeleted(testStudentId, testStudent.getRollNumber());
+    verify(studentStatsService).recordDeleted(testStudent.getDateOfBirth(), testStudent.getCreatedAt());
+    verify(studentRepository).deleteById(testStudentId);
+}
+
+@Test
+void testGetStudentById_FallsBackToArchive() {
+    when(studentRepository.findById(testStudentId)).thenReturn(Optional.empty());
+    when(studentArchive.findById(testStudentId)).thenReturn(Optional.of(testStudent));
+
+    StudentResponse result = studentService.getStudentById(testStudentId);
+
+    assertThat(result.studentId()).isEqualTo(testStudentId);
+    assertThat(result.email()).isEqualTo("john.doe@test.com");
+}
+
+@Test
+void testCreateStudent_EmailTakenByArchivedStudent_ThrowsException() {
+    when(studentRepository.existsByEmail(testRequest.email())).thenReturn(false);
+    when(studentArchive.containsEmail(testRequest.email())).thenReturn(true);
+
+    assertThatThrownBy(() -> studentService.createStudent(testRequest))
+            .isInstanceOf(EmailAlreadyExistsException.class);
+    verify(studentRepository, never()).save(any(Student.class));
+}
+
+@Test
+void testDeleteStudentById_DeletesArchivedStudent() {
+    when(studentRepository.findById(testStudentId)).thenReturn(Optional.empty());
+    when(studentArchive.deleteById(testStudentId)).thenReturn(Optional.of(testStudent));
+
+    studentService.deleteStudentById(testStudentId);
+
+    verify(studentOutbox).appendDeleted(testStudentId, testStudent.getRollNumber());
+    verify(studentStatsService).recordDeleted(testStudent.getDateOfBirth(), testStudent.getCreatedAt());
+}
+
+@Test
+void testConcurrentIdenticalLookupsShareOneQuery() throws Exception {
+    int callers = 8;
+    // The query holds until every other caller has joined it
+    when(studentRepository.findById(testStudentId)).thenAnswer(invocation -> {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (coalesced("id") < callers - 1 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        return Optional.of(testStudent);
+    });
+
+    ExecutorService executor = Executors.newFixedThreadPool(callers);
+    try {
+        List<Future<StudentResponse>> results = new ArrayList<>();
+        for (int i = 0; i < callers; i++) {
+            results.add(executor.submit(() -> studentService.getStudentById(testStudentId)));
+        }
+        for (Future<StudentResponse> result : results) {
+            assertThat(result.get(10, TimeUnit.SECONDS).studentId()).isEqualTo(testStudentId);
+        }
+    } finally {
+        executor.shutdownNow();
+    }
+
+    verify(studentRepository, times(1)).findById(testStudentId);
+    assertThat(coalesced("id")).isEqualTo(callers - 1);
+}
+
+@Test
+void testConcurrentLookupsOfMissingStudentShareTheNotFound() throws Exception {
+    int callers = 4;
+    when(studentLookupFilter.definitelyMissingEmail("gone@test.com")).thenReturn(false);
+    when(studentRepository.findByEmail("gone@test.com")).thenAnswer(invocation -> {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (coalesced("email") < callers - 1 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        return Optional.empty();
+    });
+    when(studentArchive.findByEmail("gone@test.com")).thenReturn(Optional.empty());
+
+    ExecutorService executor = Executors.newFixedThreadPool(callers);
+    try {
+        List<Future<StudentResponse>> results = new ArrayList<>();
+        for (int i = 0; i < callers; i++) {
+            results.add(executor.submit(() -> studentService.getStudentByEmail("gone@test.com")));
+        }
+        for (Future<StudentResponse> result : results) {
+            assertThatThrownBy(() -> result.get(10, TimeUnit.SECONDS))
+                    .hasCauseInstanceOf(StudentNotFoundException.class);
+        }
+    } finally {
+        executor.shutdownNow();
+    }
+
+    verify(studentRepository, times(1)).findByEmail("gone@test.com");
+}
+
+private double coalesced(String key) {
+    return meterRegistry.get("student.lookup.single_flight").tag("key", key).tag("outcome", "coalesced")
+            .counter().count();
+}
+
 }
@@ -0,0 +1,116 @@
+package com.student.student.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.student.student.dto.StudentStatsResponse;
+import com.student.student.repository.StudentRepository;
+import com.student.student.repository.StudentStatsView;
+import com.student.student.shard.ShardRouter;
+import com.student.student.tenant.TenantContext;
+
+@ExtendWith(MockitoExtension.class)
+public class StudentStatsServiceTest {
+
+    @Mock
+    private StudentRepository studentRepository;
+
+    private StudentStatsService studentStatsService;
+
+    // Mid-month in UTC so the bucket does not depend on the JVM time zone
+    private final LocalDateTime octoberEnrollment = LocalDateTime.of(2023, 10, 15, 12, 0)
+            .atOffset(ZoneOffset.UTC).atZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime();
+
+    @BeforeEach
+    void setUp() {
+        studentStatsService = new StudentStatsService(studentRepository, ShardRouter.single());
+    }
+
+    private static StudentStatsView bucket(String dimension, int bucket, long count) {
+        return bucket(TenantContext.DEFAULT_TENANT, dimension, bucket, count);
+    }
+
+    private static StudentStatsView bucket(String tenant, String dimension, int bucket, long count) {
+        return new StudentStatsView() {
+            public String getTenantId() { return tenant; }
+            public String getDimension() { return dimension; }
+            public Integer getBucket() { return bucket; }
+            public Long getStudentCount() { return count; }
+        };
+    }
+
+    @Test
+    void testGetStats_LoadsSummaryOnceThenAppliesDeltas() {
+        when(studentRepository.findStatsBuckets()).thenReturn(List.of(
+                bucket(StudentStatsService.TOTAL, 0, 3),
+                bucket(StudentStatsService.BIRTH_YEAR, 2000, 2),
+                bucket(StudentStatsService.BIRTH_YEAR, 2001, 1),
+                bucket(StudentStatsService.ENROLLED_MONTH, 202310, 3)));
+
+        assertThat(studentStatsService.getStats().total()).isEqualTo(3);
+
+        studentStatsService.recordCreated(LocalDate.of(2002, 5, 1), octoberEnrollment);
+        studentStatsService.recordDeleted(LocalDate.of(2001, 3, 1), octoberEnrollment);
+        studentStatsService.recordBirthDateChanged(LocalDate.of(2000, 1, 1), LocalDate.of(2001, 1, 1));
+
+        StudentStatsResponse stats = studentStatsService.getStats();
+        assertThat(stats.total()).isEqualTo(3);
+        assertThat(stats.byBirthYear()).containsExactly(entry(2000, 1L), entry(2001, 1L), entry(2002, 1L));
+        assertThat(stats.byEnrollmentMonth()).containsEntry("2023-10", 3L).hasSize(1);
+        verify(studentRepository, times(1)).findStatsBuckets();
+    }
+
+    @Test
+    void testReconcile_ReplacesCountersFromSummaryTable() {
+        when(studentRepository.findStatsBuckets())
+                .thenReturn(List.of(bucket(StudentStatsService.TOTAL, 0, 5)))
+                .thenReturn(List.of(bucket(StudentStatsService.TOTAL, 0, 7)));
+
+        studentStatsService.reconcile();
+        studentStatsService.recordCreated(LocalDate.of(2000, 1, 1), octoberEnrollment);
+        assertThat(studentStatsService.getStats().total()).isEqualTo(6);
+
+        studentStatsService.reconcile();
+        assertThat(studentStatsService.getStats().total()).isEqualTo(7);
+    }
+
+    @Test
+    void testGetStats_AnswersForTheBoundTenantOnly() {
+        when(studentRepository.findStatsBuckets()).thenReturn(List.of(
+                bucket("north", StudentStatsService.TOTAL, 0, 2),
+                bucket("north", StudentStatsService.BIRTH_YEAR, 2000, 2),
+                bucket("south", StudentStatsService.TOTAL, 0, 1),
+                bucket("south", StudentStatsService.BIRTH_YEAR, 2000, 1)));
+        studentStatsService.reconcile();
+
+        TenantContext.call("south", () -> {
+            studentStatsService.recordCreated(LocalDate.of(2001, 1, 1), octoberEnrollment);
+            return null;
+        });
+
+        StudentStatsResponse north = TenantContext.call("north", studentStatsService::getStats);
+        assertThat(north.total()).isEqualTo(2);
+        assertThat(north.byBirthYear()).containsExactly(entry(2000, 2L));
+        StudentStatsResponse south = TenantContext.call("south", studentStatsService::getStats);
+        assertThat(south.total()).isEqualTo(2);
+        assertThat(south.byBirthYear()).containsExactly(entry(2000, 1L), entry(2001, 1L));
+        assertThat(TenantContext.call("west", studentStatsService::getStats).total()).isZero();
+        // Unbound callers are internal and see the whole installation
+        assertThat(studentStatsService.getStats().total()).isEqualTo(4);
+    }
+}
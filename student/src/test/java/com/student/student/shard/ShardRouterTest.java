@@ -0,0 +1,89 @@
+package com.student.student.shard;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import com.student.student.cache.LookupKey;
+import com.student.student.entity.UuidV7Generator;
+
+public class ShardRouterTest {
+
+    @Test
+    void testShardOf_SpreadsTimeOrderedIdsEvenly() {
+        int[] counts = new int[4];
+        for (int i = 0; i < 40_000; i++) {
+            counts[ShardRouter.shardOf(UuidV7Generator.next(), 4)]++;
+        }
+        for (int count : counts) {
+            assertThat(count).isBetween(9_000, 11_000);
+        }
+    }
+
+    @Test
+    void testShardOf_IsStable() {
+        UUID id = UUID.fromString("01890a5d-ac96-774b-bcce-b302099a8057");
+        assertThat(ShardRouter.shardOf(id, 4)).isEqualTo(ShardRouter.shardOf(id, 4));
+        assertThat(ShardRouter.shardOf(id, 1)).isZero();
+    }
+
+    @Test
+    void testOn_BindsShardForIdGeneration() {
+        ShardRouter router = new ShardRouter(4, mock(StudentDirectory.class));
+        assertThat(ShardContext.currentShard()).isNull();
+        router.on(2, () -> {
+            assertThat(ShardContext.currentShard()).isEqualTo(2);
+            UUID id = UuidV7Generator.next();
+            assertThat(ShardContext.accepts(id)).isEqualTo(ShardRouter.shardOf(id, 4) == 2);
+            return null;
+        });
+        assertThat(ShardContext.currentShard()).isNull();
+        router.close();
+    }
+
+    @Test
+    void testScatter_RunsOncePerShardInShardOrder() {
+        ShardRouter router = new ShardRouter(3, mock(StudentDirectory.class));
+        assertThat(router.scatter(ShardContext::currentShard)).containsExactly(0, 1, 2);
+        router.close();
+    }
+
+    @Test
+    void testSingle_RunsInlineWithoutDirectory() {
+        ShardRouter router = ShardRouter.single();
+        assertThat(router.scatter(ShardContext::currentShard)).containsExactly((Integer) null);
+        assertThat(router.partition(LookupKey.EMAIL, List.of("a@test.com"))).containsExactly(
+                Map.entry(0, List.of("a@test.com")));
+        assertThat(router.shardOfEmail("a@test.com")).isZero();
+    }
+
+    @Test
+    void testPartition_ResolvesEmailsThroughDirectoryAndDropsUnknown() {
+        StudentDirectory directory = mock(StudentDirectory.class);
+        ShardRouter router = new ShardRouter(2, directory);
+        UUID first = idOnShard(0, 2);
+        UUID second = idOnShard(1, 2);
+        when(directory.findByEmails(List.of("a@test.com", "b@test.com", "missing@test.com")))
+                .thenReturn(Map.of("a@test.com", first, "b@test.com", second));
+
+        Map<Integer, List<String>> byShard = router.partition(LookupKey.EMAIL,
+                List.of("a@test.com", "b@test.com", "missing@test.com"));
+
+        assertThat(byShard).containsExactly(Map.entry(0, List.of("a@test.com")), Map.entry(1, List.of("b@test.com")));
+        router.close();
+    }
+
+    private static UUID idOnShard(int shard, int shardCount) {
+        UUID id = UuidV7Generator.next();
+        while (ShardRouter.shardOf(id, shardCount) != shard) {
+            id = UuidV7Generator.next();
+        }
+        return id;
+    }
+}
@@ -0,0 +1,188 @@
+package com.student.student.shard;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import com.student.student.cache.LookupKey;
+import com.student.student.dto.StudentChange;
+import com.student.student.dto.StudentChangesResponse;
+import com.student.student.dto.StudentLookupResult;
+import com.student.student.dto.StudentRequest;
+import com.student.student.dto.StudentResponse;
+import com.student.student.exception.EmailAlreadyExistsException;
+import com.student.student.exception.StudentNotFoundException;
+import com.student.student.service.StudentChangeService;
+import com.student.student.service.StudentService;
+import com.student.student.support.SharedPostgres;
+
+/**
+ * Two shards and the directory as three databases of the shared in-process PostgreSQL.
+ */
+@SpringBootTest(properties = {
+        "student.changes.safety-window=PT0S",
+        "student.lookup-filter.enabled=false"
+})
+@ActiveProfiles("test")
+public class ShardingIntegrationTest {
+
+    private static final List<String> DATABASES = List.of("shard0", "shard1", "directory");
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private StudentChangeService studentChangeService;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @DynamicPropertySource
+    static void shards(DynamicPropertyRegistry registry) {
+        DATABASES.forEach(SharedPostgres::createDatabase);
+        registry.add("spring.datasource.url", () -> url("shard0"));
+        registry.add("spring.datasource.username", () -> SharedPostgres.USER);
+        registry.add("spring.datasource.password", () -> SharedPostgres.USER);
+        registry.add("spring.flyway.url", () -> url("shard0"));
+        registry.add("spring.flyway.user", () -> SharedPostgres.USER);
+        registry.add("spring.flyway.password", () -> SharedPostgres.USER);
+        registry.add("student.sharding.enabled", () -> "true");
+        registry.add("student.sharding.shard-urls", () -> url("shard0") + "," + url("shard1"));
+        registry.add("student.sharding.directory-url", () -> url("directory"));
+        registry.add("student.sharding.username", () -> SharedPostgres.USER);
+        registry.add("student.sharding.password", () -> SharedPostgres.USER);
+        registry.add("student.sharding.pool-size", () -> "5");
+    }
+
+    private static String url(String database) {
+        return SharedPostgres.url(database);
+    }
+
+    private static JdbcTemplate jdbc(String database) {
+        return new JdbcTemplate(SharedPostgres.dataSource(database));
+    }
+
+    private List<StudentResponse> createStudents(String prefix, int count) {
+        List<StudentResponse> created = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            created.add(studentService.createStudent(new StudentRequest("Ada", "Lovelace",
+                    prefix + i + "@shard.test", LocalDate.of(2001, 1, 1).plusDays(i))));
+        }
+        return created;
+    }
+
+    @Test
+    void testMigrationsApplyToEveryShardAndTheDirectory() {
+        Integer shardMigrations = jdbc("shard0").queryForObject(
+                "select count(*) from flyway_schema_history where success", Integer.class);
+        assertThat(jdbc("shard1").queryForObject("select count(*) from flyway_schema_history where success",
+                Integer.class)).isEqualTo(shardMigrations).isPositive();
+        assertThat(jdbc("directory").queryForObject("select count(*) from student_directory", Integer.class))
+                .isNotNull();
+        // Every shard owns every other block of roll numbers
+        for (String shard : List.of("shard0", "shard1")) {
+            assertThat(jdbc(shard).queryForObject(
+                    "select increment_by from pg_sequences where sequencename = 'roll_number_seq'", Long.class))
+                    .isEqualTo(100L);
+        }
+    }
+
+    @Test
+    void testStudentsLiveOnTheirHashedShardAndResolveByEveryKey() {
+        List<StudentResponse> created = createStudents("spread-", 24);
+
+        Set<Integer> rollNumbers = new HashSet<>();
+        Set<Integer> shardsUsed = new HashSet<>();
+        for (StudentResponse student : created) {
+            int shard = shardRouter.shardOf(student.studentId());
+            shardsUsed.add(shard);
+            assertThat(jdbc("shard" + shard).queryForObject("select count(*) from students where student_id = ?",
+                    Integer.class, student.studentId())).isEqualTo(1);
+            assertThat(jdbc("shard" + (1 - shard)).queryForObject(
+                    "select count(*) from students where student_id = ?", Integer.class, student.studentId())).isZero();
+            assertThat(rollNumbers.add(student.rollNumber())).isTrue();
+
+            assertThat(studentService.getStudentById(student.studentId()).email()).isEqualTo(student.email());
+            assertThat(studentService.getStudentByEmail(student.email().toUpperCase()).studentId())
+                    .isEqualTo(student.studentId());
+            assertThat(studentService.getStudentByRollNumber(student.rollNumber()).studentId())
+                    .isEqualTo(student.studentId());
+        }
+        assertThat(shardsUsed).containsExactlyInAnyOrder(0, 1);
+        assertThat(studentService.getAllStudents()).extracting(StudentResponse::studentId)
+                .containsAll(created.stream().map(StudentResponse::studentId).toList());
+        List<StudentResponse> streamed = new ArrayList<>();
+        studentService.forEachStudent(streamed::add);
+        assertThat(streamed).extracting(StudentResponse::studentId)
+                .containsAll(created.stream().map(StudentResponse::studentId).toList());
+
+        List<String> emails = new ArrayList<>(created.stream().map(StudentResponse::email).toList());
+        emails.add("nobody@shard.test");
+        List<StudentLookupResult> results = studentService.lookupStudents(LookupKey.EMAIL, emails);
+        assertThat(results).hasSize(created.size() + 1);
+        assertThat(results.subList(0, created.size())).allMatch(StudentLookupResult::found);
+        assertThat(results.get(created.size()).found()).isFalse();
+    }
+
+    @Test
+    void testEmailsAreUniqueAcrossShards() {
+        StudentResponse existing = createStudents("unique-", 1).get(0);
+
+        // Placement is random: repeat so the duplicate lands on the other shard as well
+        for (int i = 0; i < 10; i++) {
+            assertThatThrownBy(() -> studentService.createStudent(new StudentRequest("Ada", "Byron",
+                    existing.email().toUpperCase(), LocalDate.of(2001, 1, 1))))
+                    .isInstanceOf(EmailAlreadyExistsException.class);
+        }
+        assertThat(jdbc("directory").queryForObject(
+                "select count(*) from student_directory where email_lower = ?", Integer.class, existing.email()))
+                .isEqualTo(1);
+    }
+
+    @Test
+    void testDeleteRemovesTheDirectoryEntry() {
+        StudentResponse student = createStudents("delete-", 1).get(0);
+
+        studentService.deleteStudentByRollNumber(student.rollNumber());
+
+        assertThatThrownBy(() -> studentService.getStudentById(student.studentId()))
+                .isInstanceOf(StudentNotFoundException.class);
+        assertThat(jdbc("directory").queryForObject(
+                "select count(*) from student_directory where student_id = ?", Integer.class, student.studentId()))
+                .isZero();
+    }
+
+    @Test
+    void testChangeFeedPagesMergeAllShardsInOrder() {
+        List<UUID> created = createStudents("feed-", 15).stream().map(StudentResponse::studentId).toList();
+
+        List<StudentChange> seen = new ArrayList<>();
+        String token = null;
+        StudentChangesResponse page;
+        do {
+            page = studentChangeService.getChangesSince(token, 4);
+            assertThat(page.changes()).hasSizeLessThanOrEqualTo(4);
+            seen.addAll(page.changes());
+            token = page.nextToken();
+        } while (page.hasMore());
+
+        assertThat(seen).isSortedAccordingTo(Comparator.comparing(StudentChange::changedAt)
+                .thenComparing(StudentChange::studentId));
+        assertThat(seen).extracting(StudentChange::studentId).containsSubsequence(created);
+    }
+}
@@ -0,0 +1,93 @@
+package com.student.student.slo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.offset;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+public class SlidingWindowHistogramTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000_000L);
+
+    private final SlidingWindowHistogram histogram = new SlidingWindowHistogram(Duration.ofHours(1),
+            Duration.ofSeconds(10), Duration.ofMillis(50), clock::get);
+
+    @Test
+    void testCountsErrorsAndSlowRequests() {
+        histogram.record(Duration.ofMillis(10).toNanos(), false);
+        histogram.record(Duration.ofMillis(80).toNanos(), false);
+        histogram.record(Duration.ofMillis(80).toNanos(), true);
+        histogram.record(Duration.ofMillis(20).toNanos(), false);
+
+        SlidingWindowHistogram.Window window = histogram.window(Duration.ofMinutes(5));
+
+        assertThat(window.requests()).isEqualTo(4);
+        assertThat(window.errors()).isEqualTo(1);
+        assertThat(window.slow()).isEqualTo(1);
+        assertThat(window.availability()).isEqualTo(0.75);
+        assertThat(window.latencyCompliance()).isCloseTo(2.0 / 3, offset(1e-9));
+    }
+
+    @Test
+    void testOlderRequestsLeaveTheWindow() {
+        histogram.record(Duration.ofMillis(10).toNanos(), true);
+        clock.addAndGet(Duration.ofMinutes(6).toMillis());
+        histogram.record(Duration.ofMillis(10).toNanos(), false);
+
+        assertThat(histogram.window(Duration.ofMinutes(5)).requests()).isEqualTo(1);
+        assertThat(histogram.window(Duration.ofMinutes(5)).errors()).isZero();
+        assertThat(histogram.window(Duration.ofHours(1)).requests()).isEqualTo(2);
+
+        // Past the horizon the ring reuses the bucket
+        clock.addAndGet(Duration.ofHours(1).toMillis());
+        histogram.record(Duration.ofMillis(10).toNanos(), false);
+        assertThat(histogram.window(Duration.ofHours(1)).requests()).isEqualTo(1);
+    }
+
+    @Test
+    void testPercentilesWithinOneBin() {
+        for (int millis = 1; millis <= 100; millis++) {
+            histogram.record(Duration.ofMillis(millis).toNanos(), false);
+        }
+
+        SlidingWindowHistogram.Window window = histogram.window(Duration.ofMinutes(5));
+
+        assertThat(window.p50().toNanos() / 1e6).isBetween(50.0, 50 * 1.19);
+        assertThat(window.p99().toNanos() / 1e6).isBetween(99.0, 99 * 1.19);
+        assertThat(histogram.window(Duration.ofMinutes(5)).p99()).isEqualTo(window.p99());
+    }
+
+    @Test
+    void testIdleWindowMeetsEveryObjective() {
+        SlidingWindowHistogram.Window window = histogram.window(Duration.ofHours(1));
+
+        assertThat(window.requests()).isZero();
+        assertThat(window.availability()).isEqualTo(1.0);
+        assertThat(window.latencyCompliance()).isEqualTo(1.0);
+        assertThat(window.p99()).isEqualTo(Duration.ZERO);
+    }
+
+    @Test
+    void testConcurrentRecordsAreNotLost() throws InterruptedException {
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            threads.add(Thread.ofPlatform().start(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    histogram.record(Duration.ofMillis(i % 100).toNanos(), i % 100 == 0);
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        SlidingWindowHistogram.Window window = histogram.window(Duration.ofMinutes(5));
+        assertThat(window.requests()).isEqualTo(80_000);
+        assertThat(window.errors()).isEqualTo(800);
+    }
+}
@@ -0,0 +1,109 @@
+package com.student.student.slo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.offset;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import com.student.student.dto.SloStatusResponse;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class SloMonitorTest {
+
+    private static final String BY_ID = "GET /api/v1/students/{id}";
+
+    private final AtomicLong clock = new AtomicLong(1_000_000_000L);
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final SloMonitor monitor = new SloMonitor(
+            new String[] { BY_ID + " latency=50ms@99% availability=99.9%" }, Duration.ofSeconds(30), 100,
+            meterRegistry, clock::get);
+
+    private void requests(int count, long millis, boolean error) {
+        for (int i = 0; i < count; i++) {
+            monitor.record("GET", "/api/v1/students/{id}", Duration.ofMillis(millis).toNanos(), error);
+        }
+    }
+
+    @Test
+    void testParsesObjectives() {
+        ServiceLevelObjective objective = ServiceLevelObjective.parse(
+                " post /api/v1/students  latency=200ms@99.5% availability=99.95% ");
+
+        assertThat(objective.name()).isEqualTo("POST /api/v1/students");
+        assertThat(objective.latencyThreshold()).isEqualTo(Duration.ofMillis(200));
+        assertThat(objective.latencyTarget()).isEqualTo(0.995);
+        assertThat(objective.availabilityTarget()).isEqualTo(0.9995);
+        assertThatThrownBy(() -> ServiceLevelObjective.parse("GET /x latency=50ms availability=99%"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ServiceLevelObjective.parse("GET /x latency=50ms@100% availability=99%"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void testHealthyTrafficFiresNothing() {
+        requests(1_000, 10, false);
+        monitor.record("GET", "/api/v1/students/stats", Duration.ofSeconds(1).toNanos(), true);
+
+        SloStatusResponse status = monitor.status();
+
+        assertThat(status.status()).isEqualTo("OK");
+        SloStatusResponse.Objective objective = status.objectives().get(0);
+        assertThat(objective.name()).isEqualTo(BY_ID);
+        assertThat(objective.windows()).containsOnlyKeys("5m", "30m", "1h", "6h");
+        assertThat(objective.windows().get("5m").requests()).isEqualTo(1_000);
+        assertThat(objective.windows().get("5m").availabilityBurnRate()).isZero();
+        assertThat(objective.alerts()).isEmpty();
+    }
+
+    @Test
+    void testTooFewRequestsFireNothing() {
+        requests(99, 80, true);
+
+        SloStatusResponse status = monitor.status();
+
+        assertThat(status.status()).isEqualTo("OK");
+        assertThat(status.objectives().get(0).windows().get("5m").availabilityBurnRate()).isGreaterThan(14.4);
+    }
+
+    @Test
+    void testFastLatencyBurnPages() {
+        // 20% slow against a 1% allowance: burning at 20x over every window
+        requests(800, 10, false);
+        requests(200, 80, false);
+
+        SloStatusResponse status = monitor.status();
+
+        assertThat(status.status()).isEqualTo("PAGE");
+        assertThat(status.objectives().get(0).windows().get("1h").latencyBurnRate()).isCloseTo(20, offset(0.001));
+        assertThat(status.objectives().get(0).alerts())
+                .extracting(SloStatusResponse.Alert::severity, SloStatusResponse.Alert::sli)
+                .containsExactly(tuple("PAGE", "latency"),
+                        tuple("TICKET", "latency"));
+        assertThat(meterRegistry.get("student.slo.alert").tag("severity", "PAGE").gauge().value()).isEqualTo(1);
+        assertThat(meterRegistry.get("student.slo.burn_rate").tag("sli", "latency").tag("window", "5m").gauge().value())
+                .isCloseTo(20, offset(0.001));
+    }
+
+    @Test
+    void testPageStopsOnceTheShortWindowRecovers() {
+        requests(100, 10, true);
+        requests(900, 10, false);
+        assertThat(monitor.status().status()).isEqualTo("PAGE");
+
+        clock.addAndGet(Duration.ofMinutes(10).toMillis());
+        requests(1_000, 10, false);
+
+        SloStatusResponse status = monitor.status();
+        // The last hour still burns at 50x, but the last 5 minutes are clean
+        assertThat(status.objectives().get(0).windows().get("1h").availabilityBurnRate()).isGreaterThan(14.4);
+        assertThat(status.status()).isEqualTo("TICKET");
+    }
+}
@@ -0,0 +1,85 @@
+package com.student.student.support;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.springframework.boot.test.util.TestPropertyValues;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+/**
+ * One in-process PostgreSQL for the whole test run. As an initializer
+ * ({@code @ContextConfiguration(initializers = SharedPostgres.class)}) it points the context's datasource and
+ * Flyway at a database of its own, so contexts cached side by side never see each other's rows; tests that
+ * lay out several databases themselves, such as the sharded one, create them with {@link #createDatabase}.
+ * The server stops when the JVM exits.
+ */
+public class SharedPostgres implements ApplicationContextInitializer<ConfigurableApplicationContext> {
+
+    public static final String USER = "postgres";
+
+    private static final AtomicInteger CONTEXTS = new AtomicInteger();
+
+    private static EmbeddedPostgres postgres;
+
+    @Override
+    public void initialize(ConfigurableApplicationContext context) {
+        String url = createDatabase("context_" + CONTEXTS.incrementAndGet());
+        TestPropertyValues.of(
+                "spring.datasource.url=" + url,
+                "spring.datasource.username=" + USER,
+                "spring.datasource.password=" + USER,
+                "spring.flyway.url=" + url,
+                "spring.flyway.user=" + USER,
+                "spring.flyway.password=" + USER)
+                .applyTo(context);
+    }
+
+    /**
+     * Creates an empty database on the shared server and returns its JDBC URL.
+     */
+    public static String createDatabase(String database) {
+        try (Connection connection = server().getPostgresDatabase().getConnection();
+                Statement statement = connection.createStatement()) {
+            statement.execute("CREATE DATABASE " + database);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not create test database " + database, e);
+        }
+        return url(database);
+    }
+
+    public static String url(String database) {
+        return server().getJdbcUrl(USER, database);
+    }
+
+    public static DataSource dataSource(String database) {
+        return server().getDatabase(USER, database);
+    }
+
+    private static synchronized EmbeddedPostgres server() {
+        if (postgres == null) {
+            try {
+                postgres = EmbeddedPostgres.builder().start();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not start the embedded PostgreSQL", e);
+            }
+            EmbeddedPostgres started = postgres;
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    started.close();
+                } catch (IOException e) {
+                    // The JVM is going away either way
+                }
+            }, "shared-postgres-stop"));
+        }
+        return postgres;
+    }
+}
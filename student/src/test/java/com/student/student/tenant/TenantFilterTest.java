@@ -0,0 +1,152 @@
+package com.student.student.tenant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+public class TenantFilterTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final TenantRegistry tenantRegistry = new TenantRegistry(meterRegistry, false, new String[0], 100, 1, 1,
+            Duration.ofMillis(50));
+
+    private final TenantFilter filter = new TenantFilter(tenantRegistry,
+            new ObjectMapper().registerModule(new JavaTimeModule()));
+
+    private static MockHttpServletRequest request(String tenant) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/students");
+        if (tenant != null) {
+            request.addHeader(TenantFilter.TENANT_HEADER, tenant);
+        }
+        return request;
+    }
+
+    private MockHttpServletResponse perform(MockHttpServletRequest request, HttpServlet servlet) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain(servlet));
+        return response;
+    }
+
+    private static HttpServlet servlet(Handler handler) {
+        return new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest request, HttpServletResponse response) {
+                try {
+                    handler.handle(response);
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        };
+    }
+
+    private interface Handler {
+        void handle(HttpServletResponse response) throws Exception;
+    }
+
+    @Test
+    void testBindsTheRequestedTenantForTheRequest() throws Exception {
+        AtomicReference<String> seen = new AtomicReference<>();
+
+        perform(request(" North "), servlet(response -> seen.set(TenantContext.current())));
+        assertThat(seen.get()).isEqualTo("north");
+        assertThat(TenantContext.current()).isNull();
+
+        perform(request(null), servlet(response -> seen.set(TenantContext.current())));
+        assertThat(seen.get()).isEqualTo(TenantContext.DEFAULT_TENANT);
+
+        MockHttpServletRequest health = new MockHttpServletRequest("GET", "/actuator/health");
+        health.addHeader(TenantFilter.TENANT_HEADER, "north");
+        perform(health, servlet(response -> seen.set(TenantContext.current())));
+        assertThat(seen.get()).isNull();
+    }
+
+    @Test
+    void testRejectsMalformedTenant() throws Exception {
+        MockHttpServletResponse response = perform(request("north/../south"), servlet(ignored -> {
+            throw new AssertionError("request must not reach the application");
+        }));
+
+        assertThat(response.getStatus()).isEqualTo(400);
+        assertThat(response.getContentAsString()).contains("INVALID_TENANT");
+    }
+
+    @Test
+    void testTenantOverItsQuotaIsTurnedAwayWhileOthersPass() throws Exception {
+        AtomicReference<MockHttpServletResponse> sameTenant = new AtomicReference<>();
+        AtomicReference<MockHttpServletResponse> otherTenant = new AtomicReference<>();
+
+        MockHttpServletResponse outer = perform(request("north"), servlet(response -> {
+            sameTenant.set(perform(request("north"), servlet(inner -> inner.setStatus(200))));
+            otherTenant.set(perform(request("south"), servlet(inner -> inner.setStatus(200))));
+        }));
+
+        assertThat(outer.getStatus()).isEqualTo(200);
+        assertThat(sameTenant.get().getStatus()).isEqualTo(429);
+        assertThat(sameTenant.get().getHeader("Retry-After")).isEqualTo("1");
+        assertThat(sameTenant.get().getContentAsString()).contains("TENANT_QUOTA_EXCEEDED");
+        assertThat(otherTenant.get().getStatus()).isEqualTo(200);
+        assertThat(meterRegistry.get("student.tenant.rejected").tag("tenant", "north").tag("limit", "requests")
+                .counter().count()).isEqualTo(1);
+
+        // The slot is given back once the request completes
+        assertThat(perform(request("north"), servlet(response -> response.setStatus(200))).getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void testConnectionBulkheadKeepsOneTenantFromStarvingAnother() throws Exception {
+        DataSource target = mock(DataSource.class);
+        when(target.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+        TenantConnectionDataSource dataSource = new TenantConnectionDataSource(target, () -> tenantRegistry);
+
+        try (TenantContext.Scope north = TenantContext.open("north")) {
+            Connection held = dataSource.getConnection();
+            assertThatThrownBy(dataSource::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+
+            try (TenantContext.Scope south = TenantContext.open("south"); Connection other = dataSource.getConnection()) {
+                assertThat(other).isNotNull();
+            }
+
+            held.close();
+            held.close();
+            try (Connection again = dataSource.getConnection()) {
+                assertThat(again).isNotNull();
+            }
+            assertThatThrownBy(() -> {
+                try (Connection first = dataSource.getConnection(); Connection second = dataSource.getConnection()) {
+                    // the second one cannot be taken
+                }
+            }).isInstanceOf(SQLTransientConnectionException.class);
+        }
+
+        // Unbound threads are not held to any tenant's bulkhead
+        try (Connection first = dataSource.getConnection(); Connection second = dataSource.getConnection()) {
+            assertThat(second).isNotNull();
+        }
+        assertThat(meterRegistry.get("student.tenant.connections.active").tag("tenant", "north").gauge().value())
+                .isZero();
+    }
+}
@@ -0,0 +1,195 @@
+package com.student.student.tenant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.student.student.archive.StudentArchiver;
+import com.student.student.service.StudentStatsService;
+import com.student.student.support.SharedPostgres;
+
+@SpringBootTest(properties = { "student.changes.safety-window=PT0S", "student.archive.enabled=true" })
+@ContextConfiguration(initializers = SharedPostgres.class)
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class TenantIsolationIntegrationTest {
+
+    private static final String API = "/api/v1/students";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private StudentArchiver studentArchiver;
+
+    @Autowired
+    private StudentStatsService studentStatsService;
+
+    @BeforeEach
+    void clean() {
+        jdbcTemplate.execute(
+                "TRUNCATE students, students_archive, student_stats, student_tombstones, student_outbox, student_jobs");
+    }
+
+    private ResultActions postStudent(String tenant, String email) throws Exception {
+        return mockMvc.perform(post(API).header(TenantFilter.TENANT_HEADER, tenant)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"firstName\":\"Ada\",\"lastName\":\"Tenant\",\"email\":\"" + email
+                        + "\",\"dateOfBirth\":\"2001-02-03\"}"));
+    }
+
+    private JsonNode create(String tenant, String email) throws Exception {
+        MvcResult result = postStudent(tenant, email).andExpect(status().isCreated()).andReturn();
+        return objectMapper.readTree(result.getResponse().getContentAsString());
+    }
+
+    private JsonNode read(MvcResult result) throws Exception {
+        return objectMapper.readTree(result.getResponse().getContentAsString());
+    }
+
+    @Test
+    void testStudentsAreOnlyVisibleToTheirTenant() throws Exception {
+        JsonNode north = create("north", "ada@north.test");
+        String id = north.get("studentId").asText();
+        int rollNumber = north.get("rollNumber").asInt();
+
+        mockMvc.perform(get(API + "/" + id).header(TenantFilter.TENANT_HEADER, "north")).andExpect(status().isOk());
+        mockMvc.perform(get(API + "/" + id).header(TenantFilter.TENANT_HEADER, "south")).andExpect(status().isNotFound());
+        mockMvc.perform(get(API + "/" + id)).andExpect(status().isNotFound());
+        mockMvc.perform(get(API + "/email/ada@north.test").header(TenantFilter.TENANT_HEADER, "south"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get(API + "/rollnumber/" + rollNumber).header(TenantFilter.TENANT_HEADER, "south"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get(API + "/" + id).param("fields", "email").header(TenantFilter.TENANT_HEADER, "south"))
+                .andExpect(status().isNotFound());
+
+        JsonNode lookup = read(mockMvc.perform(post(API + "/lookup").header(TenantFilter.TENANT_HEADER, "south")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"keyType\":\"ID\",\"keys\":[\"" + id + "\"]}"))
+                .andExpect(status().isOk()).andReturn());
+        assertThat(lookup.get(0).get("found").asBoolean()).isFalse();
+
+        assertThat(read(mockMvc.perform(get(API).header(TenantFilter.TENANT_HEADER, "south"))
+                .andExpect(status().isOk()).andReturn())).isEmpty();
+        assertThat(read(mockMvc.perform(get(API).header(TenantFilter.TENANT_HEADER, "north"))
+                .andExpect(status().isOk()).andReturn())).hasSize(1);
+    }
+
+    @Test
+    void testTenantCannotDeleteAnotherTenantsStudent() throws Exception {
+        JsonNode north = create("north", "grace@north.test");
+        String id = north.get("studentId").asText();
+
+        mockMvc.perform(delete(API + "/rollnumber/" + north.get("rollNumber").asInt())
+                .header(TenantFilter.TENANT_HEADER, "south"));
+        mockMvc.perform(delete(API + "/" + id).header(TenantFilter.TENANT_HEADER, "south"));
+
+        mockMvc.perform(get(API + "/" + id).header(TenantFilter.TENANT_HEADER, "north")).andExpect(status().isOk());
+        assertThat(jdbcTemplate.queryForObject("select tenant_id from students where student_id = ?::uuid",
+                String.class, id)).isEqualTo("north");
+    }
+
+    @Test
+    void testChangeFeedOnlyReportsTheTenantsOwnChanges() throws Exception {
+        create("north", "north@feed.test");
+        JsonNode south = create("south", "south@feed.test");
+        mockMvc.perform(delete(API + "/" + south.get("studentId").asText()).header(TenantFilter.TENANT_HEADER, "south"))
+                .andExpect(status().isNoContent());
+
+        JsonNode northFeed = read(mockMvc.perform(get(API + "/changes").header(TenantFilter.TENANT_HEADER, "north"))
+                .andExpect(status().isOk()).andReturn());
+        assertThat(northFeed.get("changes")).hasSize(1);
+        assertThat(northFeed.get("changes").get(0).get("type").asText()).isEqualTo("CREATED");
+
+        JsonNode southFeed = read(mockMvc.perform(get(API + "/changes").header(TenantFilter.TENANT_HEADER, "south"))
+                .andExpect(status().isOk()).andReturn());
+        assertThat(southFeed.get("changes")).hasSize(1);
+        assertThat(southFeed.get("changes").get(0).get("type").asText()).isEqualTo("DELETED");
+    }
+
+    @Test
+    void testEmailsTakenByAnotherTenantAreTakenEverywhere() throws Exception {
+        create("north", "live@shared.test");
+        create("north", "archived@shared.test");
+        jdbcTemplate.update("update students set created_at = created_at - interval '5 years' where email = ?",
+                "archived@shared.test");
+        assertThat(studentArchiver.archive()).isEqualTo(1);
+
+        postStudent("south", "LIVE@shared.test").andExpect(status().isConflict());
+        postStudent("south", "archived@SHARED.test").andExpect(status().isConflict());
+
+        // Nothing of south's can collide with north's archive when its turn to be archived comes
+        create("south", "own@shared.test");
+        jdbcTemplate.update("update students set created_at = created_at - interval '5 years' where tenant_id = 'south'");
+        assertThat(studentArchiver.archive()).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("select count(*) from students_archive", Integer.class)).isEqualTo(2);
+    }
+
+    @Test
+    void testTenantCannotArchiveAnotherTenantsStudents() throws Exception {
+        JsonNode north = create("north", "old@archive.test");
+        jdbcTemplate.update("update students set created_at = created_at - interval '5 years'");
+
+        mockMvc.perform(post("/api/v1/jobs").header(TenantFilter.TENANT_HEADER, "south")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"type\":\"ARCHIVE\"}"))
+                .andExpect(status().isBadRequest());
+
+        assertThat(jdbcTemplate.queryForObject("select count(*) from student_jobs", Integer.class)).isZero();
+        assertThat(jdbcTemplate.queryForObject("select count(*) from students where student_id = ?::uuid",
+                Integer.class, north.get("studentId").asText())).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("select count(*) from students_archive", Integer.class)).isZero();
+    }
+
+    @Test
+    void testStatsOnlyCountTheTenantsOwnStudents() throws Exception {
+        studentStatsService.reconcile();
+        create("north", "one@stats.test");
+        create("north", "two@stats.test");
+        create("south", "three@stats.test");
+
+        assertThat(read(mockMvc.perform(get(API + "/stats").header(TenantFilter.TENANT_HEADER, "north"))
+                .andExpect(status().isOk()).andReturn()).get("total").asLong()).isEqualTo(2);
+        assertThat(read(mockMvc.perform(get(API + "/stats").header(TenantFilter.TENANT_HEADER, "west"))
+                .andExpect(status().isOk()).andReturn()).get("total").asLong()).isZero();
+
+        // The trigger keeps the same split, so the reconcile agrees with the deltas
+        studentStatsService.reconcile();
+        JsonNode south = read(mockMvc.perform(get(API + "/stats").header(TenantFilter.TENANT_HEADER, "south"))
+                .andExpect(status().isOk()).andReturn());
+        assertThat(south.get("total").asLong()).isEqualTo(1);
+        assertThat(south.get("byBirthYear").get("2001").asLong()).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject(
+                "select sum(student_count) from student_stats where dimension = 'total' and tenant_id = 'north'",
+                Long.class)).isEqualTo(2);
+    }
+
+    @Test
+    void testMalformedTenantIsRejected() throws Exception {
+        mockMvc.perform(get(API).header(TenantFilter.TENANT_HEADER, "no spaces allowed"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,64 @@
+package com.student.student.tracing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Scope;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+
+class InMemorySpanExporterTest {
+
+    private final InMemorySpanExporter exporter = new InMemorySpanExporter(3);
+    private final SdkTracerProvider tracerProvider = SdkTracerProvider.builder()
+            .addSpanProcessor(SimpleSpanProcessor.create(exporter))
+            .build();
+    private final Tracer tracer = tracerProvider.get("test");
+
+    @AfterEach
+    void tearDown() {
+        tracerProvider.close();
+    }
+
+    @Test
+    void testSpans_FiltersByTraceInStartOrder() {
+        Span root = tracer.spanBuilder("GET /api/v1/students/{id}").startSpan();
+        try (Scope scope = root.makeCurrent()) {
+            tracer.spanBuilder("StudentService.getStudentById")
+                    .setAttribute("student.row_count", 1L)
+                    .startSpan()
+                    .end();
+        } finally {
+            root.end();
+        }
+        tracer.spanBuilder("unrelated").startSpan().end();
+
+        var spans = exporter.spans(root.getSpanContext().getTraceId());
+
+        assertThat(spans).extracting(RecordedSpan::name)
+                .containsExactly("GET /api/v1/students/{id}", "StudentService.getStudentById");
+        assertThat(spans.get(0).parentSpanId()).isNull();
+        assertThat(spans.get(1).parentSpanId()).isEqualTo(spans.get(0).spanId());
+        assertThat(spans.get(1).attributes()).containsEntry("student.row_count", 1L);
+    }
+
+    @Test
+    void testExport_EvictsOldestBeyondCapacity() {
+        for (int i = 0; i < 5; i++) {
+            tracer.spanBuilder("span-" + i).startSpan().end();
+        }
+
+        assertThat(exporter.spans(null)).extracting(RecordedSpan::name)
+                .containsExactly("span-2", "span-3", "span-4");
+    }
+
+    @Test
+    void testOperation_TakesLeadingKeyword() {
+        assertThat(JdbcTracingListener.operation("  select s1_0.id from students s1_0")).isEqualTo("select");
+        assertThat(JdbcTracingListener.operation("{call foo()}")).isEqualTo("statement");
+    }
+}
@@ -0,0 +1,36 @@
+package com.student.student.traffic;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class BodyShapeTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void testOf_ReplacesPersonalDataWithTypeTokens() {
+        String body = "{\"firstName\":\"Ada\",\"lastName\":\"Lovelace\",\"email\":\"ada@example.com\",\"dateOfBirth\":\"2001-12-10\"}";
+
+        String shape = BodyShape.of(objectMapper, body.getBytes(StandardCharsets.UTF_8));
+
+        assertThat(shape).isEqualTo("{\"firstName\":\"str:3\",\"lastName\":\"str:8\",\"email\":\"email\",\"dateOfBirth\":\"date\"}");
+        assertThat(shape).doesNotContain("Ada", "Lovelace", "example.com", "2001");
+    }
+
+    @Test
+    void testOf_KeepsConstantsAndSummarizesArrays() {
+        String body = "{\"keyType\":\"ROLL_NUMBER\",\"keys\":[\"1001\",\"1002\",\"1003\"]}";
+
+        assertThat(BodyShape.of(objectMapper, body.getBytes(StandardCharsets.UTF_8)))
+                .isEqualTo("{\"keyType\":\"=ROLL_NUMBER\",\"keys\":[\"*3\",\"digits\"]}");
+        assertThat(BodyShape.of(objectMapper, "{\"lastName\":\"SMITH\"}".getBytes(StandardCharsets.UTF_8)))
+                .isEqualTo("{\"lastName\":\"str:5\"}");
+        assertThat(BodyShape.of(objectMapper, new byte[0])).isEqualTo("-");
+        assertThat(BodyShape.of(objectMapper, "not json".getBytes(StandardCharsets.UTF_8))).isEqualTo("raw:8");
+    }
+}
@@ -0,0 +1,108 @@
+package com.student.student.warmup;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.student.student.dto.StudentResponse;
+import com.student.student.entity.Student;
+import com.student.student.exception.StudentNotFoundException;
+import com.student.student.repository.StudentRepository;
+import com.student.student.service.StudentService;
+import com.student.student.shard.ShardRouter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+public class StartupWarmUpTest {
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private StudentService studentService;
+
+    @Mock
+    private StudentRepository studentRepository;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final Student student = Student.builder()
+            .studentId(UUID.randomUUID())
+            .rollNumber(1001)
+            .firstName("Ada")
+            .lastName("Lovelace")
+            .email("ada@test.com")
+            .dateOfBirth(LocalDate.of(2001, 1, 1))
+            .build();
+
+    private StartupWarmUp warmUp;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        when(dataSource.isWrapperFor(any())).thenReturn(false);
+        warmUp = new StartupWarmUp(dataSource, studentService, studentRepository, ShardRouter.single(),
+                new ObjectMapper().registerModule(new JavaTimeModule()), meterRegistry, true,
+                Duration.ofMillis(200), 10, 0.05);
+    }
+
+    @Test
+    void testLooksUpSampledStudentsByEveryKey() {
+        StudentResponse response = new StudentResponse(student.getStudentId(), 1001, "Ada", "Lovelace",
+                "ada@test.com", student.getDateOfBirth(), null, null);
+        when(studentRepository.findAll(any(Pageable.class))).thenReturn(new PageImpl<>(List.of(student)));
+        when(studentService.getStudentById(student.getStudentId())).thenReturn(response);
+        when(studentService.getStudentByEmail("ada@test.com")).thenReturn(response);
+        when(studentService.getStudentByRollNumber(1001)).thenReturn(response);
+
+        warmUp.warmUp();
+
+        verify(studentService, atLeastOnce()).getStudentById(student.getStudentId());
+        verify(studentService, atLeastOnce()).getStudentByEmail("ada@test.com");
+        verify(studentService, atLeastOnce()).getStudentByRollNumber(1001);
+        assertThat(meterRegistry.get("student.warmup").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void testEmptyDatabaseSkipsLookups() {
+        when(studentRepository.findAll(any(Pageable.class))).thenReturn(new PageImpl<>(List.of()));
+
+        warmUp.warmUp();
+
+        verify(studentService, never()).getStudentById(any());
+        assertThat(meterRegistry.get("student.warmup").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void testFailedWarmUpStillLetsTheInstanceBecomeReady() {
+        when(studentRepository.findAll(any(Pageable.class))).thenReturn(new PageImpl<>(List.of(student)));
+        when(studentService.getStudentById(student.getStudentId()))
+                .thenThrow(new StudentNotFoundException("Student deleted meanwhile"));
+
+        assertThatCode(warmUp::warmUp).doesNotThrowAnyException();
+        assertThat(meterRegistry.get("student.warmup").timer().count()).isZero();
+    }
+}